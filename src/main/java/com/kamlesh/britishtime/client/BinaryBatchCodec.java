@@ -0,0 +1,238 @@
+package com.kamlesh.britishtime.client;
+
+import com.kamlesh.britishtime.exception.InvalidBatchException;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Codec for the binary batch content type {@value #MEDIA_TYPE}, shared by the server and Java
+ * clients. All values are big-endian.
+ * <pre>
+ * request:  "BT" | version 1 | kind 1 | u32 n | n x u16 minute-of-day
+ * response: "BT" | version 1 | kind 2 | u16 d | d x (u16 length, UTF-8 phrase)
+ *           | u32 n | n x u16 index into the d phrases
+ * </pre>
+ * The response dictionary holds only the phrases the batch uses, in order of first use, so a
+ * phrase is sent once however often it repeats and every further time costs two bytes.
+ */
+public final class BinaryBatchCodec {
+
+    public static final String MEDIA_TYPE = "application/x-spoken-time-batch";
+
+    private static final short MAGIC = 0x4254;
+    private static final byte VERSION = 1;
+    private static final byte KIND_REQUEST = 1;
+    private static final byte KIND_RESPONSE = 2;
+    private static final int HEADER_SIZE = 4;
+
+    private BinaryBatchCodec() {
+    }
+
+    /**
+     * Encodes a batch request.
+     *
+     * @param minutesOfDay minute-of-day values, 0 to 1439
+     * @return the request body
+     */
+    public static byte[] encodeRequest(int[] minutesOfDay) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Integer.BYTES + minutesOfDay.length * Short.BYTES);
+        writeHeader(buffer, KIND_REQUEST).putInt(minutesOfDay.length);
+        for (int minuteOfDay : minutesOfDay) {
+            checkMinute(minuteOfDay);
+            buffer.putShort((short) minuteOfDay);
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a batch request.
+     *
+     * @param body the request body
+     * @param maxCount largest batch accepted
+     * @return the minute-of-day values
+     * @throws InvalidBatchException if the body is malformed, too large or out of range
+     */
+    public static short[] decodeRequest(byte[] body, int maxCount) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        try {
+            readHeader(buffer, KIND_REQUEST);
+            int count = buffer.getInt();
+            if (count < 0 || count > maxCount) {
+                throw new InvalidBatchException("Batch size " + Integer.toUnsignedString(count)
+                        + " exceeds the limit of " + maxCount);
+            }
+            if (buffer.remaining() != count * Short.BYTES) {
+                throw new InvalidBatchException("Batch body does not match its count of " + count);
+            }
+            short[] minutesOfDay = new short[count];
+            buffer.asShortBuffer().get(minutesOfDay);
+            for (short minuteOfDay : minutesOfDay) {
+                checkMinute(minuteOfDay);
+            }
+            return minutesOfDay;
+        } catch (BufferUnderflowException ex) {
+            throw new InvalidBatchException("Batch body is truncated");
+        }
+    }
+
+    /**
+     * Converts and encodes a batch response using the phrase table.
+     *
+     * @param table table to look phrases up in
+     * @param minutesOfDay validated minute-of-day values
+     * @return the response body
+     */
+    public static byte[] encodeResponse(PhraseTable table, short[] minutesOfDay) {
+        ResponseEncoder encoder = new ResponseEncoder(table, minutesOfDay);
+        encoder.convert(0, minutesOfDay.length);
+        return encoder.finish();
+    }
+
+    /**
+     * Encodes a batch response a range at a time, so a large batch can be converted in chunks.
+     * Ranges must be converted in order, each starting where the previous one ended; the body
+     * is the same as {@link #encodeResponse} would produce.
+     */
+    public static final class ResponseEncoder {
+
+        private final PhraseTable table;
+        private final short[] minutesOfDay;
+        // dictionaryIndex[tableId] is the phrase's index in the response plus one, 0 if unused
+        private final int[] dictionaryIndex;
+        private final byte[][] dictionary;
+        private final short[] indexes;
+        private int dictionarySize;
+        private int dictionaryBytes;
+        private int converted;
+
+        /**
+         * @param table table to look phrases up in
+         * @param minutesOfDay validated minute-of-day values
+         */
+        public ResponseEncoder(PhraseTable table, short[] minutesOfDay) {
+            this.table = table;
+            this.minutesOfDay = minutesOfDay;
+            this.dictionaryIndex = new int[table.phraseCount()];
+            this.dictionary = new byte[Math.min(table.phraseCount(), minutesOfDay.length)][];
+            this.indexes = new short[minutesOfDay.length];
+        }
+
+        /**
+         * Converts the values in {@code [from, to)}.
+         *
+         * @throws IllegalStateException if {@code from} is not where the previous range ended
+         */
+        public void convert(int from, int to) {
+            if (from != converted || to < from || to > minutesOfDay.length) {
+                throw new IllegalStateException("Expected a range starting at " + converted + ", got ["
+                        + from + ", " + to + ")");
+            }
+            for (int i = from; i < to; i++) {
+                int tableId = table.phraseId(minutesOfDay[i]);
+                int index = dictionaryIndex[tableId] - 1;
+                if (index < 0) {
+                    index = dictionarySize++;
+                    dictionaryIndex[tableId] = index + 1;
+                    dictionary[index] = table.phrase(tableId).getBytes(StandardCharsets.UTF_8);
+                    dictionaryBytes += Short.BYTES + dictionary[index].length;
+                }
+                indexes[i] = (short) index;
+            }
+            converted = to;
+        }
+
+        /**
+         * Returns the response body.
+         *
+         * @throws IllegalStateException if some values have not been converted
+         */
+        public byte[] finish() {
+            if (converted != minutesOfDay.length) {
+                throw new IllegalStateException("Converted " + converted + " of " + minutesOfDay.length + " values");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + Short.BYTES + dictionaryBytes
+                    + Integer.BYTES + indexes.length * Short.BYTES);
+            writeHeader(buffer, KIND_RESPONSE).putShort((short) dictionarySize);
+            for (int i = 0; i < dictionarySize; i++) {
+                buffer.putShort((short) dictionary[i].length).put(dictionary[i]);
+            }
+            buffer.putInt(indexes.length);
+            buffer.asShortBuffer().put(indexes);
+            return buffer.array();
+        }
+    }
+
+    /**
+     * Decodes a batch response.
+     *
+     * @param body the response body
+     * @return the phrases, in request order
+     * @throws InvalidBatchException if the body is malformed
+     */
+    public static BatchResult decodeResponse(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        try {
+            readHeader(buffer, KIND_RESPONSE);
+            String[] dictionary = new String[Short.toUnsignedInt(buffer.getShort())];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] phrase = new byte[Short.toUnsignedInt(buffer.getShort())];
+                buffer.get(phrase);
+                dictionary[i] = new String(phrase, StandardCharsets.UTF_8);
+            }
+            int count = buffer.getInt();
+            if (count < 0 || buffer.remaining() != count * Short.BYTES) {
+                throw new InvalidBatchException("Batch body does not match its count of " + count);
+            }
+            short[] indexes = new short[count];
+            buffer.asShortBuffer().get(indexes);
+            for (short index : indexes) {
+                if (Short.toUnsignedInt(index) >= dictionary.length) {
+                    throw new InvalidBatchException(
+                            "Phrase index " + Short.toUnsignedInt(index) + " is not in the dictionary");
+                }
+            }
+            return new BatchResult(dictionary, indexes);
+        } catch (BufferUnderflowException ex) {
+            throw new InvalidBatchException("Batch body is truncated");
+        }
+    }
+
+    private static ByteBuffer writeHeader(ByteBuffer buffer, byte kind) {
+        return buffer.putShort(MAGIC).put(VERSION).put(kind);
+    }
+
+    private static void readHeader(ByteBuffer buffer, byte kind) {
+        if (buffer.getShort() != MAGIC || buffer.get() != VERSION || buffer.get() != kind) {
+            throw new InvalidBatchException("Not a version " + VERSION + " spoken time batch");
+        }
+    }
+
+    private static void checkMinute(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= PhraseTable.MINUTES_PER_DAY) {
+            throw new InvalidBatchException("Minute of day out of range: " + minuteOfDay);
+        }
+    }
+
+    /**
+     * Decoded batch response.
+     *
+     * @param dictionary the distinct phrases in the batch
+     * @param phraseIndexes index into {@code dictionary} for each requested minute
+     */
+    public record BatchResult(String[] dictionary, short[] phraseIndexes) {
+
+        public int size() {
+            return phraseIndexes.length;
+        }
+
+        /**
+         * Returns the phrase for the {@code i}-th requested minute.
+         */
+        public String phrase(int i) {
+            return dictionary[Short.toUnsignedInt(phraseIndexes[i])];
+        }
+    }
+}
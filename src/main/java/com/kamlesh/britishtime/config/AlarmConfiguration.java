@@ -0,0 +1,95 @@
+package com.kamlesh.britishtime.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.alarm.AlarmDelivery;
+import com.kamlesh.britishtime.service.alarm.AlarmQueues;
+import com.kamlesh.britishtime.service.alarm.AlarmScheduler;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Configuration for spoken-time alarms, on unless {@code app.alarms.enabled} is false.
+ * Webhooks may only target the hosts in {@code app.alarms.webhook-hosts}, local by default.
+ * Alarm counts, delivery batches and queue state are published under {@code time.alarms.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.alarms.enabled", havingValue = "true", matchIfMissing = true)
+public class AlarmConfiguration {
+
+    @Value("${app.alarms.max-pending:100000}")
+    private int maxPending;
+
+    @Value("${app.alarms.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.alarms.max-queues:1000}")
+    private int maxQueues;
+
+    @Value("${app.alarms.webhook-hosts:localhost,127.0.0.1,::1}")
+    private Set<String> webhookHosts;
+
+    @Value("${app.alarms.webhook-timeout-ms:5000}")
+    private long webhookTimeoutMillis;
+
+    @Bean
+    public AlarmQueues alarmQueues(MeterRegistry meterRegistry) {
+        AlarmQueues queues = new AlarmQueues(queueCapacity, maxQueues);
+        Gauge.builder("time.alarms.queue.depth", queues, AlarmQueues::depth)
+                .description("Alarm firings waiting in in-process queues")
+                .register(meterRegistry);
+        Gauge.builder("time.alarms.queue.count", queues, AlarmQueues::queueCount)
+                .description("In-process alarm queues holding firings")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.alarms.queue.dropped", queues, AlarmQueues::dropped)
+                .description("Alarm firings dropped because their queue was full or no queue could be created")
+                .register(meterRegistry);
+        return queues;
+    }
+
+    @Bean
+    public AlarmDelivery alarmDelivery(AlarmQueues alarmQueues, ObjectMapper objectMapper,
+                                       MeterRegistry meterRegistry) {
+        Duration timeout = Duration.ofMillis(webhookTimeoutMillis);
+        AlarmDelivery delivery = new AlarmDelivery(HttpClient.newBuilder().connectTimeout(timeout).build(),
+                objectMapper, alarmQueues, webhookHosts, timeout);
+        FunctionCounter.builder("time.alarms.webhook.posts", delivery, AlarmDelivery::webhookPosts)
+                .description("Webhook posts of alarm batches")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.alarms.webhook.failures", delivery, AlarmDelivery::webhookFailures)
+                .description("Webhook posts that failed or were refused")
+                .register(meterRegistry);
+        return delivery;
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public AlarmScheduler alarmScheduler(TimeSpokenFormatter timeSpokenFormatter, AlarmDelivery alarmDelivery,
+                                         MeterRegistry meterRegistry) {
+        AlarmScheduler scheduler = new AlarmScheduler(timeSpokenFormatter, alarmDelivery, Clock.systemUTC(),
+                maxPending);
+        Gauge.builder("time.alarms.pending", scheduler, AlarmScheduler::pendingCount)
+                .description("Alarms waiting to fire")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.alarms.fired", scheduler, AlarmScheduler::firedCount)
+                .description("Alarms fired")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.alarms.batches", scheduler, AlarmScheduler::batchCount)
+                .description("Deliveries of the alarms one target had due in one tick")
+                .register(meterRegistry);
+        Gauge.builder("time.alarms.tick.lag", scheduler, AlarmScheduler::lastTickLagMillis)
+                .description("Milliseconds past the second boundary at which the last tick ran")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        return scheduler;
+    }
+}
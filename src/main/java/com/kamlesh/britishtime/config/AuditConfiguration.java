@@ -0,0 +1,91 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Configuration for the conversion audit log, enabled with {@code app.audit.enabled=true}.
+ * Segment size, rolling, retention, durability and the ring buffer are set under
+ * {@code app.audit.*}; the writer's progress is published under {@code time.audit.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.audit.enabled", havingValue = "true")
+public class AuditConfiguration {
+
+    @Value("${app.audit.dir:audit}")
+    private Path directory;
+
+    @Value("${app.audit.segment-bytes:67108864}")
+    private int segmentBytes;
+
+    @Value("${app.audit.roll-interval:PT1H}")
+    private Duration rollInterval;
+
+    @Value("${app.audit.retention.max-segments:168}")
+    private int maxSegments;
+
+    @Value("${app.audit.retention.max-age:P7D}")
+    private Duration maxAge;
+
+    @Value("${app.audit.durability:interval}")
+    private String durability;
+
+    @Value("${app.audit.flush-interval-ms:100}")
+    private long flushIntervalMillis;
+
+    @Value("${app.audit.ring-size:65536}")
+    private int ringSize;
+
+    @Value("${app.audit.on-full:block}")
+    private String onFull;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public AuditLog auditLog(MeterRegistry meterRegistry) {
+        AuditLog auditLog = AuditLog.builder(directory)
+                .segmentBytes(segmentBytes)
+                .rollInterval(rollInterval)
+                .maxSegments(maxSegments)
+                .maxAge(maxAge)
+                .durability(AuditLog.Durability.valueOf(durability.toUpperCase(Locale.ROOT)))
+                .flushInterval(Duration.ofMillis(flushIntervalMillis))
+                .ringSize(ringSize)
+                .onFull(AuditLog.OnFull.valueOf(onFull.toUpperCase(Locale.ROOT)))
+                .build();
+        FunctionCounter.builder("time.audit.appended", auditLog, AuditLog::appendedCount)
+                .description("Conversions appended to the audit log")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.audit.dropped", auditLog, AuditLog::droppedCount)
+                .description("Conversions not audited because the ring buffer was full or the writer failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.audit.blocked", auditLog, AuditLog::blockedCount)
+                .description("Requests that waited for room in the audit ring buffer")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.audit.batches", auditLog, AuditLog::batchCount)
+                .description("Batches drained from the ring buffer by the writer")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.audit.forces", auditLog, AuditLog::forceCount)
+                .description("Forces of the audit log to the storage device")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.audit.written", auditLog, AuditLog::bytesWritten)
+                .description("Bytes appended to audit segments")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.audit.segments.deleted", auditLog, AuditLog::segmentsDeleted)
+                .description("Audit segments deleted by the retention policy")
+                .register(meterRegistry);
+        Gauge.builder("time.audit.backlog", auditLog, AuditLog::backlog)
+                .description("Conversions waiting in the ring buffer for the writer")
+                .register(meterRegistry);
+        return auditLog;
+    }
+}
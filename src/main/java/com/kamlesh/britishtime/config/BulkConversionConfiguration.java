@@ -0,0 +1,34 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.bulk.ColumnarConverter;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for columnar bulk conversion.
+ * Large columns are split across a dedicated fork/join pool, so bulk jobs do not compete
+ * with other users of the common pool.
+ */
+@Configuration
+public class BulkConversionConfiguration {
+
+    @Value("${app.bulk.parallelism:0}")
+    private int parallelism;
+
+    @Value("${app.bulk.split-threshold:65536}")
+    private int splitThreshold;
+
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool bulkConversionPool() {
+        return new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    @Bean
+    public ColumnarConverter columnarConverter(PhraseTableSource phraseTableSource) {
+        return new ColumnarConverter(phraseTableSource, bulkConversionPool(), splitThreshold);
+    }
+}
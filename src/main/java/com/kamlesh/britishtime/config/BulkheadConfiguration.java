@@ -0,0 +1,104 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.limit.Bulkhead;
+import com.kamlesh.britishtime.service.limit.Bulkheads;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for the interactive, bulk and stream bulkheads.
+ * By default the bulk pool has half the cores, so a saturating batch job always leaves CPU
+ * for single lookups. Streaming responses run on a pool of their own, as the MVC async
+ * executor, so long-lived streams cannot take the workers that batches are chunked onto.
+ * Queue depth, active workers, refusals and queue wait are published per pool under
+ * {@code time.bulkhead.*}, tagged with {@code pool}.
+ */
+@Configuration
+public class BulkheadConfiguration implements WebMvcConfigurer {
+
+    @Value("${app.bulkhead.interactive.threads:0}")
+    private int interactiveThreads;
+
+    @Value("${app.bulkhead.interactive.max-queued:1000}")
+    private int interactiveMaxQueued;
+
+    @Value("${app.bulkhead.bulk.threads:0}")
+    private int bulkThreads;
+
+    @Value("${app.bulkhead.bulk.max-queued:32}")
+    private int bulkMaxQueued;
+
+    @Value("${app.bulkhead.stream.threads:0}")
+    private int streamThreads;
+
+    @Value("${app.bulkhead.stream.max-queued:32}")
+    private int streamMaxQueued;
+
+    @Value("${app.bulkhead.chunk-size:65536}")
+    private int chunkSize;
+
+    @Value("${app.bulkhead.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    private final MeterRegistry meterRegistry;
+
+    public BulkheadConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean(destroyMethod = "close")
+    public Bulkheads bulkheads() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        Bulkhead interactive = new Bulkhead("interactive",
+                interactiveThreads > 0 ? interactiveThreads : Math.max(2, cores), interactiveMaxQueued,
+                retryAfterSeconds);
+        Bulkhead bulk = new Bulkhead("bulk",
+                bulkThreads > 0 ? bulkThreads : Math.max(1, cores / 2), bulkMaxQueued, retryAfterSeconds);
+        Bulkhead stream = new Bulkhead("stream",
+                streamThreads > 0 ? streamThreads : Math.max(1, cores / 2), streamMaxQueued, retryAfterSeconds);
+        register(interactive);
+        register(bulk);
+        register(stream);
+        return new Bulkheads(interactive, bulk, stream, chunkSize);
+    }
+
+    private void register(Bulkhead bulkhead) {
+        String pool = bulkhead.name();
+        Gauge.builder("time.bulkhead.queue.depth", bulkhead, Bulkhead::queueDepth)
+                .description("Tasks and batch chunks waiting for a worker")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("time.bulkhead.active", bulkhead, Bulkhead::activeCount)
+                .description("Workers running a task or batch chunk")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Gauge.builder("time.bulkhead.threads", bulkhead, Bulkhead::threads)
+                .description("Worker threads in the pool")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        FunctionCounter.builder("time.bulkhead.rejected", bulkhead, Bulkhead::rejectedCount)
+                .description("Jobs refused because the pool's queue was full")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        Timer wait = Timer.builder("time.bulkhead.wait")
+                .description("Time tasks and batch chunks spent queued before a worker took them")
+                .tag("pool", pool)
+                .register(meterRegistry);
+        bulkhead.setWaitListener(nanos -> wait.record(nanos, TimeUnit.NANOSECONDS));
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(new TaskExecutorAdapter(bulkheads().stream()));
+    }
+}
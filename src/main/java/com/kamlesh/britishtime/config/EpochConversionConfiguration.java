@@ -0,0 +1,32 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.epoch.EpochTimeConverter;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configuration for epoch-millisecond conversion.
+ * The transition window is fixed at startup; instants outside it are still converted exactly,
+ * just without the cached table.
+ */
+@Configuration
+public class EpochConversionConfiguration {
+
+    @Value("${app.epoch.window-years:100}")
+    private int windowYears;
+
+    @Bean
+    public EpochTimeConverter epochTimeConverter(PhraseTableSource phraseTableSource, MeterRegistry meterRegistry) {
+        EpochTimeConverter converter = new EpochTimeConverter(phraseTableSource, Clock.systemUTC(), windowYears);
+        Gauge.builder("time.epoch.cached.zones", converter, EpochTimeConverter::cachedZones)
+                .description("Zones with a cached offset transition table")
+                .register(meterRegistry);
+        return converter;
+    }
+}
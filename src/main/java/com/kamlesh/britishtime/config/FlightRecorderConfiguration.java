@@ -0,0 +1,38 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.diagnostics.FlightRecording;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Configuration for the always-on JFR recording, switched on with {@code app.jfr.enabled=true}.
+ * The custom events are always defined; without a recording they are disabled and cost nothing.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.jfr.enabled", havingValue = "true")
+public class FlightRecorderConfiguration {
+
+    @Value("${app.jfr.hot-path-threshold:1ms}")
+    private Duration hotPathThreshold;
+
+    @Value("${app.jfr.max-age:6h}")
+    private Duration maxAge;
+
+    @Value("${app.jfr.max-size-bytes:104857600}")
+    private long maxSizeBytes;
+
+    @Value("${app.jfr.dump-path:britishtime.jfr}")
+    private String dumpPath;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public FlightRecording flightRecording() throws IOException, ParseException {
+        return new FlightRecording(hotPathThreshold, maxAge, maxSizeBytes, Path.of(dumpPath));
+    }
+}
@@ -2,13 +2,45 @@ package com.kamlesh.britishtime.config;
 
 import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
 import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.rules.ReloadingRuleFormatter;
+import com.kamlesh.britishtime.service.shadow.ShadowEvaluator;
+import com.kamlesh.britishtime.service.table.PhraseTableFile;
+import com.kamlesh.britishtime.service.table.PhraseTableFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.event.EventListener;
 import org.springframework.beans.factory.annotation.Value;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Configuration for time formatters.
  * Uses Chain of Responsibility pattern to handle different time formatting rules.
+ * When {@code app.phrase-table.file} is set, the chain is compiled once into a phrase table
+ * file that every process on the host maps read-only and shares through the page cache; it is
+ * compiled again only when the chain class or {@code app.phrase-table.source-version} changes.
+ * When {@code app.rules.file} is set, phrasing comes from that YAML rule file instead and is
+ * reloaded whenever the file changes.
+ * Bulk endpoints read phrase ids through {@link PhraseTableSource}, which follows reloads
+ * when the formatter is table-backed and otherwise tabulates the formatter once.
+ * With {@code app.shadow.enabled=true}, a sample of conversions is also run through a
+ * candidate formatter, from {@code app.shadow.rules-file} or {@code app.shadow.formatter-class},
+ * without affecting responses; the results are published under {@code time.shadow.*}.
+ * Sampling only runs while the service reports {@code ACCEPTING_TRAFFIC}, so the warm-up
+ * conversions made before that are left out.
  */
 @Configuration
 public class FormatterConfiguration {
@@ -16,9 +48,122 @@ public class FormatterConfiguration {
     @Value("${app.locale:en-GB}")
     private String locale;
 
+    @Value("${app.rules.file:}")
+    private String rulesFile;
+
+    @Value("${app.phrase-table.file:}")
+    private String phraseTableFile;
+
+    @Value("${app.phrase-table.source-version:}")
+    private String phraseTableSourceVersion;
+
+    @Value("${app.shadow.rules-file:}")
+    private String shadowRulesFile;
+
+    @Value("${app.shadow.formatter-class:}")
+    private String shadowFormatterClass;
+
+    @Value("${app.shadow.sample-rate:0.01}")
+    private double shadowSampleRate;
+
+    @Value("${app.shadow.queue-capacity:1000}")
+    private int shadowQueueCapacity;
+
+    private final ObjectProvider<ShadowEvaluator> shadowEvaluator;
+
+    public FormatterConfiguration(ObjectProvider<ShadowEvaluator> shadowEvaluator) {
+        this.shadowEvaluator = shadowEvaluator;
+    }
+
     @Bean
-    public TimeSpokenFormatter timeSpokenFormatter() {
+    public TimeSpokenFormatter timeSpokenFormatter() throws IOException {
+        if (!rulesFile.isBlank()) {
+            ReloadingRuleFormatter formatter = new ReloadingRuleFormatter(Path.of(rulesFile));
+            formatter.start();
+            return formatter;
+        }
+        if (!phraseTableFile.isBlank()) {
+            return new PhraseTableFormatter(PhraseTableFile.mapOrCompile(
+                    Path.of(phraseTableFile), new ChainedBritishTimeFormatter(), phraseTableSourceVersion));
+        }
         // Use the new chained formatter with specialized formatters
         return new ChainedBritishTimeFormatter();
     }
+
+    /**
+     * Marked primary because a table-backed formatter bean is itself a {@link PhraseTableSource}.
+     */
+    @Bean
+    @Primary
+    public PhraseTableSource phraseTableSource(TimeSpokenFormatter timeSpokenFormatter) {
+        return PhraseTableSource.of(timeSpokenFormatter);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.shadow.enabled", havingValue = "true")
+    public ShadowEvaluator shadowEvaluator(TimeSpokenFormatter timeSpokenFormatter, MeterRegistry meterRegistry)
+            throws IOException {
+        ShadowEvaluator shadow = new ShadowEvaluator(timeSpokenFormatter, candidateFormatter(), shadowSampleRate,
+                shadowQueueCapacity, Clock.systemUTC());
+        // resumed once the service accepts traffic
+        shadow.setSampling(false);
+        FunctionCounter.builder("time.shadow.sampled", shadow, ShadowEvaluator::sampledCount)
+                .description("Conversions sampled for the candidate formatter")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.shadow.dropped", shadow, ShadowEvaluator::droppedCount)
+                .description("Samples dropped because the shadow queue was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.shadow.mismatches", shadow, ShadowEvaluator::mismatchCount)
+                .description("Compared samples on which the candidate disagreed with the live formatter")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.shadow.errors", shadow, ShadowEvaluator::candidateErrorCount)
+                .description("Compared samples on which the candidate threw")
+                .register(meterRegistry);
+        Gauge.builder("time.shadow.mismatches.distinct", shadow, ShadowEvaluator::distinctMismatches)
+                .description("Distinct inputs and styles the candidate disagreed on")
+                .register(meterRegistry);
+        Gauge.builder("time.shadow.queue.depth", shadow, ShadowEvaluator::queueDepth)
+                .description("Samples waiting to be compared")
+                .register(meterRegistry);
+        FunctionTimer.builder("time.shadow.format", shadow, ShadowEvaluator::comparedCount,
+                        ShadowEvaluator::primaryNanos, TimeUnit.NANOSECONDS)
+                .description("Formatting time on compared samples")
+                .tag("formatter", "live")
+                .register(meterRegistry);
+        FunctionTimer.builder("time.shadow.format", shadow, ShadowEvaluator::comparedCount,
+                        ShadowEvaluator::candidateNanos, TimeUnit.NANOSECONDS)
+                .description("Formatting time on compared samples")
+                .tag("formatter", "candidate")
+                .register(meterRegistry);
+        Gauge.builder("time.shadow.latency.delta", shadow, s -> s.meanLatencyDeltaNanos() / 1000)
+                .description("Mean candidate minus live formatting time; positive when the candidate is slower")
+                .baseUnit("microseconds")
+                .register(meterRegistry);
+        return shadow;
+    }
+
+    @EventListener
+    public void onReadinessChange(AvailabilityChangeEvent<ReadinessState> event) {
+        ShadowEvaluator shadow = shadowEvaluator.getIfAvailable();
+        if (shadow != null) {
+            shadow.setSampling(event.getState() == ReadinessState.ACCEPTING_TRAFFIC);
+        }
+    }
+
+    private TimeSpokenFormatter candidateFormatter() throws IOException {
+        if (!shadowRulesFile.isBlank()) {
+            ReloadingRuleFormatter candidate = new ReloadingRuleFormatter(Path.of(shadowRulesFile));
+            candidate.start();
+            return candidate;
+        }
+        if (!shadowFormatterClass.isBlank()) {
+            try {
+                return Class.forName(shadowFormatterClass).asSubclass(TimeSpokenFormatter.class)
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | ClassCastException ex) {
+                throw new IllegalStateException("Cannot create shadow formatter " + shadowFormatterClass, ex);
+            }
+        }
+        throw new IllegalStateException("app.shadow.enabled needs app.shadow.rules-file or app.shadow.formatter-class");
+    }
 }
@@ -0,0 +1,107 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.job.JobManager;
+import com.kamlesh.britishtime.service.limit.Bulkhead;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.MultipartConfigElement;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.MultipartConfigFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration for asynchronous conversion jobs.
+ * Jobs run on a pool of their own, {@code app.jobs.workers} threads with at most
+ * {@code app.jobs.max-queued} jobs waiting, so a long job never takes a worker from the
+ * request bulkheads. Inputs, results and job metadata live in {@code app.jobs.dir}, which
+ * should survive restarts. Multipart uploads are capped at {@code app.jobs.max-input-bytes}
+ * too. Job counts and the job pool's state are published under {@code time.jobs.*}.
+ */
+@Configuration
+public class JobConfiguration {
+
+    /** Room in a multipart request for the part headers and boundaries around the file. */
+    private static final long MULTIPART_OVERHEAD_BYTES = 64 * 1024;
+
+    @Value("${app.jobs.dir:${java.io.tmpdir}/britishtime-jobs}")
+    private String dir;
+
+    @Value("${app.jobs.workers:2}")
+    private int workers;
+
+    @Value("${app.jobs.max-queued:100}")
+    private int maxQueued;
+
+    @Value("${app.jobs.chunk-bytes:1048576}")
+    private int chunkBytes;
+
+    @Value("${app.jobs.max-input-bytes:1073741824}")
+    private long maxInputBytes;
+
+    @Value("${app.jobs.retention-minutes:1440}")
+    private long retentionMinutes;
+
+    @Value("${app.jobs.expiry-interval-seconds:60}")
+    private long expiryIntervalSeconds;
+
+    @Value("${app.bulkhead.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    /**
+     * Replaces Spring Boot's multipart settings, so an upload may be as large as a job input.
+     */
+    @Bean
+    public MultipartConfigElement multipartConfigElement() {
+        MultipartConfigFactory factory = new MultipartConfigFactory();
+        factory.setMaxFileSize(DataSize.ofBytes(maxInputBytes));
+        factory.setMaxRequestSize(DataSize.ofBytes(maxInputBytes + MULTIPART_OVERHEAD_BYTES));
+        return factory.createMultipartConfig();
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public JobManager jobManager(TimeSpokenFormatter timeSpokenFormatter, ObjectProvider<AuditLog> auditLog,
+                                 MeterRegistry meterRegistry) {
+        Bulkhead pool = new Bulkhead("jobs", workers, maxQueued, retryAfterSeconds);
+        JobManager jobs = new JobManager(Path.of(dir), timeSpokenFormatter, pool, chunkBytes, maxInputBytes,
+                Duration.ofMinutes(retentionMinutes), Duration.ofSeconds(expiryIntervalSeconds), Clock.systemUTC(),
+                auditLog.getIfAvailable());
+        Gauge.builder("time.jobs.stored", jobs, JobManager::jobCount)
+                .description("Jobs kept in the job directory, in any state")
+                .register(meterRegistry);
+        Gauge.builder("time.jobs.active", jobs, JobManager::activeCount)
+                .description("Jobs queued or running")
+                .register(meterRegistry);
+        Gauge.builder("time.jobs.queue.depth", pool, Bulkhead::queueDepth)
+                .description("Jobs waiting for a worker")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.jobs.submitted", jobs, JobManager::submittedCount)
+                .description("Jobs submitted")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.jobs.completed", jobs, JobManager::completedCount)
+                .description("Jobs completed")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.jobs.failed", jobs, JobManager::failedCount)
+                .description("Jobs that failed")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.jobs.expired", jobs, JobManager::expiredCount)
+                .description("Finished jobs deleted after their retention period")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.jobs.rejected", pool, Bulkhead::rejectedCount)
+                .description("Jobs refused because the job queue was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.jobs.lines", jobs, JobManager::linesConverted)
+                .description("Input lines converted by jobs")
+                .register(meterRegistry);
+        return jobs;
+    }
+}
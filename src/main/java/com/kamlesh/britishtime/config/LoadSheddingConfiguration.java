@@ -0,0 +1,141 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.handler.ClientIdFilter;
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.limit.AdaptiveConcurrencyLimiter;
+import com.kamlesh.britishtime.service.limit.ClientQuotas;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration for load shedding on the conversion endpoints.
+ * Combines per-client quotas with adaptive (AIMD) concurrency limits, and publishes the
+ * limiter state as gauges next to the decision counters. Single lookups and bulk work (batches,
+ * streams and rewrites) each have a limiter of their own, so the long latencies of bulk
+ * requests do not cut the limit for single lookups. The clock stream is not limited.
+ */
+@Configuration
+public class LoadSheddingConfiguration implements WebMvcConfigurer {
+
+    @Value("${app.limiter.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.limiter.initial-limit:64}")
+    private int initialLimit;
+
+    @Value("${app.limiter.min-limit:8}")
+    private int minLimit;
+
+    @Value("${app.limiter.max-limit:512}")
+    private int maxLimit;
+
+    @Value("${app.limiter.bulk.initial-limit:16}")
+    private int bulkInitialLimit;
+
+    @Value("${app.limiter.bulk.min-limit:2}")
+    private int bulkMinLimit;
+
+    @Value("${app.limiter.bulk.max-limit:64}")
+    private int bulkMaxLimit;
+
+    @Value("${app.limiter.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    @Value("${app.limiter.latency-tolerance:2.0}")
+    private double latencyTolerance;
+
+    @Value("${app.limiter.backoff-cooldown-ms:100}")
+    private long backoffCooldownMillis;
+
+    @Value("${app.limiter.overload-retry-after-seconds:1}")
+    private long overloadRetryAfterSeconds;
+
+    @Value("${app.limiter.client-rate-per-second:200}")
+    private double clientRatePerSecond;
+
+    @Value("${app.limiter.client-burst:400}")
+    private int clientBurst;
+
+    @Value("${app.limiter.max-clients:100000}")
+    private int maxClients;
+
+    @Value("${app.client-id.trusted-proxies:}")
+    private Set<String> trustedProxies;
+
+    private final MeterRegistry meterRegistry;
+
+    public LoadSheddingConfiguration(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * The limiter for single lookups.
+     */
+    @Bean
+    @Primary
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter() {
+        return limiter("time.limiter", initialLimit, minLimit, maxLimit);
+    }
+
+    /**
+     * The limiter for batch, stream and rewrite requests.
+     */
+    @Bean
+    public AdaptiveConcurrencyLimiter bulkConcurrencyLimiter() {
+        return limiter("time.limiter.bulk", bulkInitialLimit, bulkMinLimit, bulkMaxLimit);
+    }
+
+    private AdaptiveConcurrencyLimiter limiter(String prefix, int initial, int min, int max) {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(initial, min, max,
+                backoffRatio, latencyTolerance, TimeUnit.MILLISECONDS.toNanos(backoffCooldownMillis));
+        Gauge.builder(prefix + ".limit", limiter, AdaptiveConcurrencyLimiter::limit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder(prefix + ".inflight", limiter, AdaptiveConcurrencyLimiter::inFlight)
+                .description("Requests currently holding a limiter slot")
+                .register(meterRegistry);
+        Gauge.builder(prefix + ".baseline.latency", limiter, l -> l.baselineNanos() / 1_000_000.0)
+                .description("No-load latency baseline in milliseconds")
+                .register(meterRegistry);
+        return limiter;
+    }
+
+    @Bean
+    public ClientQuotas clientQuotas() {
+        ClientQuotas quotas = new ClientQuotas(clientRatePerSecond, clientBurst, maxClients);
+        Gauge.builder("time.limiter.clients", quotas, ClientQuotas::trackedClients)
+                .description("Clients with a tracked quota bucket")
+                .register(meterRegistry);
+        return quotas;
+    }
+
+    /**
+     * Identifies the client of every request, for quotas and auditing, whether or not load
+     * shedding is enabled.
+     */
+    @Bean
+    public ClientIdFilter clientIdFilter() {
+        return new ClientIdFilter(trustedProxies);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (!enabled) {
+            return;
+        }
+        registry.addInterceptor(new LoadSheddingInterceptor(
+                        adaptiveConcurrencyLimiter(), bulkConcurrencyLimiter(), clientQuotas(),
+                        overloadRetryAfterSeconds, meterRegistry))
+                .addPathPatterns("/api/time/**")
+                .excludePathPatterns("/api/time/spoken/stream");
+    }
+}
@@ -0,0 +1,74 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.tail.LogTailer;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Configuration for the log-tailing daemon, enabled with {@code app.tail.enabled=true}.
+ * Follows the log files in {@code app.tail.input-dir} and writes enriched copies to
+ * {@code app.tail.output-dir}. Throughput counters, end-to-end lag and the unprocessed
+ * backlog are published under {@code time.tail.*}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.tail.enabled", havingValue = "true")
+public class LogTailingConfiguration {
+
+    @Value("${app.tail.input-dir}")
+    private String inputDir;
+
+    @Value("${app.tail.glob:*.log}")
+    private String glob;
+
+    @Value("${app.tail.output-dir}")
+    private String outputDir;
+
+    @Value("${app.tail.checkpoint-file:}")
+    private String checkpointFile;
+
+    @Value("${app.tail.buffer-size:65536}")
+    private int bufferSize;
+
+    @Value("${app.tail.poll-interval-ms:1000}")
+    private long pollIntervalMillis;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public LogTailer logTailer(TimeSpokenFormatter timeSpokenFormatter, MeterRegistry meterRegistry) {
+        Path output = Path.of(outputDir);
+        LogTailer tailer = new LogTailer(Path.of(inputDir), glob, output,
+                checkpointFile.isBlank() ? output.resolve(".tail-checkpoint") : Path.of(checkpointFile),
+                timeSpokenFormatter, bufferSize, Duration.ofMillis(pollIntervalMillis), Clock.systemUTC());
+        FunctionCounter.builder("time.tail.lines", tailer, LogTailer::linesProcessed)
+                .description("Log lines enriched")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.tail.bytes", tailer, LogTailer::bytesProcessed)
+                .description("Input log bytes processed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.tail.timestamps", tailer, LogTailer::timestampsEnriched)
+                .description("Timestamps given a spoken form")
+                .register(meterRegistry);
+        FunctionCounter.builder("time.tail.rotations", tailer, LogTailer::rotations)
+                .description("Followed files that were rotated or truncated")
+                .register(meterRegistry);
+        Gauge.builder("time.tail.lag", tailer, LogTailer::lagMillis)
+                .description("Milliseconds from a log file change to its enriched output, for the last batch")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder("time.tail.backlog", tailer, LogTailer::backlogBytes)
+                .description("Input bytes not yet processed")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return tailer;
+    }
+}
@@ -0,0 +1,30 @@
+package com.kamlesh.britishtime.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.clock.SpokenClockBroadcaster;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Configuration for the spoken-clock broadcast (Server-Sent Events).
+ */
+@Configuration
+public class SpokenClockConfiguration {
+
+    @Value("${app.clock.max-pending-bytes:16384}")
+    private long maxPendingBytes;
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    public SpokenClockBroadcaster spokenClockBroadcaster(TimeSpokenFormatter timeSpokenFormatter,
+                                                         ObjectMapper objectMapper,
+                                                         ObjectProvider<AuditLog> auditLog) {
+        return new SpokenClockBroadcaster(timeSpokenFormatter, objectMapper, Clock.systemUTC(), maxPendingBytes,
+                auditLog.getIfAvailable());
+    }
+}
@@ -0,0 +1,45 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.rules.ReloadingRuleFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTableFormatter;
+import com.kamlesh.britishtime.service.table.StyledPhraseTables;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+
+/**
+ * Configuration for spoken styles.
+ * Logs the estimated heap of each style's phrase table at startup and publishes it as the
+ * {@code time.styles.table.bytes} gauge, tagged by style. With a rule file the figures are
+ * those of the rules loaded at startup.
+ */
+@Configuration
+public class SpokenStyleConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SpokenStyleConfiguration.class);
+
+    @Bean
+    public StyledPhraseTables styledPhraseTables(TimeSpokenFormatter timeSpokenFormatter,
+                                                 MeterRegistry meterRegistry) {
+        StyledPhraseTables styles = timeSpokenFormatter instanceof PhraseTableFormatter formatter ? formatter.styles()
+                : timeSpokenFormatter instanceof ReloadingRuleFormatter formatter ? formatter.styles()
+                : StyledPhraseTables.standard();
+        Map<SpokenStyle, Long> report = styles.memoryReport();
+        LOG.info("Spoken style tables, estimated bytes per style: {}", report);
+        for (SpokenStyle style : SpokenStyle.values()) {
+            Gauge.builder("time.styles.table.bytes", report, r -> r.get(style))
+                    .tag("style", style.parameter())
+                    .description("Approximate heap held by the phrase table of one spoken style")
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+        return styles;
+    }
+}
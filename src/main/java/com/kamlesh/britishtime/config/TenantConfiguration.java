@@ -0,0 +1,51 @@
+package com.kamlesh.britishtime.config;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Configuration for per-tenant phrase overrides.
+ * When {@code app.tenants.file} is set, each tenant listed there gets a sparse overlay on top of
+ * the shared formatter, selected per request by the {@code X-Tenant-Id} header. The estimated
+ * memory is logged at startup and the overlay size is published as gauges.
+ */
+@Configuration
+public class TenantConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TenantConfiguration.class);
+
+    @Value("${app.tenants.file:}")
+    private String tenantsFile;
+
+    @Bean
+    public TenantPhrases tenantPhrases(TimeSpokenFormatter timeSpokenFormatter, MeterRegistry meterRegistry)
+            throws IOException {
+        TenantPhrases tenants = new TenantPhrases(timeSpokenFormatter);
+        if (!tenantsFile.isBlank()) {
+            Path file = Path.of(tenantsFile);
+            tenants.replaceAll(TenantPhrases.parse(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                    file.toString()));
+            LOG.info("Loaded tenant phrase overrides from {}: {}", file, tenants.memoryReport());
+        }
+        Gauge.builder("time.tenants.count", tenants, TenantPhrases::tenantCount)
+                .description("Tenants with phrase overrides")
+                .register(meterRegistry);
+        Gauge.builder("time.tenants.overlay.bytes", tenants, TenantPhrases::overlayBytes)
+                .description("Approximate heap held by tenant phrase overlays")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        return tenants;
+    }
+}
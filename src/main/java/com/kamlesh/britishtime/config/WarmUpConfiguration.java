@@ -0,0 +1,49 @@
+package com.kamlesh.britishtime.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.service.TimeService;
+import com.kamlesh.britishtime.service.warmup.ServiceWarmUp;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration for the JIT warm-up stage that runs before the service reports ready.
+ * Spring Boot runs application runners before it publishes {@code ACCEPTING_TRAFFIC}, so
+ * running the warm-up synchronously in one keeps the readiness probe failing until the
+ * conversion path has been compiled. The time taken is published as
+ * {@code time.warmup.duration}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.warmup.enabled", havingValue = "true", matchIfMissing = true)
+public class WarmUpConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmUpConfiguration.class);
+
+    @Value("${app.warmup.iterations:20}")
+    private int iterations;
+
+    @Bean
+    public ApplicationRunner warmUpRunner(TimeService timeService, ObjectMapper objectMapper,
+                                          MeterRegistry meterRegistry, ApplicationEventPublisher publisher) {
+        Timer duration = Timer.builder("time.warmup.duration")
+                .description("Time spent warming up the conversion path before accepting traffic")
+                .register(meterRegistry);
+        return args -> {
+            AvailabilityChangeEvent.publish(publisher, this, ReadinessState.REFUSING_TRAFFIC);
+            ServiceWarmUp.Result result = new ServiceWarmUp(timeService, objectMapper, iterations).run();
+            duration.record(result.elapsed());
+            LOG.info("Warm-up converted {} times and rejected {} inputs in {} ms", result.conversions(),
+                    result.rejected(), result.elapsed().toMillis());
+        };
+    }
+}
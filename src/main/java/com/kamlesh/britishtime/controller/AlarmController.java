@@ -0,0 +1,109 @@
+package com.kamlesh.britishtime.controller;
+
+import com.kamlesh.britishtime.dtos.AlarmFiring;
+import com.kamlesh.britishtime.dtos.AlarmRequest;
+import com.kamlesh.britishtime.dtos.AlarmResponse;
+import com.kamlesh.britishtime.exception.InvalidAlarmException;
+import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
+import com.kamlesh.britishtime.service.alarm.Alarm;
+import com.kamlesh.britishtime.service.alarm.AlarmQueues;
+import com.kamlesh.britishtime.service.alarm.AlarmScheduler;
+import com.kamlesh.britishtime.service.alarm.AlarmTarget;
+import com.kamlesh.britishtime.utility.TimeParser;
+import com.kamlesh.britishtime.utility.Zones;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * REST controller for spoken-time alarms: register, list and cancel alarms, and drain the
+ * in-process queues that queue-targeted alarms are delivered to. Not mapped when alarms are
+ * disabled.
+ */
+@RestController
+@ConditionalOnProperty(name = "app.alarms.enabled", havingValue = "true", matchIfMissing = true)
+@RequestMapping("/api/alarms")
+public class AlarmController {
+
+    private static final int MAX_PAGE = 1000;
+
+    private final AlarmScheduler scheduler;
+    private final AlarmQueues queues;
+
+    public AlarmController(AlarmScheduler scheduler, AlarmQueues queues) {
+        this.scheduler = scheduler;
+        this.queues = queues;
+    }
+
+    @PostMapping
+    public ResponseEntity<AlarmResponse> register(@RequestBody AlarmRequest request) {
+        if (request.time() == null) {
+            throw new InvalidTimeFormatException("Missing 'time'. Please use HH:mm (e.g., 09:30).");
+        }
+        LocalTime time;
+        try {
+            time = TimeParser.parse(request.time());
+        } catch (DateTimeParseException ex) {
+            throw new InvalidTimeFormatException("Invalid time format. Please use HH:mm (e.g., 09:30).");
+        }
+        ZoneId zone = Zones.parse(request.zone() != null ? request.zone() : "Europe/London");
+        Alarm alarm = scheduler.register(time, zone, target(request), Boolean.TRUE.equals(request.daily()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(alarm));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<AlarmResponse>> list(
+            @RequestParam(name = "after", defaultValue = "0") long afterId,
+            @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return ResponseEntity.ok(scheduler.list(afterId, Math.max(1, Math.min(limit, MAX_PAGE))).stream()
+                .map(AlarmController::toResponse)
+                .toList());
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<AlarmResponse> get(@PathVariable("id") long id) {
+        Alarm alarm = scheduler.get(id);
+        return alarm != null ? ResponseEntity.ok(toResponse(alarm)) : ResponseEntity.notFound().build();
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancel(@PathVariable("id") long id) {
+        return scheduler.cancel(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Removes and returns firings from a queue, oldest first.
+     */
+    @PostMapping("/queues/{name}/drain")
+    public ResponseEntity<List<AlarmFiring>> drain(
+            @PathVariable("name") String name,
+            @RequestParam(name = "max", defaultValue = "100") int max) {
+        return ResponseEntity.ok(queues.drain(name, Math.max(1, Math.min(max, MAX_PAGE))));
+    }
+
+    private static AlarmTarget target(AlarmRequest request) {
+        if ((request.webhook() == null) == (request.queue() == null)) {
+            throw new InvalidAlarmException("Give exactly one of 'webhook' and 'queue'");
+        }
+        return request.webhook() != null ? AlarmTarget.webhook(request.webhook()) : AlarmTarget.queue(request.queue());
+    }
+
+    private static AlarmResponse toResponse(Alarm alarm) {
+        return new AlarmResponse(alarm.id(), alarm.time().toString(), alarm.zone().getId(), alarm.phrase(),
+                alarm.target().toString(), alarm.daily(), Instant.ofEpochSecond(alarm.fireAtEpochSecond()));
+    }
+}
@@ -0,0 +1,64 @@
+package com.kamlesh.britishtime.controller;
+
+import com.kamlesh.britishtime.client.BinaryBatchCodec;
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.limit.Bulkheads;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller exposing batch conversion in the compact binary format of
+ * {@link BinaryBatchCodec}. Batches are converted on the bulk bulkhead, a chunk per turn. Each
+ * conversion is recorded in the {@link AuditLog} when auditing is enabled.
+ */
+@RestController
+@RequestMapping("/api/time")
+public class BatchTimeController {
+
+    private static final MediaType BATCH = MediaType.parseMediaType(BinaryBatchCodec.MEDIA_TYPE);
+
+    private final PhraseTableSource phraseTables;
+    private final int maxBatchSize;
+    private final Bulkheads bulkheads;
+    private final AuditLog auditLog;
+
+    public BatchTimeController(PhraseTableSource phraseTables,
+                               @Value("${app.batch.max-size:1048576}") int maxBatchSize,
+                               Bulkheads bulkheads, ObjectProvider<AuditLog> auditLog) {
+        this.phraseTables = phraseTables;
+        this.maxBatchSize = maxBatchSize;
+        this.bulkheads = bulkheads;
+        this.auditLog = auditLog.getIfAvailable();
+    }
+
+    @PostMapping(path = "/spoken/batch", consumes = BinaryBatchCodec.MEDIA_TYPE)
+    public CompletableFuture<ResponseEntity<byte[]>> batch(@RequestBody byte[] body, HttpServletRequest request) {
+        short[] minutesOfDay = BinaryBatchCodec.decodeRequest(body, maxBatchSize);
+        PhraseTable table = phraseTables.snapshot();
+        BinaryBatchCodec.ResponseEncoder encoder = new BinaryBatchCodec.ResponseEncoder(table, minutesOfDay);
+        String client = auditLog != null ? LoadSheddingInterceptor.clientId(request) : null;
+        return bulkheads.bulk()
+                .submitChunked(minutesOfDay.length, bulkheads.chunkSize(), (from, to) -> {
+                    encoder.convert(from, to);
+                    if (auditLog != null) {
+                        long now = System.currentTimeMillis();
+                        for (int i = from; i < to; i++) {
+                            auditLog.recordMinute(now, client, minutesOfDay[i], table.phraseAt(minutesOfDay[i]));
+                        }
+                    }
+                })
+                .thenApply(done -> ResponseEntity.ok().contentType(BATCH).body(encoder.finish()));
+    }
+}
@@ -0,0 +1,148 @@
+package com.kamlesh.britishtime.controller;
+
+import com.kamlesh.britishtime.dtos.SpokenTimeResponse;
+import com.kamlesh.britishtime.exception.InvalidBatchException;
+import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.epoch.EpochTimeConverter;
+import com.kamlesh.britishtime.service.limit.Bulkheads;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.utility.Zones;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * REST controller converting epoch-millisecond timestamps to spoken times in a time zone.
+ * An unknown zone is rejected with an {@code InvalidZoneException}. Every conversion, single,
+ * batched or streamed, is recorded in the {@link AuditLog} when auditing is enabled.
+ * Single conversions run on the interactive bulkhead and batches on the bulk bulkhead in
+ * chunks. Streams run on the stream bulkhead, the MVC async executor.
+ */
+@RestController
+@RequestMapping("/api/time/spoken/epoch")
+public class EpochTimeController {
+
+    private static final String DEFAULT_ZONE = "Europe/London";
+
+    private final EpochTimeConverter converter;
+    private final int maxBatchSize;
+    private final Bulkheads bulkheads;
+    private final AuditLog auditLog;
+
+    public EpochTimeController(EpochTimeConverter converter,
+                               @Value("${app.epoch.max-batch-size:1048576}") int maxBatchSize,
+                               Bulkheads bulkheads, ObjectProvider<AuditLog> auditLog) {
+        this.converter = converter;
+        this.maxBatchSize = maxBatchSize;
+        this.bulkheads = bulkheads;
+        this.auditLog = auditLog.getIfAvailable();
+    }
+
+    @GetMapping
+    public CompletableFuture<ResponseEntity<SpokenTimeResponse>> spoken(
+            @RequestParam("millis") long epochMillis,
+            @RequestParam(name = "zone", defaultValue = DEFAULT_ZONE) String zone,
+            HttpServletRequest request) {
+        ZoneId zoneId = Zones.parse(zone);
+        String client = auditLog != null ? LoadSheddingInterceptor.clientId(request) : null;
+        return bulkheads.interactive().submit(() -> {
+            String input = Long.toString(epochMillis);
+            String spoken = converter.spoken(epochMillis, zoneId);
+            if (auditLog != null) {
+                auditLog.record(System.currentTimeMillis(), client, input + " " + zone, spoken);
+            }
+            return ResponseEntity.ok(new SpokenTimeResponse(input, spoken));
+        });
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
+    public CompletableFuture<ResponseEntity<String[]>> batch(
+            @RequestBody long[] epochMillis,
+            @RequestParam(name = "zone", defaultValue = DEFAULT_ZONE) String zone,
+            HttpServletRequest request) {
+        if (epochMillis.length > maxBatchSize) {
+            throw new InvalidBatchException("Batch of " + epochMillis.length + " timestamps exceeds the limit of "
+                    + maxBatchSize);
+        }
+        ZoneId zoneId = Zones.parse(zone);
+        String client = auditLog != null ? LoadSheddingInterceptor.clientId(request) : null;
+        PhraseTable table = converter.snapshot();
+        String[] phrases = new String[epochMillis.length];
+        return bulkheads.bulk()
+                .submitChunked(epochMillis.length, bulkheads.chunkSize(), (from, to) -> {
+                    converter.spoken(epochMillis, from, to, zoneId, table, phrases);
+                    if (auditLog != null) {
+                        long now = System.currentTimeMillis();
+                        for (int i = from; i < to; i++) {
+                            auditLog.record(now, client, epochMillis[i] + " " + zone, phrases[i]);
+                        }
+                    }
+                })
+                .thenApply(done -> ResponseEntity.ok(phrases));
+    }
+
+    /**
+     * Converts newline-separated timestamps as they arrive, writing one phrase per line. Blank
+     * lines are skipped. A line that is not a number ends the response early, since the status
+     * has already been sent by then.
+     */
+    @PostMapping(path = "/stream", consumes = MediaType.TEXT_PLAIN_VALUE, produces = MediaType.TEXT_PLAIN_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream(
+            InputStream body,
+            @RequestParam(name = "zone", defaultValue = DEFAULT_ZONE) String zone,
+            HttpServletRequest request) {
+        ZoneId zoneId = Zones.parse(zone);
+        String client = auditLog != null ? LoadSheddingInterceptor.clientId(request) : null;
+        StreamingResponseBody response = out -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.US_ASCII));
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            // the iterator pulls one timestamp through the pipeline per phrase, so this is its input
+            long[] current = new long[1];
+            Iterator<String> phrases = converter.spoken(reader.lines()
+                    .map(String::strip)
+                    .filter(line -> !line.isEmpty())
+                    .mapToLong(EpochTimeController::parseMillis)
+                    .peek(millis -> current[0] = millis), zoneId).iterator();
+            while (phrases.hasNext()) {
+                String phrase = phrases.next();
+                if (auditLog != null) {
+                    auditLog.record(System.currentTimeMillis(), client, current[0] + " " + zone, phrase);
+                }
+                writer.write(phrase);
+                writer.write('\n');
+            }
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.TEXT_PLAIN).body(response);
+    }
+
+    private static long parseMillis(String line) {
+        try {
+            return Long.parseLong(line);
+        } catch (NumberFormatException ex) {
+            throw new InvalidTimeFormatException("Invalid epoch millis: " + line);
+        }
+    }
+}
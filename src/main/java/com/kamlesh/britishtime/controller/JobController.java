@@ -0,0 +1,108 @@
+package com.kamlesh.britishtime.controller;
+
+import com.kamlesh.britishtime.dtos.JobResponse;
+import com.kamlesh.britishtime.service.job.ConversionJob;
+import com.kamlesh.britishtime.service.job.JobManager;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * REST controller for asynchronous conversion jobs: submit a file of {@code HH:mm} lines, poll
+ * the job and download the result once it has completed.
+ */
+@RestController
+@RequestMapping("/api/jobs")
+public class JobController {
+
+    private static final MediaType RESULT_TYPE = MediaType.parseMediaType("text/plain;charset=UTF-8");
+
+    private final JobManager jobs;
+
+    public JobController(JobManager jobs) {
+        this.jobs = jobs;
+    }
+
+    /**
+     * Submits the request body, one time per line.
+     */
+    @PostMapping(consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<JobResponse> submit(HttpServletRequest request) throws IOException {
+        return accepted(jobs.submit(request.getInputStream()));
+    }
+
+    /**
+     * Submits an uploaded file, one time per line.
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<JobResponse> submitFile(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream input = file.getInputStream()) {
+            return accepted(jobs.submit(input));
+        }
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<JobResponse> get(@PathVariable("id") String id) {
+        ConversionJob job = jobs.get(id);
+        return job != null ? ResponseEntity.ok(toResponse(job)) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Streams the result of a completed job from disk: one phrase per input line, empty for
+     * lines that were not a valid time. A job that has not completed gives {@code 409 Conflict}.
+     */
+    @GetMapping("/{id}/result")
+    public ResponseEntity<Resource> result(@PathVariable("id") String id) {
+        ConversionJob job = jobs.get(id);
+        if (job == null) {
+            return ResponseEntity.notFound().build();
+        }
+        Path result = jobs.result(id);
+        if (result == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        return ResponseEntity.ok()
+                .contentType(RESULT_TYPE)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(id + ".txt").build().toString())
+                .body(new FileSystemResource(result));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> delete(@PathVariable("id") String id) {
+        return jobs.delete(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    private ResponseEntity<JobResponse> accepted(ConversionJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/jobs/" + job.id()))
+                .body(toResponse(job));
+    }
+
+    private JobResponse toResponse(ConversionJob job) {
+        long expiresAt = jobs.expiresAtMillis(job);
+        return new JobResponse(job.id(), job.status().name(), job.progress(), job.lines(), job.invalidLines(),
+                Instant.ofEpochMilli(job.submittedMillis()),
+                job.finishedMillis() > 0 ? Instant.ofEpochMilli(job.finishedMillis()) : null,
+                expiresAt > 0 ? Instant.ofEpochMilli(expiresAt) : null, job.error());
+    }
+}
@@ -0,0 +1,31 @@
+package com.kamlesh.britishtime.controller;
+
+import com.kamlesh.britishtime.service.shadow.ShadowEvaluator;
+import com.kamlesh.britishtime.service.shadow.ShadowMismatch;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST controller for reviewing a shadow evaluation: the inputs on which the candidate
+ * formatter disagreed with the live one. Answers {@code 404} when shadow mode is off.
+ */
+@RestController
+@RequestMapping("/api/shadow")
+public class ShadowController {
+
+    private final ShadowEvaluator shadow;
+
+    public ShadowController(ObjectProvider<ShadowEvaluator> shadow) {
+        this.shadow = shadow.getIfAvailable();
+    }
+
+    @GetMapping("/mismatches")
+    public ResponseEntity<List<ShadowMismatch>> mismatches() {
+        return shadow != null ? ResponseEntity.ok(shadow.mismatches()) : ResponseEntity.notFound().build();
+    }
+}
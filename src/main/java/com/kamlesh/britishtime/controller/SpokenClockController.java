@@ -0,0 +1,69 @@
+package com.kamlesh.britishtime.controller;
+
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.clock.ClockSubscription;
+import com.kamlesh.britishtime.service.clock.FrameSink;
+import com.kamlesh.britishtime.service.clock.SpokenClockBroadcaster;
+import com.kamlesh.britishtime.utility.Zones;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+
+import java.io.IOException;
+import java.time.ZoneId;
+
+/**
+ * REST controller exposing the spoken-clock Server-Sent Events stream.
+ */
+@RestController
+@RequestMapping("/api/time")
+public class SpokenClockController {
+
+    private final SpokenClockBroadcaster broadcaster;
+    private final long emitterTimeoutMillis;
+
+    public SpokenClockController(SpokenClockBroadcaster broadcaster,
+                                 @Value("${app.clock.emitter-timeout-ms:0}") long emitterTimeoutMillis) {
+        this.broadcaster = broadcaster;
+        this.emitterTimeoutMillis = emitterTimeoutMillis;
+    }
+
+    @GetMapping(path = "/spoken/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<ResponseBodyEmitter> stream(
+            @RequestParam(value = "zone", defaultValue = "Europe/London") String zone,
+            HttpServletRequest request) {
+        ZoneId zoneId = Zones.parse(zone);
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(emitterTimeoutMillis);
+        ClockSubscription subscription = broadcaster.subscribe(zoneId, LoadSheddingInterceptor.clientId(request),
+                new EmitterFrameSink(emitter));
+        emitter.onCompletion(() -> broadcaster.unsubscribe(subscription));
+        emitter.onTimeout(() -> broadcaster.unsubscribe(subscription));
+        emitter.onError(ex -> broadcaster.unsubscribe(subscription));
+        return ResponseEntity.ok()
+                .contentType(MediaType.TEXT_EVENT_STREAM)
+                .header("Cache-Control", "no-cache")
+                .body(emitter);
+    }
+
+    /**
+     * Writes pre-encoded SSE frames as raw bytes, so nothing is re-serialized per connection.
+     */
+    private record EmitterFrameSink(ResponseBodyEmitter emitter) implements FrameSink {
+
+        @Override
+        public void write(byte[] frame) throws IOException {
+            emitter.send(frame, MediaType.TEXT_EVENT_STREAM);
+        }
+
+        @Override
+        public void close() {
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.kamlesh.britishtime.controller;
+
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.rewrite.SpokenTimeRewriter;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * REST controller that rewrites a text with every {@code HH:mm} replaced by its spoken form,
+ * streaming the result as the body arrives (see {@link SpokenTimeRewriter}). Streams run on the
+ * stream bulkhead, the MVC async executor. One rewriter per style is kept and rebuilt when
+ * the phrase table changes. Each time replaced is recorded in the {@link AuditLog} when auditing
+ * is enabled.
+ */
+@RestController
+@RequestMapping("/api/time/spoken/rewrite")
+public class TextRewriteController {
+
+    private static final MediaType TEXT_UTF8 = MediaType.parseMediaType("text/plain;charset=UTF-8");
+
+    private final TimeSpokenFormatter formatter;
+    private final PhraseTableSource phraseTables;
+    private final AuditLog auditLog;
+    private final Map<SpokenStyle, CachedRewriter> rewriters = new ConcurrentHashMap<>();
+
+    public TextRewriteController(TimeSpokenFormatter formatter, PhraseTableSource phraseTables,
+                                 ObjectProvider<AuditLog> auditLog) {
+        this.formatter = formatter;
+        this.phraseTables = phraseTables;
+        this.auditLog = auditLog.getIfAvailable();
+    }
+
+    /**
+     * Rewrites the body, which should be UTF-8 or another ASCII-compatible encoding. The
+     * response is UTF-8.
+     */
+    @PostMapping(consumes = {MediaType.TEXT_PLAIN_VALUE, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> rewrite(
+            InputStream body,
+            @RequestParam(name = "style", defaultValue = "british") String style,
+            HttpServletRequest request) {
+        SpokenTimeRewriter rewriter = rewriter(SpokenStyle.fromParameter(style));
+        String client = auditLog != null ? LoadSheddingInterceptor.clientId(request) : null;
+        StreamingResponseBody response = out -> {
+            rewriter.rewrite(body, out, auditLog == null ? null : minute ->
+                    auditLog.recordMinute(System.currentTimeMillis(), client, minute, rewriter.phrase(minute)));
+            out.flush();
+        };
+        return ResponseEntity.ok().contentType(TEXT_UTF8).body(response);
+    }
+
+    private SpokenTimeRewriter rewriter(SpokenStyle style) {
+        PhraseTable table = phraseTables.snapshot();
+        CachedRewriter cached = rewriters.get(style);
+        if (cached == null || cached.table() != table) {
+            // styled tables are rebuilt with the British one, so its identity tracks them all
+            cached = new CachedRewriter(table, new SpokenTimeRewriter(formatter, style));
+            rewriters.put(style, cached);
+        }
+        return cached.rewriter();
+    }
+
+    private record CachedRewriter(PhraseTable table, SpokenTimeRewriter rewriter) {
+    }
+}
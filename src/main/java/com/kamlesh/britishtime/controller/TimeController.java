@@ -1,28 +1,55 @@
 package com.kamlesh.britishtime.controller;
 
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.SpokenStyle;
 import com.kamlesh.britishtime.service.TimeService;
 import com.kamlesh.britishtime.dtos.SpokenTimeResponse;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.limit.Bulkheads;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * REST controller exposing the spoken time endpoint.
+ * Conversions run on the interactive bulkhead, apart from batch work. Successful conversions are recorded in the {@link AuditLog} when auditing is enabled.
  */
 @RestController
 @RequestMapping("/api/time")
 public class TimeController {
 
     private final TimeService timeService;
+    private final Bulkheads bulkheads;
+    private final AuditLog auditLog;
 
-    public TimeController(TimeService timeService) {
+    public TimeController(TimeService timeService, Bulkheads bulkheads, ObjectProvider<AuditLog> auditLog) {
         this.timeService = timeService;
+        this.bulkheads = bulkheads;
+        this.auditLog = auditLog.getIfAvailable();
     }
 
     @GetMapping("/spoken")
-    public ResponseEntity<SpokenTimeResponse> spoken(@RequestParam("time") String time) {
-        return ResponseEntity.ok(timeService.toSpokenTime(time));
+    public CompletableFuture<ResponseEntity<SpokenTimeResponse>> spoken(
+            @RequestParam("time") String time,
+            @RequestParam(name = "style", defaultValue = "british") String style,
+            @RequestHeader(name = TenantPhrases.TENANT_HEADER, required = false) String tenantId,
+            HttpServletRequest request) {
+        SpokenStyle spokenStyle = SpokenStyle.fromParameter(style);
+        String client = auditLog != null ? LoadSheddingInterceptor.clientId(request) : null;
+        return bulkheads.interactive().submit(() -> {
+            SpokenTimeResponse response = timeService.toSpokenTime(time, tenantId, spokenStyle);
+            if (auditLog != null) {
+                auditLog.record(System.currentTimeMillis(), client, time, response.spoken());
+            }
+            return ResponseEntity.ok(response);
+        });
     }
 }
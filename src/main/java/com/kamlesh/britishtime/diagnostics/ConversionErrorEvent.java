@@ -0,0 +1,47 @@
+package com.kamlesh.britishtime.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for a request that ended in the global exception handler.
+ */
+@Name("com.kamlesh.britishtime.ConversionError")
+@Label("Conversion Error")
+@Category({"British Spoken Time", "Errors"})
+@Description("Exception mapped to an error response")
+public class ConversionErrorEvent extends Event {
+
+    @Label("Exception")
+    public String exceptionType;
+
+    @Label("Message")
+    public String message;
+
+    @Label("HTTP Status")
+    public int status;
+
+    @Label("Path")
+    public String path;
+
+    /**
+     * Records an error if the event is enabled; otherwise only the allocation-free check runs.
+     *
+     * @param ex the handled exception
+     * @param status the HTTP status returned
+     * @param path the request path
+     */
+    public static void emit(Throwable ex, int status, String path) {
+        ConversionErrorEvent event = new ConversionErrorEvent();
+        if (event.shouldCommit()) {
+            event.exceptionType = ex.getClass().getName();
+            event.message = ex.getMessage();
+            event.status = status;
+            event.path = path;
+            event.commit();
+        }
+    }
+}
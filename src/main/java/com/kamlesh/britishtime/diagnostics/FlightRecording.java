@@ -0,0 +1,62 @@
+package com.kamlesh.britishtime.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Always-on, low-overhead flight recording.
+ * Uses the JDK "default" settings (designed for continuous production use) and adds this
+ * service's events. Hot-path events are only recorded when they exceed a threshold, so a
+ * healthy service writes almost nothing; error events are always recorded. The recording is
+ * kept in a bounded ring and dumped to disk on exit.
+ */
+public class FlightRecording implements AutoCloseable {
+
+    private final Recording recording;
+
+    public FlightRecording(Duration hotPathThreshold, Duration maxAge, long maxSizeBytes, Path dumpPath)
+            throws IOException, ParseException {
+        recording = new Recording(Configuration.getConfiguration("default"));
+        recording.setName("british-spoken-time");
+        recording.setToDisk(true);
+        recording.setMaxAge(maxAge);
+        recording.setMaxSize(maxSizeBytes);
+        recording.setDumpOnExit(true);
+        recording.setDestination(dumpPath);
+        recording.enable(TimeParseEvent.class).withThreshold(hotPathThreshold);
+        recording.enable(RuleSelectionEvent.class).withThreshold(hotPathThreshold);
+        recording.enable(SpokenTimeConversionEvent.class).withThreshold(hotPathThreshold);
+        recording.enable(ConversionErrorEvent.class);
+    }
+
+    public void start() {
+        recording.start();
+    }
+
+    /**
+     * Writes the current contents of the recording to a file.
+     *
+     * @param path target file
+     * @throws IOException if the file cannot be written
+     */
+    public void dump(Path path) throws IOException {
+        recording.dump(path);
+    }
+
+    /**
+     * Stops the recording, which writes it to the dump path, and releases its resources.
+     */
+    @Override
+    public void close() {
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        recording.close();
+    }
+}
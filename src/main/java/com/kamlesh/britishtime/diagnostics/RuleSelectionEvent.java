@@ -0,0 +1,29 @@
+package com.kamlesh.britishtime.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for rule selection in a formatter chain: which rule produced the phrase and how
+ * many links were asked before it.
+ */
+@Name("com.kamlesh.britishtime.RuleSelection")
+@Label("Rule Selection")
+@Category({"British Spoken Time", "Conversion"})
+@Description("Walk of the formatter chain until a rule handled the time")
+@StackTrace(false)
+public class RuleSelectionEvent extends Event {
+
+    @Label("Minute of Day")
+    public int minuteOfDay;
+
+    @Label("Rule")
+    public String rule;
+
+    @Label("Links Walked")
+    public int linksWalked;
+}
@@ -0,0 +1,28 @@
+package com.kamlesh.britishtime.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code TimeService.toSpokenTime} call, covering parse and format.
+ */
+@Name("com.kamlesh.britishtime.SpokenTimeConversion")
+@Label("Spoken Time Conversion")
+@Category({"British Spoken Time", "Conversion"})
+@Description("End-to-end conversion of an input string into its spoken form")
+@StackTrace(false)
+public class SpokenTimeConversionEvent extends Event {
+
+    @Label("Input")
+    public String input;
+
+    @Label("Spoken")
+    public String spoken;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
@@ -0,0 +1,25 @@
+package com.kamlesh.britishtime.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one {@code TimeParser.parse} call.
+ */
+@Name("com.kamlesh.britishtime.TimeParse")
+@Label("Time Parse")
+@Category({"British Spoken Time", "Conversion"})
+@Description("Parsing of an HH:mm input into a LocalTime")
+@StackTrace(false)
+public class TimeParseEvent extends Event {
+
+    @Label("Input")
+    public String input;
+
+    @Label("Valid")
+    public boolean valid;
+}
@@ -0,0 +1,8 @@
+package com.kamlesh.britishtime.dtos;
+
+/**
+ * One alarm going off: delivered to its webhook or queue together with every other alarm for
+ * the same target that fired in the same second.
+ */
+public record AlarmFiring(long id, String zone, String time, String spoken, long scheduledEpochSecond) {
+}
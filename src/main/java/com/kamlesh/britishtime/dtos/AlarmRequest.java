@@ -0,0 +1,8 @@
+package com.kamlesh.britishtime.dtos;
+
+/**
+ * Request to announce a time: exactly one of {@code webhook} and {@code queue} names where
+ * the announcement goes.
+ */
+public record AlarmRequest(String time, String zone, String webhook, String queue, Boolean daily) {
+}
@@ -0,0 +1,10 @@
+package com.kamlesh.britishtime.dtos;
+
+import java.time.Instant;
+
+/**
+ * A registered alarm and when it next goes off.
+ */
+public record AlarmResponse(long id, String time, String zone, String spoken, String target, boolean daily,
+                            Instant nextFireAt) {
+}
@@ -0,0 +1,11 @@
+package com.kamlesh.britishtime.dtos;
+
+import java.time.Instant;
+
+/**
+ * A conversion job's state and progress. {@code progress} is the fraction of the input
+ * converted, from 0 to 1; {@code expiresAt} is set once the job has finished.
+ */
+public record JobResponse(String id, String status, double progress, long lines, long invalidLines,
+                          Instant submittedAt, Instant finishedAt, Instant expiresAt, String error) {
+}
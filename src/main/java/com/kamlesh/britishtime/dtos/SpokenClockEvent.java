@@ -0,0 +1,7 @@
+package com.kamlesh.britishtime.dtos;
+
+/**
+ * Payload of a spoken-clock broadcast event, pushed to every subscriber of a zone.
+ */
+public record SpokenClockEvent(String zone, String time, String spoken) {
+}
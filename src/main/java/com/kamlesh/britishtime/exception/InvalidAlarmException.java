@@ -0,0 +1,11 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception for an alarm that cannot be registered: no usable target, a webhook host
+ * that is not allowed, or no room for more pending alarms.
+ */
+public class InvalidAlarmException extends RuntimeException {
+    public InvalidAlarmException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception for a batch request that is malformed, too large or holds a
+ * minute-of-day outside 0 to 1439.
+ */
+public class InvalidBatchException extends RuntimeException {
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+}
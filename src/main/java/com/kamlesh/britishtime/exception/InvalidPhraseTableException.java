@@ -0,0 +1,10 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception for a phrase table file that is corrupt, truncated or of another version.
+ */
+public class InvalidPhraseTableException extends RuntimeException {
+    public InvalidPhraseTableException(String message) {
+        super(message);
+    }
+}
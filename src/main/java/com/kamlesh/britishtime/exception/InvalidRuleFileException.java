@@ -0,0 +1,14 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception for a phrasing rule file that cannot be compiled.
+ */
+public class InvalidRuleFileException extends RuntimeException {
+    public InvalidRuleFileException(String message) {
+        super(message);
+    }
+
+    public InvalidRuleFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception for a requested style that does not exist.
+ */
+public class InvalidStyleException extends RuntimeException {
+    public InvalidStyleException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception for a tenant phrase override file that cannot be loaded.
+ */
+public class InvalidTenantFileException extends RuntimeException {
+    public InvalidTenantFileException(String message) {
+        super(message);
+    }
+
+    public InvalidTenantFileException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,10 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception for a requested time zone that cannot be parsed or is unknown.
+ */
+public class InvalidZoneException extends RuntimeException {
+    public InvalidZoneException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,19 @@
+package com.kamlesh.britishtime.exception;
+
+/**
+ * Unchecked exception raised when a request is shed because the service is at its concurrency limit
+ * or the work pool it needs is full.
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,52 @@
+package com.kamlesh.britishtime.handler;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Decides who a request comes from, for quotas and auditing, and stores it on the request
+ * for {@link LoadSheddingInterceptor#clientId}.
+ * The client is the remote address. Only when the request arrives from one of the trusted
+ * proxies ({@code app.client-id.trusted-proxies}), which are expected to set the header
+ * themselves and strip any value the caller sent, is the
+ * {@link LoadSheddingInterceptor#CLIENT_ID_HEADER} header taken instead. A caller talking to
+ * the service directly cannot pick its own id, so it cannot rotate ids to escape its quota or
+ * appear in the audit log as someone else.
+ */
+public class ClientIdFilter extends OncePerRequestFilter {
+
+    static final String ATTRIBUTE = ClientIdFilter.class.getName() + ".clientId";
+
+    private final Set<String> trustedProxies;
+
+    /**
+     * @param trustedProxies remote addresses whose client id header is believed
+     */
+    public ClientIdFilter(Set<String> trustedProxies) {
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        request.setAttribute(ATTRIBUTE, resolve(request));
+        chain.doFilter(request, response);
+    }
+
+    private String resolve(HttpServletRequest request) {
+        String remote = request.getRemoteAddr();
+        if (trustedProxies.contains(remote)) {
+            String clientId = request.getHeader(LoadSheddingInterceptor.CLIENT_ID_HEADER);
+            if (clientId != null && !clientId.isBlank()) {
+                return clientId;
+            }
+        }
+        return remote;
+    }
+}
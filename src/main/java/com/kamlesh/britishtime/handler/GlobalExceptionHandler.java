@@ -1,13 +1,23 @@
 package com.kamlesh.britishtime.handler;
 
+import com.kamlesh.britishtime.diagnostics.ConversionErrorEvent;
+import com.kamlesh.britishtime.exception.InvalidAlarmException;
+import com.kamlesh.britishtime.exception.InvalidBatchException;
+import com.kamlesh.britishtime.exception.InvalidStyleException;
 import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
+import com.kamlesh.britishtime.exception.InvalidZoneException;
+import com.kamlesh.britishtime.exception.QuotaExceededException;
+import com.kamlesh.britishtime.exception.ServiceOverloadedException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import java.time.LocalDateTime;
+import java.time.zone.ZoneRulesException;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -22,9 +32,86 @@ public class GlobalExceptionHandler {
         body.put("error", "Bad Request");
         body.put("message", ex.getMessage());
         body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.BAD_REQUEST.value(), (String) body.get("path"));
         return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({InvalidZoneException.class, ZoneRulesException.class})
+    public ResponseEntity<Object> handleInvalidZone(RuntimeException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.BAD_REQUEST.value(), (String) body.get("path"));
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({InvalidBatchException.class, MaxUploadSizeExceededException.class})
+    public ResponseEntity<Object> handleInvalidBatch(RuntimeException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.BAD_REQUEST.value(), (String) body.get("path"));
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidStyleException.class)
+    public ResponseEntity<Object> handleInvalidStyle(InvalidStyleException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.BAD_REQUEST.value(), (String) body.get("path"));
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidAlarmException.class)
+    public ResponseEntity<Object> handleInvalidAlarm(InvalidAlarmException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.BAD_REQUEST.value());
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.BAD_REQUEST.value(), (String) body.get("path"));
+        return new ResponseEntity<>(body, HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(QuotaExceededException.class)
+    public ResponseEntity<Object> handleQuotaExceeded(QuotaExceededException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.TOO_MANY_REQUESTS.value(), (String) body.get("path"));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<Object> handleOverloaded(ServiceOverloadedException ex, WebRequest request) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        body.put("error", "Service Unavailable");
+        body.put("message", ex.getMessage());
+        body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.SERVICE_UNAVAILABLE.value(), (String) body.get("path"));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()))
+                .body(body);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Object> handleGeneral(Exception ex, WebRequest request) {
         Map<String, Object> body = new LinkedHashMap<>();
@@ -33,6 +120,7 @@ public class GlobalExceptionHandler {
         body.put("error", "Internal Server Error");
         body.put("message", ex.getMessage());
         body.put("path", request.getDescription(false).replace("uri=", ""));
+        ConversionErrorEvent.emit(ex, HttpStatus.INTERNAL_SERVER_ERROR.value(), (String) body.get("path"));
         return new ResponseEntity<>(body, HttpStatus.INTERNAL_SERVER_ERROR);
     }
 }
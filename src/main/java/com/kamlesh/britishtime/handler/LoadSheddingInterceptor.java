@@ -0,0 +1,119 @@
+package com.kamlesh.britishtime.handler;
+
+import com.kamlesh.britishtime.exception.QuotaExceededException;
+import com.kamlesh.britishtime.exception.ServiceOverloadedException;
+import com.kamlesh.britishtime.service.limit.AdaptiveConcurrencyLimiter;
+import com.kamlesh.britishtime.service.limit.ClientQuotas;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sheds load in front of the conversion endpoints.
+ * A request first has to pass its client's quota (429 when exhausted) and then obtain a slot
+ * from an adaptive concurrency limiter (503 when full); a request the limiter turns away gets
+ * its quota back. Single lookups, the {@code GET}
+ * endpoints, take a slot from the interactive limiter. Batches, streams and rewrites, the
+ * {@code POST} endpoints, take one from the bulk limiter, so their latencies only move the
+ * bulk limit. Rejections are raised as exceptions
+ * so that {@link GlobalExceptionHandler} renders them with a {@code Retry-After} header.
+ * An asynchronous request is admitted once and holds its slot until the dispatch that
+ * completes it.
+ */
+public class LoadSheddingInterceptor implements HandlerInterceptor {
+
+    /** Request header a trusted proxy identifies the client with (see {@link ClientIdFilter}). */
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+    private static final String START_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".start";
+    private static final String CLASS_ATTRIBUTE = LoadSheddingInterceptor.class.getName() + ".class";
+
+    private final LimiterClass interactive;
+    private final LimiterClass bulk;
+    private final ClientQuotas quotas;
+    private final long overloadRetryAfterSeconds;
+
+    public LoadSheddingInterceptor(AdaptiveConcurrencyLimiter interactiveLimiter,
+                                   AdaptiveConcurrencyLimiter bulkLimiter, ClientQuotas quotas,
+                                   long overloadRetryAfterSeconds, MeterRegistry registry) {
+        this.interactive = new LimiterClass(interactiveLimiter, registry, "interactive");
+        this.bulk = new LimiterClass(bulkLimiter, registry, "bulk");
+        this.quotas = quotas;
+        this.overloadRetryAfterSeconds = overloadRetryAfterSeconds;
+    }
+
+    /**
+     * A limiter and the decision counters of the requests it admits.
+     */
+    private record LimiterClass(AdaptiveConcurrencyLimiter limiter, Counter accepted, Counter rejectedByLimit,
+                                Counter rejectedByQuota) {
+
+        LimiterClass(AdaptiveConcurrencyLimiter limiter, MeterRegistry registry, String name) {
+            this(limiter, decisions(registry, name, "accepted"), decisions(registry, name, "rejected_limit"),
+                    decisions(registry, name, "rejected_quota"));
+        }
+
+        private static Counter decisions(MeterRegistry registry, String name, String outcome) {
+            return Counter.builder("time.limiter.decisions")
+                    .description("Load-shedding decisions on the conversion endpoints")
+                    .tag("limiter", name)
+                    .tag("outcome", outcome)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // an asynchronous handler finishing; the slot taken on the first dispatch is still held
+            return true;
+        }
+        LimiterClass limiterClass = HttpMethod.GET.matches(request.getMethod()) ? interactive : bulk;
+        long now = System.nanoTime();
+        String clientId = clientId(request);
+        long quotaWaitNanos = quotas.tryAcquire(clientId, now);
+        if (quotaWaitNanos > 0) {
+            limiterClass.rejectedByQuota().increment();
+            throw new QuotaExceededException("Request quota exceeded for this client.", toRetryAfter(quotaWaitNanos));
+        }
+        if (!limiterClass.limiter().tryAcquire()) {
+            quotas.refund(clientId);
+            limiterClass.rejectedByLimit().increment();
+            throw new ServiceOverloadedException("Service is at its concurrency limit.", overloadRetryAfterSeconds);
+        }
+        limiterClass.accepted().increment();
+        request.setAttribute(START_ATTRIBUTE, now);
+        request.setAttribute(CLASS_ATTRIBUTE, limiterClass);
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (start != null) {
+            LimiterClass limiterClass = (LimiterClass) request.getAttribute(CLASS_ATTRIBUTE);
+            request.removeAttribute(START_ATTRIBUTE);
+            request.removeAttribute(CLASS_ATTRIBUTE);
+            limiterClass.limiter().release(System.nanoTime() - (Long) start);
+        }
+    }
+
+    /**
+     * Identifies the caller as decided by {@link ClientIdFilter}, or by its remote address if
+     * the filter did not run.
+     */
+    public static String clientId(HttpServletRequest request) {
+        Object clientId = request.getAttribute(ClientIdFilter.ATTRIBUTE);
+        return clientId != null ? (String) clientId : request.getRemoteAddr();
+    }
+
+    private static long toRetryAfter(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+}
@@ -0,0 +1,53 @@
+package com.kamlesh.britishtime.service;
+
+import com.kamlesh.britishtime.exception.InvalidStyleException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The ways a time can be spoken, chosen per request.
+ */
+public enum SpokenStyle {
+
+    /** "quarter past nine". */
+    BRITISH("british"),
+    /** "nine fifteen", read off a twelve-hour clock. */
+    DIGITAL("digital"),
+    /** "twenty-one fifteen". */
+    TWENTY_FOUR_HOUR("24-hour"),
+    /** "quarter past nine in the evening". */
+    DAY_PART("day-part");
+
+    private static final SpokenStyle[] STYLES = values();
+
+    private final String parameter;
+
+    SpokenStyle(String parameter) {
+        this.parameter = parameter;
+    }
+
+    /**
+     * Returns the name used for this style in request parameters.
+     */
+    public String parameter() {
+        return parameter;
+    }
+
+    /**
+     * Looks up a style by its request parameter name, ignoring case.
+     *
+     * @param parameter e.g. {@code "digital"} or {@code "24-hour"}
+     * @return the style
+     * @throws InvalidStyleException if no style has that name
+     */
+    public static SpokenStyle fromParameter(String parameter) {
+        for (SpokenStyle style : STYLES) {
+            if (style.parameter.equalsIgnoreCase(parameter)) {
+                return style;
+            }
+        }
+        throw new InvalidStyleException("Unknown style '" + parameter + "'. Use one of: "
+                + Arrays.stream(STYLES).map(SpokenStyle::parameter).collect(Collectors.joining(", ")) + ".");
+    }
+}
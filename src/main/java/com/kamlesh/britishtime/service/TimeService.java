@@ -27,4 +27,26 @@ public interface TimeService {
      * @throws IllegalArgumentException if time is null
      */
     SpokenTimeResponse toSpokenTime(String time);
+
+    /**
+     * Converts a time using a tenant's phrase overrides, falling back to the shared phrasing
+     * for minutes the tenant has not overridden.
+     *
+     * @param time the input time, HH:mm
+     * @param tenantId the tenant, or null for the shared phrasing
+     * @return the spoken form of the time
+     */
+    default SpokenTimeResponse toSpokenTime(String time, String tenantId) {
+        return toSpokenTime(time);
+    }
+
+    /**
+     * Converts a time in the given style. Tenant overrides apply to the British style only.
+     *
+     * @param time the input time, HH:mm
+     * @param tenantId the tenant, or null for the shared phrasing
+     * @param style the style to speak the time in
+     * @return the spoken form of the time
+     */
+    SpokenTimeResponse toSpokenTime(String time, String tenantId, SpokenStyle style);
 }
@@ -1,5 +1,7 @@
 package com.kamlesh.britishtime.service;
 
+import com.kamlesh.britishtime.service.table.StyledPhraseTables;
+
 import java.time.LocalTime;
 
 /**
@@ -9,4 +11,20 @@ import java.time.LocalTime;
 public interface TimeSpokenFormatter {
 
     String format(LocalTime time);
+
+    /**
+     * Converts a time in the given style. The British style is {@link #format(LocalTime)};
+     * the others are looked up in {@link StyledPhraseTables#standard()}. Table-backed
+     * formatters override this to answer from a family built around their own phrasing.
+     *
+     * @param time the time
+     * @param style the style
+     * @return the spoken form of the time
+     */
+    default String format(LocalTime time, SpokenStyle style) {
+        if (style == SpokenStyle.BRITISH) {
+            return format(time);
+        }
+        return StyledPhraseTables.standard().phraseAt(style, time.getHour() * 60 + time.getMinute());
+    }
 }
@@ -0,0 +1,16 @@
+package com.kamlesh.britishtime.service.alarm;
+
+import java.time.LocalTime;
+import java.time.ZoneId;
+
+/**
+ * A pending alarm. The phrase is rendered when the alarm is registered, so firing it does no
+ * formatting.
+ */
+public record Alarm(long id, LocalTime time, ZoneId zone, String phrase, AlarmTarget target, boolean daily,
+                    long fireAtEpochSecond) {
+
+    Alarm at(long epochSecond) {
+        return new Alarm(id, time, zone, phrase, target, daily, epochSecond);
+    }
+}
@@ -0,0 +1,89 @@
+package com.kamlesh.britishtime.service.alarm;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.dtos.AlarmFiring;
+import com.kamlesh.britishtime.exception.InvalidAlarmException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Delivers fired alarms to webhooks and in-process queues.
+ * All firings for one webhook in one tick go out as a single JSON array POST, sent
+ * asynchronously so a slow endpoint cannot hold up the tick. Failed posts are counted and
+ * logged, not retried. Webhooks may only point at the configured hosts, which by default
+ * are local.
+ */
+public class AlarmDelivery implements AlarmSink {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlarmDelivery.class);
+
+    private final HttpClient http;
+    private final ObjectMapper objectMapper;
+    private final AlarmQueues queues;
+    private final Set<String> allowedHosts;
+    private final Duration timeout;
+    private final AtomicLong webhookPosts = new AtomicLong();
+    private final AtomicLong webhookFailures = new AtomicLong();
+
+    public AlarmDelivery(HttpClient http, ObjectMapper objectMapper, AlarmQueues queues,
+                         Set<String> allowedHosts, Duration timeout) {
+        this.http = http;
+        this.objectMapper = objectMapper;
+        this.queues = queues;
+        this.allowedHosts = allowedHosts;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void validate(AlarmTarget target) {
+        if (target.kind() == AlarmTarget.Kind.WEBHOOK
+                && !allowedHosts.contains(URI.create(target.destination()).getHost())) {
+            throw new InvalidAlarmException("Webhook host is not allowed: " + URI.create(target.destination()).getHost());
+        }
+    }
+
+    @Override
+    public void deliver(AlarmTarget target, List<AlarmFiring> firings) {
+        if (target.kind() == AlarmTarget.Kind.QUEUE) {
+            queues.offer(target.destination(), firings);
+            return;
+        }
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(firings);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode alarm firings", ex);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(target.destination()))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        webhookPosts.incrementAndGet();
+        http.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            if (error != null || response.statusCode() >= 300) {
+                webhookFailures.incrementAndGet();
+                LOG.warn("Alarm webhook {} failed for {} alarms: {}", target.destination(), firings.size(),
+                        error != null ? error.toString() : "HTTP " + response.statusCode());
+            }
+        });
+    }
+
+    public long webhookPosts() {
+        return webhookPosts.get();
+    }
+
+    public long webhookFailures() {
+        return webhookFailures.get();
+    }
+}
@@ -0,0 +1,78 @@
+package com.kamlesh.britishtime.service.alarm;
+
+import com.kamlesh.britishtime.dtos.AlarmFiring;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Named, bounded in-process queues that alarm firings are offered to and that local consumers
+ * drain. A firing offered to a full queue is dropped and counted rather than blocking the tick.
+ * <p>
+ * At most {@code maxQueues} queues exist at once. A queue is created by the first firing offered
+ * to it and removed once a drain leaves it empty, so names that are no longer used do not hold
+ * memory. Firings for a new name while the limit is reached are dropped and counted too.
+ */
+public class AlarmQueues {
+
+    private final int capacity;
+    private final int maxQueues;
+    private final ConcurrentHashMap<String, BlockingQueue<AlarmFiring>> queues = new ConcurrentHashMap<>();
+    private final AtomicLong dropped = new AtomicLong();
+
+    public AlarmQueues(int capacity, int maxQueues) {
+        if (capacity < 1 || maxQueues < 1) {
+            throw new IllegalArgumentException("capacity and maxQueues must be at least 1");
+        }
+        this.capacity = capacity;
+        this.maxQueues = maxQueues;
+    }
+
+    public void offer(String name, List<AlarmFiring> firings) {
+        // offering inside compute keeps a drain from removing the queue between lookup and offer
+        queues.compute(name, (n, queue) -> {
+            if (queue == null) {
+                if (queues.size() >= maxQueues) {
+                    dropped.addAndGet(firings.size());
+                    return null;
+                }
+                queue = new ArrayBlockingQueue<>(capacity);
+            }
+            for (AlarmFiring firing : firings) {
+                if (!queue.offer(firing)) {
+                    dropped.incrementAndGet();
+                }
+            }
+            return queue;
+        });
+    }
+
+    /**
+     * Removes and returns up to {@code max} firings from the queue, oldest first. A queue left
+     * empty is removed.
+     */
+    public List<AlarmFiring> drain(String name, int max) {
+        List<AlarmFiring> drained = new ArrayList<>();
+        queues.computeIfPresent(name, (n, queue) -> {
+            queue.drainTo(drained, max);
+            return queue.isEmpty() ? null : queue;
+        });
+        return drained;
+    }
+
+    public long depth() {
+        return queues.values().stream().mapToLong(BlockingQueue::size).sum();
+    }
+
+    public int queueCount() {
+        return queues.size();
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+}
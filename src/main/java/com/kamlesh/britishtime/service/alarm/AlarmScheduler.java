@@ -0,0 +1,275 @@
+package com.kamlesh.britishtime.service.alarm;
+
+import com.kamlesh.britishtime.dtos.AlarmFiring;
+import com.kamlesh.britishtime.exception.InvalidAlarmException;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds "announce at HH:mm" alarms in a {@link TimingWheel} with one-second ticks, instead of
+ * one scheduled task per alarm.
+ * <p>
+ * Registering and cancelling are O(1), in the wheel and in a hash index by id, and only hold
+ * the scheduler's lock for those updates. The index entries also form a list in registration
+ * order, which is id order, so {@link #list} pages by walking it from the cursor. A
+ * single tick thread wakes at each second boundary, collects every alarm due in that second,
+ * re-arms the daily ones and, outside the lock, hands the batch to the {@link AlarmSink}
+ * grouped by target, so a thousand alarms for one webhook in the same second are one call.
+ * Phrases are rendered at registration time and carried in the alarm. A daily alarm keeps
+ * the phrase it was registered with, so a later rule reload does not change it.
+ */
+public class AlarmScheduler implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AlarmScheduler.class);
+
+    /** Four levels of 64 one-second slots span 194 days, well past the one day an alarm waits. */
+    private static final int WHEEL_LEVELS = 4;
+
+    private final TimeSpokenFormatter formatter;
+    private final AlarmSink sink;
+    private final Clock clock;
+    private final int maxPending;
+    private final TimingWheel<Alarm> wheel;
+    private final Map<Long, Pending> pending = new HashMap<>();
+    /** Oldest and newest pending alarms; guarded by the scheduler's lock like {@link #pending}. */
+    private Pending first;
+    private Pending last;
+    private long nextId = 1;
+    private final AtomicLong fired = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+    private volatile long lastTickLagMillis;
+    private Thread ticker;
+
+    /** A pending alarm's timeout and its links in id order. */
+    private static final class Pending {
+
+        final long id;
+        TimingWheel.Timeout<Alarm> timeout;
+        Pending prev;
+        Pending next;
+
+        Pending(long id, TimingWheel.Timeout<Alarm> timeout) {
+            this.id = id;
+            this.timeout = timeout;
+        }
+    }
+
+    public AlarmScheduler(TimeSpokenFormatter formatter, AlarmSink sink, Clock clock, int maxPending) {
+        this.formatter = formatter;
+        this.sink = sink;
+        this.clock = clock;
+        this.maxPending = maxPending;
+        this.wheel = new TimingWheel<>(WHEEL_LEVELS, clock.instant().getEpochSecond() + 1);
+    }
+
+    /**
+     * Registers an alarm for the next time the zone's clock shows {@code time}. If that time is
+     * skipped by a daylight-saving change, the alarm goes off just after the gap.
+     *
+     * @param time the local time to announce
+     * @param zone the zone whose clock is followed
+     * @param target where the announcement goes
+     * @param daily whether to re-arm for the next day after firing
+     * @return the alarm
+     * @throws InvalidAlarmException if the target is rejected or too many alarms are pending
+     */
+    public Alarm register(LocalTime time, ZoneId zone, AlarmTarget target, boolean daily) {
+        Objects.requireNonNull(time, "time must not be null");
+        sink.validate(target);
+        LocalTime minute = time.withSecond(0).withNano(0);
+        String phrase = formatter.format(minute);
+        long fireAt = nextOccurrence(minute, zone, clock.instant().getEpochSecond());
+        synchronized (this) {
+            if (pending.size() >= maxPending) {
+                throw new InvalidAlarmException("Too many pending alarms (limit " + maxPending + ")");
+            }
+            // ids are taken under the lock so that the list stays in id order
+            Alarm alarm = new Alarm(nextId++, minute, zone, phrase, target, daily, fireAt);
+            Pending entry = new Pending(alarm.id(), wheel.schedule(fireAt, alarm));
+            pending.put(entry.id, entry);
+            entry.prev = last;
+            if (last != null) {
+                last.next = entry;
+            } else {
+                first = entry;
+            }
+            last = entry;
+            return alarm;
+        }
+    }
+
+    /**
+     * Cancels a pending alarm.
+     *
+     * @return false if no alarm with that id is pending
+     */
+    public synchronized boolean cancel(long id) {
+        Pending entry = remove(id);
+        return entry != null && wheel.cancel(entry.timeout);
+    }
+
+    public synchronized Alarm get(long id) {
+        Pending entry = pending.get(id);
+        return entry != null ? entry.timeout.payload() : null;
+    }
+
+    /**
+     * Returns up to {@code limit} pending alarms with ids above {@code afterId}, ordered by id.
+     * While the alarm at the cursor is still pending, a page starts right after it and costs one
+     * step per alarm returned; if it has fired or been cancelled since, the walk starts from the
+     * oldest pending alarm and skips the ids up to the cursor.
+     */
+    public synchronized List<Alarm> list(long afterId, int limit) {
+        List<Alarm> page = new ArrayList<>(Math.min(limit, 1024));
+        Pending cursor = pending.get(afterId);
+        Pending entry = cursor != null ? cursor.next : first;
+        while (entry != null && entry.id <= afterId) {
+            entry = entry.next;
+        }
+        for (; entry != null && page.size() < limit; entry = entry.next) {
+            page.add(entry.timeout.payload());
+        }
+        return page;
+    }
+
+    private Pending remove(long id) {
+        Pending entry = pending.remove(id);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            first = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        } else {
+            last = entry.prev;
+        }
+        return entry;
+    }
+
+    /**
+     * Fires every alarm due at or before {@code now}. Called by the tick thread; public so a
+     * test or a catch-up after a pause can drive the wheel directly.
+     */
+    public void advanceTo(Instant now) {
+        List<Alarm> due = new ArrayList<>();
+        synchronized (this) {
+            wheel.advance(now.getEpochSecond(), timeout -> {
+                Alarm alarm = timeout.payload();
+                due.add(alarm);
+                if (alarm.daily()) {
+                    Alarm next = alarm.at(nextOccurrence(alarm.time(), alarm.zone(), alarm.fireAtEpochSecond()));
+                    pending.get(alarm.id()).timeout = wheel.schedule(next.fireAtEpochSecond(), next);
+                } else {
+                    remove(alarm.id());
+                }
+            });
+        }
+        // the wheel expires in tick order, so each run of equal fire times is one tick's batch
+        int from = 0;
+        while (from < due.size()) {
+            long tick = due.get(from).fireAtEpochSecond();
+            int to = from;
+            while (to < due.size() && due.get(to).fireAtEpochSecond() == tick) {
+                to++;
+            }
+            deliver(due.subList(from, to));
+            from = to;
+        }
+    }
+
+    private void deliver(List<Alarm> tick) {
+        Map<AlarmTarget, List<AlarmFiring>> byTarget = new LinkedHashMap<>();
+        for (Alarm alarm : tick) {
+            byTarget.computeIfAbsent(alarm.target(), t -> new ArrayList<>()).add(new AlarmFiring(alarm.id(),
+                    alarm.zone().getId(), alarm.time().toString(), alarm.phrase(), alarm.fireAtEpochSecond()));
+        }
+        fired.addAndGet(tick.size());
+        for (Map.Entry<AlarmTarget, List<AlarmFiring>> entry : byTarget.entrySet()) {
+            batches.incrementAndGet();
+            try {
+                sink.deliver(entry.getKey(), entry.getValue());
+            } catch (RuntimeException ex) {
+                LOG.warn("Could not deliver {} alarms to {}", entry.getValue().size(), entry.getKey(), ex);
+            }
+        }
+    }
+
+    private static long nextOccurrence(LocalTime time, ZoneId zone, long afterEpochSecond) {
+        ZonedDateTime after = Instant.ofEpochSecond(afterEpochSecond).atZone(zone);
+        ZonedDateTime candidate = ZonedDateTime.of(after.toLocalDate(), time, zone);
+        while (!candidate.toInstant().isAfter(after.toInstant())) {
+            candidate = ZonedDateTime.of(candidate.toLocalDate().plusDays(1), time, zone);
+        }
+        return candidate.toEpochSecond();
+    }
+
+    /**
+     * Starts the tick thread, which wakes just after each second boundary.
+     */
+    public synchronized void start() {
+        if (ticker != null) {
+            return;
+        }
+        ticker = Thread.ofPlatform().daemon().name("alarm-ticker").start(this::tickLoop);
+    }
+
+    private void tickLoop() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                long nowMillis = clock.millis();
+                TimeUnit.MILLISECONDS.sleep(1000 - Math.floorMod(nowMillis, 1000));
+                Instant now = clock.instant();
+                lastTickLagMillis = Math.floorMod(now.toEpochMilli(), 1000);
+                advanceTo(now);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized int pendingCount() {
+        return pending.size();
+    }
+
+    public long firedCount() {
+        return fired.get();
+    }
+
+    public long batchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Milliseconds past the second boundary at which the last tick ran.
+     */
+    public long lastTickLagMillis() {
+        return lastTickLagMillis;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (ticker != null) {
+            ticker.interrupt();
+            ticker = null;
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.kamlesh.britishtime.service.alarm;
+
+import com.kamlesh.britishtime.dtos.AlarmFiring;
+
+import java.util.List;
+
+/**
+ * Delivers fired alarms. Called on the scheduler's tick thread, so implementations must hand
+ * slow work off rather than block.
+ */
+public interface AlarmSink {
+
+    /**
+     * Checks that alarms for the target can be delivered, before one is registered.
+     *
+     * @throws com.kamlesh.britishtime.exception.InvalidAlarmException if they cannot
+     */
+    default void validate(AlarmTarget target) {
+    }
+
+    /**
+     * Delivers every alarm for one target that fired in the same tick.
+     *
+     * @param target the target
+     * @param firings the alarms, in the order they were registered
+     */
+    void deliver(AlarmTarget target, List<AlarmFiring> firings);
+}
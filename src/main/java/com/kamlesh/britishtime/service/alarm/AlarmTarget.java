@@ -0,0 +1,49 @@
+package com.kamlesh.britishtime.service.alarm;
+
+import com.kamlesh.britishtime.exception.InvalidAlarmException;
+
+import java.net.URI;
+import java.util.regex.Pattern;
+
+/**
+ * Where an alarm is announced: a webhook URL or a named in-process queue.
+ */
+public record AlarmTarget(Kind kind, String destination) {
+
+    private static final Pattern QUEUE_NAME = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+    public enum Kind {
+        WEBHOOK,
+        QUEUE
+    }
+
+    /**
+     * @throws InvalidAlarmException unless the URL is absolute http or https
+     */
+    public static AlarmTarget webhook(String url) {
+        try {
+            URI uri = URI.create(url);
+            if (!("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) || uri.getHost() == null) {
+                throw new InvalidAlarmException("Webhook must be an absolute http or https URL: " + url);
+            }
+            return new AlarmTarget(Kind.WEBHOOK, uri.toString());
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidAlarmException("Invalid webhook URL: " + url);
+        }
+    }
+
+    /**
+     * @throws InvalidAlarmException unless the name is 1 to 64 letters, digits, '.', '_' or '-'
+     */
+    public static AlarmTarget queue(String name) {
+        if (!QUEUE_NAME.matcher(name).matches()) {
+            throw new InvalidAlarmException("Queue names are 1 to 64 letters, digits, '.', '_' or '-': " + name);
+        }
+        return new AlarmTarget(Kind.QUEUE, name);
+    }
+
+    @Override
+    public String toString() {
+        return kind == Kind.WEBHOOK ? destination : "queue:" + destination;
+    }
+}
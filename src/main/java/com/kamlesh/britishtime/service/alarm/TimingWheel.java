@@ -0,0 +1,226 @@
+package com.kamlesh.britishtime.service.alarm;
+
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel over whole ticks, after Varghese and Lauck and the classic Linux
+ * kernel timer base.
+ * <p>
+ * Each level has 64 slots; a slot on level {@code n} spans {@code 64^n} ticks. A timeout goes
+ * into the lowest level whose span reaches its deadline, at the slot given by the deadline's
+ * bits for that level. Every slot is an intrusive doubly linked list, so scheduling and
+ * cancelling are O(1) whatever the number of pending timeouts. Advancing one tick expires the
+ * current level-0 slot; each time a level wraps, the next slot of the level above is cascaded
+ * down by rescheduling its entries against the current tick. Deadlines beyond the top level
+ * are parked in its furthest slot and re-placed as they come closer; on a one-level wheel,
+ * that slot is expired before the deadline arrives, so such timeouts are placed again instead
+ * of being handed over.
+ * <p>
+ * Not thread-safe: callers serialize access, and {@code expired} callbacks run on the thread
+ * that calls {@link #advance}.
+ *
+ * @param <T> the payload carried by each timeout
+ */
+public final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+
+    private final int levels;
+    private final long span;
+    private final Timeout<T>[][] slots;
+    private long currentTick;
+    private int size;
+
+    /**
+     * @param levels number of levels, 1 to 10; the wheel spans {@code 64^levels} ticks
+     * @param startTick the first tick that {@link #advance} will expire
+     */
+    public TimingWheel(int levels, long startTick) {
+        if (levels < 1 || levels > 10) {
+            throw new IllegalArgumentException("levels must be 1 to 10, got " + levels);
+        }
+        this.levels = levels;
+        this.span = 1L << (SLOT_BITS * levels);
+        this.slots = newSlots(levels);
+        this.currentTick = startTick;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Timeout<T>[][] newSlots(int levels) {
+        return (Timeout<T>[][]) new Timeout<?>[levels][SLOTS];
+    }
+
+    /**
+     * Schedules a timeout. A deadline at or before the current tick expires on the next advance.
+     *
+     * @param deadline the tick to expire at
+     * @param payload carried by the timeout
+     * @return the timeout, for {@link #cancel}
+     */
+    public Timeout<T> schedule(long deadline, T payload) {
+        Timeout<T> timeout = new Timeout<>(deadline, payload);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Cancels a pending timeout.
+     *
+     * @return false if it had already expired or been cancelled
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.level < 0) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Advances through every tick up to and including {@code tick}, handing each expired
+     * timeout to {@code expired} in tick order. Timeouts expiring in the same tick are handed
+     * over together, before the next tick is processed. The callback may schedule new timeouts.
+     *
+     * @return the number of timeouts that expired
+     */
+    public int advance(long tick, Consumer<Timeout<T>> expired) {
+        int count = 0;
+        while (currentTick <= tick) {
+            long now = currentTick;
+            if ((now & SLOT_MASK) == 0) {
+                for (int level = 1; level < levels; level++) {
+                    int index = (int) (now >>> (SLOT_BITS * level)) & SLOT_MASK;
+                    cascade(level, index);
+                    if (index != 0) {
+                        break;
+                    }
+                }
+            }
+            Timeout<T> head = detach(0, (int) now & SLOT_MASK);
+            currentTick = now + 1;
+            while (head != null) {
+                Timeout<T> next = head.next;
+                if (head.deadline > now) {
+                    place(head);
+                    head = next;
+                    continue;
+                }
+                head.next = null;
+                size--;
+                count++;
+                expired.accept(head);
+                head = next;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The next tick {@link #advance} will expire.
+     */
+    public long currentTick() {
+        return currentTick;
+    }
+
+    /**
+     * Number of pending timeouts.
+     */
+    public int size() {
+        return size;
+    }
+
+    private void cascade(int level, int index) {
+        Timeout<T> head = detach(level, index);
+        while (head != null) {
+            Timeout<T> next = head.next;
+            place(head);
+            head = next;
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long delta = Math.min(Math.max(timeout.deadline - currentTick, 0), span - 1);
+        long at = currentTick + delta;
+        int level = 0;
+        while (delta >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        int index = (int) (at >>> (SLOT_BITS * level)) & SLOT_MASK;
+        Timeout<T> head = slots[level][index];
+        timeout.level = (byte) level;
+        timeout.index = (byte) index;
+        timeout.prev = null;
+        timeout.next = head;
+        if (head != null) {
+            head.prev = timeout;
+        }
+        slots[level][index] = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            slots[timeout.level][timeout.index] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.level = -1;
+    }
+
+    /**
+     * Empties a slot and returns its list, with every entry marked as no longer scheduled
+     * until it is placed again. The {@code next} links are kept for the caller to walk.
+     */
+    private Timeout<T> detach(int level, int index) {
+        Timeout<T> head = slots[level][index];
+        slots[level][index] = null;
+        for (Timeout<T> t = head; t != null; t = t.next) {
+            t.prev = null;
+            t.level = -1;
+        }
+        return head;
+    }
+
+    /**
+     * A scheduled timeout: a deadline, a payload and its links in the wheel.
+     *
+     * @param <T> the payload type
+     */
+    public static final class Timeout<T> {
+
+        private final long deadline;
+        private final T payload;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        private byte level = -1;
+        private byte index;
+
+        private Timeout(long deadline, T payload) {
+            this.deadline = deadline;
+            this.payload = payload;
+        }
+
+        public long deadline() {
+            return deadline;
+        }
+
+        public T payload() {
+            return payload;
+        }
+
+        /**
+         * True until the timeout expires or is cancelled.
+         */
+        public boolean isPending() {
+            return level >= 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.kamlesh.britishtime.service.audit;
+
+import java.time.Instant;
+
+/**
+ * One audited conversion as read back from the log.
+ */
+public record AuditEntry(long sequence, long epochMillis, String client, String input, String output) {
+
+    public Instant timestamp() {
+        return Instant.ofEpochMilli(epochMillis);
+    }
+}
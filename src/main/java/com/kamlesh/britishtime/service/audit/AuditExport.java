@@ -0,0 +1,116 @@
+package com.kamlesh.britishtime.service.audit;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Command-line exporter for audit segments, writing JSON Lines or CSV to standard output:
+ * <pre>
+ * java -cp target/britishtime-1.0.0.jar -Dloader.main=com.kamlesh.britishtime.service.audit.AuditExport \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher &lt;dir&gt; [--from ISO] [--to ISO] [--format jsonl|csv]
+ * </pre>
+ * {@code --from} is inclusive and {@code --to} exclusive, both ISO-8601 instants.
+ */
+public final class AuditExport {
+
+    private AuditExport() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0 || args.length % 2 == 0) {
+            usage("missing segment directory");
+        }
+        long from = Long.MIN_VALUE;
+        long to = Long.MAX_VALUE;
+        boolean csv = false;
+        for (int i = 1; i < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--from" -> from = instant(value);
+                case "--to" -> to = instant(value);
+                case "--format" -> {
+                    if (!value.equals("csv") && !value.equals("jsonl")) {
+                        usage("unknown format " + value);
+                    }
+                    csv = value.equals("csv");
+                }
+                default -> usage("unknown option " + args[i]);
+            }
+        }
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16);
+        long count = export(Path.of(args[0]), from, to, csv, out);
+        out.flush();
+        System.err.println(count + " entries");
+    }
+
+    /**
+     * Writes the entries in {@code [fromMillis, toMillis)} to {@code out}, one per line.
+     *
+     * @return the number of entries written
+     */
+    public static long export(Path directory, long fromMillis, long toMillis, boolean csv, Writer out)
+            throws IOException {
+        if (csv) {
+            out.write("sequence,timestamp,client,input,output\n");
+        }
+        JsonGenerator json = csv ? null : new JsonFactory().createGenerator(out)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+        try {
+            return AuditLogReader.read(directory, fromMillis, toMillis, entry -> {
+                try {
+                    if (csv) {
+                        out.write(entry.sequence() + "," + entry.timestamp() + "," + csvField(entry.client())
+                                + "," + csvField(entry.input()) + "," + csvField(entry.output()) + "\n");
+                    } else {
+                        json.writeStartObject();
+                        json.writeNumberField("sequence", entry.sequence());
+                        json.writeStringField("timestamp", entry.timestamp().toString());
+                        json.writeStringField("client", entry.client());
+                        json.writeStringField("input", entry.input());
+                        json.writeStringField("output", entry.output());
+                        json.writeEndObject();
+                        json.flush();
+                        out.write('\n');
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static long instant(String value) {
+        try {
+            return Instant.parse(value).toEpochMilli();
+        } catch (DateTimeParseException ex) {
+            usage("not an ISO-8601 instant: " + value);
+            return 0;
+        }
+    }
+
+    private static void usage(String problem) {
+        System.err.println(problem);
+        System.err.println("usage: AuditExport <dir> [--from ISO] [--to ISO] [--format jsonl|csv]");
+        System.exit(2);
+    }
+}
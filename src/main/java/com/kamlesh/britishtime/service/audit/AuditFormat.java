@@ -0,0 +1,113 @@
+package com.kamlesh.britishtime.service.audit;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary layout of audit segment files. All numbers are big-endian.
+ * <pre>
+ * segment header (24 bytes):
+ *   int   magic 'BSTA'
+ *   short version (1)
+ *   short reserved
+ *   long  sequence of the first record
+ *   long  creation time, epoch millis
+ * record:
+ *   int   payload length (0 marks the end of the written data)
+ *   int   CRC-32C of the payload
+ *   payload:
+ *     long  sequence
+ *     long  conversion time, epoch millis
+ *     client, input, output: each an unsigned short byte count and that many UTF-8 bytes
+ * </pre>
+ * Segments are preallocated and zero-filled, so the first zero length ends the data. The length
+ * is written last, and a record whose CRC does not match is a torn write from a crash: readers
+ * stop there, and the writer resumes from the last good record.
+ */
+public final class AuditFormat {
+
+    public static final int MAGIC = 0x42535441;
+    public static final short VERSION = 1;
+    public static final int HEADER_BYTES = 24;
+    static final int RECORD_HEADER_BYTES = 8;
+    static final int FIXED_PAYLOAD_BYTES = 16 + 3 * 2;
+    /** Fields are cut to this many chars, so a field's UTF-8 form always fits its length. */
+    static final int MAX_FIELD_CHARS = 4096;
+
+    private AuditFormat() {
+    }
+
+    static String fileName(long firstSequence) {
+        return String.format("audit-%020d.log", firstSequence);
+    }
+
+    static boolean isSegment(String fileName) {
+        return fileName.startsWith("audit-") && fileName.endsWith(".log");
+    }
+
+    static void writeHeader(ByteBuffer buffer, long firstSequence, long createdMillis) {
+        buffer.putInt(0, MAGIC);
+        buffer.putShort(4, VERSION);
+        buffer.putShort(6, (short) 0);
+        buffer.putLong(8, firstSequence);
+        buffer.putLong(16, createdMillis);
+    }
+
+    /**
+     * @throws IllegalStateException if the buffer does not start with a segment header
+     */
+    static void checkHeader(ByteBuffer buffer, String source) {
+        if (buffer.limit() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getShort(4) != VERSION) {
+            throw new IllegalStateException(source + " is not a version " + VERSION + " audit segment");
+        }
+    }
+
+    static long firstSequence(ByteBuffer buffer) {
+        return buffer.getLong(8);
+    }
+
+    static long createdMillis(ByteBuffer buffer) {
+        return buffer.getLong(16);
+    }
+
+    /**
+     * Returns the offset just past the valid record at {@code offset}, or -1 if there is no
+     * complete record there.
+     */
+    static int next(ByteBuffer buffer, int offset, CRC32C crc) {
+        if (offset + RECORD_HEADER_BYTES > buffer.limit()) {
+            return -1;
+        }
+        int length = buffer.getInt(offset);
+        if (length < FIXED_PAYLOAD_BYTES || offset + RECORD_HEADER_BYTES + length > buffer.limit()) {
+            return -1;
+        }
+        int payload = offset + RECORD_HEADER_BYTES;
+        crc.reset();
+        crc.update(buffer.slice(payload, length));
+        if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+            return -1;
+        }
+        return payload + length;
+    }
+
+    /**
+     * Decodes the record at {@code offset}, which {@link #next} has validated.
+     */
+    static AuditEntry decode(ByteBuffer buffer, int offset) {
+        int position = offset + RECORD_HEADER_BYTES;
+        long sequence = buffer.getLong(position);
+        long epochMillis = buffer.getLong(position + 8);
+        position += 16;
+        String[] fields = new String[3];
+        for (int i = 0; i < fields.length; i++) {
+            int length = Short.toUnsignedInt(buffer.getShort(position));
+            byte[] bytes = new byte[length];
+            buffer.get(position + 2, bytes);
+            fields[i] = new String(bytes, StandardCharsets.UTF_8);
+            position += 2 + length;
+        }
+        return new AuditEntry(sequence, epochMillis, fields[0], fields[1], fields[2]);
+    }
+}
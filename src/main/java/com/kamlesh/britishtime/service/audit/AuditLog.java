@@ -0,0 +1,359 @@
+package com.kamlesh.britishtime.service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Append-only audit log of conversions, kept off the request path.
+ * <p>
+ * A request thread only claims a slot in an {@link AuditRingBuffer} and copies four references
+ * into it. One writer thread drains the ring in batches and appends the records to
+ * memory-mapped segment files in the compact layout of {@link AuditFormat}. How much a crash
+ * can lose depends on the {@link Durability}: with {@code SYNC}, {@link #record} returns once
+ * the record has been forced to disk, and every caller waiting at that moment shares the same
+ * force (group commit).
+ * <p>
+ * When the ring is full, the caller waits for room by default, so every conversion is audited;
+ * the {@link OnFull#DROP} policy drops and counts the record instead.
+ */
+public class AuditLog implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditLog.class);
+
+    private static final int MAX_BATCH = 4096;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    /** When appended records are forced to the storage device. */
+    public enum Durability {
+        /** Never forced explicitly; the operating system writes pages back in its own time. */
+        ASYNC,
+        /** Forced by the writer at a fixed interval; a crash loses at most that interval. */
+        INTERVAL,
+        /** Forced after every batch; {@link #record} waits for it. */
+        SYNC
+    }
+
+    /** What {@link #record} does when the ring buffer is full. */
+    public enum OnFull {
+        /** The record is dropped and counted; the caller never waits. */
+        DROP,
+        /** The caller waits until the writer has made room. */
+        BLOCK
+    }
+
+    private static final String[] HH_MM = new String[24 * 60];
+
+    static {
+        for (int minute = 0; minute < HH_MM.length; minute++) {
+            HH_MM[minute] = String.format("%02d:%02d", minute / 60, minute % 60);
+        }
+    }
+
+    private final AuditSegments segments;
+    private final AuditRingBuffer ring;
+    private final Durability durability;
+    private final long flushIntervalNanos;
+    private final OnFull onFull;
+    private final AuditRingBuffer.Handler appender = this::append;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    private long baseSequence;
+    private volatile long durableCursor;
+    private volatile long batches;
+    private volatile long forces;
+    private volatile Throwable failure;
+    private volatile boolean closed;
+    private volatile Thread writer;
+
+    private AuditLog(Builder builder) {
+        this.segments = new AuditSegments(builder.directory, builder.segmentBytes, builder.rollInterval,
+                builder.maxSegments, builder.maxAge, builder.clock);
+        this.ring = new AuditRingBuffer(builder.ringSize);
+        this.durability = builder.durability;
+        this.flushIntervalNanos = builder.flushInterval.toNanos();
+        this.onFull = builder.onFull;
+    }
+
+    public static Builder builder(Path directory) {
+        return new Builder(directory);
+    }
+
+    /**
+     * Queues one conversion for the log.
+     *
+     * @param epochMillis when the conversion happened
+     * @param client who asked for it
+     * @param input the time as given
+     * @param output the spoken phrase
+     * @return false if the record was dropped, or with {@code SYNC} durability could not be
+     *         made durable
+     */
+    public boolean record(long epochMillis, String client, String input, String output) {
+        if (closed || failure != null) {
+            dropped.increment();
+            return false;
+        }
+        long sequence = ring.tryPublish(epochMillis, client, input, output);
+        if (sequence < 0) {
+            if (onFull == OnFull.DROP) {
+                dropped.increment();
+                return false;
+            }
+            blocked.increment();
+            while ((sequence = ring.tryPublish(epochMillis, client, input, output)) < 0) {
+                if (writerStopped()) {
+                    dropped.increment();
+                    return false;
+                }
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        if (durability == Durability.SYNC) {
+            LockSupport.unpark(writer);
+            while (durableCursor <= sequence) {
+                // after close the writer still appends and forces what is queued, so wait for it
+                if (failure != null || writerDead() || (closed && writer == null)) {
+                    return durableCursor > sequence;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS / 4);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true once the ring will not make room any more: the log is closed, or the writer
+     * failed or died.
+     */
+    private boolean writerStopped() {
+        return closed || failure != null || writerDead();
+    }
+
+    /**
+     * Returns true if the writer was started and has ended. Before {@link #start} it is not
+     * running yet, which is not a failure.
+     */
+    private boolean writerDead() {
+        Thread thread = writer;
+        return thread != null && !thread.isAlive();
+    }
+
+    /**
+     * Queues one conversion of a minute of day, with the minute as the {@code HH:mm} input.
+     *
+     * @param minuteOfDay 0 to 1439
+     * @see #record(long, String, String, String)
+     */
+    public boolean recordMinute(long epochMillis, String client, int minuteOfDay, String output) {
+        return record(epochMillis, client, HH_MM[minuteOfDay], output);
+    }
+
+    /**
+     * Opens the segment directory and starts the writer thread.
+     *
+     * @throws IOException if the directory cannot be opened
+     */
+    public synchronized void start() throws IOException {
+        if (writer != null) {
+            return;
+        }
+        baseSequence = segments.open();
+        writer = Thread.ofPlatform().daemon().name("audit-writer").start(this::writeLoop);
+    }
+
+    private void writeLoop() {
+        long lastForce = System.nanoTime();
+        try {
+            while (!closed || ring.backlog() > 0) {
+                int drained = ring.drain(appender, MAX_BATCH);
+                if (drained > 0) {
+                    batches++;
+                }
+                if (durability == Durability.SYNC) {
+                    force();
+                    durableCursor = ring.readCursor();
+                } else if (durability == Durability.INTERVAL) {
+                    if (System.nanoTime() - lastForce >= flushIntervalNanos) {
+                        long cursor = ring.readCursor();
+                        force();
+                        durableCursor = cursor;
+                        lastForce = System.nanoTime();
+                    }
+                } else {
+                    durableCursor = ring.readCursor();
+                }
+                if (drained == 0) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            force();
+            durableCursor = ring.readCursor();
+        } catch (Throwable ex) {
+            // anything that ends the writer must be visible, or blocked callers would wait forever
+            LOG.error("Audit log writer stopped; further conversions will not be audited", ex);
+            failure = ex instanceof UncheckedIOException io ? io.getCause() : ex;
+        }
+    }
+
+    private void append(long sequence, long epochMillis, String client, String input, String output) {
+        try {
+            segments.append(baseSequence + sequence, epochMillis, client, input, output);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void force() {
+        if (segments.hasUnforcedData()) {
+            segments.force();
+            forces++;
+        }
+    }
+
+    /** Records appended to the log, across restarts. */
+    public long appendedCount() {
+        return baseSequence + ring.readCursor();
+    }
+
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    /** Calls to {@link #record} that found the ring full and waited. */
+    public long blockedCount() {
+        return blocked.sum();
+    }
+
+    public long batchCount() {
+        return batches;
+    }
+
+    public long forceCount() {
+        return forces;
+    }
+
+    public long bytesWritten() {
+        return segments.bytesWritten();
+    }
+
+    public long segmentsDeleted() {
+        return segments.segmentsDeleted();
+    }
+
+    /** Records queued in the ring but not yet appended. */
+    public long backlog() {
+        return ring.backlog();
+    }
+
+    public Durability durability() {
+        return durability;
+    }
+
+    /**
+     * Stops accepting records, appends whatever is queued, forces it and stops the writer.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        Thread thread = writer;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            try {
+                thread.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            writer = null;
+        }
+        segments.close();
+    }
+
+    /**
+     * Settings for an {@link AuditLog}; every setting but the directory has a default.
+     */
+    public static final class Builder {
+
+        private final Path directory;
+        private int segmentBytes = 64 << 20;
+        private Duration rollInterval = Duration.ofHours(1);
+        private int maxSegments = 168;
+        private Duration maxAge = Duration.ofDays(7);
+        private Durability durability = Durability.INTERVAL;
+        private Duration flushInterval = Duration.ofMillis(100);
+        private int ringSize = 65536;
+        private OnFull onFull = OnFull.BLOCK;
+        private Clock clock = Clock.systemUTC();
+
+        private Builder(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory must not be null");
+        }
+
+        /** Size each segment file is preallocated to. */
+        public Builder segmentBytes(int segmentBytes) {
+            this.segmentBytes = segmentBytes;
+            return this;
+        }
+
+        /** Age at which the current segment is closed even if it has room; zero never rolls by age. */
+        public Builder rollInterval(Duration rollInterval) {
+            this.rollInterval = rollInterval;
+            return this;
+        }
+
+        /** Most segments kept, counting the current one. */
+        public Builder maxSegments(int maxSegments) {
+            this.maxSegments = maxSegments;
+            return this;
+        }
+
+        /** Closed segments last written longer ago are deleted; zero keeps them regardless of age. */
+        public Builder maxAge(Duration maxAge) {
+            this.maxAge = maxAge;
+            return this;
+        }
+
+        public Builder durability(Durability durability) {
+            this.durability = durability;
+            return this;
+        }
+
+        /** How often {@code INTERVAL} durability forces the log. */
+        public Builder flushInterval(Duration flushInterval) {
+            this.flushInterval = flushInterval;
+            return this;
+        }
+
+        /** Records the ring buffer holds; a power of two. */
+        public Builder ringSize(int ringSize) {
+            this.ringSize = ringSize;
+            return this;
+        }
+
+        /** What a caller does when the ring is full; {@code BLOCK} by default. */
+        public Builder onFull(OnFull onFull) {
+            this.onFull = onFull;
+            return this;
+        }
+
+        public Builder clock(Clock clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public AuditLog build() {
+            return new AuditLog(this);
+        }
+    }
+}
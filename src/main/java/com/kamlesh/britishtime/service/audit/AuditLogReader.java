@@ -0,0 +1,58 @@
+package com.kamlesh.britishtime.service.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * Reads audit segments back, oldest first. Safe to run against a directory the application is
+ * still writing to: a segment is read up to its last complete record, and a torn record at the
+ * end of a segment, left by a crash, is skipped along with whatever follows it in that segment.
+ */
+public final class AuditLogReader {
+
+    private AuditLogReader() {
+    }
+
+    /**
+     * Hands every entry whose timestamp is in {@code [fromMillis, toMillis)} to {@code consumer}.
+     *
+     * @return the number of entries handed over
+     * @throws IOException if the directory or a segment cannot be read
+     * @throws IllegalStateException if a file named like a segment is not one
+     */
+    public static long read(Path directory, long fromMillis, long toMillis, Consumer<AuditEntry> consumer)
+            throws IOException {
+        CRC32C crc = new CRC32C();
+        long count = 0;
+        for (Path file : AuditSegments.list(directory)) {
+            MappedByteBuffer buffer;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+            AuditFormat.checkHeader(buffer, file.toString());
+            int offset = AuditFormat.HEADER_BYTES;
+            int end;
+            while ((end = AuditFormat.next(buffer, offset, crc)) > 0) {
+                long epochMillis = buffer.getLong(offset + AuditFormat.RECORD_HEADER_BYTES + 8);
+                if (epochMillis >= fromMillis && epochMillis < toMillis) {
+                    consumer.accept(AuditFormat.decode(buffer, offset));
+                    count++;
+                }
+                offset = end;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Hands every entry to {@code consumer}.
+     */
+    public static long readAll(Path directory, Consumer<AuditEntry> consumer) throws IOException {
+        return read(directory, Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+}
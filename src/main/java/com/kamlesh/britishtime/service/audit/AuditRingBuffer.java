@@ -0,0 +1,119 @@
+package com.kamlesh.britishtime.service.audit;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded lock-free ring of audit records with many producers and one consumer, in the manner
+ * of the LMAX Disruptor.
+ * <p>
+ * A producer claims the next sequence with a CAS, fills the slot's preallocated fields and
+ * publishes it by storing the sequence into the slot's marker with release semantics. The
+ * consumer reads slots in sequence order while each marker shows its sequence, then releases
+ * them in one volatile write of the read cursor. Claiming fails instead of wrapping when the
+ * consumer is a full ring behind; nothing allocates per record.
+ */
+public final class AuditRingBuffer {
+
+    private static final VarHandle MARKERS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    /** Receives records in sequence order on the consumer thread. */
+    @FunctionalInterface
+    public interface Handler {
+        void onRecord(long sequence, long epochMillis, String client, String input, String output);
+    }
+
+    private final int mask;
+    private final long[] markers;
+    private final long[] timestamps;
+    private final String[] clients;
+    private final String[] inputs;
+    private final String[] outputs;
+    private final AtomicLong claimCursor = new AtomicLong();
+    private volatile long readCursor;
+
+    /**
+     * @param capacity a power of two
+     */
+    public AuditRingBuffer(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a power of two, got " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.markers = new long[capacity];
+        Arrays.fill(markers, -1);
+        this.timestamps = new long[capacity];
+        this.clients = new String[capacity];
+        this.inputs = new String[capacity];
+        this.outputs = new String[capacity];
+    }
+
+    /**
+     * Claims, fills and publishes one slot.
+     *
+     * @return the record's sequence, or -1 if the ring is full
+     */
+    public long tryPublish(long epochMillis, String client, String input, String output) {
+        long sequence;
+        do {
+            sequence = claimCursor.get();
+            if (sequence - readCursor > mask) {
+                return -1;
+            }
+        } while (!claimCursor.compareAndSet(sequence, sequence + 1));
+        int slot = (int) sequence & mask;
+        timestamps[slot] = epochMillis;
+        clients[slot] = client;
+        inputs[slot] = input;
+        outputs[slot] = output;
+        MARKERS.setRelease(markers, slot, sequence);
+        return sequence;
+    }
+
+    /**
+     * Hands up to {@code max} published records to {@code handler}, in sequence order, and then
+     * frees their slots.
+     *
+     * @return the number of records handled
+     */
+    public int drain(Handler handler, int max) {
+        long sequence = readCursor;
+        int count = 0;
+        while (count < max) {
+            int slot = (int) sequence & mask;
+            if ((long) MARKERS.getAcquire(markers, slot) != sequence) {
+                break;
+            }
+            handler.onRecord(sequence, timestamps[slot], clients[slot], inputs[slot], outputs[slot]);
+            clients[slot] = null;
+            inputs[slot] = null;
+            outputs[slot] = null;
+            sequence++;
+            count++;
+        }
+        if (count > 0) {
+            readCursor = sequence;
+        }
+        return count;
+    }
+
+    /**
+     * The next sequence the consumer will read; everything below it has been handled.
+     */
+    public long readCursor() {
+        return readCursor;
+    }
+
+    /**
+     * Records claimed but not yet handled.
+     */
+    public long backlog() {
+        return claimCursor.get() - readCursor;
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
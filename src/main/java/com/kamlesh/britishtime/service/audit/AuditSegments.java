@@ -0,0 +1,258 @@
+package com.kamlesh.britishtime.service.audit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * The writer's side of the segment directory: appends records to the current memory-mapped
+ * segment, rolls to a new one when it is full or old enough, and deletes closed segments
+ * beyond the retention limits. Used only by the audit writer thread.
+ */
+final class AuditSegments implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AuditSegments.class);
+
+    /** Smallest segment that still holds a record with every field at its maximum size. */
+    static final int MIN_SEGMENT_BYTES = 64 * 1024;
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final long rollIntervalMillis;
+    private final int maxSegments;
+    private final long maxAgeMillis;
+    private final Clock clock;
+    private final CRC32C crc = new CRC32C();
+    private final Deque<Path> closedSegments = new ArrayDeque<>();
+
+    private MappedByteBuffer segment;
+    /** A view of the segment whose bounds are moved over each payload to checksum it. */
+    private ByteBuffer checksumView;
+    private long firstSequenceOfCurrent;
+    private long segmentCreatedMillis;
+    private int position;
+    private int forcedUpTo;
+    private long nextSequence;
+    private long bytesWritten;
+    private long segmentsDeleted;
+
+    AuditSegments(Path directory, int segmentBytes, Duration rollInterval, int maxSegments, Duration maxAge,
+                  Clock clock) {
+        if (segmentBytes < MIN_SEGMENT_BYTES) {
+            throw new IllegalArgumentException("segment size must be at least " + MIN_SEGMENT_BYTES + " bytes");
+        }
+        if (maxSegments < 1) {
+            throw new IllegalArgumentException("at least one segment must be retained");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.rollIntervalMillis = rollInterval.toMillis();
+        this.maxSegments = maxSegments;
+        this.maxAgeMillis = maxAge.toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Finds where the existing log ends and starts a fresh segment after it. A torn record at
+     * the end of the last segment is left in place; readers stop before it.
+     *
+     * @return the sequence the next record will get
+     */
+    long open() throws IOException {
+        Files.createDirectories(directory);
+        List<Path> existing = list(directory);
+        closedSegments.addAll(existing);
+        nextSequence = 0;
+        if (!existing.isEmpty()) {
+            Path last = existing.get(existing.size() - 1);
+            try (FileChannel channel = FileChannel.open(last, StandardOpenOption.READ)) {
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                AuditFormat.checkHeader(buffer, last.toString());
+                nextSequence = AuditFormat.firstSequence(buffer);
+                int offset = AuditFormat.HEADER_BYTES;
+                int end;
+                while ((end = AuditFormat.next(buffer, offset, crc)) > 0) {
+                    nextSequence = buffer.getLong(offset + AuditFormat.RECORD_HEADER_BYTES) + 1;
+                    offset = end;
+                }
+            }
+        }
+        startSegment();
+        return nextSequence;
+    }
+
+    /**
+     * Appends one record, rolling first if it might not fit or the segment is due to roll.
+     */
+    void append(long sequence, long epochMillis, String client, String input, String output) throws IOException {
+        int maxLength = AuditFormat.RECORD_HEADER_BYTES + AuditFormat.FIXED_PAYLOAD_BYTES
+                + maxUtf8(client) + maxUtf8(input) + maxUtf8(output);
+        if (position + maxLength > segmentBytes
+                || (rollIntervalMillis > 0 && clock.millis() - segmentCreatedMillis >= rollIntervalMillis)) {
+            roll();
+        }
+        int payload = position + AuditFormat.RECORD_HEADER_BYTES;
+        segment.putLong(payload, sequence);
+        segment.putLong(payload + 8, epochMillis);
+        int end = putField(segment, payload + 16, client);
+        end = putField(segment, end, input);
+        end = putField(segment, end, output);
+        int length = end - payload;
+        crc.reset();
+        crc.update(checksumView.limit(end).position(payload));
+        segment.putInt(position + 4, (int) crc.getValue());
+        // the length goes last: until it is written, readers see the end of the data here
+        segment.putInt(position, length);
+        bytesWritten += end - position;
+        position = end;
+        nextSequence = sequence + 1;
+    }
+
+    /**
+     * Writes everything appended since the last force through to the storage device.
+     */
+    void force() {
+        if (position > forcedUpTo) {
+            segment.force(forcedUpTo, position - forcedUpTo);
+            forcedUpTo = position;
+        }
+    }
+
+    boolean hasUnforcedData() {
+        return position > forcedUpTo;
+    }
+
+    long bytesWritten() {
+        return bytesWritten;
+    }
+
+    long segmentsDeleted() {
+        return segmentsDeleted;
+    }
+
+    int segmentCount() {
+        return closedSegments.size() + 1;
+    }
+
+    private void roll() throws IOException {
+        force();
+        closedSegments.add(directory.resolve(AuditFormat.fileName(firstSequenceOfCurrent)));
+        startSegment();
+    }
+
+    private void startSegment() throws IOException {
+        Path file = directory.resolve(AuditFormat.fileName(nextSequence));
+        if (Files.exists(file)) {
+            // the previous segment ended without a record; start this one over
+            closedSegments.remove(file);
+            Files.delete(file);
+        }
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes);
+        }
+        checksumView = segment.duplicate();
+        segmentCreatedMillis = clock.millis();
+        AuditFormat.writeHeader(segment, nextSequence, segmentCreatedMillis);
+        firstSequenceOfCurrent = nextSequence;
+        position = AuditFormat.HEADER_BYTES;
+        forcedUpTo = 0;
+        force();
+        enforceRetention();
+    }
+
+    /**
+     * Deletes the oldest closed segments while there are more than the limit allows, or while
+     * they were last written longer ago than the maximum age.
+     */
+    void enforceRetention() {
+        long now = clock.millis();
+        while (!closedSegments.isEmpty()) {
+            Path oldest = closedSegments.peekFirst();
+            try {
+                boolean expired = maxAgeMillis > 0
+                        && now - Files.getLastModifiedTime(oldest).toMillis() > maxAgeMillis;
+                if (closedSegments.size() + 1 <= maxSegments && !expired) {
+                    return;
+                }
+                Files.deleteIfExists(oldest);
+                segmentsDeleted++;
+            } catch (IOException ex) {
+                LOG.warn("Cannot delete audit segment {}: {}", oldest, ex.getMessage());
+            }
+            closedSegments.removeFirst();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (segment != null) {
+            force();
+            segment = null;
+            checksumView = null;
+        }
+    }
+
+    /**
+     * The segment files in a directory, oldest first.
+     */
+    static List<Path> list(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(f -> AuditFormat.isSegment(f.getFileName().toString())).sorted().toList();
+        }
+    }
+
+    private static int maxUtf8(String value) {
+        return value == null ? 0 : Math.min(value.length(), AuditFormat.MAX_FIELD_CHARS) * 3;
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 field without going through a byte array.
+     *
+     * @return the offset after the field
+     */
+    private static int putField(MappedByteBuffer buffer, int offset, String value) {
+        int position = offset + 2;
+        int length = value == null ? 0 : Math.min(value.length(), AuditFormat.MAX_FIELD_CHARS);
+        if (length > 0 && length < value.length() && Character.isHighSurrogate(value.charAt(length - 1))) {
+            length--;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put(position++, (byte) c);
+            } else if (c < 0x800) {
+                buffer.put(position++, (byte) (0xC0 | c >> 6));
+                buffer.put(position++, (byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put(position++, (byte) (0xF0 | codePoint >> 18));
+                buffer.put(position++, (byte) (0x80 | codePoint >> 12 & 0x3F));
+                buffer.put(position++, (byte) (0x80 | codePoint >> 6 & 0x3F));
+                buffer.put(position++, (byte) (0x80 | codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put(position++, (byte) '?');
+            } else {
+                buffer.put(position++, (byte) (0xE0 | c >> 12));
+                buffer.put(position++, (byte) (0x80 | c >> 6 & 0x3F));
+                buffer.put(position++, (byte) (0x80 | c & 0x3F));
+            }
+        }
+        buffer.putShort(offset, (short) (position - offset - 2));
+        return position;
+    }
+}
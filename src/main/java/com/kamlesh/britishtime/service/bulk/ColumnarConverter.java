@@ -0,0 +1,171 @@
+package com.kamlesh.britishtime.service.bulk;
+
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Converts whole columns of minute-of-day values without creating a {@code LocalTime} or a
+ * {@code String} per element. Each element is one lookup in a 2048-entry id column: the input
+ * is clamped into range with {@code Math.min} rather than tested, and entries from 1440 up
+ * hold {@link #INVALID}, so the loop body has no data-dependent branches. Columns longer than
+ * the split threshold are divided into ranges and converted in parallel on a {@link ForkJoinPool}.
+ */
+public class ColumnarConverter {
+
+    /** Phrase id written for values outside 0 to 1439. */
+    public static final short INVALID = -1;
+
+    private static final int LOOKUP_SIZE = 2048;
+
+    private final PhraseTableSource phraseTables;
+    private final ForkJoinPool pool;
+    private final int splitThreshold;
+    private volatile Lookup lookup;
+
+    /**
+     * @param phraseTables source of the phrase table; a new snapshot is taken per call
+     * @param pool pool that large columns are split across
+     * @param splitThreshold columns up to this length are converted on the calling thread
+     */
+    public ColumnarConverter(PhraseTableSource phraseTables, ForkJoinPool pool, int splitThreshold) {
+        if (splitThreshold < 1) {
+            throw new IllegalArgumentException("splitThreshold must be positive");
+        }
+        this.phraseTables = Objects.requireNonNull(phraseTables, "phraseTables must not be null");
+        this.pool = Objects.requireNonNull(pool, "pool must not be null");
+        this.splitThreshold = splitThreshold;
+    }
+
+    /**
+     * Fills {@code phraseIds} with the phrase id of each minute in {@code minutesOfDay}, or
+     * {@link #INVALID} for values outside 0 to 1439.
+     *
+     * @return the phrases the ids refer to
+     */
+    public String[] toPhraseIds(int[] minutesOfDay, short[] phraseIds) {
+        checkLengths(minutesOfDay.length, phraseIds.length);
+        Lookup current = lookup();
+        run(minutesOfDay.length, (from, to) -> {
+            short[] ids = current.ids;
+            for (int i = from; i < to; i++) {
+                phraseIds[i] = ids[(int) Math.min(Integer.toUnsignedLong(minutesOfDay[i]), LOOKUP_SIZE - 1)];
+            }
+        });
+        return current.phrases.clone();
+    }
+
+    /**
+     * Fills {@code phraseIds} from a {@code short} column; see {@link #toPhraseIds(int[], short[])}.
+     *
+     * @return the phrases the ids refer to
+     */
+    public String[] toPhraseIds(short[] minutesOfDay, short[] phraseIds) {
+        checkLengths(minutesOfDay.length, phraseIds.length);
+        Lookup current = lookup();
+        run(minutesOfDay.length, (from, to) -> {
+            short[] ids = current.ids;
+            for (int i = from; i < to; i++) {
+                phraseIds[i] = ids[Math.min(Short.toUnsignedInt(minutesOfDay[i]), LOOKUP_SIZE - 1)];
+            }
+        });
+        return current.phrases.clone();
+    }
+
+    /**
+     * Fills {@code phrases} with references into one shared array of phrase strings, or
+     * {@code null} for values outside 0 to 1439. No strings are created.
+     */
+    public void toPhrases(int[] minutesOfDay, String[] phrases) {
+        checkLengths(minutesOfDay.length, phrases.length);
+        Lookup current = lookup();
+        run(minutesOfDay.length, (from, to) -> {
+            String[] byMinute = current.phrasesByMinute;
+            for (int i = from; i < to; i++) {
+                phrases[i] = byMinute[(int) Math.min(Integer.toUnsignedLong(minutesOfDay[i]), LOOKUP_SIZE - 1)];
+            }
+        });
+    }
+
+    private void run(int length, Range range) {
+        if (length <= splitThreshold) {
+            range.convert(0, length);
+        } else {
+            pool.invoke(new Split(range, 0, length, splitThreshold));
+        }
+    }
+
+    private Lookup lookup() {
+        PhraseTable table = phraseTables.snapshot();
+        Lookup current = lookup;
+        if (current == null || current.table != table) {
+            current = new Lookup(table);
+            lookup = current;
+        }
+        return current;
+    }
+
+    private static void checkLengths(int in, int out) {
+        if (out < in) {
+            throw new IllegalArgumentException("Output column holds " + out + " values, input has " + in);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Range {
+        void convert(int from, int to);
+    }
+
+    private static final class Split extends RecursiveAction {
+
+        private final Range range;
+        private final int from;
+        private final int to;
+        private final int threshold;
+
+        Split(Range range, int from, int to, int threshold) {
+            this.range = range;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= threshold) {
+                range.convert(from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Split(range, from, middle, threshold), new Split(range, middle, to, threshold));
+        }
+    }
+
+    /**
+     * Id and phrase columns for one table snapshot, padded to {@value #LOOKUP_SIZE} entries.
+     */
+    private static final class Lookup {
+
+        final PhraseTable table;
+        final short[] ids = new short[LOOKUP_SIZE];
+        final String[] phrasesByMinute = new String[LOOKUP_SIZE];
+        final String[] phrases;
+
+        Lookup(PhraseTable table) {
+            this.table = table;
+            this.phrases = new String[table.phraseCount()];
+            for (int id = 0; id < phrases.length; id++) {
+                phrases[id] = table.phrase(id);
+            }
+            Arrays.fill(ids, INVALID);
+            for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+                ids[minuteOfDay] = (short) table.phraseId(minuteOfDay);
+                phrasesByMinute[minuteOfDay] = phrases[ids[minuteOfDay]];
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.kamlesh.britishtime.service.clock;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One subscriber of the spoken-clock broadcast.
+ * Holds references to shared frames that are not yet written, bounded by the number of
+ * bytes they account for. Draining runs on the broadcaster's executor, at most one task
+ * per subscription at a time, so a slow peer only ever blocks its own writer.
+ */
+public final class ClockSubscription {
+
+    private final ZoneId zone;
+    private final String client;
+    private final FrameSink sink;
+    private final long maxPendingBytes;
+    private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicLong pendingBytes = new AtomicLong();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    ClockSubscription(ZoneId zone, String client, FrameSink sink, long maxPendingBytes) {
+        this.zone = zone;
+        this.client = client;
+        this.sink = sink;
+        this.maxPendingBytes = maxPendingBytes;
+    }
+
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * Who subscribed, as recorded in the audit log; may be null.
+     */
+    public String client() {
+        return client;
+    }
+
+    public boolean isClosed() {
+        return closed.get();
+    }
+
+    long pendingBytes() {
+        return pendingBytes.get();
+    }
+
+    /**
+     * Queues a frame for this subscriber.
+     *
+     * @param frame the shared, pre-encoded frame
+     * @param executor executor used to drain the queue
+     * @return false if the subscriber went over its byte budget and has been closed
+     */
+    boolean offer(byte[] frame, Executor executor) {
+        if (closed.get()) {
+            return true;
+        }
+        if (pendingBytes.addAndGet(frame.length) > maxPendingBytes) {
+            close();
+            return false;
+        }
+        pending.add(frame);
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+        return true;
+    }
+
+    private void drain() {
+        do {
+            byte[] frame;
+            while ((frame = pending.poll()) != null) {
+                if (!closed.get()) {
+                    try {
+                        sink.write(frame);
+                    } catch (IOException | RuntimeException ex) {
+                        close();
+                    }
+                }
+                pendingBytes.addAndGet(-frame.length);
+            }
+            draining.set(false);
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    /**
+     * Closes the subscription and its sink. Safe to call more than once.
+     */
+    public void close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            sink.close();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.kamlesh.britishtime.service.clock;
+
+import java.io.IOException;
+
+/**
+ * Destination for pre-encoded broadcast frames, typically one open SSE connection.
+ * Frames are shared between all subscribers of a zone and must not be modified.
+ */
+public interface FrameSink {
+
+    /**
+     * Writes one complete frame. May block while the peer is slow to read.
+     *
+     * @param frame the encoded frame
+     * @throws IOException if the connection is gone
+     */
+    void write(byte[] frame) throws IOException;
+
+    /**
+     * Ends the stream, e.g. after the subscriber was dropped as a slow consumer.
+     */
+    void close();
+}
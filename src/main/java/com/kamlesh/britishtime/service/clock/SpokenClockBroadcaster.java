@@ -0,0 +1,216 @@
+package com.kamlesh.britishtime.service.clock;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.dtos.SpokenClockEvent;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes the spoken time of each subscribed zone at every minute change.
+ * Each event is rendered and encoded once per zone and the same byte array is handed to
+ * every subscriber. Subscribers whose unsent frames exceed the configured byte budget are
+ * treated as slow consumers and disconnected. A zone is forgotten, cached frame included, when
+ * its last subscriber leaves. With an {@link AuditLog}, every event queued for a subscriber is
+ * recorded as a conversion for that subscriber's client.
+ */
+public class SpokenClockBroadcaster implements AutoCloseable {
+
+    private static final DateTimeFormatter HH_MM = DateTimeFormatter.ofPattern("HH:mm");
+
+    private final TimeSpokenFormatter formatter;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final long maxPendingBytes;
+    private final AuditLog auditLog;
+    private final Map<ZoneId, Set<ClockSubscription>> subscribers = new ConcurrentHashMap<>();
+    private final Map<ZoneId, Frame> lastFrames = new ConcurrentHashMap<>();
+    private final ExecutorService writers = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "spoken-clock-ticker");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicLong framesEncoded = new AtomicLong();
+    private final AtomicLong slowConsumersDropped = new AtomicLong();
+
+    public SpokenClockBroadcaster(TimeSpokenFormatter formatter, ObjectMapper objectMapper,
+                                  Clock clock, long maxPendingBytes) {
+        this(formatter, objectMapper, clock, maxPendingBytes, null);
+    }
+
+    /**
+     * @param auditLog where delivered events are recorded, or null
+     */
+    public SpokenClockBroadcaster(TimeSpokenFormatter formatter, ObjectMapper objectMapper,
+                                  Clock clock, long maxPendingBytes, AuditLog auditLog) {
+        this.formatter = formatter;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.maxPendingBytes = maxPendingBytes;
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Starts the minute ticker. Each tick is scheduled against the clock rather than at a
+     * fixed rate, so the broadcast does not drift away from the minute boundary.
+     */
+    public void start() {
+        scheduleNextTick();
+    }
+
+    private void scheduleNextTick() {
+        Instant now = clock.instant();
+        Instant next = now.truncatedTo(ChronoUnit.MINUTES).plus(1, ChronoUnit.MINUTES);
+        long delayMillis = Math.max(1, next.toEpochMilli() - now.toEpochMilli());
+        ticker.schedule(() -> {
+            try {
+                publish(next);
+            } finally {
+                scheduleNextTick();
+            }
+        }, delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Registers a subscriber and immediately sends it the current spoken time for its zone.
+     *
+     * @param zone the zone whose local time is announced
+     * @param sink where frames are written
+     * @return the subscription, to be closed when the connection ends
+     */
+    public ClockSubscription subscribe(ZoneId zone, FrameSink sink) {
+        return subscribe(zone, null, sink);
+    }
+
+    /**
+     * Registers a subscriber for {@code client} and immediately sends it the current spoken time
+     * for its zone.
+     *
+     * @param zone the zone whose local time is announced
+     * @param client who subscribed, for the audit log
+     * @param sink where frames are written
+     * @return the subscription, to be closed when the connection ends
+     */
+    public ClockSubscription subscribe(ZoneId zone, String client, FrameSink sink) {
+        ClockSubscription subscription = new ClockSubscription(zone, client, sink, maxPendingBytes);
+        subscribers.compute(zone, (z, zoneSubscribers) -> {
+            Set<ClockSubscription> set = zoneSubscribers != null ? zoneSubscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscription);
+            return set;
+        });
+        Instant minute = clock.instant().truncatedTo(ChronoUnit.MINUTES);
+        deliver(subscription, frameFor(zone, minute));
+        return subscription;
+    }
+
+    /**
+     * Removes a subscriber, e.g. when its connection completed or timed out.
+     *
+     * @param subscription the subscription to remove
+     */
+    public void unsubscribe(ClockSubscription subscription) {
+        subscribers.computeIfPresent(subscription.zone(), (zone, zoneSubscribers) -> {
+            zoneSubscribers.remove(subscription);
+            if (zoneSubscribers.isEmpty()) {
+                lastFrames.remove(zone);
+                return null;
+            }
+            return zoneSubscribers;
+        });
+        subscription.close();
+    }
+
+    /**
+     * Encodes the event for the given minute once per zone and fans it out.
+     *
+     * @param minute the minute being announced
+     */
+    public void publish(Instant minute) {
+        for (Map.Entry<ZoneId, Set<ClockSubscription>> entry : subscribers.entrySet()) {
+            Set<ClockSubscription> zoneSubscribers = entry.getValue();
+            if (zoneSubscribers.isEmpty()) {
+                continue;
+            }
+            Frame frame = frameFor(entry.getKey(), minute);
+            for (ClockSubscription subscription : zoneSubscribers) {
+                deliver(subscription, frame);
+            }
+        }
+    }
+
+    private void deliver(ClockSubscription subscription, Frame frame) {
+        if (!subscription.offer(frame.bytes, writers)) {
+            slowConsumersDropped.incrementAndGet();
+            unsubscribe(subscription);
+        } else if (subscription.isClosed()) {
+            unsubscribe(subscription);
+        } else if (auditLog != null) {
+            auditLog.record(clock.millis(), subscription.client(), frame.time + " " + subscription.zone().getId(),
+                    frame.spoken);
+        }
+    }
+
+    private Frame frameFor(ZoneId zone, Instant minute) {
+        long epochMinute = minute.getEpochSecond() / 60;
+        return lastFrames.compute(zone, (z, cached) -> cached != null && cached.epochMinute >= epochMinute
+                ? cached
+                : encode(z, epochMinute, LocalTime.ofInstant(minute, z)));
+    }
+
+    private Frame encode(ZoneId zone, long epochMinute, LocalTime local) {
+        SpokenClockEvent event = new SpokenClockEvent(zone.getId(), HH_MM.format(local), formatter.format(local));
+        try {
+            String json = objectMapper.writeValueAsString(event);
+            framesEncoded.incrementAndGet();
+            byte[] bytes = ("id: " + epochMinute + "\nevent: spoken-time\ndata: " + json + "\n\n")
+                    .getBytes(StandardCharsets.UTF_8);
+            return new Frame(epochMinute, bytes, event.time(), event.spoken());
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not encode spoken clock event", ex);
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    public int zoneCount() {
+        return subscribers.size();
+    }
+
+    public long framesEncoded() {
+        return framesEncoded.get();
+    }
+
+    public long slowConsumersDropped() {
+        return slowConsumersDropped.get();
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+        subscribers.values().forEach(set -> set.forEach(ClockSubscription::close));
+        subscribers.clear();
+        writers.shutdown();
+    }
+
+    private record Frame(long epochMinute, byte[] bytes, String time, String spoken) {
+    }
+}
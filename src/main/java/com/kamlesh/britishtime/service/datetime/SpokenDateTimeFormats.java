@@ -0,0 +1,97 @@
+package com.kamlesh.britishtime.service.datetime;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Puts spoken times inside {@link DateTimeFormatter} patterns, so a whole timestamp such as
+ * "Monday, at quarter past nine" is printed in one pass into the formatter's own buffer and
+ * parsed back by the same formatter:
+ * <pre>
+ * DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("EEEE, 'at' {spoken}", formatter);
+ * f.format(dateTime);               // "Monday, at quarter past nine"
+ * LocalTime.parse("Monday, at quarter past nine", f);
+ * </pre>
+ * The spoken part is a text component over a {@link SpokenTimeField}, with the 1440 phrases
+ * taken from the {@link TimeSpokenFormatter} when the formatter is built. A formatter built
+ * this way keeps that phrasing; build a new one after the phrasing rules change.
+ */
+public final class SpokenDateTimeFormats {
+
+    /** Marks where the spoken time goes in a pattern given to {@link #ofPattern}. */
+    public static final String PLACEHOLDER = "{spoken}";
+
+    private SpokenDateTimeFormats() {
+    }
+
+    /**
+     * Appends a spoken-time component to {@code builder}.
+     *
+     * @param builder the builder to append to
+     * @param formatter supplies the phrase for each minute of day
+     * @param style the style to speak in
+     * @return the builder, for chaining
+     */
+    public static DateTimeFormatterBuilder appendSpokenTime(DateTimeFormatterBuilder builder,
+                                                            TimeSpokenFormatter formatter, SpokenStyle style) {
+        String[] phrases = new String[PhraseTable.MINUTES_PER_DAY];
+        for (int minute = 0; minute < phrases.length; minute++) {
+            phrases[minute] = formatter.format(LocalTime.of(minute / 60, minute % 60), style);
+        }
+        // a phrase shared by a morning and an afternoon minute is entered afternoon first, so
+        // that the morning minute, entered later, is the one it parses to
+        Map<Long, String> text = new LinkedHashMap<>();
+        for (int minute = phrases.length - 1; minute >= 0; minute--) {
+            text.put((long) minute, phrases[minute]);
+        }
+        return builder.appendText(new SpokenTimeField("Spoken" + style.name(), phrases), text);
+    }
+
+    /**
+     * Builds a formatter for a {@link DateTimeFormatter} pattern with the spoken time at each
+     * unquoted {@value #PLACEHOLDER}, formatting in {@link Locale#UK}.
+     *
+     * @throws IllegalArgumentException if the rest of the pattern is invalid
+     */
+    public static DateTimeFormatter ofPattern(String pattern, TimeSpokenFormatter formatter) {
+        return ofPattern(pattern, formatter, SpokenStyle.BRITISH, Locale.UK);
+    }
+
+    /**
+     * Builds a formatter for a {@link DateTimeFormatter} pattern with the spoken time in the
+     * given style at each unquoted {@value #PLACEHOLDER}.
+     *
+     * @throws IllegalArgumentException if the rest of the pattern is invalid
+     */
+    public static DateTimeFormatter ofPattern(String pattern, TimeSpokenFormatter formatter, SpokenStyle style,
+                                              Locale locale) {
+        DateTimeFormatterBuilder builder = new DateTimeFormatterBuilder();
+        boolean quoted = false;
+        int start = 0;
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && pattern.startsWith(PLACEHOLDER, i)) {
+                if (i > start) {
+                    builder.appendPattern(pattern.substring(start, i));
+                }
+                appendSpokenTime(builder, formatter, style);
+                start = i + PLACEHOLDER.length();
+                i = start - 1;
+            }
+        }
+        if (start < pattern.length()) {
+            builder.appendPattern(pattern.substring(start));
+        }
+        return builder.toFormatter(locale);
+    }
+}
@@ -0,0 +1,115 @@
+package com.kamlesh.britishtime.service.datetime;
+
+import java.time.DateTimeException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalUnit;
+import java.time.temporal.ValueRange;
+import java.time.format.ResolverStyle;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The minute of day, as a field of its own so that {@code java.time} formatters can print and
+ * parse it as spoken text. Reading the field from a temporal reads
+ * {@link ChronoField#MINUTE_OF_DAY}, and a parsed value resolves back into it.
+ * <p>
+ * Spoken phrasings that follow a twelve-hour clock use the same phrase for a morning and an
+ * afternoon minute. Such a phrase parses as the morning minute, unless the same text also
+ * carries an {@link ChronoField#AMPM_OF_DAY} marker, which then picks the half of the day.
+ */
+public final class SpokenTimeField implements TemporalField {
+
+    private static final int MINUTES_PER_HALF_DAY = 720;
+    private static final ValueRange RANGE = ValueRange.of(0, 1439);
+
+    private final String name;
+    private final boolean[] sharedWithAfternoon;
+
+    /**
+     * @param name shown in error messages and by {@link #toString()}
+     * @param phrases the phrase for each minute of day
+     */
+    SpokenTimeField(String name, String[] phrases) {
+        this.name = name;
+        this.sharedWithAfternoon = new boolean[MINUTES_PER_HALF_DAY];
+        for (int minute = 0; minute < MINUTES_PER_HALF_DAY; minute++) {
+            sharedWithAfternoon[minute] = phrases[minute].equals(phrases[minute + MINUTES_PER_HALF_DAY]);
+        }
+    }
+
+    @Override
+    public TemporalUnit getBaseUnit() {
+        return ChronoUnit.MINUTES;
+    }
+
+    @Override
+    public TemporalUnit getRangeUnit() {
+        return ChronoUnit.DAYS;
+    }
+
+    @Override
+    public ValueRange range() {
+        return RANGE;
+    }
+
+    @Override
+    public boolean isDateBased() {
+        return false;
+    }
+
+    @Override
+    public boolean isTimeBased() {
+        return true;
+    }
+
+    @Override
+    public boolean isSupportedBy(TemporalAccessor temporal) {
+        return temporal.isSupported(ChronoField.MINUTE_OF_DAY);
+    }
+
+    @Override
+    public ValueRange rangeRefinedBy(TemporalAccessor temporal) {
+        return RANGE;
+    }
+
+    @Override
+    public long getFrom(TemporalAccessor temporal) {
+        return temporal.getLong(ChronoField.MINUTE_OF_DAY);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <R extends Temporal> R adjustInto(R temporal, long newValue) {
+        return (R) temporal.with(ChronoField.MINUTE_OF_DAY, RANGE.checkValidValue(newValue, this));
+    }
+
+    @Override
+    public TemporalAccessor resolve(Map<TemporalField, Long> fieldValues, TemporalAccessor partialTemporal,
+                                    ResolverStyle resolverStyle) {
+        int minute = RANGE.checkValidIntValue(fieldValues.remove(this), this);
+        Long amPm = fieldValues.get(ChronoField.AMPM_OF_DAY);
+        if (amPm != null && minute < MINUTES_PER_HALF_DAY && sharedWithAfternoon[minute]) {
+            minute += (int) ChronoField.AMPM_OF_DAY.checkValidValue(amPm) * MINUTES_PER_HALF_DAY;
+        }
+        Long existing = fieldValues.put(ChronoField.MINUTE_OF_DAY, (long) minute);
+        if (existing != null && existing != minute) {
+            throw new DateTimeException("Conflict found: " + name + " gives minute of day " + minute
+                    + ", which differs from " + existing);
+        }
+        return null;
+    }
+
+    @Override
+    public String getDisplayName(Locale locale) {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,184 @@
+package com.kamlesh.britishtime.service.epoch;
+
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * Converts epoch-millisecond timestamps straight to spoken times in a zone, without going
+ * through {@code ZonedDateTime} and {@code LocalTime}.
+ * <p>
+ * The offset comes from a per-zone {@link ZoneOffsetTable}, built on first use from the zone's
+ * rules for a window of years either side of now. The minute of day is then plain arithmetic
+ * on the local epoch second, and the phrase is a table lookup. Bulk calls remember the last
+ * segment between transitions, so timestamps in time order need a binary search only when they
+ * cross a transition. Fixed-offset zones are not cached, so arbitrary offsets in requests cannot
+ * grow the cache. Results are identical to {@code ZonedDateTime.ofInstant(...).toLocalTime()},
+ * at the window's edges and outside it, where {@code ZoneRules} answers directly.
+ */
+public class EpochTimeConverter {
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final PhraseTableSource phraseTables;
+    private final long windowStartMillis;
+    private final long windowEndMillis;
+    private final Map<ZoneId, ZoneOffsetTable> tables = new ConcurrentHashMap<>();
+
+    /**
+     * @param phraseTables the phrases to answer with
+     * @param clock where "now" is taken from for the window
+     * @param windowYears how many years either side of now the transition tables cover
+     */
+    public EpochTimeConverter(PhraseTableSource phraseTables, Clock clock, int windowYears) {
+        this.phraseTables = phraseTables;
+        long now = clock.millis();
+        long window = Duration.ofDays(366L * windowYears).toMillis();
+        this.windowStartMillis = now - window;
+        this.windowEndMillis = now + window;
+    }
+
+    /**
+     * Returns the minute of day (0 to 1439) of the instant in the zone.
+     */
+    public int minuteOfDay(long epochMillis, ZoneId zone) {
+        return minuteOfDay(epochMillis, offsetSeconds(epochMillis, zone, zone.getRules()));
+    }
+
+    /**
+     * Returns the spoken time of the instant in the zone.
+     */
+    public String spoken(long epochMillis, ZoneId zone) {
+        return phraseTables.snapshot().phraseAt(minuteOfDay(epochMillis, zone));
+    }
+
+    /**
+     * Writes the minute of day of each instant to {@code minutesOfDay}.
+     *
+     * @param epochMillis the instants
+     * @param zone the zone
+     * @param minutesOfDay receives one value per instant
+     */
+    public void minutesOfDay(long[] epochMillis, ZoneId zone, int[] minutesOfDay) {
+        if (minutesOfDay.length < epochMillis.length) {
+            throw new IllegalArgumentException("Output holds " + minutesOfDay.length + " values, need "
+                    + epochMillis.length);
+        }
+        convert(epochMillis, 0, epochMillis.length, zone, minutesOfDay, null, null);
+    }
+
+    /**
+     * Returns the spoken time of each instant, from one table snapshot.
+     */
+    public String[] spoken(long[] epochMillis, ZoneId zone) {
+        String[] phrases = new String[epochMillis.length];
+        convert(epochMillis, 0, epochMillis.length, zone, null, phraseTables.snapshot(), phrases);
+        return phrases;
+    }
+
+    /**
+     * Writes the spoken time of the instants in {@code [from, to)} to the same positions of
+     * {@code phrases}. A large batch can be converted a range at a time this way, passing the
+     * same {@link #snapshot()} for every range.
+     */
+    public void spoken(long[] epochMillis, int from, int to, ZoneId zone, PhraseTable table, String[] phrases) {
+        if (from < 0 || to > epochMillis.length || to > phrases.length || from > to) {
+            throw new IndexOutOfBoundsException("Range [" + from + ", " + to + ") is outside the arrays");
+        }
+        convert(epochMillis, from, to, zone, null, table, phrases);
+    }
+
+    /**
+     * Returns the current phrase table, for converting several ranges consistently.
+     */
+    public PhraseTable snapshot() {
+        return phraseTables.snapshot();
+    }
+
+    /**
+     * Converts {@code [from, to)} into minutes of day, or into phrases when {@code phrases}
+     * is given. Consecutive instants usually share an offset segment, so the segment's bounds
+     * are kept and the table is only searched when an instant falls outside them.
+     */
+    private void convert(long[] epochMillis, int from, int to, ZoneId zone, int[] minutesOfDay,
+                         PhraseTable phraseTable, String[] phrases) {
+        ZoneRules rules = zone.getRules();
+        if (rules.isFixedOffset()) {
+            int offset = rules.getOffset(Instant.EPOCH).getTotalSeconds();
+            for (int i = from; i < to; i++) {
+                put(i, minuteOfDay(epochMillis[i], offset), minutesOfDay, phraseTable, phrases);
+            }
+            return;
+        }
+        ZoneOffsetTable table = table(zone, rules);
+        long segmentStart = 0;
+        long segmentEnd = 0;
+        int offset = 0;
+        for (int i = from; i < to; i++) {
+            long millis = epochMillis[i];
+            if (millis < segmentStart || millis >= segmentEnd) {
+                int segment = table.segment(millis);
+                if (segment == ZoneOffsetTable.OUTSIDE) {
+                    put(i, minuteOfDay(millis, table.exactOffsetSeconds(millis)), minutesOfDay, phraseTable, phrases);
+                    continue;
+                }
+                segmentStart = table.segmentStart(segment);
+                segmentEnd = table.segmentEnd(segment);
+                offset = table.segmentOffsetSeconds(segment);
+            }
+            put(i, minuteOfDay(millis, offset), minutesOfDay, phraseTable, phrases);
+        }
+    }
+
+    private static void put(int i, int minuteOfDay, int[] minutesOfDay, PhraseTable table, String[] phrases) {
+        if (phrases != null) {
+            phrases[i] = table.phraseAt(minuteOfDay);
+        } else {
+            minutesOfDay[i] = minuteOfDay;
+        }
+    }
+
+    /**
+     * Maps a stream of instants to their spoken times, lazily and in order.
+     */
+    public Stream<String> spoken(LongStream epochMillis, ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        PhraseTable table = phraseTables.snapshot();
+        return epochMillis.mapToObj(millis -> table.phraseAt(minuteOfDay(millis, offsetSeconds(millis, zone, rules))));
+    }
+
+    /**
+     * Number of zones with a cached transition table.
+     */
+    public int cachedZones() {
+        return tables.size();
+    }
+
+    private int offsetSeconds(long epochMillis, ZoneId zone, ZoneRules rules) {
+        if (rules.isFixedOffset()) {
+            return rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        }
+        return table(zone, rules).offsetSeconds(epochMillis);
+    }
+
+    private ZoneOffsetTable table(ZoneId zone, ZoneRules rules) {
+        // plain get first: the capturing lambda would otherwise be allocated on every call
+        ZoneOffsetTable table = tables.get(zone);
+        return table != null ? table
+                : tables.computeIfAbsent(zone, z -> ZoneOffsetTable.build(rules, windowStartMillis, windowEndMillis));
+    }
+
+    private static int minuteOfDay(long epochMillis, int offsetSeconds) {
+        long localSecond = Math.floorDiv(epochMillis, 1000) + offsetSeconds;
+        return Math.floorMod(localSecond, SECONDS_PER_DAY) / 60;
+    }
+}
@@ -0,0 +1,99 @@
+package com.kamlesh.britishtime.service.epoch;
+
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+
+/**
+ * The offset transitions of one zone within a time window, flattened into arrays.
+ * The window is cut into segments at each transition, and segment {@code i} runs from
+ * transition {@code i - 1} (or the window start) up to transition {@code i} (or the window
+ * end) with one fixed offset. Finding an instant's segment is a binary search over the
+ * transition instants; instants outside the window fall back to {@link ZoneRules}. An instant
+ * exactly on a transition belongs to the segment after it, as in {@code ZoneRules.getOffset}.
+ */
+final class ZoneOffsetTable {
+
+    /** Segment index returned for instants outside the window. */
+    static final int OUTSIDE = -1;
+
+    private final ZoneRules rules;
+    private final long windowStartMillis;
+    private final long windowEndMillis;
+    private final long[] transitionMillis;
+    private final int[] offsetSeconds;
+
+    private ZoneOffsetTable(ZoneRules rules, long windowStartMillis, long windowEndMillis,
+                            long[] transitionMillis, int[] offsetSeconds) {
+        this.rules = rules;
+        this.windowStartMillis = windowStartMillis;
+        this.windowEndMillis = windowEndMillis;
+        this.transitionMillis = transitionMillis;
+        this.offsetSeconds = offsetSeconds;
+    }
+
+    /**
+     * Collects the transitions of {@code rules} in {@code [windowStartMillis, windowEndMillis)}.
+     */
+    static ZoneOffsetTable build(ZoneRules rules, long windowStartMillis, long windowEndMillis) {
+        Instant start = Instant.ofEpochMilli(windowStartMillis);
+        long[] transitions = new long[16];
+        int[] offsets = new int[17];
+        offsets[0] = rules.getOffset(start).getTotalSeconds();
+        int count = 0;
+        for (ZoneOffsetTransition transition = rules.nextTransition(start);
+                transition != null && transition.getInstant().toEpochMilli() < windowEndMillis;
+                transition = rules.nextTransition(transition.getInstant())) {
+            if (count == transitions.length) {
+                transitions = Arrays.copyOf(transitions, count * 2);
+                offsets = Arrays.copyOf(offsets, count * 2 + 1);
+            }
+            transitions[count] = transition.getInstant().toEpochMilli();
+            offsets[++count] = transition.getOffsetAfter().getTotalSeconds();
+        }
+        return new ZoneOffsetTable(rules, windowStartMillis, windowEndMillis,
+                Arrays.copyOf(transitions, count), Arrays.copyOf(offsets, count + 1));
+    }
+
+    /**
+     * Returns the segment holding the instant, or {@link #OUTSIDE}.
+     */
+    int segment(long epochMillis) {
+        if (epochMillis < windowStartMillis || epochMillis >= windowEndMillis) {
+            return OUTSIDE;
+        }
+        int found = Arrays.binarySearch(transitionMillis, epochMillis);
+        return found >= 0 ? found + 1 : -found - 1;
+    }
+
+    long segmentStart(int segment) {
+        return segment == 0 ? windowStartMillis : transitionMillis[segment - 1];
+    }
+
+    long segmentEnd(int segment) {
+        return segment == transitionMillis.length ? windowEndMillis : transitionMillis[segment];
+    }
+
+    int segmentOffsetSeconds(int segment) {
+        return offsetSeconds[segment];
+    }
+
+    /**
+     * Returns the offset in effect at the instant.
+     */
+    int offsetSeconds(long epochMillis) {
+        int segment = segment(epochMillis);
+        return segment != OUTSIDE ? offsetSeconds[segment] : exactOffsetSeconds(epochMillis);
+    }
+
+    int exactOffsetSeconds(long epochMillis) {
+        ZoneOffset offset = rules.getOffset(Instant.ofEpochMilli(epochMillis));
+        return offset.getTotalSeconds();
+    }
+
+    int transitionCount() {
+        return transitionMillis.length;
+    }
+}
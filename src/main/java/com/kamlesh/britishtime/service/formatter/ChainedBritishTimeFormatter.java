@@ -3,6 +3,8 @@ package com.kamlesh.britishtime.service.formatter;
 import com.kamlesh.britishtime.service.TimeSpokenFormatter;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -19,10 +21,13 @@ import java.util.Objects;
  * 7. Quarter To (45 minutes)
  * 8. Minutes Past (1-30 minutes)
  * 9. Minutes To (35-59 minutes)
+ *
+ * The chain is held as an immutable {@link FormatterChain}, so an instance is safe to share between
+ * threads once constructed.
  */
 public class ChainedBritishTimeFormatter implements TimeSpokenFormatter {
 
-    private final AbstractTimeFormatter formatterChain;
+    private final FormatterChain formatterChain;
 
     /**
      * Creates a new ChainedBritishTimeFormatter with the default chain of formatters.
@@ -33,11 +38,16 @@ public class ChainedBritishTimeFormatter implements TimeSpokenFormatter {
 
     /**
      * Creates a new ChainedBritishTimeFormatter with a custom formatter chain.
+     * The links reachable from {@code formatterChain} are copied, so changing them later has no effect.
      * 
      * @param formatterChain the root of the formatter chain
      */
     public ChainedBritishTimeFormatter(AbstractTimeFormatter formatterChain) {
-        this.formatterChain = Objects.requireNonNull(formatterChain, "formatterChain must not be null");
+        this.formatterChain = FormatterChain.copyOf(formatterChain);
+    }
+
+    private ChainedBritishTimeFormatter(FormatterChain formatterChain) {
+        this.formatterChain = formatterChain;
     }
 
     @Override
@@ -48,54 +58,38 @@ public class ChainedBritishTimeFormatter implements TimeSpokenFormatter {
 
     /**
      * Builds the default chain of formatters in the correct order.
+     * Every chain gets its own rule instances.
      * 
-     * @return the root formatter of the chain
+     * @return the default chain
      */
-    private AbstractTimeFormatter buildDefaultChain() {
-        AbstractTimeFormatter midnight = new MidnightFormatter();
-        AbstractTimeFormatter noon = new NoonFormatter();
-        AbstractTimeFormatter oClock = new OClockFormatter();
-        AbstractTimeFormatter quarterPast = new QuarterPastFormatter();
-        AbstractTimeFormatter halfPast = new HalfPastFormatter();
-        AbstractTimeFormatter thirtyPlus = new ThirtyPlusFormatter();
-        AbstractTimeFormatter quarterTo = new QuarterToFormatter();
-        AbstractTimeFormatter minutesPast = new MinutesPastFormatter();
-        AbstractTimeFormatter minutesTo = new MinutesToFormatter();
-
-        // Chain them together
-        midnight.setNext(noon)
-                .setNext(oClock)
-                .setNext(quarterPast)
-                .setNext(halfPast)
-                .setNext(thirtyPlus)
-                .setNext(quarterTo)
-                .setNext(minutesPast)
-                .setNext(minutesTo);
-
-        return midnight;
+    private static FormatterChain buildDefaultChain() {
+        return FormatterChain.of(List.of(
+                new MidnightFormatter(),
+                new NoonFormatter(),
+                new OClockFormatter(),
+                new QuarterPastFormatter(),
+                new HalfPastFormatter(),
+                new ThirtyPlusFormatter(),
+                new QuarterToFormatter(),
+                new MinutesPastFormatter(),
+                new MinutesToFormatter()));
     }
 
     /**
      * Builder class for creating custom formatter chains.
      */
     public static class Builder {
-        private AbstractTimeFormatter head;
-        private AbstractTimeFormatter tail;
+        private final List<AbstractTimeFormatter> formatters = new ArrayList<>();
 
         /**
          * Adds a formatter to the chain.
+         * The formatter's own links are left untouched, so it cannot be relinked by another builder.
          * 
          * @param formatter the formatter to add
          * @return this builder for method chaining
          */
         public Builder addFormatter(AbstractTimeFormatter formatter) {
-            if (head == null) {
-                head = formatter;
-                tail = formatter;
-            } else {
-                tail.setNext(formatter);
-                tail = formatter;
-            }
+            formatters.add(Objects.requireNonNull(formatter, "formatter must not be null"));
             return this;
         }
 
@@ -105,10 +99,7 @@ public class ChainedBritishTimeFormatter implements TimeSpokenFormatter {
          * @return a new ChainedBritishTimeFormatter instance
          */
         public ChainedBritishTimeFormatter build() {
-            if (head == null) {
-                throw new IllegalStateException("At least one formatter must be added to the chain");
-            }
-            return new ChainedBritishTimeFormatter(head);
+            return new ChainedBritishTimeFormatter(FormatterChain.of(formatters));
         }
     }
 }
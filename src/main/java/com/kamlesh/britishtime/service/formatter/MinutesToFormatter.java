@@ -20,22 +20,10 @@ public class MinutesToFormatter extends AbstractTimeFormatter {
             int hour12 = time.getHour() % 12;
             int toMinutes = 60 - minute;
             int nextHour = (hour12 + 1) % 12;
-            String minuteSpoken = minuteToSpoken(toMinutes);
+            String minuteSpoken = TimeWords.numberWord(toMinutes);
             return Optional.of(minuteSpoken + " to " + TimeWords.hourWord(nextHour));
         }
         
         return Optional.empty();
     }
-
-    private String minuteToSpoken(int minute) {
-        if (minute < 20) {
-            return TimeWords.unitWord(minute);
-        }
-
-        int tens = minute / 10;
-        int ones = minute % 10;
-
-        String tensWord = TimeWords.tensWord(tens);
-        return ones == 0 ? tensWord : tensWord + " " + TimeWords.unitWord(ones);
-    }
 }
@@ -17,22 +17,10 @@ public class ThirtyPlusFormatter extends AbstractTimeFormatter {
         
         if (minute >= 31 && minute <= 34) {
             int hour12 = time.getHour() % 12;
-            String minuteSpoken = minuteToSpoken(minute);
+            String minuteSpoken = TimeWords.numberWord(minute);
             return Optional.of(TimeWords.hourWord(hour12) + " " + minuteSpoken);
         }
         
         return Optional.empty();
     }
-
-    private String minuteToSpoken(int minute) {
-        if (minute < 20) {
-            return TimeWords.unitWord(minute);
-        }
-
-        int tens = minute / 10;
-        int ones = minute % 10;
-
-        String tensWord = TimeWords.tensWord(tens);
-        return ones == 0 ? tensWord : tensWord + " " + TimeWords.unitWord(ones);
-    }
 }
@@ -1,5 +1,6 @@
 package com.kamlesh.britishtime.service.impl;
 
+import com.kamlesh.britishtime.diagnostics.RuleSelectionEvent;
 import com.kamlesh.britishtime.service.TimeSpokenFormatter;
 
 import java.time.LocalTime;
@@ -15,6 +16,8 @@ public abstract class AbstractTimeFormatterImpl implements TimeSpokenFormatter {
 
     /**
      * Sets the next formatter in the chain.
+     * Links set here are mutable and not safely published; prefer {@link FormatterChainImpl} for chains
+     * that are shared between threads.
      *
      * @param nextFormatter the next formatter to delegate to
      * @return this formatter for method chaining
@@ -24,14 +27,30 @@ public abstract class AbstractTimeFormatterImpl implements TimeSpokenFormatter {
         return nextFormatter;
     }
 
+    /**
+     * Walks the chain from this formatter until one of them handles the time.
+     * The walk is recorded as a {@link RuleSelectionEvent} when JFR has that event enabled.
+     *
+     * @param time the time to format
+     * @return the phrase produced by the first formatter that handled the time
+     */
     @Override
     public String format(LocalTime time) {
-        Optional<String> result = tryFormat(time);
-        if (result.isPresent()) {
-            return result.get();
-        }
-        if (nextFormatter != null) {
-            return nextFormatter.format(time);
+        RuleSelectionEvent event = new RuleSelectionEvent();
+        event.begin();
+        int linksWalked = 0;
+        for (AbstractTimeFormatterImpl formatter = this; formatter != null; formatter = formatter.nextFormatter) {
+            linksWalked++;
+            Optional<String> result = formatter.tryFormat(time);
+            if (result.isPresent()) {
+                if (event.shouldCommit()) {
+                    event.minuteOfDay = time.getHour() * 60 + time.getMinute();
+                    event.rule = formatter.getClass().getSimpleName();
+                    event.linksWalked = linksWalked;
+                    event.commit();
+                }
+                return result.get();
+            }
         }
         throw new IllegalStateException("No formatter could handle time: " + time);
     }
@@ -3,6 +3,8 @@ package com.kamlesh.britishtime.service.impl;
 import com.kamlesh.britishtime.service.TimeSpokenFormatter;
 
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -19,10 +21,13 @@ import java.util.Objects;
  * 7. Quarter To (45 minutes)
  * 8. Minutes Past (1-30 minutes)
  * 9. Minutes To (35-59 minutes)
+ *
+ * The chain is held as an immutable {@link FormatterChainImpl}, so an instance is safe to share between
+ * threads once constructed.
  */
 public class ChainedBritishTimeFormatterImpl implements TimeSpokenFormatter {
 
-    private final AbstractTimeFormatterImpl formatterChain;
+    private final FormatterChainImpl formatterChain;
 
     /**
      * Creates a new ChainedBritishTimeFormatter with the default chain of formatters.
@@ -33,11 +38,16 @@ public class ChainedBritishTimeFormatterImpl implements TimeSpokenFormatter {
 
     /**
      * Creates a new ChainedBritishTimeFormatter with a custom formatter chain.
+     * The links reachable from {@code formatterChain} are copied, so changing them later has no effect.
      * 
      * @param formatterChain the root of the formatter chain
      */
     public ChainedBritishTimeFormatterImpl(AbstractTimeFormatterImpl formatterChain) {
-        this.formatterChain = Objects.requireNonNull(formatterChain, "formatterChain must not be null");
+        this.formatterChain = FormatterChainImpl.copyOf(formatterChain);
+    }
+
+    private ChainedBritishTimeFormatterImpl(FormatterChainImpl formatterChain) {
+        this.formatterChain = formatterChain;
     }
 
     @Override
@@ -48,54 +58,38 @@ public class ChainedBritishTimeFormatterImpl implements TimeSpokenFormatter {
 
     /**
      * Builds the default chain of formatters in the correct order.
+     * Every chain gets its own rule instances.
      * 
-     * @return the root formatter of the chain
+     * @return the default chain
      */
-    private AbstractTimeFormatterImpl buildDefaultChain() {
-        AbstractTimeFormatterImpl midnight = new MidnightFormatterImpl();
-        AbstractTimeFormatterImpl noon = new NoonFormatterImpl();
-        AbstractTimeFormatterImpl oClock = new OClockFormatterImpl();
-        AbstractTimeFormatterImpl quarterPast = new QuarterPastFormatterImpl();
-        AbstractTimeFormatterImpl halfPast = new HalfPastFormatterImpl();
-        AbstractTimeFormatterImpl thirtyPlus = new ThirtyPlusFormatterImpl();
-        AbstractTimeFormatterImpl quarterTo = new QuarterToFormatterImpl();
-        AbstractTimeFormatterImpl minutesPast = new MinutesPastFormatterImpl();
-        AbstractTimeFormatterImpl minutesTo = new MinutesToFormatterImpl();
-
-        // Chain them together
-        midnight.setNext(noon)
-                .setNext(oClock)
-                .setNext(quarterPast)
-                .setNext(halfPast)
-                .setNext(thirtyPlus)
-                .setNext(quarterTo)
-                .setNext(minutesPast)
-                .setNext(minutesTo);
-
-        return midnight;
+    private static FormatterChainImpl buildDefaultChain() {
+        return FormatterChainImpl.of(List.of(
+                new MidnightFormatterImpl(),
+                new NoonFormatterImpl(),
+                new OClockFormatterImpl(),
+                new QuarterPastFormatterImpl(),
+                new HalfPastFormatterImpl(),
+                new ThirtyPlusFormatterImpl(),
+                new QuarterToFormatterImpl(),
+                new MinutesPastFormatterImpl(),
+                new MinutesToFormatterImpl()));
     }
 
     /**
      * Builder class for creating custom formatter chains.
      */
     public static class Builder {
-        private AbstractTimeFormatterImpl head;
-        private AbstractTimeFormatterImpl tail;
+        private final List<AbstractTimeFormatterImpl> formatters = new ArrayList<>();
 
         /**
          * Adds a formatter to the chain.
+         * The formatter's own links are left untouched, so it cannot be relinked by another builder.
          * 
          * @param formatter the formatter to add
          * @return this builder for method chaining
          */
         public Builder addFormatter(AbstractTimeFormatterImpl formatter) {
-            if (head == null) {
-                head = formatter;
-                tail = formatter;
-            } else {
-                tail.setNext(formatter);
-                tail = formatter;
-            }
+            formatters.add(Objects.requireNonNull(formatter, "formatter must not be null"));
             return this;
         }
 
@@ -105,10 +99,7 @@ public class ChainedBritishTimeFormatterImpl implements TimeSpokenFormatter {
          * @return a new ChainedBritishTimeFormatter instance
          */
         public ChainedBritishTimeFormatterImpl build() {
-            if (head == null) {
-                throw new IllegalStateException("At least one formatter must be added to the chain");
-            }
-            return new ChainedBritishTimeFormatterImpl(head);
+            return new ChainedBritishTimeFormatterImpl(FormatterChainImpl.of(formatters));
         }
     }
 }
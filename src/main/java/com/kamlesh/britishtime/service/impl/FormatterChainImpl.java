@@ -0,0 +1,108 @@
+package com.kamlesh.britishtime.service.impl;
+
+import com.kamlesh.britishtime.diagnostics.RuleSelectionEvent;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Immutable chain of {@link AbstractTimeFormatterImpl} rules.
+ * The rules are copied into a final array when the chain is built, and the chain walks that
+ * array rather than the rules' own {@code nextFormatter} links, so a rule's links are never
+ * read or written. Once built, a chain can be published to any number of threads without
+ * synchronization, and later {@code setNext} calls on its rules cannot change it.
+ */
+public final class FormatterChainImpl implements TimeSpokenFormatter {
+
+    private final AbstractTimeFormatterImpl[] rules;
+
+    private FormatterChainImpl(AbstractTimeFormatterImpl[] rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * Builds a chain that tries {@code rules} in order.
+     *
+     * @param rules the rules, each appearing at most once
+     * @return the chain
+     * @throws IllegalArgumentException if a rule instance appears more than once
+     * @throws IllegalStateException if {@code rules} is empty
+     */
+    public static FormatterChainImpl of(List<? extends AbstractTimeFormatterImpl> rules) {
+        if (rules.isEmpty()) {
+            throw new IllegalStateException("At least one formatter must be added to the chain");
+        }
+        Set<AbstractTimeFormatterImpl> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        AbstractTimeFormatterImpl[] copy = new AbstractTimeFormatterImpl[rules.size()];
+        for (int i = 0; i < copy.length; i++) {
+            copy[i] = Objects.requireNonNull(rules.get(i), "formatter must not be null");
+            if (!seen.add(copy[i])) {
+                throw new IllegalArgumentException("Formatter appears twice in the chain: "
+                        + copy[i].getClass().getSimpleName());
+            }
+        }
+        return new FormatterChainImpl(copy);
+    }
+
+    /**
+     * Builds a chain from the links currently reachable from {@code head}. Later changes to
+     * those links do not affect the returned chain.
+     *
+     * @param head the first rule of a linked chain
+     * @return the chain
+     * @throws IllegalArgumentException if the links form a cycle
+     */
+    public static FormatterChainImpl copyOf(AbstractTimeFormatterImpl head) {
+        List<AbstractTimeFormatterImpl> rules = new ArrayList<>();
+        Set<AbstractTimeFormatterImpl> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (AbstractTimeFormatterImpl rule = Objects.requireNonNull(head, "formatterChain must not be null");
+             rule != null; rule = rule.nextFormatter) {
+            if (!seen.add(rule)) {
+                throw new IllegalArgumentException("Formatter links form a cycle at "
+                        + rule.getClass().getSimpleName());
+            }
+            rules.add(rule);
+        }
+        return of(rules);
+    }
+
+    /**
+     * Returns the first rule that handles the time, walking the rules in order.
+     * The walk is recorded as a {@link RuleSelectionEvent} when JFR has that event enabled.
+     *
+     * @param time the time to format
+     * @return the phrase produced by the first rule that handled the time
+     */
+    @Override
+    public String format(LocalTime time) {
+        RuleSelectionEvent event = new RuleSelectionEvent();
+        event.begin();
+        for (int i = 0; i < rules.length; i++) {
+            Optional<String> result = rules[i].tryFormat(time);
+            if (result.isPresent()) {
+                if (event.shouldCommit()) {
+                    event.minuteOfDay = time.getHour() * 60 + time.getMinute();
+                    event.rule = rules[i].getClass().getSimpleName();
+                    event.linksWalked = i + 1;
+                    event.commit();
+                }
+                return result.get();
+            }
+        }
+        throw new IllegalStateException("No formatter could handle time: " + time);
+    }
+
+    /**
+     * @return the rules in the order they are tried
+     */
+    public List<AbstractTimeFormatterImpl> rules() {
+        return List.of(rules);
+    }
+}
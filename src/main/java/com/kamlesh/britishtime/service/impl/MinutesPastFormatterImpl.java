@@ -18,22 +18,10 @@ public class MinutesPastFormatterImpl extends AbstractTimeFormatterImpl {
         // Handle minutes 1-30, excluding special cases (15, 30)
         if (minute > 0 && minute <= 30 && minute != 15 && minute != 30) {
             int hour12 = time.getHour() % 12;
-            String minuteSpoken = minuteToSpoken(minute);
+            String minuteSpoken = TimeWords.numberWord(minute);
             return Optional.of(minuteSpoken + " past " + TimeWords.hourWord(hour12));
         }
         
         return Optional.empty();
     }
-
-    private String minuteToSpoken(int minute) {
-        if (minute < 20) {
-            return TimeWords.unitWord(minute);
-        }
-
-        int tens = minute / 10;
-        int ones = minute % 10;
-
-        String tensWord = TimeWords.tensWord(tens);
-        return ones == 0 ? tensWord : tensWord + " " + TimeWords.unitWord(ones);
-    }
 }
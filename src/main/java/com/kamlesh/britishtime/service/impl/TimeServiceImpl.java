@@ -1,10 +1,16 @@
 package com.kamlesh.britishtime.service.impl;
 
+import com.kamlesh.britishtime.diagnostics.SpokenTimeConversionEvent;
 import com.kamlesh.britishtime.dtos.SpokenTimeResponse;
 import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
+import com.kamlesh.britishtime.service.SpokenStyle;
 import com.kamlesh.britishtime.service.TimeService;
 import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.shadow.ShadowEvaluator;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
 import com.kamlesh.britishtime.utility.TimeParser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import java.time.LocalTime;
 import java.time.format.DateTimeParseException;
@@ -18,9 +24,30 @@ import java.time.format.DateTimeParseException;
 public class TimeServiceImpl implements TimeService {
 
     private final TimeSpokenFormatter timeFormatter;
+    private final TenantPhrases tenantPhrases;
+    private final ShadowEvaluator shadow;
 
     public TimeServiceImpl(TimeSpokenFormatter timeFormatter) {
+        this(timeFormatter, new TenantPhrases(timeFormatter));
+    }
+
+    public TimeServiceImpl(TimeSpokenFormatter timeFormatter, TenantPhrases tenantPhrases) {
+        this(timeFormatter, tenantPhrases, (ShadowEvaluator) null);
+    }
+
+    @Autowired
+    public TimeServiceImpl(TimeSpokenFormatter timeFormatter, TenantPhrases tenantPhrases,
+                           ObjectProvider<ShadowEvaluator> shadow) {
+        this(timeFormatter, tenantPhrases, shadow.getIfAvailable());
+    }
+
+    /**
+     * @param shadow evaluates a candidate formatter on a sample of conversions, may be null
+     */
+    public TimeServiceImpl(TimeSpokenFormatter timeFormatter, TenantPhrases tenantPhrases, ShadowEvaluator shadow) {
         this.timeFormatter = timeFormatter;
+        this.tenantPhrases = tenantPhrases;
+        this.shadow = shadow;
     }
 
     /**
@@ -32,12 +59,43 @@ public class TimeServiceImpl implements TimeService {
      */
     @Override
     public SpokenTimeResponse toSpokenTime(String time) {
+        return convert(time, timeFormatter, SpokenStyle.BRITISH);
+    }
+
+    /**
+     * Converts using the tenant's overlay, or the shared formatter for an unknown tenant.
+     */
+    @Override
+    public SpokenTimeResponse toSpokenTime(String time, String tenantId) {
+        return convert(time, tenantPhrases.formatterFor(tenantId), SpokenStyle.BRITISH);
+    }
+
+    @Override
+    public SpokenTimeResponse toSpokenTime(String time, String tenantId, SpokenStyle style) {
+        return convert(time, tenantPhrases.formatterFor(tenantId), style);
+    }
+
+    private SpokenTimeResponse convert(String time, TimeSpokenFormatter formatter, SpokenStyle style) {
+        SpokenTimeConversionEvent event = new SpokenTimeConversionEvent();
+        event.begin();
+        String spoken = null;
         try {
             LocalTime t = TimeParser.parse(time);
-            String spoken  = timeFormatter.format(t);
+            // tenant overrides are not the candidate's concern, so only shared phrasing is sampled
+            spoken = formatter.format(t, style);
+            if (shadow != null && formatter == timeFormatter && shadow.sample()) {
+                shadow.submit(t, style, spoken);
+            }
             return new SpokenTimeResponse(time, spoken);
         } catch (DateTimeParseException ex) {
             throw new InvalidTimeFormatException("Invalid time format. Please use HH:mm (e.g., 09:30).");
+        } finally {
+            if (event.shouldCommit()) {
+                event.input = time;
+                event.spoken = spoken;
+                event.succeeded = spoken != null;
+                event.commit();
+            }
         }
     }
 }
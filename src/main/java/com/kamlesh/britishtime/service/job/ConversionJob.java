@@ -0,0 +1,56 @@
+package com.kamlesh.britishtime.service.job;
+
+/**
+ * The persisted state of one conversion job. Instances are immutable; every change of state
+ * or progress produces a new one.
+ *
+ * @param id the job id
+ * @param status where the job is
+ * @param submittedMillis when the input was spooled, epoch milliseconds
+ * @param startedMillis when a worker first picked the job up, 0 until then
+ * @param finishedMillis when the job completed or failed, 0 until then
+ * @param inputBytes size of the spooled input
+ * @param inputPosition input bytes converted so far, always at a line boundary
+ * @param outputPosition result bytes written for them
+ * @param lines input lines converted so far
+ * @param invalidLines converted lines that were not a valid {@code HH:mm}
+ * @param error why the job failed, null otherwise
+ */
+public record ConversionJob(String id, JobStatus status, long submittedMillis, long startedMillis,
+                            long finishedMillis, long inputBytes, long inputPosition, long outputPosition,
+                            long lines, long invalidLines, String error) {
+
+    static ConversionJob queued(String id, long submittedMillis, long inputBytes) {
+        return new ConversionJob(id, JobStatus.QUEUED, submittedMillis, 0, 0, inputBytes, 0, 0, 0, 0, null);
+    }
+
+    /** Fraction of the input converted, from 0 to 1. */
+    public double progress() {
+        return inputBytes == 0 ? (status == JobStatus.COMPLETED ? 1 : 0) : (double) inputPosition / inputBytes;
+    }
+
+    ConversionJob running(long nowMillis) {
+        return new ConversionJob(id, JobStatus.RUNNING, submittedMillis, startedMillis == 0 ? nowMillis : startedMillis,
+                0, inputBytes, inputPosition, outputPosition, lines, invalidLines, null);
+    }
+
+    ConversionJob requeued() {
+        return new ConversionJob(id, JobStatus.QUEUED, submittedMillis, startedMillis, 0, inputBytes,
+                inputPosition, outputPosition, lines, invalidLines, null);
+    }
+
+    ConversionJob advanced(long inputPosition, long outputPosition, long lines, long invalidLines) {
+        return new ConversionJob(id, status, submittedMillis, startedMillis, finishedMillis, inputBytes,
+                inputPosition, outputPosition, lines, invalidLines, error);
+    }
+
+    ConversionJob completed(long nowMillis) {
+        return new ConversionJob(id, JobStatus.COMPLETED, submittedMillis, startedMillis, nowMillis, inputBytes,
+                inputPosition, outputPosition, lines, invalidLines, null);
+    }
+
+    ConversionJob failed(long nowMillis, String error) {
+        return new ConversionJob(id, JobStatus.FAILED, submittedMillis, startedMillis, nowMillis, inputBytes,
+                inputPosition, outputPosition, lines, invalidLines, error);
+    }
+}
@@ -0,0 +1,461 @@
+package com.kamlesh.britishtime.service.job;
+
+import com.kamlesh.britishtime.exception.InvalidBatchException;
+import com.kamlesh.britishtime.exception.ServiceOverloadedException;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.limit.Bulkhead;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.utility.BulkTimeParser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs conversions too large for one request as background jobs. The input, one {@code HH:mm}
+ * per line, is spooled to disk on submission; a worker from a bounded {@link Bulkhead} then
+ * converts it chunk by chunk into a result file with one phrase per line, in input order. A
+ * line that is not a valid time (decoded by {@link BulkTimeParser#minuteOfDay}) gives an empty
+ * result line. Neither the input nor the result is ever held on the heap as a whole.
+ * <p>
+ * After every chunk the result is forced to disk and the job's progress is checkpointed in its
+ * metadata file. On restart, finished jobs are listed again and unfinished ones are queued to
+ * resume from their last checkpoint, with any result bytes written after it discarded first.
+ * Finished jobs, and their files, are deleted once they are older than the retention period.
+ * <p>
+ * Each job is converted with the phrases the formatter gives when its worker starts, so a rule
+ * reload part way through does not mix two phrasings in one result. With an {@link AuditLog},
+ * every valid line is recorded as it is converted, with {@code job:<id>} as the client; lines
+ * converted again after a restart are recorded again.
+ */
+public class JobManager implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobManager.class);
+
+    private final JobStore store;
+    private final TimeSpokenFormatter formatter;
+    private final Bulkhead workers;
+    private final int chunkBytes;
+    private final long maxInputBytes;
+    private final Duration retention;
+    private final Duration expiryInterval;
+    private final Clock clock;
+    private final AuditLog auditLog;
+    private final Map<String, ConversionJob> jobs = new ConcurrentHashMap<>();
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder linesConverted = new LongAdder();
+
+    private volatile boolean closing;
+    private ScheduledExecutorService expiry;
+
+    /**
+     * @param dir where inputs, results and metadata are kept
+     * @param formatter converts times to phrases
+     * @param workers the pool jobs run on, closed with the manager; its queue bounds the jobs
+     *                waiting to start
+     * @param chunkBytes input bytes converted between checkpoints, which also caps the line length
+     * @param maxInputBytes largest input accepted
+     * @param retention how long a finished job is kept
+     * @param expiryInterval how often finished jobs are checked for expiry
+     * @param clock for submission, finish and expiry times
+     */
+    public JobManager(Path dir, TimeSpokenFormatter formatter, Bulkhead workers, int chunkBytes, long maxInputBytes,
+                      Duration retention, Duration expiryInterval, Clock clock) {
+        this(dir, formatter, workers, chunkBytes, maxInputBytes, retention, expiryInterval, clock, null);
+    }
+
+    /**
+     * As {@link #JobManager(Path, TimeSpokenFormatter, Bulkhead, int, long, Duration, Duration, Clock)},
+     * recording each conversion in {@code auditLog} unless it is null.
+     */
+    public JobManager(Path dir, TimeSpokenFormatter formatter, Bulkhead workers, int chunkBytes, long maxInputBytes,
+                      Duration retention, Duration expiryInterval, Clock clock, AuditLog auditLog) {
+        if (chunkBytes < 64) {
+            throw new IllegalArgumentException("chunkBytes must be at least 64");
+        }
+        this.store = new JobStore(dir);
+        this.formatter = formatter;
+        this.workers = workers;
+        this.chunkBytes = chunkBytes;
+        this.maxInputBytes = maxInputBytes;
+        this.retention = retention;
+        this.expiryInterval = expiryInterval;
+        this.clock = clock;
+        this.auditLog = auditLog;
+    }
+
+    /**
+     * Restores the jobs in the job directory, queues the unfinished ones and starts expiring
+     * finished ones.
+     */
+    public synchronized void start() {
+        if (expiry != null) {
+            return;
+        }
+        List<ConversionJob> restored = store.loadAll();
+        restored.forEach(job -> jobs.put(job.id(), job));
+        store.deleteOrphans(jobs.keySet());
+        expire();
+        restored.stream()
+                .filter(job -> !job.status().isFinished() && jobs.containsKey(job.id()))
+                .sorted(Comparator.comparingLong(ConversionJob::submittedMillis))
+                .forEach(job -> {
+                    ConversionJob queued = update(job.requeued());
+                    try {
+                        workers.execute(() -> run(job.id()));
+                        LOG.info("Resuming job {} at {} of {} input bytes", job.id(), job.inputPosition(),
+                                job.inputBytes());
+                    } catch (ServiceOverloadedException ex) {
+                        finish(queued.failed(clock.millis(), "Could not be resumed: the job queue was full"));
+                    }
+                });
+        expiry = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("job-expiry").factory());
+        long period = expiryInterval.toMillis();
+        expiry.scheduleWithFixedDelay(this::expire, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Spools {@code input} to disk and queues it for conversion.
+     *
+     * @param input one time per line; read to its end but not closed
+     * @return the queued job
+     * @throws InvalidBatchException if the input is larger than the configured limit
+     * @throws ServiceOverloadedException if too many jobs are already waiting
+     */
+    public ConversionJob submit(InputStream input) throws IOException {
+        if (closing) {
+            throw new IllegalStateException("The job manager is shut down");
+        }
+        String id = UUID.randomUUID().toString();
+        Path spooled = store.input(id);
+        long size;
+        try (OutputStream out = Files.newOutputStream(spooled)) {
+            size = copy(input, out);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(spooled);
+            throw ex;
+        }
+        ConversionJob job = ConversionJob.queued(id, clock.millis(), size);
+        store.save(job);
+        jobs.put(id, job);
+        try {
+            workers.execute(() -> run(id));
+        } catch (ServiceOverloadedException ex) {
+            jobs.remove(id);
+            store.delete(id);
+            throw ex;
+        }
+        submitted.increment();
+        return job;
+    }
+
+    private long copy(InputStream input, OutputStream out) throws IOException {
+        byte[] buffer = new byte[8192];
+        long size = 0;
+        int n;
+        while ((n = input.read(buffer)) >= 0) {
+            size += n;
+            if (size > maxInputBytes) {
+                throw new InvalidBatchException("Job input is larger than " + maxInputBytes + " bytes");
+            }
+            out.write(buffer, 0, n);
+        }
+        return size;
+    }
+
+    /**
+     * Returns a job, or null if there is no such job or it has expired.
+     */
+    public ConversionJob get(String id) {
+        return jobs.get(id);
+    }
+
+    /**
+     * Returns the result file of a completed job, or null if the job has not completed.
+     */
+    public Path result(String id) {
+        ConversionJob job = jobs.get(id);
+        return job != null && job.status() == JobStatus.COMPLETED ? store.output(id) : null;
+    }
+
+    /**
+     * Returns when a job will be deleted, in epoch milliseconds, or 0 if it has not finished.
+     */
+    public long expiresAtMillis(ConversionJob job) {
+        return job.status().isFinished() ? job.finishedMillis() + retention.toMillis() : 0;
+    }
+
+    /**
+     * Deletes a job and its files. A running job stops at its next chunk.
+     *
+     * @return false if there was no such job
+     */
+    public boolean delete(String id) {
+        if (jobs.remove(id) == null) {
+            return false;
+        }
+        store.delete(id);
+        return true;
+    }
+
+    /**
+     * Deletes the finished jobs whose retention has passed.
+     *
+     * @return the number of jobs deleted
+     */
+    public int expire() {
+        long cutoff = clock.millis() - retention.toMillis();
+        int count = 0;
+        for (ConversionJob job : jobs.values()) {
+            if (job.status().isFinished() && job.finishedMillis() <= cutoff && delete(job.id())) {
+                count++;
+            }
+        }
+        expired.add(count);
+        return count;
+    }
+
+    private void run(String id) {
+        ConversionJob job = jobs.get(id);
+        if (job == null || closing) {
+            return;
+        }
+        job = update(job.running(clock.millis()));
+        if (job == null) {
+            return;
+        }
+        String[] texts = texts();
+        byte[][] phrases = new byte[texts.length][];
+        for (int minute = 0; minute < texts.length; minute++) {
+            phrases[minute] = texts[minute].getBytes(StandardCharsets.UTF_8);
+        }
+        Auditor auditor = auditLog != null ? new Auditor(auditLog, "job:" + id, texts) : null;
+        ByteBuffer chunk = ByteBuffer.allocate(chunkBytes);
+        ResultBuffer result = new ResultBuffer(chunkBytes * 2);
+        try (FileChannel in = FileChannel.open(store.input(id), StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(store.output(id), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            // anything past the checkpoint was written before a crash and is produced again below
+            out.truncate(job.outputPosition());
+            while (job.inputPosition() < job.inputBytes()) {
+                if (closing || !jobs.containsKey(id)) {
+                    // left running, or deleted; a restart resumes from the last checkpoint
+                    return;
+                }
+                long position = job.inputPosition();
+                chunk.clear().limit((int) Math.min(chunkBytes, job.inputBytes() - position));
+                while (chunk.hasRemaining() && in.read(chunk, position + chunk.position()) >= 0) {
+                    // read the whole chunk
+                }
+                boolean last = position + chunk.position() >= job.inputBytes();
+                int end = last ? chunk.position() : lastLineEnd(chunk.array(), chunk.position());
+                if (end < 0) {
+                    finish(job.failed(clock.millis(), "Line at byte " + position + " is longer than "
+                            + chunkBytes + " bytes"));
+                    return;
+                }
+                result.clear();
+                long invalid = convert(chunk.array(), end, phrases, result, auditor);
+                long written = job.outputPosition();
+                ByteBuffer bytes = result.buffer();
+                while (bytes.hasRemaining()) {
+                    written += out.write(bytes, written);
+                }
+                out.force(false);
+                linesConverted.add(result.lines);
+                job = update(job.advanced(position + end, written, job.lines() + result.lines,
+                        job.invalidLines() + invalid));
+                if (job == null) {
+                    return;
+                }
+            }
+            finish(job.completed(clock.millis()));
+        } catch (IOException | RuntimeException ex) {
+            LOG.warn("Job {} failed: {}", id, ex.toString());
+            finish(job.failed(clock.millis(), ex.getMessage() != null ? ex.getMessage() : ex.toString()));
+        }
+    }
+
+    private String[] texts() {
+        String[] texts = new String[PhraseTable.MINUTES_PER_DAY];
+        for (int minute = 0; minute < texts.length; minute++) {
+            texts[minute] = formatter.format(LocalTime.of(minute / 60, minute % 60));
+        }
+        return texts;
+    }
+
+    private static int lastLineEnd(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Converts the lines in {@code bytes[0, end)}, the last of which may lack its newline.
+     *
+     * @param auditor records each valid line, or null
+     * @return the number of invalid lines
+     */
+    private static long convert(byte[] bytes, int end, byte[][] phrases, ResultBuffer result, Auditor auditor) {
+        long invalid = 0;
+        int start = 0;
+        while (start < end) {
+            int newline = start;
+            while (newline < end && bytes[newline] != '\n') {
+                newline++;
+            }
+            int lineEnd = newline > start && bytes[newline - 1] == '\r' ? newline - 1 : newline;
+            int minute = lineEnd - start == BulkTimeParser.RECORD_LENGTH
+                    ? BulkTimeParser.minuteOfDay(bytes, start) : -1;
+            if (minute >= 0) {
+                result.append(phrases[minute]);
+                if (auditor != null) {
+                    auditor.record(minute);
+                }
+            } else {
+                invalid++;
+            }
+            result.newline();
+            start = newline + 1;
+        }
+        return invalid;
+    }
+
+    /**
+     * Replaces a job's state and saves it, unless the job has been deleted in the meantime.
+     *
+     * @return the new state, or null if the job no longer exists
+     */
+    private ConversionJob update(ConversionJob next) {
+        return jobs.computeIfPresent(next.id(), (id, previous) -> {
+            store.save(next);
+            return next;
+        });
+    }
+
+    private void finish(ConversionJob job) {
+        if (update(job) != null) {
+            (job.status() == JobStatus.COMPLETED ? completed : failed).increment();
+        }
+    }
+
+    /** Jobs known, in any state. */
+    public int jobCount() {
+        return jobs.size();
+    }
+
+    /** Jobs queued or running. */
+    public long activeCount() {
+        return jobs.values().stream().filter(job -> !job.status().isFinished()).count();
+    }
+
+    public long submittedCount() {
+        return submitted.sum();
+    }
+
+    public long completedCount() {
+        return completed.sum();
+    }
+
+    public long failedCount() {
+        return failed.sum();
+    }
+
+    public long expiredCount() {
+        return expired.sum();
+    }
+
+    public long linesConverted() {
+        return linesConverted.sum();
+    }
+
+    /**
+     * Stops taking work and waits for the workers. Running jobs stop at their next chunk and
+     * queued ones stay queued; both resume from their last checkpoint on the next start.
+     */
+    @Override
+    public synchronized void close() {
+        closing = true;
+        if (expiry != null) {
+            expiry.shutdownNow();
+            expiry = null;
+        }
+        workers.close();
+    }
+
+    /** Records one job's conversions in the audit log. */
+    private record Auditor(AuditLog log, String client, String[] texts) {
+
+        void record(int minuteOfDay) {
+            log.recordMinute(System.currentTimeMillis(), client, minuteOfDay, texts[minuteOfDay]);
+        }
+    }
+
+    /** Growable buffer the result of one chunk is assembled in. */
+    private static final class ResultBuffer {
+
+        private byte[] bytes;
+        private int size;
+        private long lines;
+
+        ResultBuffer(int initialCapacity) {
+            bytes = new byte[initialCapacity];
+        }
+
+        void clear() {
+            size = 0;
+            lines = 0;
+        }
+
+        void append(byte[] phrase) {
+            ensure(phrase.length);
+            System.arraycopy(phrase, 0, bytes, size, phrase.length);
+            size += phrase.length;
+        }
+
+        void newline() {
+            ensure(1);
+            bytes[size++] = '\n';
+            lines++;
+        }
+
+        private void ensure(int extra) {
+            if (size + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        ByteBuffer buffer() {
+            return ByteBuffer.wrap(bytes, 0, size);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kamlesh.britishtime.service.job;
+
+/**
+ * Where a conversion job is in its life.
+ */
+public enum JobStatus {
+    /** Spooled to disk and waiting for a worker. */
+    QUEUED,
+    /** Being converted; progress is checkpointed after every chunk. */
+    RUNNING,
+    /** Finished; the result can be downloaded until the job expires. */
+    COMPLETED,
+    /** Stopped by an error, kept until it expires so the error can be read. */
+    FAILED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
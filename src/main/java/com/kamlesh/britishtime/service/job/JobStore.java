@@ -0,0 +1,138 @@
+package com.kamlesh.britishtime.service.job;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+
+/**
+ * The job directory: for each job its spooled input, its result and a small metadata file.
+ * Metadata is written to a temporary file and renamed over the old one, so after a crash each
+ * job's metadata is either the previous or the new version, never a torn one.
+ */
+final class JobStore {
+
+    private static final Logger LOG = LoggerFactory.getLogger(JobStore.class);
+    private static final String METADATA = ".job";
+
+    private final Path dir;
+
+    JobStore(Path dir) {
+        this.dir = dir.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.dir);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot create job directory " + this.dir, ex);
+        }
+    }
+
+    Path input(String id) {
+        return dir.resolve(id + ".input");
+    }
+
+    Path output(String id) {
+        return dir.resolve(id + ".out");
+    }
+
+    void save(ConversionJob job) {
+        Properties properties = new Properties();
+        properties.setProperty("status", job.status().name());
+        properties.setProperty("submitted", Long.toString(job.submittedMillis()));
+        properties.setProperty("started", Long.toString(job.startedMillis()));
+        properties.setProperty("finished", Long.toString(job.finishedMillis()));
+        properties.setProperty("inputBytes", Long.toString(job.inputBytes()));
+        properties.setProperty("inputPosition", Long.toString(job.inputPosition()));
+        properties.setProperty("outputPosition", Long.toString(job.outputPosition()));
+        properties.setProperty("lines", Long.toString(job.lines()));
+        properties.setProperty("invalidLines", Long.toString(job.invalidLines()));
+        if (job.error() != null) {
+            properties.setProperty("error", job.error());
+        }
+        Path file = dir.resolve(job.id() + METADATA);
+        Path temp = dir.resolve(job.id() + METADATA + ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                properties.store(writer, null);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot save job " + job.id(), ex);
+        }
+    }
+
+    /**
+     * Reads every job's metadata. Unreadable files are logged and skipped.
+     */
+    List<ConversionJob> loadAll() {
+        List<ConversionJob> jobs = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + METADATA)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String id = name.substring(0, name.length() - METADATA.length());
+                try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                    Properties properties = new Properties();
+                    properties.load(reader);
+                    jobs.add(new ConversionJob(id, JobStatus.valueOf(properties.getProperty("status")),
+                            longValue(properties, "submitted"), longValue(properties, "started"),
+                            longValue(properties, "finished"), longValue(properties, "inputBytes"),
+                            longValue(properties, "inputPosition"), longValue(properties, "outputPosition"),
+                            longValue(properties, "lines"), longValue(properties, "invalidLines"),
+                            properties.getProperty("error")));
+                } catch (IOException | RuntimeException ex) {
+                    LOG.warn("Ignoring unreadable job metadata {}: {}", file, ex.getMessage());
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot list job directory " + dir, ex);
+        }
+        return jobs;
+    }
+
+    private static long longValue(Properties properties, String key) {
+        return Long.parseLong(properties.getProperty(key));
+    }
+
+    /**
+     * Deletes a job's metadata, input and result. The metadata goes first, so a crash part way
+     * through leaves files that no job refers to rather than a job without its files.
+     */
+    void delete(String id) {
+        try {
+            Files.deleteIfExists(dir.resolve(id + METADATA));
+            Files.deleteIfExists(input(id));
+            Files.deleteIfExists(output(id));
+        } catch (IOException ex) {
+            LOG.warn("Could not delete the files of job {}: {}", id, ex.getMessage());
+        }
+    }
+
+    /**
+     * Deletes spooled inputs and results that no job refers to, left by a crash during
+     * submission or deletion.
+     */
+    void deleteOrphans(Set<String> ids) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.{input,out,tmp}")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String id = name.substring(0, name.indexOf('.'));
+                if (!ids.contains(id) || name.endsWith(".tmp")) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException ex) {
+            LOG.warn("Could not clean up job directory {}: {}", dir, ex.getMessage());
+        }
+    }
+}
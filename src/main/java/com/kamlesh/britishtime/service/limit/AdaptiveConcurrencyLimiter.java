@@ -0,0 +1,133 @@
+package com.kamlesh.britishtime.service.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free AIMD concurrency limiter driven by observed latency.
+ * The limit grows by one while latency stays close to the no-load baseline and the limit is
+ * actually being used, and shrinks multiplicatively once latency rises above
+ * {@code baseline * tolerance}. The baseline follows the fastest samples seen and drifts up
+ * slowly so that it can recover after a permanent shift in service time.
+ * <p>
+ * After a decrease, further slow samples are ignored for a cooldown period. Requests already in
+ * flight when the limit was cut complete slowly too, and without the cooldown each of them would
+ * cut the limit again, collapsing it to the minimum after a single latency spike.
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final int BASELINE_DRIFT = 1000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final double tolerance;
+    private final long cooldownNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong baselineNanos = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong lastDecreaseNanos = new AtomicLong();
+    private volatile boolean decreased;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double tolerance) {
+        this(initialLimit, minLimit, maxLimit, backoffRatio, tolerance, 0);
+    }
+
+    /**
+     * @param cooldownNanos minimum time between two decreases of the limit
+     */
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit,
+                                      double backoffRatio, double tolerance, long cooldownNanos) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+        this.tolerance = tolerance;
+        this.cooldownNanos = cooldownNanos;
+        this.limit = new AtomicInteger(initialLimit);
+    }
+
+    /**
+     * Attempts to take a slot.
+     *
+     * @return true if the request may proceed; the caller must then call {@link #release}
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Returns a slot and feeds the request latency back into the limit.
+     *
+     * @param latencyNanos time the request spent inside the limiter
+     */
+    public void release(long latencyNanos) {
+        release(latencyNanos, System.nanoTime());
+    }
+
+    /**
+     * Returns a slot and feeds the request latency back into the limit.
+     *
+     * @param latencyNanos time the request spent inside the limiter
+     * @param nowNanos current {@link System#nanoTime()}
+     */
+    public void release(long latencyNanos, long nowNanos) {
+        int inFlightAtCompletion = inFlight.getAndDecrement();
+        long baseline = updateBaseline(latencyNanos);
+        if (latencyNanos > baseline * tolerance) {
+            if (mayDecrease(nowNanos)) {
+                limit.updateAndGet(l -> Math.max(minLimit, (int) (l * backoffRatio)));
+            }
+        } else if (inFlightAtCompletion * 2 >= limit.get()) {
+            limit.updateAndGet(l -> Math.min(maxLimit, l + 1));
+        }
+    }
+
+    private boolean mayDecrease(long nowNanos) {
+        long last = lastDecreaseNanos.get();
+        if (decreased && nowNanos - last < cooldownNanos) {
+            return false;
+        }
+        if (lastDecreaseNanos.compareAndSet(last, nowNanos)) {
+            decreased = true;
+            return true;
+        }
+        return false;
+    }
+
+    private long updateBaseline(long sample) {
+        while (true) {
+            long current = baselineNanos.get();
+            long next = current == Long.MAX_VALUE || sample <= current
+                    ? sample
+                    : current + Math.max(1, (sample - current) / BASELINE_DRIFT);
+            if (baselineNanos.compareAndSet(current, next)) {
+                return next;
+            }
+        }
+    }
+
+    public int limit() {
+        return limit.get();
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    public long baselineNanos() {
+        long baseline = baselineNanos.get();
+        return baseline == Long.MAX_VALUE ? 0 : baseline;
+    }
+}
@@ -0,0 +1,246 @@
+package com.kamlesh.britishtime.service.limit;
+
+import com.kamlesh.britishtime.exception.ServiceOverloadedException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongConsumer;
+import java.util.function.Supplier;
+
+/**
+ * A fixed pool of worker threads reserved for one class of work, so that a flood of one kind
+ * of request cannot take the threads another kind needs.
+ * <p>
+ * Admission is bounded by the number of jobs waiting to start: once that many are queued,
+ * further jobs are refused with {@link ServiceOverloadedException} instead of queueing without
+ * limit. A large job submitted with {@link #submitChunked} runs one chunk at a time, and each
+ * finished chunk puts the next at the back of the queue, so a long job holds a worker for one
+ * chunk at a time and other jobs in the same pool get their turn in between. Time spent
+ * queued is measured for every task and chunk and passed to the wait listener, if one is set.
+ */
+public class Bulkhead implements Executor, AutoCloseable {
+
+    /** Work over one range of a job's input, run on a worker thread. */
+    @FunctionalInterface
+    public interface ChunkTask {
+        void run(int from, int to);
+    }
+
+    private final String name;
+    private final int maxQueuedJobs;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private volatile LongConsumer waitListener;
+
+    /**
+     * @param name names the worker threads and error messages
+     * @param threads worker threads
+     * @param maxQueuedJobs jobs that may wait to start before new ones are refused
+     * @param retryAfterSeconds {@code Retry-After} suggested when a job is refused
+     */
+    public Bulkhead(String name, int threads, int maxQueuedJobs, long retryAfterSeconds) {
+        if (threads < 1 || maxQueuedJobs < 0) {
+            throw new IllegalArgumentException("A bulkhead needs at least one thread and a non-negative queue");
+        }
+        this.name = name;
+        this.maxQueuedJobs = maxQueuedJobs;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                Thread.ofPlatform().daemon().name("bulkhead-" + name + "-", 1).factory());
+        executor.prestartAllCoreThreads();
+    }
+
+    /**
+     * Runs one task on the pool.
+     *
+     * @return completes with the task's result, or exceptionally with what it threw
+     * @throws ServiceOverloadedException if the queue is full
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        admit();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        enqueueAdmitted(() -> {
+            queuedJobs.decrementAndGet();
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException | Error ex) {
+                result.completeExceptionally(ex);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs a task on the pool as a job of its own.
+     *
+     * @throws ServiceOverloadedException if the queue is full
+     */
+    @Override
+    public void execute(Runnable task) {
+        admit();
+        enqueueAdmitted(() -> {
+            queuedJobs.decrementAndGet();
+            task.run();
+        });
+    }
+
+    /**
+     * Runs {@code task} over {@code [0, length)} in consecutive chunks of at most
+     * {@code chunkSize}, one after another, yielding the worker between chunks. Chunks run in
+     * order and never overlap, so a chunk sees everything earlier chunks wrote.
+     *
+     * @return completes when the last chunk has run, or exceptionally with what a chunk threw;
+     *         later chunks are then skipped
+     * @throws ServiceOverloadedException if the queue is full
+     */
+    public CompletableFuture<Void> submitChunked(int length, int chunkSize, ChunkTask task) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        admit();
+        CompletableFuture<Void> result = new CompletableFuture<>();
+        enqueueAdmitted(new Chunk(length, chunkSize, task, result, 0));
+        return result;
+    }
+
+    private final class Chunk implements Runnable {
+
+        private final int length;
+        private final int chunkSize;
+        private final ChunkTask task;
+        private final CompletableFuture<Void> result;
+        private final int from;
+
+        Chunk(int length, int chunkSize, ChunkTask task, CompletableFuture<Void> result, int from) {
+            this.length = length;
+            this.chunkSize = chunkSize;
+            this.task = task;
+            this.result = result;
+            this.from = from;
+        }
+
+        @Override
+        public void run() {
+            if (from == 0) {
+                queuedJobs.decrementAndGet();
+            }
+            int to = (int) Math.min(length, (long) from + chunkSize);
+            try {
+                task.run(from, to);
+                if (to < length) {
+                    // continuations were admitted with the job; only shutting down refuses them
+                    enqueue(new Chunk(length, chunkSize, task, result, to));
+                } else {
+                    result.complete(null);
+                }
+            } catch (RuntimeException | Error ex) {
+                result.completeExceptionally(ex);
+            }
+        }
+    }
+
+    private void admit() {
+        int queued;
+        do {
+            queued = queuedJobs.get();
+            if (queued >= maxQueuedJobs) {
+                rejected.increment();
+                throw new ServiceOverloadedException("The " + name + " work pool is full.", retryAfterSeconds);
+            }
+        } while (!queuedJobs.compareAndSet(queued, queued + 1));
+    }
+
+    /**
+     * Enqueues the first run of a job that {@link #admit} counted, and uncounts it if the
+     * executor refuses it, as it does once the pool is shut down.
+     */
+    private void enqueueAdmitted(Runnable body) {
+        try {
+            enqueue(body);
+        } catch (RejectedExecutionException ex) {
+            queuedJobs.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    private void enqueue(Runnable body) {
+        long enqueued = System.nanoTime();
+        executor.execute(() -> {
+            recordWait(System.nanoTime() - enqueued);
+            body.run();
+        });
+    }
+
+    private void recordWait(long nanos) {
+        waits.increment();
+        waitNanos.add(nanos);
+        LongConsumer listener = waitListener;
+        if (listener != null) {
+            listener.accept(nanos);
+        }
+    }
+
+    /**
+     * Sets what every queue wait, in nanoseconds, is reported to, for example a timer that
+     * keeps the distribution and maximum. Called on the worker thread as the task starts.
+     */
+    public void setWaitListener(LongConsumer waitListener) {
+        this.waitListener = waitListener;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public int threads() {
+        return executor.getCorePoolSize();
+    }
+
+    /** Tasks and chunks waiting for a worker. */
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /** Workers currently running a task or chunk. */
+    public int activeCount() {
+        return executor.getActiveCount();
+    }
+
+    /** Jobs refused because the queue was full. */
+    public long rejectedCount() {
+        return rejected.sum();
+    }
+
+    /** Tasks and chunks that have left the queue. */
+    public long waitCount() {
+        return waits.sum();
+    }
+
+    /** Total time tasks and chunks have spent queued. */
+    public long totalWaitNanos() {
+        return waitNanos.sum();
+    }
+
+    /**
+     * Stops the workers once queued work has run.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(30, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.kamlesh.britishtime.service.limit;
+
+/**
+ * The classes of conversion work and the pool each runs on: single lookups on the interactive
+ * pool, batches on the bulk pool and streamed responses on the stream pool. A saturated pool
+ * queues and refuses only its own class of work.
+ *
+ * @param interactive pool for single conversions
+ * @param bulk pool for batch conversions
+ * @param stream pool for streamed responses, which hold a worker for as long as they run
+ * @param chunkSize elements a batch converts per turn on a bulk worker
+ */
+public record Bulkheads(Bulkhead interactive, Bulkhead bulk, Bulkhead stream, int chunkSize) implements AutoCloseable {
+
+    public Bulkheads {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+    }
+
+    @Override
+    public void close() {
+        interactive.close();
+        bulk.close();
+        stream.close();
+    }
+}
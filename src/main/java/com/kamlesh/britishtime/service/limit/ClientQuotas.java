@@ -0,0 +1,150 @@
+package com.kamlesh.britishtime.service.limit;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client request quotas.
+ * Each client owns one bucket holding its theoretical arrival time (the generic cell rate
+ * algorithm), which is equivalent to a token bucket but updates with a single CAS. The buckets
+ * are held in a {@link ConcurrentHashMap}, so a request takes no lock.
+ * <p>
+ * The table is bounded to the configured number of clients with clock (second-chance)
+ * eviction: a bucket is marked when its client comes back, and when a new client arrives at a
+ * full table an eviction hand sweeps the table, clearing marks and removing the first unmarked
+ * bucket. Clients seen only once go first and clients that keep coming back stay. One thread
+ * sweeps at a time; a new client that finds a sweep running does not wait for it, so the table
+ * may briefly hold a few more clients than the bound.
+ */
+public class ClientQuotas {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final int maxClients;
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+    /** The eviction hand; only touched by the thread that holds {@link #sweeping}. */
+    private Iterator<Map.Entry<String, Bucket>> hand;
+
+    /** One client's theoretical arrival time and second-chance mark. */
+    private static final class Bucket {
+
+        final AtomicLong tat;
+        volatile boolean referenced;
+
+        Bucket(long nowNanos) {
+            this.tat = new AtomicLong(nowNanos);
+        }
+    }
+
+    /**
+     * Creates quotas allowing {@code ratePerSecond} sustained requests with bursts of {@code burst}.
+     *
+     * @param ratePerSecond sustained requests per second per client
+     * @param burst requests a client may send back to back
+     * @param maxClients number of tracked clients; an idle client is evicted beyond it
+     */
+    public ClientQuotas(double ratePerSecond, int burst, int maxClients) {
+        if (maxClients < 1) {
+            throw new IllegalArgumentException("maxClients must be positive");
+        }
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * Math.max(0, burst - 1);
+        this.maxClients = maxClients;
+    }
+
+    /**
+     * Takes one request from the client's quota.
+     *
+     * @param clientId the client key
+     * @param nowNanos current {@link System#nanoTime()}
+     * @return 0 if the request is allowed, otherwise nanoseconds until it would be
+     */
+    public long tryAcquire(String clientId, long nowNanos) {
+        AtomicLong tat = bucket(clientId, nowNanos).tat;
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, nowNanos);
+            long waitNanos = base - burstToleranceNanos - nowNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (tat.compareAndSet(current, base + emissionIntervalNanos)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Gives back a request taken by {@link #tryAcquire} that was not served after all.
+     *
+     * @param clientId the client key
+     */
+    public void refund(String clientId) {
+        Bucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            bucket.tat.addAndGet(-emissionIntervalNanos);
+        }
+    }
+
+    private Bucket bucket(String clientId, long nowNanos) {
+        Bucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            if (!bucket.referenced) {
+                bucket.referenced = true;
+            }
+            return bucket;
+        }
+        Bucket created = new Bucket(nowNanos);
+        bucket = buckets.putIfAbsent(clientId, created);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() > maxClients) {
+            evict(clientId);
+        }
+        return created;
+    }
+
+    /**
+     * Sweeps the hand until the table is back within its bound, never evicting the client that
+     * was just added.
+     */
+    private void evict(String added) {
+        if (!sweeping.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // two full turns clear every mark, so the sweep always ends
+            int budget = 2 * (buckets.size() + 1);
+            while (buckets.size() > maxClients && budget-- > 0) {
+                if (hand == null || !hand.hasNext()) {
+                    hand = buckets.entrySet().iterator();
+                    if (!hand.hasNext()) {
+                        return;
+                    }
+                }
+                Map.Entry<String, Bucket> entry = hand.next();
+                Bucket bucket = entry.getValue();
+                if (entry.getKey().equals(added)) {
+                    continue;
+                }
+                if (bucket.referenced) {
+                    bucket.referenced = false;
+                } else {
+                    buckets.remove(entry.getKey(), bucket);
+                }
+            }
+        } finally {
+            sweeping.set(false);
+        }
+    }
+
+    public int trackedClients() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,195 @@
+package com.kamlesh.britishtime.service.rewrite;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.util.Objects;
+import java.util.function.IntConsumer;
+
+/**
+ * Output stream that replaces every {@code HH:mm} written to it with its spoken form and passes
+ * everything else through unchanged; see {@link SpokenTimeRewriter} for what counts as a time.
+ * Bytes are scanned once, as they are written, and copied to the target in runs through a
+ * buffer. Ordinary text is skipped eight bytes at a time by testing a whole {@code long} for
+ * digits and colons at once. A time split across two writes is still found: up to five bytes of a possible time
+ * are held back until the byte after it shows whether it is one. {@link #close()} (or
+ * {@link #finish()}) settles the held-back bytes, so it must be called at the end of the input.
+ * <p>
+ * The input is expected in UTF-8 or another ASCII-compatible encoding; phrases are written
+ * in UTF-8. Not thread-safe.
+ */
+public final class RewritingOutputStream extends OutputStream {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final VarHandle LONGS = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+    private static final long ONES = 0x0101010101010101L;
+
+    private final OutputStream out;
+    private final byte[][] phrases;
+    private final IntConsumer onReplacement;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final byte[] pending = new byte[SpokenTimeRewriter.TIME_LENGTH];
+    private int size;
+    private int pendingLength;
+    private boolean boundary = true;
+    private boolean finished;
+    private long replacements;
+
+    RewritingOutputStream(OutputStream out, byte[][] phrases, IntConsumer onReplacement) {
+        this.out = out;
+        this.phrases = phrases;
+        this.onReplacement = onReplacement;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, b.length);
+        if (finished) {
+            throw new IOException("Stream already finished");
+        }
+        int end = off + len;
+        int literalStart = off;
+        int i = off;
+        boolean atBoundary = boundary;
+        while (i < end) {
+            if (pendingLength == 0) {
+                // '0'-'9' and ':' are the eleven values from '0' up; anything else is copied as is
+                int run = i;
+                while (i + Long.BYTES <= end && !hasTimeByte((long) LONGS.get(b, i))) {
+                    i += Long.BYTES;
+                }
+                while (i < end && Integer.compareUnsigned(b[i] - '0', 10) > 0) {
+                    i++;
+                }
+                if (i > run) {
+                    atBoundary = true;
+                }
+                if (i == end) {
+                    break;
+                }
+                if (b[i] == ':' || !atBoundary) {
+                    atBoundary = false;
+                } else {
+                    literal(b, literalStart, i);
+                    pending[pendingLength++] = b[i];
+                    literalStart = i + 1;
+                }
+                i++;
+                continue;
+            }
+            int d = b[i] - '0';
+            boolean accepted = switch (pendingLength) {
+                case 2 -> d == 10;
+                case SpokenTimeRewriter.TIME_LENGTH -> false;
+                default -> Integer.compareUnsigned(d, 10) < 0;
+            };
+            if (accepted) {
+                pending[pendingLength++] = b[i++];
+                literalStart = i;
+            } else {
+                // the value after the candidate decides; it is scanned again from the top
+                settle(Integer.compareUnsigned(d, 10) > 0);
+                atBoundary = false;
+            }
+        }
+        boundary = atBoundary;
+        if (pendingLength == 0) {
+            literal(b, literalStart, end);
+        }
+    }
+
+    /**
+     * Tests eight bytes at once for one from {@code '0'} to {@code ':'}. Each byte is checked
+     * in its own lane with no carry or borrow into the next: below 0x80, a byte is in range when
+     * it is above 0x2F and below 0x3B; bytes from 0x80 up are masked out by {@code ~word}.
+     */
+    private static boolean hasTimeByte(long word) {
+        long low = word & (ONES * 0x7F);
+        return ((ONES * (0x7F + 0x3B) - low) & ~word & (low + ONES * (0x7F - 0x2F)) & (ONES * 0x80)) != 0;
+    }
+
+    /**
+     * Emits the held-back bytes: as a phrase if they form a time and {@code followedByBoundary},
+     * otherwise as they are.
+     */
+    private void settle(boolean followedByBoundary) throws IOException {
+        int minute = pendingLength == SpokenTimeRewriter.TIME_LENGTH && followedByBoundary
+                ? SpokenTimeRewriter.minuteOfDay(pending[0] - '0', pending[1] - '0', pending[3] - '0', pending[4] - '0')
+                : -1;
+        if (minute >= 0) {
+            literal(phrases[minute], 0, phrases[minute].length);
+            replacements++;
+            if (onReplacement != null) {
+                onReplacement.accept(minute);
+            }
+        } else {
+            literal(pending, 0, pendingLength);
+        }
+        pendingLength = 0;
+    }
+
+    private void literal(byte[] b, int from, int to) throws IOException {
+        int length = to - from;
+        if (length > BUFFER_SIZE - size) {
+            flushBuffer();
+            if (length >= BUFFER_SIZE) {
+                out.write(b, from, length);
+                return;
+            }
+        }
+        System.arraycopy(b, from, buffer, size, length);
+        size += length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (size > 0) {
+            out.write(buffer, 0, size);
+            size = 0;
+        }
+    }
+
+    /**
+     * Passes on everything written so far except bytes held back as a possible time.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Settles the held-back bytes, as at the end of the input, and flushes, leaving the target
+     * open.
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            settle(true);
+            finished = true;
+            flush();
+        }
+    }
+
+    /**
+     * Finishes and closes the target.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    /** Times replaced so far. */
+    public long replacements() {
+        return replacements;
+    }
+}
@@ -0,0 +1,156 @@
+package com.kamlesh.britishtime.service.rewrite;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Objects;
+
+/**
+ * Character counterpart of {@link RewritingOutputStream}, for text that is already decoded:
+ * every {@code HH:mm} written is replaced by its spoken form, with up to five characters held
+ * back across writes until the time is settled. {@link #close()} (or {@link #finish()}) must be
+ * called at the end of the input. Not thread-safe.
+ */
+public final class RewritingWriter extends Writer {
+
+    private static final int BUFFER_SIZE = 1 << 15;
+
+    private final Writer out;
+    private final char[][] phrases;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final char[] pending = new char[SpokenTimeRewriter.TIME_LENGTH];
+    private int size;
+    private int pendingLength;
+    private boolean boundary = true;
+    private boolean finished;
+    private long replacements;
+
+    RewritingWriter(Writer out, char[][] phrases) {
+        this.out = out;
+        this.phrases = phrases;
+    }
+
+    @Override
+    public void write(char[] c, int off, int len) throws IOException {
+        Objects.checkFromIndexSize(off, len, c.length);
+        if (finished) {
+            throw new IOException("Writer already finished");
+        }
+        int end = off + len;
+        int literalStart = off;
+        int i = off;
+        boolean atBoundary = boundary;
+        while (i < end) {
+            if (pendingLength == 0) {
+                // '0'-'9' and ':' are the eleven values from '0' up; anything else is copied as is
+                int run = i;
+                while (i < end && Integer.compareUnsigned(c[i] - '0', 10) > 0) {
+                    i++;
+                }
+                if (i > run) {
+                    atBoundary = true;
+                }
+                if (i == end) {
+                    break;
+                }
+                if (c[i] == ':' || !atBoundary) {
+                    atBoundary = false;
+                } else {
+                    literal(c, literalStart, i);
+                    pending[pendingLength++] = c[i];
+                    literalStart = i + 1;
+                }
+                i++;
+                continue;
+            }
+            int d = c[i] - '0';
+            boolean accepted = switch (pendingLength) {
+                case 2 -> d == 10;
+                case SpokenTimeRewriter.TIME_LENGTH -> false;
+                default -> Integer.compareUnsigned(d, 10) < 0;
+            };
+            if (accepted) {
+                pending[pendingLength++] = c[i++];
+                literalStart = i;
+            } else {
+                // the value after the candidate decides; it is scanned again from the top
+                settle(Integer.compareUnsigned(d, 10) > 0);
+                atBoundary = false;
+            }
+        }
+        boundary = atBoundary;
+        if (pendingLength == 0) {
+            literal(c, literalStart, end);
+        }
+    }
+
+    private void settle(boolean followedByBoundary) throws IOException {
+        int minute = pendingLength == SpokenTimeRewriter.TIME_LENGTH && followedByBoundary
+                ? SpokenTimeRewriter.minuteOfDay(pending[0] - '0', pending[1] - '0', pending[3] - '0', pending[4] - '0')
+                : -1;
+        if (minute >= 0) {
+            literal(phrases[minute], 0, phrases[minute].length);
+            replacements++;
+        } else {
+            literal(pending, 0, pendingLength);
+        }
+        pendingLength = 0;
+    }
+
+    private void literal(char[] c, int from, int to) throws IOException {
+        int length = to - from;
+        if (length > BUFFER_SIZE - size) {
+            flushBuffer();
+            if (length >= BUFFER_SIZE) {
+                out.write(c, from, length);
+                return;
+            }
+        }
+        System.arraycopy(c, from, buffer, size, length);
+        size += length;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (size > 0) {
+            out.write(buffer, 0, size);
+            size = 0;
+        }
+    }
+
+    /**
+     * Passes on everything written so far except characters held back as a possible time.
+     */
+    @Override
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    /**
+     * Settles the held-back characters, as at the end of the input, and flushes, leaving the
+     * target open.
+     */
+    public void finish() throws IOException {
+        if (!finished) {
+            settle(true);
+            finished = true;
+            flush();
+        }
+    }
+
+    /**
+     * Finishes and closes the target.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            out.close();
+        }
+    }
+
+    /** Times replaced so far. */
+    public long replacements() {
+        return replacements;
+    }
+}
@@ -0,0 +1,172 @@
+package com.kamlesh.britishtime.service.rewrite;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.rules.ReloadingRuleFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.function.IntConsumer;
+
+/**
+ * Replaces every {@code HH:mm} in a text with its spoken form, for preparing subtitles,
+ * announcements and transcripts for speech synthesis: {@code "Doors close at 19:45."} becomes
+ * {@code "Doors close at quarter to eight."}.
+ * <p>
+ * A time is two hour digits (00-23), a colon and two minute digits (00-59) that are not part of
+ * a longer run of digits and colons, so {@code 00:01:23,456} subtitle timecodes, {@code 123:45}
+ * and {@code 25:00} are left alone. The text is scanned once, as a stream, by a small state
+ * machine in {@link RewritingOutputStream} or {@link RewritingWriter}; only a possible time is
+ * ever held back, so documents of any size stream through in constant memory.
+ * <p>
+ * The phrases are taken from the formatter when the rewriter is created and shared by every
+ * stream it opens; create a new rewriter to follow a rule reload. Also runs from the command
+ * line:
+ * <pre>
+ * java -cp target/britishtime-1.0.0.jar -Dloader.main=com.kamlesh.britishtime.service.rewrite.SpokenTimeRewriter \
+ *     org.springframework.boot.loader.launch.PropertiesLauncher [--style S] [--rules FILE] [IN [OUT]]
+ * </pre>
+ * reading standard input and writing standard output when no files are given.
+ */
+public final class SpokenTimeRewriter {
+
+    /** Characters in {@code HH:mm}. */
+    static final int TIME_LENGTH = 5;
+
+    private final String[] phrases = new String[PhraseTable.MINUTES_PER_DAY];
+    private final byte[][] utf8Phrases = new byte[PhraseTable.MINUTES_PER_DAY][];
+    private final char[][] charPhrases = new char[PhraseTable.MINUTES_PER_DAY][];
+
+    public SpokenTimeRewriter(TimeSpokenFormatter formatter) {
+        this(formatter, SpokenStyle.BRITISH);
+    }
+
+    public SpokenTimeRewriter(TimeSpokenFormatter formatter, SpokenStyle style) {
+        for (int minute = 0; minute < PhraseTable.MINUTES_PER_DAY; minute++) {
+            String phrase = formatter.format(LocalTime.of(minute / 60, minute % 60), style);
+            phrases[minute] = phrase;
+            utf8Phrases[minute] = phrase.getBytes(StandardCharsets.UTF_8);
+            charPhrases[minute] = phrase.toCharArray();
+        }
+    }
+
+    /**
+     * Returns a stream that rewrites what is written to it into {@code out}.
+     */
+    public RewritingOutputStream rewriting(OutputStream out) {
+        return new RewritingOutputStream(out, utf8Phrases, null);
+    }
+
+    /**
+     * Returns a writer that rewrites what is written to it into {@code out}.
+     */
+    public RewritingWriter rewriting(Writer out) {
+        return new RewritingWriter(out, charPhrases);
+    }
+
+    /**
+     * Rewrites {@code in} to its end into {@code out}, in UTF-8. Neither stream is closed.
+     *
+     * @return the number of times replaced
+     */
+    public long rewrite(InputStream in, OutputStream out) throws IOException {
+        return rewrite(in, out, null);
+    }
+
+    /**
+     * Rewrites {@code in} to its end into {@code out}, in UTF-8, passing the minute of day of
+     * each time replaced to {@code onReplacement} as it is written. Neither stream is closed.
+     *
+     * @return the number of times replaced
+     */
+    public long rewrite(InputStream in, OutputStream out, IntConsumer onReplacement) throws IOException {
+        RewritingOutputStream rewriting = new RewritingOutputStream(out, utf8Phrases, onReplacement);
+        in.transferTo(rewriting);
+        rewriting.finish();
+        return rewriting.replacements();
+    }
+
+    /**
+     * Rewrites {@code in} to its end into {@code out}. Neither is closed.
+     *
+     * @return the number of times replaced
+     */
+    public long rewrite(Reader in, Writer out) throws IOException {
+        RewritingWriter rewriting = rewriting(out);
+        in.transferTo(rewriting);
+        rewriting.finish();
+        return rewriting.replacements();
+    }
+
+    /**
+     * Returns the phrase this rewriter writes for a minute of day, 0 to 1439.
+     */
+    public String phrase(int minuteOfDay) {
+        return phrases[minuteOfDay];
+    }
+
+    /**
+     * Returns the minute of day for the digits of {@code HH:mm}, or -1 if it is out of range.
+     */
+    static int minuteOfDay(int h1, int h2, int m1, int m2) {
+        int hours = h1 * 10 + h2;
+        int minutes = m1 * 10 + m2;
+        return hours < 24 && minutes < 60 ? hours * 60 + minutes : -1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        SpokenStyle style = SpokenStyle.BRITISH;
+        TimeSpokenFormatter formatter = null;
+        Path in = null;
+        Path out = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--style" -> style = SpokenStyle.fromParameter(value(args, ++i));
+                case "--rules" -> formatter = new ReloadingRuleFormatter(Path.of(value(args, ++i)));
+                default -> {
+                    if (args[i].startsWith("--") || out != null) {
+                        usage("unexpected argument " + args[i]);
+                    }
+                    if (in == null) {
+                        in = Path.of(args[i]);
+                    } else {
+                        out = Path.of(args[i]);
+                    }
+                }
+            }
+        }
+        SpokenTimeRewriter rewriter = new SpokenTimeRewriter(
+                formatter != null ? formatter : new ChainedBritishTimeFormatter(), style);
+        long replaced;
+        try (InputStream input = in != null ? Files.newInputStream(in) : new BufferedInputStream(System.in);
+             OutputStream output = out != null ? Files.newOutputStream(out) : System.out) {
+            replaced = rewriter.rewrite(input, output);
+            output.flush();
+        }
+        System.err.println(replaced + " times replaced");
+    }
+
+    private static String value(String[] args, int i) {
+        if (i >= args.length) {
+            usage(args[i - 1] + " needs a value");
+        }
+        return args[i];
+    }
+
+    private static void usage(String problem) {
+        System.err.println("SpokenTimeRewriter: " + problem);
+        System.err.println("usage: SpokenTimeRewriter [--style british|digital|24-hour|day-part] [--rules FILE] "
+                + "[IN [OUT]]");
+        System.exit(2);
+    }
+}
@@ -0,0 +1,164 @@
+package com.kamlesh.britishtime.service.rules;
+
+import com.kamlesh.britishtime.exception.InvalidRuleFileException;
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import com.kamlesh.britishtime.service.table.StyledPhraseTables;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Formatter backed by a rule file that is recompiled whenever the file changes.
+ * The live tables are published through a single volatile reference: a request reads it once
+ * and keeps that snapshot to the end, while a successful reload swaps in the new tables for
+ * later requests. The day-part style is rebuilt with the British table, so it always follows
+ * the current rules. A file that fails to compile, or any other failure while reloading, is
+ * logged and ignored, so a bad edit never replaces a good table and the watcher keeps running.
+ */
+public class ReloadingRuleFormatter implements TimeSpokenFormatter, PhraseTableSource, AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ReloadingRuleFormatter.class);
+
+    private final Path ruleFile;
+    private volatile StyledPhraseTables tables;
+    private volatile long reloads;
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * Compiles the rule file. Unlike a reload, a failure here is fatal.
+     *
+     * @param ruleFile the YAML rule file
+     * @throws InvalidRuleFileException if the file cannot be compiled
+     */
+    public ReloadingRuleFormatter(Path ruleFile) {
+        this.ruleFile = ruleFile.toAbsolutePath();
+        this.tables = StyledPhraseTables.of(compile());
+    }
+
+    @Override
+    public String format(LocalTime time) {
+        return format(time, SpokenStyle.BRITISH);
+    }
+
+    @Override
+    public String format(LocalTime time, SpokenStyle style) {
+        Objects.requireNonNull(time, "time must not be null");
+        return tables.phraseAt(style, time.getHour() * 60 + time.getMinute());
+    }
+
+    /**
+     * Returns the current table. Callers that need several lookups to be consistent with one
+     * another should take one snapshot and use it throughout.
+     */
+    @Override
+    public PhraseTable snapshot() {
+        return tables.table(SpokenStyle.BRITISH);
+    }
+
+    public StyledPhraseTables styles() {
+        return tables;
+    }
+
+    public long reloads() {
+        return reloads;
+    }
+
+    /**
+     * Recompiles the rule file and publishes the result if it compiles.
+     *
+     * @return true if the live table was replaced
+     */
+    public synchronized boolean reload() {
+        try {
+            PhraseTable compiled = compile();
+            tables = StyledPhraseTables.of(compiled);
+            reloads++;
+            LOG.info("Reloaded phrasing rules from {} ({} phrases)", ruleFile, compiled.phraseCount());
+            return true;
+        } catch (InvalidRuleFileException | UncheckedIOException ex) {
+            LOG.warn("Keeping previous phrasing rules; {} could not be compiled: {}", ruleFile, ex.getMessage());
+            return false;
+        } catch (RuntimeException ex) {
+            LOG.error("Keeping previous phrasing rules; reloading {} failed", ruleFile, ex);
+            return false;
+        }
+    }
+
+    private PhraseTable compile() {
+        try {
+            return RuleFileCompiler.compile(Files.newBufferedReader(ruleFile, StandardCharsets.UTF_8),
+                    ruleFile.toString());
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot read rule file " + ruleFile, ex);
+        }
+    }
+
+    /**
+     * Starts watching the rule file's directory for changes.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        WatchService service = FileSystems.getDefault().newWatchService();
+        ruleFile.getParent().register(service,
+                StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchService = service;
+        watcher = Thread.ofPlatform().daemon().name("rule-file-watcher").start(() -> watch(service));
+    }
+
+    private void watch(WatchService service) {
+        try {
+            while (true) {
+                WatchKey key = service.take();
+                try {
+                    boolean changed = false;
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (ruleFile.getFileName().equals(event.context())) {
+                            changed = true;
+                        }
+                    }
+                    if (changed) {
+                        reload();
+                    }
+                } catch (RuntimeException ex) {
+                    LOG.error("Error while watching {}; still watching", ruleFile, ex);
+                } finally {
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // closed by close()
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+            watchService = null;
+            watcher = null;
+        }
+    }
+}
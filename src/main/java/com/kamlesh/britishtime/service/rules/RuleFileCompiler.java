@@ -0,0 +1,173 @@
+package com.kamlesh.britishtime.service.rules;
+
+import com.kamlesh.britishtime.exception.InvalidRuleFileException;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.utility.TimeWords;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles a declarative YAML rule file into an immutable {@link PhraseTable}.
+ * Every rule is a set of hours, a set of minutes and a template. Rules are evaluated once
+ * per minute of the day at compile time, in file order, so lookups afterwards are a
+ * plain table read. A file that is malformed, uses an unknown placeholder, applies
+ * {@code {minutesTo}} on the hour or leaves any minute uncovered is rejected as a whole.
+ */
+public final class RuleFileCompiler {
+
+    private static final List<String> PLACEHOLDERS = List.of("hour", "nextHour", "minute", "minutesTo");
+
+    private RuleFileCompiler() {
+    }
+
+    /**
+     * Compiles the rules read from {@code reader}.
+     *
+     * @param reader the rule file contents
+     * @param source name used in error messages
+     * @return the compiled table
+     * @throws InvalidRuleFileException if the file cannot be compiled
+     */
+    public static CompiledPhraseTable compile(Reader reader, String source) {
+        List<Rule> rules = parse(load(reader, source), source);
+        String[] phrases = new String[PhraseTable.MINUTES_PER_DAY];
+        for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+            int hour = minuteOfDay / 60;
+            int minute = minuteOfDay % 60;
+            for (Rule rule : rules) {
+                if (rule.hours[hour] && rule.minutes[minute]) {
+                    if (minute == 0 && rule.usesMinutesTo()) {
+                        throw new InvalidRuleFileException(String.format(
+                                "%s: {minutesTo} has no value on the hour, at %02d:%02d", rule.name, hour, minute));
+                    }
+                    phrases[minuteOfDay] = rule.render(hour, minute);
+                    break;
+                }
+            }
+            if (phrases[minuteOfDay] == null) {
+                throw new InvalidRuleFileException(String.format("%s: no rule covers %02d:%02d", source, hour, minute));
+            }
+        }
+        return CompiledPhraseTable.of(phrases);
+    }
+
+    private static Object load(Reader reader, String source) {
+        try (reader) {
+            return new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+        } catch (YAMLException | IOException ex) {
+            throw new InvalidRuleFileException(source + ": cannot read rule file", ex);
+        }
+    }
+
+    private static List<Rule> parse(Object document, String source) {
+        if (!(document instanceof Map<?, ?> root) || !(root.get("rules") instanceof List<?> entries)) {
+            throw new InvalidRuleFileException(source + ": expected a top-level 'rules' list");
+        }
+        List<Rule> rules = new ArrayList<>();
+        for (Object entry : entries) {
+            if (!(entry instanceof Map<?, ?> map)) {
+                throw new InvalidRuleFileException(source + ": every rule must be a mapping");
+            }
+            String name = source + " rule '" + map.get("name") + "'";
+            if (!(map.get("template") instanceof String template)) {
+                throw new InvalidRuleFileException(name + ": missing 'template'");
+            }
+            rules.add(new Rule(name,
+                    parseSet(map.get("hours"), 24, name, "hours"),
+                    parseSet(map.get("minutes"), 60, name, "minutes"),
+                    parseTemplate(template, name)));
+        }
+        return rules;
+    }
+
+    private static boolean[] parseSet(Object spec, int size, String name, String field) {
+        boolean[] set = new boolean[size];
+        if (spec == null) {
+            Arrays.fill(set, true);
+            return set;
+        }
+        for (Object item : spec instanceof List<?> list ? list : List.of(spec)) {
+            String text = String.valueOf(item).trim();
+            int dash = text.indexOf('-', 1);
+            try {
+                int from = Integer.parseInt(dash < 0 ? text : text.substring(0, dash).trim());
+                int to = dash < 0 ? from : Integer.parseInt(text.substring(dash + 1).trim());
+                if (from < 0 || to >= size || from > to) {
+                    throw new InvalidRuleFileException(name + ": " + field + " out of range: " + text);
+                }
+                for (int i = from; i <= to; i++) {
+                    set[i] = true;
+                }
+            } catch (NumberFormatException ex) {
+                throw new InvalidRuleFileException(name + ": invalid " + field + ": " + text, ex);
+            }
+        }
+        return set;
+    }
+
+    /**
+     * Splits a template into literal text and placeholder segments.
+     */
+    private static List<Segment> parseTemplate(String template, String name) {
+        List<Segment> segments = new ArrayList<>();
+        int pos = 0;
+        while (pos < template.length()) {
+            int open = template.indexOf('{', pos);
+            if (open < 0) {
+                segments.add(new Segment(template.substring(pos), false));
+                break;
+            }
+            int close = template.indexOf('}', open);
+            if (close < 0) {
+                throw new InvalidRuleFileException(name + ": unterminated placeholder in template");
+            }
+            String placeholder = template.substring(open + 1, close);
+            if (!PLACEHOLDERS.contains(placeholder)) {
+                throw new InvalidRuleFileException(name + ": unknown placeholder {" + placeholder + "}");
+            }
+            if (open > pos) {
+                segments.add(new Segment(template.substring(pos, open), false));
+            }
+            segments.add(new Segment(placeholder, true));
+            pos = close + 1;
+        }
+        return segments;
+    }
+
+    private record Segment(String text, boolean placeholder) {
+    }
+
+    private record Rule(String name, boolean[] hours, boolean[] minutes, List<Segment> template) {
+
+        boolean usesMinutesTo() {
+            return template.contains(new Segment("minutesTo", true));
+        }
+
+        String render(int hour, int minute) {
+            StringBuilder phrase = new StringBuilder();
+            for (Segment segment : template) {
+                if (!segment.placeholder()) {
+                    phrase.append(segment.text());
+                    continue;
+                }
+                phrase.append(switch (segment.text()) {
+                    case "hour" -> TimeWords.hourWord(hour % 12);
+                    case "nextHour" -> TimeWords.hourWord((hour + 1) % 12);
+                    case "minute" -> TimeWords.numberWord(minute);
+                    default -> TimeWords.numberWord(60 - minute);
+                });
+            }
+            return phrase.toString();
+        }
+    }
+}
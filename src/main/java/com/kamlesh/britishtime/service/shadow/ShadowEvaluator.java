@@ -0,0 +1,243 @@
+package com.kamlesh.britishtime.service.shadow;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Runs a sample of live conversions through a candidate formatter as well, to see how a new
+ * formatter or rule change would have answered real traffic before it goes live.
+ * <p>
+ * The request thread only decides whether to sample and, if so, hands the input and the live
+ * phrase to a single low-priority worker through a bounded queue. When the queue is full the
+ * sample is dropped and counted; the request never waits. The worker formats the input with
+ * the candidate and compares the phrases. It also formats the input again with the live
+ * formatter and times both there, alternating which goes first, so the difference in
+ * formatting time is measured on the same thread under the same conditions.
+ * <p>
+ * Sampling can be paused, for example until the service accepts traffic, so that warm-up
+ * conversions are not counted.
+ * <p>
+ * Disagreements are kept per input and style, so there are at most one per minute of day and
+ * style however long the evaluation runs; the first one for each is logged.
+ */
+public class ShadowEvaluator implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ShadowEvaluator.class);
+    private static final SpokenStyle[] STYLES = SpokenStyle.values();
+
+    private final TimeSpokenFormatter live;
+    private final TimeSpokenFormatter candidate;
+    private final double sampleRate;
+    private final Clock clock;
+    private final ThreadPoolExecutor worker;
+    private final Map<Integer, ShadowMismatch> mismatches = new ConcurrentHashMap<>();
+    private volatile boolean sampling = true;
+    /** Touched only by the worker. */
+    private boolean liveFirst;
+
+    private final LongAdder sampled = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder compared = new LongAdder();
+    private final LongAdder mismatched = new LongAdder();
+    private final LongAdder candidateErrors = new LongAdder();
+    private final LongAdder primaryNanos = new LongAdder();
+    private final LongAdder candidateNanos = new LongAdder();
+
+    /**
+     * @param live the formatter serving responses, timed against the candidate
+     * @param candidate the formatter under evaluation
+     * @param sampleRate fraction of conversions to evaluate, from 0 to 1
+     * @param queueCapacity samples that may wait for the worker before new ones are dropped
+     * @param clock stamps when a disagreement is first seen
+     */
+    public ShadowEvaluator(TimeSpokenFormatter live, TimeSpokenFormatter candidate, double sampleRate,
+                           int queueCapacity, Clock clock) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("sampleRate must be between 0 and 1");
+        }
+        this.live = live;
+        this.candidate = candidate;
+        this.sampleRate = sampleRate;
+        this.clock = clock;
+        this.worker = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().daemon().priority(Thread.MIN_PRIORITY).name("shadow-evaluator").factory(),
+                (task, executor) -> {
+                    throw new RejectedExecutionException();
+                });
+    }
+
+    /**
+     * Decides whether the current conversion is sampled. Always false while sampling is paused.
+     */
+    public boolean sample() {
+        return sampling && sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+
+    /**
+     * Pauses or resumes sampling. Samples already queued are still compared.
+     */
+    public void setSampling(boolean sampling) {
+        this.sampling = sampling;
+    }
+
+    public boolean isSampling() {
+        return sampling;
+    }
+
+    /**
+     * Queues a sampled conversion for comparison, or drops it if the queue is full.
+     *
+     * @param time the input
+     * @param style the style requested
+     * @param expected the phrase the live formatter answered with
+     */
+    public void submit(LocalTime time, SpokenStyle style, String expected) {
+        sampled.increment();
+        try {
+            worker.execute(() -> compare(time, style, expected));
+        } catch (RejectedExecutionException ex) {
+            dropped.increment();
+        }
+    }
+
+    private void compare(LocalTime time, SpokenStyle style, String expected) {
+        liveFirst = !liveFirst;
+        long liveElapsed = liveFirst ? timeLive(time, style) : 0;
+        String actual;
+        long start = System.nanoTime();
+        try {
+            actual = candidate.format(time, style);
+        } catch (RuntimeException ex) {
+            candidateErrors.increment();
+            actual = ex.toString();
+        }
+        long candidateElapsed = System.nanoTime() - start;
+        if (!liveFirst) {
+            liveElapsed = timeLive(time, style);
+        }
+        primaryNanos.add(liveElapsed);
+        candidateNanos.add(candidateElapsed);
+        if (!expected.equals(actual)) {
+            mismatched.increment();
+            record(time, style, expected, actual);
+        }
+        // counted last, so a reader that sees the comparison also sees its mismatch
+        compared.increment();
+    }
+
+    private long timeLive(LocalTime time, SpokenStyle style) {
+        long start = System.nanoTime();
+        live.format(time, style);
+        return System.nanoTime() - start;
+    }
+
+    private void record(LocalTime time, SpokenStyle style, String expected, String actual) {
+        int key = (time.getHour() * 60 + time.getMinute()) * STYLES.length + style.ordinal();
+        ShadowMismatch previous = mismatches.get(key);
+        if (previous == null || !previous.actual().equals(actual) || !previous.expected().equals(expected)) {
+            // first disagreement for this input, or a different one after a reload
+            mismatches.put(key, new ShadowMismatch(time, style, expected, actual, clock.instant(), 1));
+            LOG.warn("Shadow formatter disagrees on {} ({}): live \"{}\", candidate \"{}\"",
+                    time, style.parameter(), expected, actual);
+        } else {
+            mismatches.put(key, new ShadowMismatch(time, style, expected, actual, previous.firstSeen(),
+                    previous.occurrences() + 1));
+        }
+    }
+
+    /**
+     * Returns the disagreements seen so far, one per input and style, in time order.
+     */
+    public List<ShadowMismatch> mismatches() {
+        return mismatches.values().stream()
+                .sorted(Comparator.comparing(ShadowMismatch::time).thenComparing(ShadowMismatch::style))
+                .toList();
+    }
+
+    /** Distinct inputs and styles the candidate has disagreed on. */
+    public int distinctMismatches() {
+        return mismatches.size();
+    }
+
+    public double sampleRate() {
+        return sampleRate;
+    }
+
+    /** Conversions sampled, whether compared or dropped. */
+    public long sampledCount() {
+        return sampled.sum();
+    }
+
+    /** Samples dropped because the queue was full. */
+    public long droppedCount() {
+        return dropped.sum();
+    }
+
+    public long comparedCount() {
+        return compared.sum();
+    }
+
+    public long mismatchCount() {
+        return mismatched.sum();
+    }
+
+    /** Comparisons in which the candidate threw; these also count as mismatches. */
+    public long candidateErrorCount() {
+        return candidateErrors.sum();
+    }
+
+    /** Total time the live formatter took on compared samples. */
+    public long primaryNanos() {
+        return primaryNanos.sum();
+    }
+
+    /** Total time the candidate took on compared samples. */
+    public long candidateNanos() {
+        return candidateNanos.sum();
+    }
+
+    /**
+     * Mean of candidate minus live formatting time over all compared samples, in nanoseconds;
+     * positive when the candidate is slower.
+     */
+    public double meanLatencyDeltaNanos() {
+        long count = compared.sum();
+        return count == 0 ? 0 : (double) (candidateNanos.sum() - primaryNanos.sum()) / count;
+    }
+
+    public int queueDepth() {
+        return worker.getQueue().size();
+    }
+
+    /**
+     * Stops the worker, discarding samples not yet compared, and closes the candidate if it
+     * holds resources. A candidate that fails to close is logged, since the live path never
+     * depended on it.
+     */
+    @Override
+    public void close() {
+        worker.shutdownNow();
+        if (candidate instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                LOG.warn("Could not close shadow candidate {}", candidate, ex);
+            }
+        }
+    }
+}
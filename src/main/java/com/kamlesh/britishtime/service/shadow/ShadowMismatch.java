@@ -0,0 +1,20 @@
+package com.kamlesh.britishtime.service.shadow;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+
+import java.time.Instant;
+import java.time.LocalTime;
+
+/**
+ * An input on which the candidate formatter disagreed with the live one.
+ *
+ * @param time the input
+ * @param style the style requested
+ * @param expected what the live formatter returned
+ * @param actual what the candidate returned, or the exception it threw
+ * @param firstSeen when the disagreement was first seen
+ * @param occurrences sampled requests with this input and style that disagreed
+ */
+public record ShadowMismatch(LocalTime time, SpokenStyle style, String expected, String actual, Instant firstSeen,
+                             long occurrences) {
+}
@@ -0,0 +1,70 @@
+package com.kamlesh.britishtime.service.table;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+
+import java.time.LocalTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Heap-resident {@link PhraseTable} compiled by running a formatter over every minute of the day.
+ */
+public final class CompiledPhraseTable implements PhraseTable {
+
+    private final short[] phraseIds;
+    private final String[] phrases;
+
+    CompiledPhraseTable(short[] phraseIds, String[] phrases) {
+        this.phraseIds = phraseIds;
+        this.phrases = phrases;
+    }
+
+    /**
+     * Compiles the table from the given formatter.
+     *
+     * @param formatter the formatter whose output is tabulated
+     * @return the compiled table
+     */
+    public static CompiledPhraseTable compile(TimeSpokenFormatter formatter) {
+        String[] phrasesByMinute = new String[MINUTES_PER_DAY];
+        for (int minuteOfDay = 0; minuteOfDay < MINUTES_PER_DAY; minuteOfDay++) {
+            phrasesByMinute[minuteOfDay] = formatter.format(LocalTime.of(minuteOfDay / 60, minuteOfDay % 60));
+        }
+        return of(phrasesByMinute);
+    }
+
+    /**
+     * Builds the table from one phrase per minute of the day, storing each distinct phrase once.
+     *
+     * @param phrasesByMinute 1440 phrases indexed by minute of day
+     * @return the compiled table
+     */
+    public static CompiledPhraseTable of(String[] phrasesByMinute) {
+        if (phrasesByMinute.length != MINUTES_PER_DAY) {
+            throw new IllegalArgumentException("Expected " + MINUTES_PER_DAY + " phrases, got " + phrasesByMinute.length);
+        }
+        short[] ids = new short[MINUTES_PER_DAY];
+        Map<String, Integer> distinct = new LinkedHashMap<>();
+        for (int minuteOfDay = 0; minuteOfDay < MINUTES_PER_DAY; minuteOfDay++) {
+            String phrase = Objects.requireNonNull(phrasesByMinute[minuteOfDay], "phrase must not be null");
+            ids[minuteOfDay] = (short) (int) distinct.computeIfAbsent(phrase, p -> distinct.size());
+        }
+        return new CompiledPhraseTable(ids, distinct.keySet().toArray(new String[0]));
+    }
+
+    @Override
+    public int phraseId(int minuteOfDay) {
+        return phraseIds[minuteOfDay];
+    }
+
+    @Override
+    public String phrase(int phraseId) {
+        return phrases[phraseId];
+    }
+
+    @Override
+    public int phraseCount() {
+        return phrases.length;
+    }
+}
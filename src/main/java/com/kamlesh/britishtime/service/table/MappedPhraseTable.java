@@ -0,0 +1,54 @@
+package com.kamlesh.britishtime.service.table;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link PhraseTable} read from a read-only memory mapping of a {@link PhraseTableFile}.
+ * Ids and phrase bytes stay in the shared page cache. A phrase is decoded into a
+ * {@code String} the first time it is asked for and then reused; racing threads may decode
+ * the same phrase twice, which is harmless because strings are immutable.
+ */
+public final class MappedPhraseTable implements PhraseTable {
+
+    private final ByteBuffer buffer;
+    private final int phraseCount;
+    private final int offsetsStart;
+    private final int textStart;
+    private final String[] decoded;
+
+    MappedPhraseTable(ByteBuffer buffer, int phraseCount) {
+        this.buffer = buffer;
+        this.phraseCount = phraseCount;
+        this.offsetsStart = PhraseTableFile.HEADER_SIZE + MINUTES_PER_DAY * Short.BYTES;
+        this.textStart = offsetsStart + (phraseCount + 1) * Integer.BYTES;
+        this.decoded = new String[phraseCount];
+    }
+
+    @Override
+    public int phraseId(int minuteOfDay) {
+        if (minuteOfDay < 0 || minuteOfDay >= MINUTES_PER_DAY) {
+            throw new IndexOutOfBoundsException("minuteOfDay " + minuteOfDay);
+        }
+        return buffer.getShort(PhraseTableFile.HEADER_SIZE + minuteOfDay * Short.BYTES);
+    }
+
+    @Override
+    public String phrase(int phraseId) {
+        String phrase = decoded[phraseId];
+        if (phrase == null) {
+            int start = buffer.getInt(offsetsStart + phraseId * Integer.BYTES);
+            int end = buffer.getInt(offsetsStart + (phraseId + 1) * Integer.BYTES);
+            byte[] bytes = new byte[end - start];
+            buffer.get(textStart + start, bytes);
+            phrase = new String(bytes, StandardCharsets.UTF_8);
+            decoded[phraseId] = phrase;
+        }
+        return phrase;
+    }
+
+    @Override
+    public int phraseCount() {
+        return phraseCount;
+    }
+}
@@ -0,0 +1,25 @@
+package com.kamlesh.britishtime.service.table;
+
+/**
+ * Shallow-size arithmetic for memory reports, for a 64-bit JVM with compressed references
+ * and compact strings: 12-byte object headers, 16-byte array headers, 8-byte alignment.
+ */
+public final class MemoryEstimates {
+
+    private MemoryEstimates() {
+    }
+
+    public static long array(int length, int elementBytes) {
+        return align(16L + (long) length * elementBytes);
+    }
+
+    /** A String and its backing array; Latin-1 strings take one byte per char. */
+    public static long string(String s) {
+        boolean latin1 = s.chars().allMatch(c -> c < 0x100);
+        return 24 + array(s.length(), latin1 ? 1 : 2);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
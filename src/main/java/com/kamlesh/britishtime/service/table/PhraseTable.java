@@ -0,0 +1,42 @@
+package com.kamlesh.britishtime.service.table;
+
+/**
+ * Precomputed spoken phrases for every minute of the day.
+ * Each minute-of-day maps to a phrase id, and each distinct phrase is stored once, so
+ * "quarter past three" is shared by 03:15 and 15:15.
+ */
+public interface PhraseTable {
+
+    int MINUTES_PER_DAY = 24 * 60;
+
+    /**
+     * Returns the id of the phrase spoken at the given minute of the day.
+     *
+     * @param minuteOfDay 0 to 1439
+     * @return phrase id, 0 to {@code phraseCount() - 1}
+     */
+    int phraseId(int minuteOfDay);
+
+    /**
+     * Returns the phrase with the given id.
+     *
+     * @param phraseId id returned by {@link #phraseId(int)}
+     * @return the phrase
+     */
+    String phrase(int phraseId);
+
+    /**
+     * Returns the number of distinct phrases.
+     */
+    int phraseCount();
+
+    /**
+     * Returns the phrase spoken at the given minute of the day.
+     *
+     * @param minuteOfDay 0 to 1439
+     * @return the phrase
+     */
+    default String phraseAt(int minuteOfDay) {
+        return phrase(phraseId(minuteOfDay));
+    }
+}
@@ -0,0 +1,246 @@
+package com.kamlesh.britishtime.service.table;
+
+import com.kamlesh.britishtime.exception.InvalidPhraseTableException;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+
+/**
+ * Binary file format for {@link PhraseTable}s that are shared between processes through a
+ * read-only memory mapping.
+ * <pre>
+ * offset  size  field
+ *      0     4  magic "BSPT"
+ *      4     2  format version
+ *      6     2  reserved (0)
+ *      8     8  source fingerprint, see {@link #sourceFingerprint}
+ *     16     4  minute count (1440)
+ *     20     4  phrase count n
+ *     24     4  payload length
+ *     28     4  CRC-32C of the payload
+ *     32        payload: short[1440] phrase ids, int[n + 1] phrase offsets, UTF-8 phrase bytes
+ * </pre>
+ * All values are big-endian. Files are written to a temporary sibling and atomically moved
+ * into place, so a reader never maps a half-written table.
+ * <p>
+ * The source fingerprint identifies what the table was compiled from, such as the formatter
+ * class and its version or the bytes of a rule file, so a process can tell whether the file is
+ * current without compiling anything.
+ */
+public final class PhraseTableFile {
+
+    static final int MAGIC = 0x42535054;
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    private PhraseTableFile() {
+    }
+
+    /**
+     * Writes the table to {@code path}, replacing any existing file atomically.
+     *
+     * @param table the table to write
+     * @param path target file
+     * @param sourceVersion stamp checked again by {@link #map}, normally {@link #sourceFingerprint}
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(PhraseTable table, Path path, long sourceVersion) throws IOException {
+        ByteBuffer buffer = encode(table);
+        int payloadLength = buffer.capacity() - HEADER_SIZE;
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.array(), HEADER_SIZE, payloadLength);
+        buffer.putInt(0, MAGIC)
+                .putShort(4, FORMAT_VERSION)
+                .putShort(6, (short) 0)
+                .putLong(8, sourceVersion)
+                .putInt(16, PhraseTable.MINUTES_PER_DAY)
+                .putInt(20, table.phraseCount())
+                .putInt(24, payloadLength)
+                .putInt(28, (int) crc.getValue());
+
+        Path absolute = path.toAbsolutePath();
+        Files.createDirectories(absolute.getParent());
+        Path temp = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, buffer.array());
+            Files.move(temp, absolute, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of the inputs a table is compiled from: the first eight bytes
+     * of the SHA-256 of the parts, each UTF-8 encoded and followed by a zero byte. A null part
+     * counts as empty.
+     *
+     * @param parts what the table is compiled from, for example a formatter class and version
+     * @return the fingerprint
+     */
+    public static long sourceFingerprint(String... parts) {
+        byte[][] bytes = new byte[parts.length][];
+        for (int i = 0; i < parts.length; i++) {
+            bytes[i] = parts[i] == null ? new byte[0] : parts[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return sourceFingerprint(bytes);
+    }
+
+    /**
+     * Returns a 64-bit fingerprint of raw inputs, such as the bytes of a rule file.
+     *
+     * @see #sourceFingerprint(String...)
+     */
+    public static long sourceFingerprint(byte[]... parts) {
+        MessageDigest sha256 = sha256();
+        for (byte[] part : parts) {
+            sha256.update(part);
+            sha256.update((byte) 0);
+        }
+        return ByteBuffer.wrap(sha256.digest()).getLong();
+    }
+
+    /**
+     * Returns the source fingerprint of a formatter: its class name, the implementation version
+     * of its package when the jar declares one, and {@code version}. Give a new {@code version}
+     * whenever phrasing changes without the class or jar version changing.
+     *
+     * @param formatter the formatter the table is compiled from
+     * @param version extra version stamp, may be empty
+     * @return the fingerprint
+     */
+    public static long sourceFingerprint(TimeSpokenFormatter formatter, String version) {
+        Class<?> type = formatter.getClass();
+        return sourceFingerprint(type.getName(), type.getPackage().getImplementationVersion(), version);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * Encodes the payload after a blank header.
+     */
+    private static ByteBuffer encode(PhraseTable table) {
+        int phraseCount = table.phraseCount();
+        byte[][] encoded = new byte[phraseCount][];
+        int textLength = 0;
+        for (int id = 0; id < phraseCount; id++) {
+            encoded[id] = table.phrase(id).getBytes(StandardCharsets.UTF_8);
+            textLength += encoded[id].length;
+        }
+        int payloadLength = PhraseTable.MINUTES_PER_DAY * Short.BYTES + (phraseCount + 1) * Integer.BYTES + textLength;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + payloadLength);
+        buffer.position(HEADER_SIZE);
+        for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+            buffer.putShort((short) table.phraseId(minuteOfDay));
+        }
+        int offset = 0;
+        for (byte[] phrase : encoded) {
+            buffer.putInt(offset);
+            offset += phrase.length;
+        }
+        buffer.putInt(offset);
+        for (byte[] phrase : encoded) {
+            buffer.put(phrase);
+        }
+        return buffer;
+    }
+
+    /**
+     * Maps a table file read-only and validates its header and checksum.
+     *
+     * @param path the file
+     * @param expectedSourceVersion stamp the file must carry
+     * @return the mapped table
+     * @throws IOException if the file cannot be read
+     * @throws InvalidPhraseTableException if the file is corrupt or of another version
+     */
+    public static MappedPhraseTable map(Path path, long expectedSourceVersion) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                throw new InvalidPhraseTableException("Phrase table is truncated: " + path);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.getInt(0) != MAGIC) {
+            throw new InvalidPhraseTableException("Not a phrase table file: " + path);
+        }
+        if (buffer.getShort(4) != FORMAT_VERSION) {
+            throw new InvalidPhraseTableException("Unsupported phrase table format " + buffer.getShort(4));
+        }
+        if (buffer.getLong(8) != expectedSourceVersion) {
+            throw new InvalidPhraseTableException("Phrase table version " + buffer.getLong(8)
+                    + " does not match expected " + expectedSourceVersion);
+        }
+        int minuteCount = buffer.getInt(16);
+        int phraseCount = buffer.getInt(20);
+        int payloadLength = buffer.getInt(24);
+        if (minuteCount != PhraseTable.MINUTES_PER_DAY || phraseCount <= 0
+                || payloadLength != buffer.capacity() - HEADER_SIZE) {
+            throw new InvalidPhraseTableException("Phrase table header is inconsistent: " + path);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(HEADER_SIZE, payloadLength));
+        if ((int) crc.getValue() != buffer.getInt(28)) {
+            throw new InvalidPhraseTableException("Phrase table checksum mismatch: " + path);
+        }
+        return new MappedPhraseTable(buffer, phraseCount);
+    }
+
+    /**
+     * Maps the table at {@code path} for a formatter, compiling and writing it first only if
+     * the file is missing, corrupt or was compiled from another formatter or version. When the
+     * file is current, startup only maps it.
+     *
+     * @param path the file
+     * @param formatter the formatter whose phrases the file must hold
+     * @param version extra version stamp, see {@link #sourceFingerprint(TimeSpokenFormatter, String)}
+     * @return the mapped table
+     */
+    public static MappedPhraseTable mapOrCompile(Path path, TimeSpokenFormatter formatter, String version) {
+        return mapOrCompile(path, sourceFingerprint(formatter, version), () -> CompiledPhraseTable.compile(formatter));
+    }
+
+    /**
+     * Maps the table at {@code path}, calling {@code compiler} and writing its table first only
+     * if the file is missing, corrupt or carries another source fingerprint. Every process on
+     * the host then shares the pages of the one mapped file.
+     *
+     * @param path the file
+     * @param sourceFingerprint fingerprint of what the table is compiled from
+     * @param compiler builds the table when the file has to be written
+     * @return the mapped table
+     */
+    public static MappedPhraseTable mapOrCompile(Path path, long sourceFingerprint,
+                                                 Supplier<? extends PhraseTable> compiler) {
+        try {
+            try {
+                return map(path, sourceFingerprint);
+            } catch (NoSuchFileException | InvalidPhraseTableException ex) {
+                write(compiler.get(), path, sourceFingerprint);
+                return map(path, sourceFingerprint);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not load phrase table " + path, ex);
+        }
+    }
+}
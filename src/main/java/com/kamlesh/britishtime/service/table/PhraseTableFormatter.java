@@ -0,0 +1,46 @@
+package com.kamlesh.britishtime.service.table;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+
+import java.time.LocalTime;
+import java.util.Objects;
+
+/**
+ * Formatter that answers from a {@link PhraseTable} with a single lookup.
+ */
+public class PhraseTableFormatter implements TimeSpokenFormatter, PhraseTableSource {
+
+    private final PhraseTable table;
+    private final StyledPhraseTables styles;
+
+    public PhraseTableFormatter(PhraseTable table) {
+        this.table = Objects.requireNonNull(table, "table must not be null");
+        this.styles = StyledPhraseTables.of(table);
+    }
+
+    @Override
+    public String format(LocalTime time) {
+        Objects.requireNonNull(time, "time must not be null");
+        return table.phraseAt(time.getHour() * 60 + time.getMinute());
+    }
+
+    @Override
+    public String format(LocalTime time, SpokenStyle style) {
+        Objects.requireNonNull(time, "time must not be null");
+        return styles.phraseAt(style, time.getHour() * 60 + time.getMinute());
+    }
+
+    public PhraseTable table() {
+        return table;
+    }
+
+    public StyledPhraseTables styles() {
+        return styles;
+    }
+
+    @Override
+    public PhraseTable snapshot() {
+        return table;
+    }
+}
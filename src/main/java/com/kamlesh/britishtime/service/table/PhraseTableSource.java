@@ -0,0 +1,32 @@
+package com.kamlesh.britishtime.service.table;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+
+/**
+ * Supplies the {@link PhraseTable} behind a formatter, for callers that convert many minutes
+ * at once and want to work on phrase ids instead of calling the formatter per element.
+ */
+@FunctionalInterface
+public interface PhraseTableSource {
+
+    /**
+     * Returns the current table. Callers should take one snapshot per batch and use it
+     * throughout, so a reload in the middle of a batch cannot mix two tables.
+     */
+    PhraseTable snapshot();
+
+    /**
+     * Returns the table source for a formatter: the formatter itself if it is already backed by
+     * a table, otherwise a table compiled once from the formatter's output.
+     *
+     * @param formatter the formatter
+     * @return the table source
+     */
+    static PhraseTableSource of(TimeSpokenFormatter formatter) {
+        if (formatter instanceof PhraseTableSource source) {
+            return source;
+        }
+        PhraseTable table = CompiledPhraseTable.compile(formatter);
+        return () -> table;
+    }
+}
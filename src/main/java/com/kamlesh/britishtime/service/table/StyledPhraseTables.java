@@ -0,0 +1,156 @@
+package com.kamlesh.britishtime.service.table;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.utility.TimeWords;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * One {@link PhraseTable} per {@link SpokenStyle}, indexed by style and then by minute of day,
+ * so choosing a style at request time is one more array index and nothing else.
+ * <p>
+ * The British table is whatever phrasing the formatter uses. The digital and 24-hour tables do
+ * not depend on it and are built once from {@link TimeWords}, then shared by every family. The
+ * day-part table appends the part of the day to each British phrase. Within a table each
+ * distinct phrase is stored once, so the digital table holds 720 phrases for 1440 minutes.
+ */
+public final class StyledPhraseTables {
+
+    private static final String[] DAY_PARTS = new String[24];
+
+    static {
+        for (int hour = 0; hour < 24; hour++) {
+            DAY_PARTS[hour] = hour < 5 || hour >= 22 ? " at night"
+                    : hour < 12 ? " in the morning"
+                    : hour < 18 ? " in the afternoon"
+                    : " in the evening";
+        }
+    }
+
+    private final PhraseTable[] tables;
+
+    private StyledPhraseTables(PhraseTable[] tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * Builds the family around a British table.
+     *
+     * @param british the British phrasing
+     * @return the family
+     */
+    public static StyledPhraseTables of(PhraseTable british) {
+        Objects.requireNonNull(british, "british must not be null");
+        PhraseTable[] tables = new PhraseTable[SpokenStyle.values().length];
+        tables[SpokenStyle.BRITISH.ordinal()] = british;
+        tables[SpokenStyle.DIGITAL.ordinal()] = Shared.DIGITAL;
+        tables[SpokenStyle.TWENTY_FOUR_HOUR.ordinal()] = Shared.TWENTY_FOUR_HOUR;
+        tables[SpokenStyle.DAY_PART.ordinal()] = dayPart(british);
+        return new StyledPhraseTables(tables);
+    }
+
+    /**
+     * Returns the family for the standard British phrasing, used by formatters that are not
+     * backed by a table of their own.
+     */
+    public static StyledPhraseTables standard() {
+        return Shared.STANDARD;
+    }
+
+    public PhraseTable table(SpokenStyle style) {
+        return tables[style.ordinal()];
+    }
+
+    /**
+     * Returns the phrase for the minute of day in the given style.
+     *
+     * @param style the style
+     * @param minuteOfDay 0 to 1439
+     * @return the phrase
+     */
+    public String phraseAt(SpokenStyle style, int minuteOfDay) {
+        return tables[style.ordinal()].phraseAt(minuteOfDay);
+    }
+
+    /**
+     * Estimates the heap each style's table adds, in bytes. Phrases already counted for an
+     * earlier style are not counted again. A memory-mapped British table is off-heap and
+     * counts as zero.
+     */
+    public Map<SpokenStyle, Long> memoryReport() {
+        Map<SpokenStyle, Long> report = new EnumMap<>(SpokenStyle.class);
+        Set<String> counted = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (SpokenStyle style : SpokenStyle.values()) {
+            PhraseTable table = tables[style.ordinal()];
+            long bytes = 0;
+            if (table instanceof CompiledPhraseTable) {
+                bytes += 24 + MemoryEstimates.array(PhraseTable.MINUTES_PER_DAY, Short.BYTES)
+                        + MemoryEstimates.array(table.phraseCount(), 4);
+                for (int id = 0; id < table.phraseCount(); id++) {
+                    String phrase = table.phrase(id);
+                    if (counted.add(phrase)) {
+                        bytes += MemoryEstimates.string(phrase);
+                    }
+                }
+            }
+            report.put(style, bytes);
+        }
+        return report;
+    }
+
+    private static CompiledPhraseTable dayPart(PhraseTable british) {
+        String[] phrases = new String[PhraseTable.MINUTES_PER_DAY];
+        for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+            String phrase = british.phraseAt(minuteOfDay);
+            // midnight and noon already say which part of the day they are
+            phrases[minuteOfDay] = minuteOfDay % 720 == 0 ? phrase : phrase + DAY_PARTS[minuteOfDay / 60];
+        }
+        return CompiledPhraseTable.of(phrases);
+    }
+
+    private static CompiledPhraseTable digital() {
+        String[] phrases = new String[PhraseTable.MINUTES_PER_DAY];
+        for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+            int hour12 = minuteOfDay / 60 % 12 == 0 ? 12 : minuteOfDay / 60 % 12;
+            phrases[minuteOfDay] = TimeWords.hourWord(hour12) + minuteSuffix(minuteOfDay % 60, " o'clock", " ");
+        }
+        return CompiledPhraseTable.of(phrases);
+    }
+
+    private static CompiledPhraseTable twentyFourHour() {
+        String[] phrases = new String[PhraseTable.MINUTES_PER_DAY];
+        for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+            int hour = minuteOfDay / 60;
+            String hourWords = hour > 0 && hour < 10 ? "oh " + TimeWords.unitWord(hour)
+                    : TimeWords.numberWord(hour).replace(' ', '-');
+            phrases[minuteOfDay] = hourWords + minuteSuffix(minuteOfDay % 60, " hundred", "-");
+        }
+        return CompiledPhraseTable.of(phrases);
+    }
+
+    /**
+     * Minutes as read off a clock face: "o'clock" or "hundred" on the hour, "oh five" below ten.
+     */
+    private static String minuteSuffix(int minute, String onTheHour, String tensSeparator) {
+        if (minute == 0) {
+            return onTheHour;
+        }
+        if (minute < 10) {
+            return " oh " + TimeWords.unitWord(minute);
+        }
+        return " " + TimeWords.numberWord(minute).replace(" ", tensSeparator);
+    }
+
+    /** Tables shared by every family, built on first use. */
+    private static final class Shared {
+        static final CompiledPhraseTable DIGITAL = digital();
+        static final CompiledPhraseTable TWENTY_FOUR_HOUR = twentyFourHour();
+        static final StyledPhraseTables STANDARD = of(CompiledPhraseTable.compile(new ChainedBritishTimeFormatter()));
+    }
+}
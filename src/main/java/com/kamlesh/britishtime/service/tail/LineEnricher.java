@@ -0,0 +1,111 @@
+package com.kamlesh.britishtime.service.tail;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+/**
+ * Copies log text into a reusable output buffer and appends the spoken form after every
+ * {@code HH:mm} timestamp, e.g. {@code 10:15:42 GET /} becomes
+ * {@code 10:15:42 (quarter past ten) GET /}. A timestamp is two hour digits (00-23), a colon
+ * and two minute digits (00-59), optionally followed by {@code :ss}, and must not be part of a
+ * longer run of digits and colons. Phrases come from the configured formatter. Not thread-safe;
+ * each tailer owns one.
+ */
+public final class LineEnricher {
+
+    private final TimeSpokenFormatter formatter;
+    private byte[] out;
+    private int size;
+    private long timestamps;
+
+    public LineEnricher(TimeSpokenFormatter formatter, int initialCapacity) {
+        this.formatter = formatter;
+        this.out = new byte[initialCapacity];
+    }
+
+    /**
+     * Enriches {@code src[from, to)}. The result is valid until the next call.
+     *
+     * @return a buffer over the enriched bytes
+     */
+    public ByteBuffer enrich(byte[] src, int from, int to) {
+        size = 0;
+        int copied = from;
+        for (int i = from; i + 5 <= to; i++) {
+            if (src[i + 2] != ':' || (i > from && isTimeByte(src[i - 1]))) {
+                continue;
+            }
+            int hour = twoDigits(src, i);
+            int minute = twoDigits(src, i + 3);
+            if (hour < 0 || hour > 23 || minute < 0 || minute > 59) {
+                continue;
+            }
+            int end = i + 5;
+            if (end + 3 <= to && src[end] == ':' && twoDigits(src, end + 1) >= 0) {
+                end += 3;
+            }
+            if (end < to && isTimeByte(src[end])) {
+                continue;
+            }
+            append(src, copied, end);
+            appendPhrase(formatter.format(LocalTime.of(hour, minute)));
+            timestamps++;
+            copied = end;
+            i = end - 1;
+        }
+        append(src, copied, to);
+        return ByteBuffer.wrap(out, 0, size);
+    }
+
+    /**
+     * Total number of timestamps enriched so far.
+     */
+    public long timestamps() {
+        return timestamps;
+    }
+
+    private void appendPhrase(String phrase) {
+        ensureCapacity(phrase.length() + 3);
+        out[size++] = ' ';
+        out[size++] = '(';
+        for (int i = 0; i < phrase.length(); i++) {
+            char c = phrase.charAt(i);
+            if (c >= 0x80) {
+                // rule files may use non-ASCII phrasing; encode the rest properly
+                byte[] encoded = phrase.substring(i).getBytes(StandardCharsets.UTF_8);
+                append(encoded, 0, encoded.length);
+                ensureCapacity(1);
+                break;
+            }
+            out[size++] = (byte) c;
+        }
+        out[size++] = ')';
+    }
+
+    private void append(byte[] src, int from, int to) {
+        int length = to - from;
+        ensureCapacity(length);
+        System.arraycopy(src, from, out, size, length);
+        size += length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (size + extra > out.length) {
+            out = Arrays.copyOf(out, Math.max(out.length * 2, size + extra));
+        }
+    }
+
+    private static int twoDigits(byte[] src, int at) {
+        int tens = src[at] - '0';
+        int ones = src[at + 1] - '0';
+        return tens >= 0 && tens <= 9 && ones >= 0 && ones <= 9 ? tens * 10 + ones : -1;
+    }
+
+    private static boolean isTimeByte(byte b) {
+        return b == ':' || (b >= '0' && b <= '9');
+    }
+}
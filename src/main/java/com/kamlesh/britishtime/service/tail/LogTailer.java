@@ -0,0 +1,433 @@
+package com.kamlesh.britishtime.service.tail;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Follows the log files in a directory and writes an enriched copy of each one, with the
+ * spoken form appended after every {@code HH:mm} timestamp (see {@link LineEnricher}).
+ * <p>
+ * Each file is read with positional {@link FileChannel} reads from the last processed offset,
+ * one reusable buffer at a time, and only whole lines are consumed; a trailing partial line is
+ * left for the next pass. A {@link WatchService} on the directory wakes the tailer as soon as
+ * a file changes, and the directory is also rescanned every poll interval in case events are
+ * coalesced or missed.
+ * <p>
+ * Rotation is detected from the file key (device and inode): when a new file appears under a
+ * followed name, the old file, which is still open, is drained to its end before the new one
+ * is followed from the start. A file that shrinks below the processed offset was truncated in
+ * place and is followed from the start.
+ * <p>
+ * After each pass that made progress, the output files are forced to disk and then the input
+ * and output offsets of every file are written to a checkpoint file by atomic rename. On
+ * restart each output file is truncated back to its checkpointed length and the input is
+ * resumed from its checkpointed offset if it is still the same file, so nothing is processed
+ * twice and nothing written after the last checkpoint is duplicated.
+ */
+public class LogTailer implements AutoCloseable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LogTailer.class);
+
+    private final Path inputDir;
+    private final PathMatcher matcher;
+    private final Path outputDir;
+    private final Path checkpointFile;
+    private final Duration pollInterval;
+    private final Clock clock;
+    private final ByteBuffer readBuffer;
+    private final LineEnricher enricher;
+    private final Map<String, TailedFile> files = new HashMap<>();
+    private final Map<String, Checkpoint> restored = new HashMap<>();
+
+    private final LongAdder linesProcessed = new LongAdder();
+    private final LongAdder bytesProcessed = new LongAdder();
+    private final LongAdder timestampsEnriched = new LongAdder();
+    private final LongAdder rotations = new LongAdder();
+    private volatile long lagMillis;
+    private volatile long backlogBytes;
+
+    private WatchService watchService;
+    private Thread watcher;
+
+    /**
+     * @param inputDir directory holding the followed log files
+     * @param glob which file names in {@code inputDir} to follow, e.g. {@code *.log}
+     * @param outputDir where enriched copies are written, under the same file names
+     * @param checkpointFile where offsets are persisted between runs
+     * @param formatter converts timestamps to phrases
+     * @param bufferSize bytes read per batch; lines longer than this are passed through in pieces
+     * @param pollInterval how often the directory is rescanned without watch events
+     * @param clock used to measure lag
+     */
+    public LogTailer(Path inputDir, String glob, Path outputDir, Path checkpointFile,
+                     TimeSpokenFormatter formatter, int bufferSize, Duration pollInterval, Clock clock) {
+        this.inputDir = inputDir.toAbsolutePath().normalize();
+        this.outputDir = outputDir.toAbsolutePath().normalize();
+        if (this.inputDir.equals(this.outputDir)) {
+            throw new IllegalArgumentException("Output directory must differ from the input directory");
+        }
+        this.matcher = FileSystems.getDefault().getPathMatcher("glob:" + glob);
+        this.checkpointFile = checkpointFile.toAbsolutePath();
+        this.pollInterval = pollInterval;
+        this.clock = clock;
+        this.readBuffer = ByteBuffer.allocate(bufferSize);
+        this.enricher = new LineEnricher(formatter, bufferSize * 2);
+        try {
+            Files.createDirectories(this.outputDir);
+            loadCheckpoint();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Cannot prepare log tailing into " + this.outputDir, ex);
+        }
+    }
+
+    /**
+     * Catches up with the input directory once and then starts following it on a daemon thread.
+     *
+     * @throws IOException if the directory cannot be watched
+     */
+    public synchronized void start() throws IOException {
+        if (watcher != null) {
+            return;
+        }
+        WatchService service = FileSystems.getDefault().newWatchService();
+        inputDir.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        watchService = service;
+        watcher = Thread.ofPlatform().daemon().name("log-tailer").start(() -> follow(service));
+    }
+
+    private void follow(WatchService service) {
+        try {
+            while (true) {
+                try {
+                    poll();
+                } catch (IOException | UncheckedIOException ex) {
+                    LOG.warn("Log tailing pass over {} failed; retrying: {}", inputDir, ex.getMessage());
+                } catch (RuntimeException ex) {
+                    // a bug in formatting must not end tailing for good
+                    LOG.error("Log tailing pass over {} failed; retrying", inputDir, ex);
+                }
+                WatchKey key = service.poll(pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException ex) {
+            // closed by close()
+        }
+    }
+
+    /**
+     * Processes everything that arrived since the last pass and checkpoints the result.
+     *
+     * @return the number of input bytes processed
+     * @throws IOException if a file cannot be read or written
+     */
+    public synchronized long poll() throws IOException {
+        long processed = 0;
+        long backlog = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(inputDir,
+                entry -> matcher.matches(entry.getFileName()))) {
+            for (Path path : entries) {
+                processed += follow(path);
+            }
+        }
+        for (TailedFile file : files.values()) {
+            processed += drain(file, false);
+            backlog += Math.max(0, file.channel.size() - file.position);
+        }
+        backlogBytes = backlog;
+        if (processed > 0) {
+            checkpoint();
+        }
+        return processed;
+    }
+
+    private long follow(Path path) throws IOException {
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (NoSuchFileException ex) {
+            return 0;
+        }
+        if (!attributes.isRegularFile()) {
+            return 0;
+        }
+        String name = path.getFileName().toString();
+        String key = String.valueOf(attributes.fileKey());
+        TailedFile file = files.get(name);
+        long processed = 0;
+        if (file != null && !file.key.equals(key)) {
+            // rotated: finish the old file, which is still open, including a final partial line
+            processed += drain(file, true);
+            file.channel.close();
+            file.channel = FileChannel.open(path, StandardOpenOption.READ);
+            file.key = key;
+            file.position = 0;
+            rotations.increment();
+            LOG.info("Log file {} was rotated; following the new file", path);
+        } else if (file == null) {
+            file = open(path, name, key);
+            files.put(name, file);
+        } else if (attributes.size() < file.position) {
+            LOG.info("Log file {} was truncated; following it from the start", path);
+            file.position = 0;
+            rotations.increment();
+        }
+        file.modifiedMillis = attributes.lastModifiedTime().toMillis();
+        return processed;
+    }
+
+    private TailedFile open(Path path, String name, String key) throws IOException {
+        FileChannel output = FileChannel.open(outputDir.resolve(name),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        TailedFile file = new TailedFile(name, FileChannel.open(path, StandardOpenOption.READ), key, output);
+        Checkpoint checkpoint = restored.remove(name);
+        if (checkpoint != null) {
+            // drop output written after the last checkpoint; it is produced again below
+            output.truncate(checkpoint.outputPosition());
+            file.outputPosition = Math.min(checkpoint.outputPosition(), output.size());
+            if (checkpoint.key().equals(key) && checkpoint.inputPosition() <= file.channel.size()) {
+                file.position = checkpoint.inputPosition();
+            } else {
+                LOG.warn("Log file {} changed while the tailer was stopped; following it from the start", path);
+            }
+        } else {
+            output.truncate(0);
+        }
+        return file;
+    }
+
+    /**
+     * Enriches whole lines from the file's offset to its end.
+     *
+     * @param flushPartial whether a final line without a newline is processed too
+     */
+    private long drain(TailedFile file, boolean flushPartial) throws IOException {
+        long processed = 0;
+        while (true) {
+            readBuffer.clear();
+            int read = file.channel.read(readBuffer, file.position);
+            if (read <= 0) {
+                break;
+            }
+            byte[] bytes = readBuffer.array();
+            int end = lastNewline(bytes, read) + 1;
+            if (end == 0) {
+                if (read < readBuffer.capacity() && !flushPartial) {
+                    break;
+                }
+                end = read;
+            }
+            long timestampsBefore = enricher.timestamps();
+            ByteBuffer enriched = enricher.enrich(bytes, 0, end);
+            timestampsEnriched.add(enricher.timestamps() - timestampsBefore);
+            while (enriched.hasRemaining()) {
+                file.outputPosition += file.output.write(enriched, file.outputPosition);
+            }
+            file.position += end;
+            file.dirty = true;
+            processed += end;
+            linesProcessed.add(countNewlines(bytes, end));
+        }
+        if (processed > 0) {
+            bytesProcessed.add(processed);
+            lagMillis = Math.max(0, clock.millis() - file.modifiedMillis);
+        }
+        return processed;
+    }
+
+    private static int lastNewline(byte[] bytes, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (bytes[i] == '\n') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int countNewlines(byte[] bytes, int length) {
+        int lines = 0;
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private void checkpoint() throws IOException {
+        StringBuilder text = new StringBuilder();
+        for (TailedFile file : files.values()) {
+            if (file.dirty) {
+                file.output.force(false);
+                file.dirty = false;
+            }
+            text.append(file.name).append('\t').append(file.key).append('\t')
+                    .append(file.position).append('\t').append(file.outputPosition).append('\n');
+        }
+        for (Map.Entry<String, Checkpoint> entry : restored.entrySet()) {
+            Checkpoint checkpoint = entry.getValue();
+            text.append(entry.getKey()).append('\t').append(checkpoint.key()).append('\t')
+                    .append(checkpoint.inputPosition()).append('\t').append(checkpoint.outputPosition()).append('\n');
+        }
+        Path temp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            // on disk before the rename, so a crash leaves the old checkpoint or the new one, never
+            // an empty file
+            channel.force(true);
+        }
+        Files.move(temp, checkpointFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void loadCheckpoint() throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return;
+        }
+        for (String line : Files.readAllLines(checkpointFile, StandardCharsets.UTF_8)) {
+            String[] fields = line.split("\t");
+            if (fields.length != 4) {
+                continue;
+            }
+            try {
+                restored.put(fields[0], new Checkpoint(fields[1], Long.parseLong(fields[2]), Long.parseLong(fields[3])));
+            } catch (NumberFormatException ex) {
+                LOG.warn("Ignoring malformed checkpoint entry in {}: {}", checkpointFile, line);
+            }
+        }
+    }
+
+    public long linesProcessed() {
+        return linesProcessed.sum();
+    }
+
+    public long bytesProcessed() {
+        return bytesProcessed.sum();
+    }
+
+    public long timestampsEnriched() {
+        return timestampsEnriched.sum();
+    }
+
+    public long rotations() {
+        return rotations.sum();
+    }
+
+    /**
+     * Milliseconds between the last modification of a file and the enriched output for it
+     * being written, as of the most recent batch.
+     */
+    public long lagMillis() {
+        return lagMillis;
+    }
+
+    /**
+     * Input bytes not yet processed across all followed files, as of the last pass.
+     */
+    public long backlogBytes() {
+        return backlogBytes;
+    }
+
+    /**
+     * Stops following, processes what is left and writes a final checkpoint.
+     */
+    @Override
+    public void close() throws IOException {
+        Thread stopped;
+        synchronized (this) {
+            if (watchService != null) {
+                watchService.close();
+                watchService = null;
+            }
+            stopped = watcher;
+            watcher = null;
+        }
+        if (stopped != null) {
+            try {
+                stopped.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            try {
+                poll();
+            } finally {
+                List<IOException> failures = new ArrayList<>();
+                for (TailedFile file : files.values()) {
+                    closeQuietly(file.channel, failures);
+                    closeQuietly(file.output, failures);
+                }
+                files.clear();
+                if (!failures.isEmpty()) {
+                    throw failures.get(0);
+                }
+            }
+        }
+    }
+
+    private static void closeQuietly(FileChannel channel, List<IOException> failures) {
+        try {
+            channel.close();
+        } catch (IOException ex) {
+            failures.add(ex);
+        }
+    }
+
+    private record Checkpoint(String key, long inputPosition, long outputPosition) {
+    }
+
+    /** Follow state of one file name; the channel is replaced when the file is rotated. */
+    private static final class TailedFile {
+        final String name;
+        final FileChannel output;
+        FileChannel channel;
+        String key;
+        long position;
+        long outputPosition;
+        long modifiedMillis;
+        boolean dirty;
+
+        TailedFile(String name, FileChannel channel, String key, FileChannel output) {
+            this.name = name;
+            this.channel = channel;
+            this.key = key;
+            this.output = output;
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package com.kamlesh.britishtime.service.template;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.StyledPhraseTables;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Renders {@link AnnouncementTemplate}s as UTF-8 into one reusable byte buffer. Literals and
+ * spoken times are copied from bytes encoded in advance, and slot values are encoded character
+ * by character straight into the buffer, so rendering a sentence creates no {@code String} and,
+ * once the buffer has grown to fit, allocates nothing.
+ * <p>
+ * The spoken times come from a phrase table: each distinct phrase is encoded once when the
+ * renderer is created, and every minute that shares the phrase points at the same bytes. Take
+ * the table from the live formatter, for example {@code ReloadingRuleFormatter.styles()}, and
+ * create a new renderer to follow a rule reload.
+ * <p>
+ * A renderer is not thread-safe; give each thread its own.
+ */
+public final class AnnouncementRenderer {
+
+    /** {@link #renderAll} writes its buffer out whenever it holds at least this many bytes. */
+    static final int FLUSH_BYTES = 32 * 1024;
+
+    private final byte[][] phrases = new byte[PhraseTable.MINUTES_PER_DAY][];
+    private byte[] buffer = new byte[2 * FLUSH_BYTES];
+    private int length;
+
+    public AnnouncementRenderer(PhraseTable table) {
+        byte[][] encoded = new byte[table.phraseCount()][];
+        for (int id = 0; id < encoded.length; id++) {
+            encoded[id] = table.phrase(id).getBytes(StandardCharsets.UTF_8);
+        }
+        for (int minute = 0; minute < phrases.length; minute++) {
+            phrases[minute] = encoded[table.phraseId(minute)];
+        }
+    }
+
+    public AnnouncementRenderer(StyledPhraseTables tables, SpokenStyle style) {
+        this(tables.table(style));
+    }
+
+    /**
+     * Appends one sentence to the buffer.
+     *
+     * @param minuteOfDay 0 to 1439; ignored if the template has no time slot
+     * @param values one value per {@link AnnouncementTemplate#fields() field}, in order
+     * @return the number of bytes appended
+     * @throws IllegalArgumentException if the number of values is wrong, or the minute is out of
+     *                                  range and the template has a time slot
+     */
+    public int append(AnnouncementTemplate template, int minuteOfDay, String... values) {
+        if (values.length != template.fields().size()) {
+            throw new IllegalArgumentException("Template " + template + " takes " + template.fields().size()
+                    + " values, got " + values.length);
+        }
+        if (!inRange(template, minuteOfDay)) {
+            throw new IllegalArgumentException("Minute of day " + minuteOfDay + " is outside 0 to 1439");
+        }
+        int start = length;
+        byte[][] literals = template.literals();
+        int[] slots = template.slots();
+        write(literals[0]);
+        for (int s = 0; s < slots.length; s++) {
+            int field = slots[s];
+            if (field == AnnouncementTemplate.TIME) {
+                write(phrases[minuteOfDay]);
+            } else {
+                writeUtf8(values[field]);
+            }
+            write(literals[s + 1]);
+        }
+        return length - start;
+    }
+
+    /**
+     * Appends rows {@code from} to {@code to} of columnar input to the buffer, back to back, and
+     * records where each sentence ends.
+     *
+     * @param minutesOfDay the time of each row
+     * @param columns one column per {@link AnnouncementTemplate#fields() field}, in order
+     * @param ends receives, at {@code i - from}, the buffer offset just past row {@code i}
+     * @throws IllegalArgumentException if the columns do not match the template or are shorter
+     *                                  than {@code to}, or a minute is out of range; nothing is
+     *                                  appended then
+     */
+    public void appendRows(AnnouncementTemplate template, int[] minutesOfDay, SlotColumn[] columns,
+                           int from, int to, int[] ends) {
+        checkColumns(template, minutesOfDay, columns, from, to);
+        if (ends.length < to - from) {
+            throw new IllegalArgumentException("ends holds " + ends.length + " values, " + (to - from) + " rows");
+        }
+        for (int row = from; row < to; row++) {
+            appendRow(template, minutesOfDay[row], columns, row);
+            ends[row - from] = length;
+        }
+    }
+
+    /**
+     * Renders every row of columnar input to {@code out}, one sentence per line. The buffer is
+     * cleared first and used to batch the writes, so {@code out} need not be buffered. The stream
+     * is neither flushed nor closed.
+     *
+     * @param minutesOfDay the time of each row
+     * @param columns one column per {@link AnnouncementTemplate#fields() field}, in order
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the columns do not match the template, or a minute is
+     *                                  out of range; nothing is written then
+     */
+    public long renderAll(AnnouncementTemplate template, int[] minutesOfDay, SlotColumn[] columns,
+                          OutputStream out) throws IOException {
+        checkColumns(template, minutesOfDay, columns, 0, minutesOfDay.length);
+        reset();
+        long written = 0;
+        for (int row = 0; row < minutesOfDay.length; row++) {
+            appendRow(template, minutesOfDay[row], columns, row);
+            ensureCapacity(1);
+            buffer[length++] = '\n';
+            if (length >= FLUSH_BYTES || row == minutesOfDay.length - 1) {
+                out.write(buffer, 0, length);
+                written += length;
+                length = 0;
+            }
+        }
+        return written;
+    }
+
+    private void appendRow(AnnouncementTemplate template, int minuteOfDay, SlotColumn[] columns, int row) {
+        byte[][] literals = template.literals();
+        int[] slots = template.slots();
+        write(literals[0]);
+        for (int s = 0; s < slots.length; s++) {
+            int field = slots[s];
+            if (field == AnnouncementTemplate.TIME) {
+                write(phrases[minuteOfDay]);
+            } else {
+                SlotColumn column = columns[field];
+                if (column.isDictionary()) {
+                    write(column.encoded(row));
+                } else {
+                    writeUtf8(column.value(row));
+                }
+            }
+            write(literals[s + 1]);
+        }
+    }
+
+    /**
+     * Returns the buffer. Only the first {@link #length()} bytes are rendered output, and the
+     * array is replaced when the buffer grows.
+     */
+    public byte[] buffer() {
+        return buffer;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Empties the buffer, keeping its capacity.
+     */
+    public void reset() {
+        length = 0;
+    }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buffer, 0, length);
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, length);
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buffer, length, bytes.length);
+        length += bytes.length;
+    }
+
+    /**
+     * Encodes a value as UTF-8 without creating a byte array for it. An unpaired surrogate is
+     * written as {@code '?'}, as {@link String#getBytes} does.
+     */
+    private void writeUtf8(String value) {
+        int chars = value.length();
+        ensureCapacity(chars * 3);
+        byte[] out = buffer;
+        int pos = length;
+        int i = 0;
+        // most values are ASCII: a loop the JIT can unroll, left at the first wider character
+        for (char c; i < chars && (c = value.charAt(i)) < 0x80; i++) {
+            out[pos + i] = (byte) c;
+        }
+        pos += i;
+        for (; i < chars; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                out[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                out[pos++] = (byte) (0xC0 | c >> 6);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isHighSurrogate(c) && i + 1 < chars
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                out[pos++] = (byte) (0xF0 | codePoint >> 18);
+                out[pos++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                out[pos++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | codePoint & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                out[pos++] = '?';
+            } else {
+                out[pos++] = (byte) (0xE0 | c >> 12);
+                out[pos++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[pos++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        length = pos;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (buffer.length - length < extra) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, length + extra));
+        }
+    }
+
+    private static boolean inRange(AnnouncementTemplate template, int minuteOfDay) {
+        return minuteOfDay >= 0 && minuteOfDay < PhraseTable.MINUTES_PER_DAY || !template.hasTime();
+    }
+
+    private static void checkColumns(AnnouncementTemplate template, int[] minutesOfDay, SlotColumn[] columns,
+                                     int from, int to) {
+        Objects.checkFromToIndex(from, to, minutesOfDay.length);
+        if (columns.length != template.fields().size()) {
+            throw new IllegalArgumentException("Template " + template + " takes " + template.fields().size()
+                    + " columns, got " + columns.length);
+        }
+        for (int c = 0; c < columns.length; c++) {
+            if (columns[c].size() < to) {
+                throw new IllegalArgumentException("Column '" + template.fields().get(c) + "' holds "
+                        + columns[c].size() + " values, input has " + to);
+            }
+        }
+        for (int row = from; row < to; row++) {
+            if (!inRange(template, minutesOfDay[row])) {
+                throw new IllegalArgumentException("Minute of day " + minutesOfDay[row] + " in row " + row
+                        + " is outside 0 to 1439");
+            }
+        }
+    }
+}
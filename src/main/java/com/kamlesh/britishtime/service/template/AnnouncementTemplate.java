@@ -0,0 +1,144 @@
+package com.kamlesh.britishtime.service.template;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A sentence such as {@code "The {train} to {dest} will depart at {time}"}, parsed once into
+ * literal and slot segments. {@code {time}} is replaced by the spoken form of a minute of day;
+ * every other slot names a value supplied per sentence. A name may appear more than once and
+ * then takes the same value each time. A doubled brace, <code>{{</code> or <code>}}</code>, stands
+ * for a literal one.
+ * <p>
+ * The literals are encoded to UTF-8 when the template is compiled, so rendering with an
+ * {@link AnnouncementRenderer} only copies bytes. Templates are immutable and may be shared
+ * between threads.
+ */
+public final class AnnouncementTemplate {
+
+    /** Name of the slot that takes the spoken time. */
+    public static final String TIME_SLOT = "time";
+
+    /** Slot index that stands for the spoken time. */
+    static final int TIME = -1;
+
+    private final String source;
+    private final byte[][] literals;
+    private final int[] slots;
+    private final List<String> fields;
+    private final boolean hasTime;
+
+    private AnnouncementTemplate(String source, byte[][] literals, int[] slots, List<String> fields) {
+        this.source = source;
+        this.literals = literals;
+        this.slots = slots;
+        this.fields = fields;
+        boolean time = false;
+        for (int slot : slots) {
+            time |= slot == TIME;
+        }
+        this.hasTime = time;
+    }
+
+    /**
+     * Parses a template.
+     *
+     * @param template the template text
+     * @return the compiled template
+     * @throws IllegalArgumentException if a slot is empty or unterminated, or a closing brace is
+     *                                  unmatched
+     */
+    public static AnnouncementTemplate compile(String template) {
+        Objects.requireNonNull(template, "template must not be null");
+        List<byte[]> literals = new ArrayList<>();
+        List<Integer> slots = new ArrayList<>();
+        List<String> fields = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < template.length()) {
+            char c = template.charAt(i);
+            if (c == '{' && template.startsWith("{", i + 1)) {
+                literal.append('{');
+                i += 2;
+            } else if (c == '}' && template.startsWith("}", i + 1)) {
+                literal.append('}');
+                i += 2;
+            } else if (c == '}') {
+                throw new IllegalArgumentException("Unmatched '}' at index " + i + " in template: " + template);
+            } else if (c == '{') {
+                int close = template.indexOf('}', i + 1);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unterminated slot at index " + i
+                            + " in template: " + template);
+                }
+                String name = template.substring(i + 1, close).strip();
+                if (name.isEmpty() || name.indexOf('{') >= 0) {
+                    throw new IllegalArgumentException("Invalid slot at index " + i + " in template: " + template);
+                }
+                literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+                literal.setLength(0);
+                if (name.equals(TIME_SLOT)) {
+                    slots.add(TIME);
+                } else {
+                    int field = fields.indexOf(name);
+                    if (field < 0) {
+                        field = fields.size();
+                        fields.add(name);
+                    }
+                    slots.add(field);
+                }
+                i = close + 1;
+            } else {
+                literal.append(c);
+                i++;
+            }
+        }
+        literals.add(literal.toString().getBytes(StandardCharsets.UTF_8));
+        return new AnnouncementTemplate(template, literals.toArray(byte[][]::new),
+                slots.stream().mapToInt(Integer::intValue).toArray(), List.copyOf(fields));
+    }
+
+    /**
+     * Returns the names of the value slots in order of first appearance; values are passed to
+     * the renderer in this order.
+     */
+    public List<String> fields() {
+        return fields;
+    }
+
+    public boolean hasTime() {
+        return hasTime;
+    }
+
+    /**
+     * Returns the UTF-8 length of the literal text, a lower bound on every rendered sentence.
+     */
+    public int literalBytes() {
+        int bytes = 0;
+        for (byte[] literal : literals) {
+            bytes += literal.length;
+        }
+        return bytes;
+    }
+
+    /**
+     * Literal {@code i} precedes slot {@code i}; the last literal follows the last slot.
+     */
+    byte[][] literals() {
+        return literals;
+    }
+
+    /**
+     * Per slot, the index into {@link #fields()}, or {@link #TIME}.
+     */
+    int[] slots() {
+        return slots;
+    }
+
+    @Override
+    public String toString() {
+        return source;
+    }
+}
@@ -0,0 +1,72 @@
+package com.kamlesh.britishtime.service.template;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * One column of slot values for {@link AnnouncementRenderer#renderAll}, either plain strings or
+ * dictionary-encoded. A plain column is encoded to UTF-8 straight into the renderer's buffer as
+ * each sentence is written. A dictionary column encodes each distinct value once, when the
+ * column is created, and rendering then copies bytes; it suits the low-cardinality values that
+ * announcements are made of, such as train names and destinations.
+ */
+public final class SlotColumn {
+
+    private final String[] values;
+    private final byte[][] dictionary;
+    private final int[] ids;
+
+    private SlotColumn(String[] values, byte[][] dictionary, int[] ids) {
+        this.values = values;
+        this.dictionary = dictionary;
+        this.ids = ids;
+    }
+
+    /**
+     * Wraps one value per row. The array is not copied.
+     */
+    public static SlotColumn of(String... values) {
+        Objects.requireNonNull(values, "values must not be null");
+        return new SlotColumn(values, null, null);
+    }
+
+    /**
+     * Builds a dictionary-encoded column: row {@code i} takes {@code dictionary[ids[i]]}. The ids
+     * are not copied.
+     *
+     * @throws IllegalArgumentException if an id is outside the dictionary
+     */
+    public static SlotColumn dictionary(String[] dictionary, int[] ids) {
+        Objects.requireNonNull(ids, "ids must not be null");
+        byte[][] encoded = new byte[dictionary.length][];
+        for (int i = 0; i < dictionary.length; i++) {
+            encoded[i] = dictionary[i].getBytes(StandardCharsets.UTF_8);
+        }
+        for (int i = 0; i < ids.length; i++) {
+            if (ids[i] < 0 || ids[i] >= encoded.length) {
+                throw new IllegalArgumentException("ids[" + i + "] = " + ids[i] + " is outside a dictionary of "
+                        + encoded.length + " values");
+            }
+        }
+        return new SlotColumn(null, encoded, ids);
+    }
+
+    public int size() {
+        return values != null ? values.length : ids.length;
+    }
+
+    boolean isDictionary() {
+        return dictionary != null;
+    }
+
+    String value(int row) {
+        return values[row];
+    }
+
+    /**
+     * Returns the encoded value of a dictionary column.
+     */
+    byte[] encoded(int row) {
+        return dictionary[ids[row]];
+    }
+}
@@ -0,0 +1,135 @@
+package com.kamlesh.britishtime.service.tenant;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.table.MemoryEstimates;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * One tenant's phrase overrides, layered over the shared base formatter.
+ * The overridden minutes are a 1440-bit bitmap and the override phrases a dense array in
+ * minute order. A lookup tests the minute's bit and, if set, indexes the array by the number
+ * of set bits before it, taken from a per-word prefix count, so it costs the same however
+ * many minutes are overridden. Minutes that are not overridden go to the base formatter.
+ * Overlays are immutable; {@link #with(int, String)} returns a modified copy.
+ */
+public final class TenantOverlay implements TimeSpokenFormatter {
+
+    private static final int WORDS = (PhraseTable.MINUTES_PER_DAY + 63) / 64;
+
+    private final TimeSpokenFormatter base;
+    private final long[] overridden;
+    private final short[] rankBefore;
+    private final String[] phrases;
+
+    private TenantOverlay(TimeSpokenFormatter base, long[] overridden, String[] phrases) {
+        this.base = base;
+        this.overridden = overridden;
+        this.phrases = phrases;
+        this.rankBefore = new short[WORDS];
+        int rank = 0;
+        for (int word = 0; word < WORDS; word++) {
+            rankBefore[word] = (short) rank;
+            rank += Long.bitCount(overridden[word]);
+        }
+    }
+
+    /**
+     * Builds an overlay.
+     *
+     * @param base the shared formatter for minutes that are not overridden
+     * @param overrides phrase by minute of day (0 to 1439)
+     * @return the overlay
+     */
+    public static TenantOverlay of(TimeSpokenFormatter base, Map<Integer, String> overrides) {
+        Objects.requireNonNull(base, "base must not be null");
+        SortedMap<Integer, String> sorted = new TreeMap<>(overrides);
+        long[] overridden = new long[WORDS];
+        String[] phrases = new String[sorted.size()];
+        int next = 0;
+        for (Map.Entry<Integer, String> entry : sorted.entrySet()) {
+            int minuteOfDay = entry.getKey();
+            if (minuteOfDay < 0 || minuteOfDay >= PhraseTable.MINUTES_PER_DAY) {
+                throw new IllegalArgumentException("minute of day out of range: " + minuteOfDay);
+            }
+            overridden[minuteOfDay >>> 6] |= 1L << minuteOfDay;
+            phrases[next++] = Objects.requireNonNull(entry.getValue(), "phrase must not be null");
+        }
+        return new TenantOverlay(base, overridden, phrases);
+    }
+
+    @Override
+    public String format(LocalTime time) {
+        Objects.requireNonNull(time, "time must not be null");
+        String phrase = override(time.getHour() * 60 + time.getMinute());
+        return phrase != null ? phrase : base.format(time);
+    }
+
+    /**
+     * Overrides apply to the British style only; other styles come from the base formatter.
+     */
+    @Override
+    public String format(LocalTime time, SpokenStyle style) {
+        return style == SpokenStyle.BRITISH ? format(time) : base.format(time, style);
+    }
+
+    /**
+     * Returns the tenant's phrase for the given minute, or null if it uses the base phrase.
+     *
+     * @param minuteOfDay 0 to 1439
+     */
+    public String override(int minuteOfDay) {
+        long word = overridden[minuteOfDay >>> 6];
+        long bit = 1L << minuteOfDay;
+        if ((word & bit) == 0) {
+            return null;
+        }
+        return phrases[rankBefore[minuteOfDay >>> 6] + Long.bitCount(word & (bit - 1))];
+    }
+
+    /**
+     * Returns a copy with one more (or one replaced) override; this overlay is unchanged.
+     */
+    public TenantOverlay with(int minuteOfDay, String phrase) {
+        Map<Integer, String> overrides = overrides();
+        overrides.put(minuteOfDay, phrase);
+        return of(base, overrides);
+    }
+
+    /**
+     * Returns the overrides as a new mutable map, phrase by minute of day.
+     */
+    public SortedMap<Integer, String> overrides() {
+        SortedMap<Integer, String> overrides = new TreeMap<>();
+        int next = 0;
+        for (int word = 0; word < WORDS; word++) {
+            for (long bits = overridden[word]; bits != 0; bits &= bits - 1) {
+                overrides.put(word * 64 + Long.numberOfTrailingZeros(bits), phrases[next++]);
+            }
+        }
+        return overrides;
+    }
+
+    public int overrideCount() {
+        return phrases.length;
+    }
+
+    /**
+     * Approximate heap retained by this overlay itself, excluding the phrase strings (which
+     * may be shared) and the base formatter, assuming compressed references.
+     */
+    public long estimatedBytes() {
+        return 24 + MemoryEstimates.array(WORDS, Long.BYTES) + MemoryEstimates.array(WORDS, Short.BYTES)
+                + MemoryEstimates.array(phrases.length, 4);
+    }
+
+    String[] phrases() {
+        return phrases;
+    }
+}
@@ -0,0 +1,231 @@
+package com.kamlesh.britishtime.service.tenant;
+
+import com.kamlesh.britishtime.exception.InvalidTenantFileException;
+import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.table.MemoryEstimates;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import com.kamlesh.britishtime.utility.TimeParser;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tenant-scoped phrasing: every tenant is a sparse {@link TenantOverlay} over one shared base
+ * formatter, so a tenant costs a few hundred bytes rather than a formatter of its own.
+ * <p>
+ * The tenant map is copy-on-write. Requests read it through a volatile reference without
+ * locking, and updates build a new map and publish it in one write, so a request sees either
+ * the old or the new overrides for a tenant, never a mix. Within one {@link #replaceAll},
+ * tenants with identical overrides share one overlay and equal phrases share one string.
+ */
+public class TenantPhrases {
+
+    /** Request header that selects the tenant. */
+    public static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private final TimeSpokenFormatter base;
+    private volatile Map<String, TenantOverlay> overlays = Map.of();
+
+    public TenantPhrases(TimeSpokenFormatter base) {
+        this.base = base;
+    }
+
+    /**
+     * Returns the formatter for a tenant: its overlay, or the base formatter when the tenant is
+     * null or has no overrides.
+     *
+     * @param tenantId the tenant, may be null
+     */
+    public TimeSpokenFormatter formatterFor(String tenantId) {
+        if (tenantId == null) {
+            return base;
+        }
+        TimeSpokenFormatter overlay = overlays.get(tenantId);
+        return overlay != null ? overlay : base;
+    }
+
+    /**
+     * Replaces every tenant's overrides at once.
+     *
+     * @param overridesByTenant phrase by minute of day, per tenant
+     */
+    public synchronized void replaceAll(Map<String, Map<Integer, String>> overridesByTenant) {
+        Map<Map<Integer, String>, TenantOverlay> distinct = new HashMap<>();
+        Map<String, String> strings = new HashMap<>();
+        Map<String, TenantOverlay> next = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, String>> entry : overridesByTenant.entrySet()) {
+            Map<Integer, String> overrides = new HashMap<>();
+            entry.getValue().forEach((minute, phrase) ->
+                    overrides.put(minute, strings.computeIfAbsent(phrase, p -> p)));
+            if (!overrides.isEmpty()) {
+                next.put(entry.getKey(), distinct.computeIfAbsent(overrides, o -> TenantOverlay.of(base, o)));
+            }
+        }
+        overlays = Map.copyOf(next);
+    }
+
+    /**
+     * Sets or replaces one tenant's overrides. An empty map removes the tenant.
+     */
+    public synchronized void put(String tenantId, Map<Integer, String> overrides) {
+        Map<String, TenantOverlay> next = new HashMap<>(overlays);
+        if (overrides.isEmpty()) {
+            next.remove(tenantId);
+        } else {
+            next.put(tenantId, TenantOverlay.of(base, overrides));
+        }
+        overlays = Map.copyOf(next);
+    }
+
+    public int tenantCount() {
+        return overlays.size();
+    }
+
+    /**
+     * Approximate heap retained by all overlays and the tenant map, counting shared overlays
+     * and strings once.
+     */
+    public long overlayBytes() {
+        return overlayUsage(overlays).bytes();
+    }
+
+    /**
+     * Estimates the heap used by tenant phrasing, next to what a dedicated phrase table per
+     * tenant would have cost.
+     */
+    public MemoryReport memoryReport() {
+        Map<String, TenantOverlay> current = overlays;
+        OverlayUsage usage = overlayUsage(current);
+        PhraseTable table = PhraseTableSource.of(base).snapshot();
+        long perTableBytes = 24 + MemoryEstimates.array(PhraseTable.MINUTES_PER_DAY, Short.BYTES)
+                + MemoryEstimates.array(table.phraseCount(), 4);
+        long baseBytes = perTableBytes;
+        for (int id = 0; id < table.phraseCount(); id++) {
+            baseBytes += MemoryEstimates.string(table.phrase(id));
+        }
+        return new MemoryReport(current.size(), usage.distinctOverlays(), usage.overriddenMinutes(), baseBytes,
+                usage.bytes(), baseBytes + (long) current.size() * perTableBytes);
+    }
+
+    private static OverlayUsage overlayUsage(Map<String, TenantOverlay> current) {
+        Set<TenantOverlay> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<String> strings = Collections.newSetFromMap(new IdentityHashMap<>());
+        long bytes = 0;
+        long overridden = 0;
+        for (TenantOverlay overlay : current.values()) {
+            if (distinct.add(overlay)) {
+                bytes += overlay.estimatedBytes();
+                overridden += overlay.overrideCount();
+                for (String phrase : overlay.phrases()) {
+                    if (strings.add(phrase)) {
+                        bytes += MemoryEstimates.string(phrase);
+                    }
+                }
+            }
+        }
+        // the tenant map itself: a key and a value slot per tenant, plus the tenant id strings
+        bytes += MemoryEstimates.array(current.size() * 2, 4);
+        for (String tenantId : current.keySet()) {
+            bytes += MemoryEstimates.string(tenantId);
+        }
+        return new OverlayUsage(distinct.size(), overridden, bytes);
+    }
+
+    private record OverlayUsage(int distinctOverlays, long overriddenMinutes, long bytes) {
+    }
+
+    /**
+     * Loads overrides from a YAML file, keyed by tenant and then by {@code HH:mm}:
+     * <pre>
+     * tenants:
+     *   acme:
+     *     "12:00": midday
+     *     "00:00": twelve o'clock at night
+     * </pre>
+     * Times should be quoted. YAML reads an unquoted {@code 12:00} as the base-60 number 720,
+     * which happens to be its minute of day and is accepted as such.
+     *
+     * @param reader the file contents
+     * @param source name used in error messages
+     * @return phrase by minute of day, per tenant
+     * @throws InvalidTenantFileException if the file is malformed
+     */
+    public static Map<String, Map<Integer, String>> parse(Reader reader, String source) {
+        Object document;
+        try (reader) {
+            document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+        } catch (YAMLException | IOException ex) {
+            throw new InvalidTenantFileException(source + ": cannot read tenant file", ex);
+        }
+        if (!(document instanceof Map<?, ?> root) || !(root.get("tenants") instanceof Map<?, ?> tenants)) {
+            throw new InvalidTenantFileException(source + ": expected a top-level 'tenants' mapping");
+        }
+        Map<String, Map<Integer, String>> result = new LinkedHashMap<>();
+        for (Map.Entry<?, ?> tenant : tenants.entrySet()) {
+            String name = source + " tenant '" + tenant.getKey() + "'";
+            if (!(tenant.getValue() instanceof Map<?, ?> entries)) {
+                throw new InvalidTenantFileException(name + ": overrides must be a mapping of HH:mm to phrase");
+            }
+            Map<Integer, String> overrides = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                if (!(entry.getValue() instanceof String phrase) || phrase.isBlank()) {
+                    throw new InvalidTenantFileException(name + ": missing phrase for " + entry.getKey());
+                }
+                overrides.put(minuteOfDay(entry.getKey(), name), phrase);
+            }
+            result.put(String.valueOf(tenant.getKey()), overrides);
+        }
+        return result;
+    }
+
+    private static int minuteOfDay(Object key, String name) {
+        if (key instanceof Integer sexagesimal && sexagesimal >= 0 && sexagesimal < PhraseTable.MINUTES_PER_DAY) {
+            return sexagesimal;
+        }
+        try {
+            LocalTime time = TimeParser.parse(String.valueOf(key));
+            return time.getHour() * 60 + time.getMinute();
+        } catch (InvalidTimeFormatException ex) {
+            throw new InvalidTenantFileException(name + ": invalid time " + key, ex);
+        }
+    }
+
+    /**
+     * Tenant phrasing memory, in approximate bytes.
+     *
+     * @param tenants tenants with overrides
+     * @param distinctOverlays overlays after sharing identical ones
+     * @param overriddenMinutes overridden minutes across distinct overlays
+     * @param baseBytes the shared base table and its phrases
+     * @param overlayBytes overlays, their phrases and the tenant map
+     * @param dedicatedTablesBytes what the base plus one phrase table per tenant would take
+     */
+    public record MemoryReport(int tenants, int distinctOverlays, long overriddenMinutes,
+                               long baseBytes, long overlayBytes, long dedicatedTablesBytes) {
+
+        public long totalBytes() {
+            return baseBytes + overlayBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d tenants (%d distinct overlays, %d overridden minutes): base %,d B + overlays "
+                            + "%,d B = %,d B; one table per tenant would take %,d B",
+                    tenants, distinctOverlays, overriddenMinutes, baseBytes, overlayBytes, totalBytes(),
+                    dedicatedTablesBytes);
+        }
+    }
+}
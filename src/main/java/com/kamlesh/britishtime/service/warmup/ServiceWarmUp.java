@@ -0,0 +1,106 @@
+package com.kamlesh.britishtime.service.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.dtos.SpokenTimeResponse;
+import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
+import com.kamlesh.britishtime.service.TimeService;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drives the conversion path hard enough for the JIT to compile it before real traffic
+ * arrives. Each iteration converts every valid {@code HH:mm} input and a sample of invalid
+ * ones through {@link TimeService}, and serializes the responses and error bodies with the
+ * same {@link ObjectMapper} the web layer uses.
+ */
+public class ServiceWarmUp {
+
+    /** Inputs that exercise the rejection path of the parser. */
+    static final List<String> INVALID_INPUTS = List.of(
+            "25:00", "12:60", "1230", "12-30", "ab:cd", "9:30", "09:5", "", " 09:30", "23:59:59");
+
+    private final TimeService timeService;
+    private final ObjectMapper objectMapper;
+    private final int iterations;
+    private final String[] validInputs;
+
+    /**
+     * @param timeService the service to warm up
+     * @param objectMapper the mapper used to serialize responses
+     * @param iterations how many times to run every input
+     */
+    public ServiceWarmUp(TimeService timeService, ObjectMapper objectMapper, int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("iterations must not be negative");
+        }
+        this.timeService = timeService;
+        this.objectMapper = objectMapper;
+        this.iterations = iterations;
+        this.validInputs = new String[24 * 60];
+        for (int minuteOfDay = 0; minuteOfDay < validInputs.length; minuteOfDay++) {
+            validInputs[minuteOfDay] = String.format("%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+        }
+    }
+
+    /**
+     * Runs the warm-up on the calling thread.
+     *
+     * @return what was done and how long it took
+     */
+    public Result run() {
+        long start = System.nanoTime();
+        long conversions = 0;
+        long rejected = 0;
+        long bytes = 0;
+        try {
+            for (int i = 0; i < iterations; i++) {
+                for (String input : validInputs) {
+                    SpokenTimeResponse response = timeService.toSpokenTime(input);
+                    bytes += objectMapper.writeValueAsBytes(response).length;
+                    conversions++;
+                }
+                for (String input : INVALID_INPUTS) {
+                    try {
+                        timeService.toSpokenTime(input);
+                    } catch (InvalidTimeFormatException ex) {
+                        bytes += objectMapper.writeValueAsBytes(errorBody(ex)).length;
+                        rejected++;
+                    }
+                }
+            }
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return new Result(conversions, rejected, bytes, Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    /**
+     * Mirrors the error body built by the global exception handler.
+     */
+    private static Map<String, Object> errorBody(InvalidTimeFormatException ex) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", 400);
+        body.put("error", "Bad Request");
+        body.put("message", ex.getMessage());
+        body.put("path", "/api/time/spoken");
+        return body;
+    }
+
+    /**
+     * Outcome of a warm-up run.
+     *
+     * @param conversions valid inputs converted
+     * @param rejected invalid inputs rejected
+     * @param bytesSerialized total size of the serialized bodies
+     * @param elapsed wall-clock duration
+     */
+    public record Result(long conversions, long rejected, long bytesSerialized, Duration elapsed) {
+    }
+}
@@ -0,0 +1,150 @@
+package com.kamlesh.britishtime.utility;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Validates and decodes fixed-width {@code HH:mm} records in bulk, for ingesting log files
+ * where {@link TimeParser} would dominate.
+ * Record {@code i} starts at {@code offset + i * stride}; its first five bytes must be two
+ * hour digits (00-23), a colon and two minute digits (00-59), and any bytes after them up
+ * to the stride (a newline, say) are ignored. Unlike {@link TimeParser}, {@code 24:00} is
+ * rejected. Each record's minute of day is written to the output array, or -1 if the
+ * record is invalid, in which case its bit is also set in the invalid bitmap
+ * (bit {@code i & 63} of word {@code i >>> 6}).
+ * <p>
+ * When the {@code jdk.incubator.vector} module is present (start the JVM with
+ * {@code --add-modules jdk.incubator.vector}) many records are checked per vector
+ * instruction; otherwise the scalar loop is used. Both give identical results.
+ */
+public final class BulkTimeParser {
+
+    /** Bytes in one {@code HH:mm} value. */
+    public static final int RECORD_LENGTH = 5;
+
+    private static final boolean VECTOR_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                    && !Boolean.getBoolean("britishtime.parser.scalar");
+
+    private static final int BUFFER_CHUNK_RECORDS = 8192;
+
+    private BulkTimeParser() {
+    }
+
+    /**
+     * Returns whether {@link #parse} uses the Vector API in this JVM.
+     */
+    public static boolean isVectorized() {
+        return VECTOR_AVAILABLE;
+    }
+
+    /**
+     * Parses {@code count} records from a byte array.
+     *
+     * @param input the bytes
+     * @param offset where the first record starts
+     * @param count number of records
+     * @param stride distance between record starts, at least {@value #RECORD_LENGTH}
+     * @param minutesOfDay receives one value per record, -1 for invalid records
+     * @param invalid bitmap of invalid records, at least {@code (count + 63) / 64} words
+     * @return the number of invalid records
+     */
+    public static int parse(byte[] input, int offset, int count, int stride, int[] minutesOfDay, long[] invalid) {
+        checkArguments(input.length, offset, count, stride, minutesOfDay.length, invalid.length);
+        Arrays.fill(invalid, 0, words(count), 0L);
+        return VECTOR_AVAILABLE
+                ? VectorTimeParser.parse(input, offset, count, stride, minutesOfDay, invalid)
+                : parseScalar(input, offset, 0, count, stride, minutesOfDay, invalid);
+    }
+
+    /**
+     * Parses {@code count} records starting at the buffer's position, which is left unchanged.
+     * Heap buffers are parsed in place; direct and mapped buffers are copied through a
+     * small staging array first.
+     *
+     * @see #parse(byte[], int, int, int, int[], long[])
+     */
+    public static int parse(ByteBuffer input, int count, int stride, int[] minutesOfDay, long[] invalid) {
+        if (input.hasArray()) {
+            return parse(input.array(), input.arrayOffset() + input.position(), count, stride,
+                    minutesOfDay, invalid);
+        }
+        checkArguments(input.remaining(), 0, count, stride, minutesOfDay.length, invalid.length);
+        Arrays.fill(invalid, 0, words(count), 0L);
+        byte[] chunk = new byte[BUFFER_CHUNK_RECORDS * stride];
+        int[] chunkMinutes = new int[BUFFER_CHUNK_RECORDS];
+        long[] chunkInvalid = new long[words(BUFFER_CHUNK_RECORDS)];
+        int invalidCount = 0;
+        for (int first = 0; first < count; first += BUFFER_CHUNK_RECORDS) {
+            int records = Math.min(BUFFER_CHUNK_RECORDS, count - first);
+            input.get(input.position() + first * stride, chunk, 0, (records - 1) * stride + RECORD_LENGTH);
+            invalidCount += parse(chunk, 0, records, stride, chunkMinutes, chunkInvalid);
+            System.arraycopy(chunkMinutes, 0, minutesOfDay, first, records);
+            // chunks hold a multiple of 64 records, so their bitmaps line up with whole words
+            System.arraycopy(chunkInvalid, 0, invalid, first >>> 6, words(records));
+        }
+        return invalidCount;
+    }
+
+    /**
+     * Scalar implementation, also used for the tail that does not fill a whole vector.
+     * Parses records {@code from} (inclusive) to {@code to} (exclusive) and ORs their invalid
+     * bits into the bitmap.
+     *
+     * @return the number of invalid records in the range
+     */
+    static int parseScalar(byte[] input, int offset, int from, int to, int stride,
+                           int[] minutesOfDay, long[] invalid) {
+        int invalidCount = 0;
+        for (int i = from, p = offset + from * stride; i < to; i++, p += stride) {
+            int minute = minuteOfDay(input, p);
+            minutesOfDay[i] = minute;
+            if (minute < 0) {
+                invalid[i >>> 6] |= 1L << (i & 63);
+                invalidCount++;
+            }
+        }
+        return invalidCount;
+    }
+
+    /**
+     * Decodes the single record at {@code p}, which must have {@value #RECORD_LENGTH} bytes
+     * available, for callers whose records are not a fixed stride apart.
+     *
+     * @return the minute of day, or -1 if the record is invalid
+     */
+    public static int minuteOfDay(byte[] input, int p) {
+        int h1 = input[p] - '0';
+        int h2 = input[p + 1] - '0';
+        int m1 = input[p + 3] - '0';
+        int m2 = input[p + 4] - '0';
+        int hours = h1 * 10 + h2;
+        int minutes = m1 * 10 + m2;
+        boolean valid = Integer.compareUnsigned(h1, 10) < 0 && Integer.compareUnsigned(h2, 10) < 0
+                && Integer.compareUnsigned(m1, 10) < 0 && Integer.compareUnsigned(m2, 10) < 0
+                && input[p + 2] == ':' && hours < 24 && minutes < 60;
+        return valid ? hours * 60 + minutes : -1;
+    }
+
+    /**
+     * Returns the number of {@code long} words an invalid-record bitmap needs for {@code count} records.
+     */
+    public static int words(int count) {
+        return (count + 63) >>> 6;
+    }
+
+    private static void checkArguments(int inputLength, int offset, int count, int stride,
+                                       int outputLength, int bitmapLength) {
+        if (stride < RECORD_LENGTH) {
+            throw new IllegalArgumentException("stride must be at least " + RECORD_LENGTH + ", got " + stride);
+        }
+        long end = count == 0 ? offset : (long) offset + (long) (count - 1) * stride + RECORD_LENGTH;
+        if (count < 0 || offset < 0 || end > inputLength) {
+            throw new IndexOutOfBoundsException(count + " records of stride " + stride + " at offset " + offset
+                    + " do not fit in " + inputLength + " bytes");
+        }
+        if (outputLength < count || bitmapLength < words(count)) {
+            throw new IllegalArgumentException("Output arrays are too small for " + count + " records");
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.kamlesh.britishtime.utility;
 
+import com.kamlesh.britishtime.diagnostics.TimeParseEvent;
 import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
 
 import java.time.LocalTime;
@@ -15,10 +16,21 @@ public final class TimeParser {
     private TimeParser() {}
     public static LocalTime parse(String input) {
         Objects.requireNonNull(input, "input must not be null");
+        TimeParseEvent event = new TimeParseEvent();
+        event.begin();
+        boolean valid = false;
         try {
-            return LocalTime.parse(input, FORMATTER);
+            LocalTime time = LocalTime.parse(input, FORMATTER);
+            valid = true;
+            return time;
         } catch (DateTimeParseException e) {
             throw new InvalidTimeFormatException("Invalid time format. Expected HH:mm, got: " + input);
+        } finally {
+            if (event.shouldCommit()) {
+                event.input = input;
+                event.valid = valid;
+                event.commit();
+            }
         }
     }
 }
@@ -1,61 +1,59 @@
 package com.kamlesh.britishtime.utility;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Holds spoken word mappings for hours and numbers.
+ * The words are kept in small arrays indexed by the number itself, so lookups neither box
+ * the key nor allocate, and every minute word is built once rather than on each call.
  */
 public final class TimeWords {
 
-    private static final Map<Integer, String> HOURS_MAP = new HashMap<>();
-    private static final Map<Integer, String> UNIT_WORDS_MAP = new HashMap<>();
-    private static final Map<Integer, String> TENS_WORDS_MAP = new HashMap<>();
+    private static final String[] HOUR_WORDS = {
+        "twelve", "one", "two", "three", "four", "five", "six",
+        "seven", "eight", "nine", "ten", "eleven", "twelve"
+    };
+
+    private static final String[] UNIT_WORDS = {
+        "zero", "one", "two", "three", "four", "five", "six",
+        "seven", "eight", "nine", "ten", "eleven", "twelve",
+        "thirteen", "fourteen", "fifteen", "sixteen", "seventeen",
+        "eighteen", "nineteen"
+    };
+
+    private static final String[] TENS_WORDS = {
+        "", "", "twenty", "thirty", "forty", "fifty"
+    };
+
+    private static final String[] NUMBER_WORDS = new String[60];
 
     static {
-        HOURS_MAP.put(0, "twelve");
-        HOURS_MAP.put(1, "one");
-        HOURS_MAP.put(2, "two");
-        HOURS_MAP.put(3, "three");
-        HOURS_MAP.put(4, "four");
-        HOURS_MAP.put(5, "five");
-        HOURS_MAP.put(6, "six");
-        HOURS_MAP.put(7, "seven");
-        HOURS_MAP.put(8, "eight");
-        HOURS_MAP.put(9, "nine");
-        HOURS_MAP.put(10, "ten");
-        HOURS_MAP.put(11, "eleven");
-        HOURS_MAP.put(12, "twelve");
-
-        String[] unitWords = {
-            "zero", "one", "two", "three", "four", "five", "six",
-            "seven", "eight", "nine", "ten", "eleven", "twelve",
-            "thirteen", "fourteen", "fifteen", "sixteen", "seventeen",
-            "eighteen", "nineteen"
-        };
-
-        for (int i = 0; i < unitWords.length; i++) {
-            UNIT_WORDS_MAP.put(i, unitWords[i]);
+        for (int n = 0; n < NUMBER_WORDS.length; n++) {
+            int ones = n % 10;
+            NUMBER_WORDS[n] = n < 20 ? UNIT_WORDS[n]
+                    : ones == 0 ? TENS_WORDS[n / 10]
+                    : TENS_WORDS[n / 10] + " " + UNIT_WORDS[ones];
         }
-
-        TENS_WORDS_MAP.put(2, "twenty");
-        TENS_WORDS_MAP.put(3, "thirty");
-        TENS_WORDS_MAP.put(4, "forty");
-        TENS_WORDS_MAP.put(5, "fifty");
     }
 
     private TimeWords() {
     }
 
     public static String hourWord(int hour12) {
-        return HOURS_MAP.getOrDefault(hour12, "");
+        return hour12 >= 0 && hour12 < HOUR_WORDS.length ? HOUR_WORDS[hour12] : "";
     }
 
     public static String unitWord(int n) {
-        return UNIT_WORDS_MAP.getOrDefault(n, Integer.toString(n));
+        return n >= 0 && n < UNIT_WORDS.length ? UNIT_WORDS[n] : Integer.toString(n);
     }
 
     public static String tensWord(int tens) {
-        return TENS_WORDS_MAP.getOrDefault(tens, "");
+        return tens >= 0 && tens < TENS_WORDS.length ? TENS_WORDS[tens] : "";
+    }
+
+    /**
+     * Spells out a number from 0 to 59 the way minutes are spoken (e.g. "twenty five").
+     * A number outside that range is returned as digits, as {@link #unitWord} does.
+     */
+    public static String numberWord(int n) {
+        return n >= 0 && n < NUMBER_WORDS.length ? NUMBER_WORDS[n] : Integer.toString(n);
     }
 }
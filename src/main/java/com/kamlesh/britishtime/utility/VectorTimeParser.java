@@ -0,0 +1,98 @@
+package com.kamlesh.britishtime.utility;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API implementation behind {@link BulkTimeParser}. Only loaded when the
+ * {@code jdk.incubator.vector} module is present.
+ * <p>
+ * Each step loads one full byte vector of contiguous input, which holds several whole
+ * records, and rearranges it five times so that byte {@code k} of every record lands in lane
+ * {@code r} of its own vector. Digit, colon and range checks are then lane-wise compares over
+ * all those records at once; hours and minutes are widened to ints to form the minute of day,
+ * and the validity mask becomes the records' bits in the bitmap. Byte gathers would express
+ * the same thing more directly but are not compiled to vector instructions, so they end up
+ * slower than the scalar loop. Records that do not fill a step go through the scalar loop.
+ */
+final class VectorTimeParser {
+
+    private static final VectorSpecies<Byte> BYTES = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+            VectorSpecies.of(int.class, BYTES.vectorShape());
+
+    /** Below this many records per step the scalar loop is faster. */
+    private static final int MIN_RECORDS_PER_STEP = 4;
+
+    private VectorTimeParser() {
+    }
+
+    static int parse(byte[] input, int offset, int count, int stride, int[] minutesOfDay, long[] invalid) {
+        // whole records in one byte vector; at most BYTES.length() / 5, which fits the int lanes
+        int perStep = (BYTES.length() - BulkTimeParser.RECORD_LENGTH) / stride + 1;
+        if (perStep < MIN_RECORDS_PER_STEP) {
+            return BulkTimeParser.parseScalar(input, offset, 0, count, stride, minutesOfDay, invalid);
+        }
+        VectorShuffle<Byte>[] positions = shuffles(perStep, stride);
+        VectorMask<Byte> records = BYTES.indexInRange(0, perStep);
+        VectorMask<Integer> store = INTS.indexInRange(0, perStep);
+        long recordBits = (1L << perStep) - 1;
+        IntVector invalidMinute = IntVector.broadcast(INTS, -1);
+        int invalidCount = 0;
+        int i = 0;
+        for (int base = offset; i + perStep <= count && base + BYTES.length() <= input.length;
+                i += perStep, base += perStep * stride) {
+            ByteVector block = ByteVector.fromArray(BYTES, input, base);
+            ByteVector h1 = block.rearrange(positions[0]).sub((byte) '0');
+            ByteVector h2 = block.rearrange(positions[1]).sub((byte) '0');
+            ByteVector colon = block.rearrange(positions[2]);
+            ByteVector m1 = block.rearrange(positions[3]).sub((byte) '0');
+            ByteVector m2 = block.rearrange(positions[4]).sub((byte) '0');
+
+            VectorMask<Byte> valid = h1.compare(VectorOperators.UNSIGNED_LT, 10)
+                    .and(h2.compare(VectorOperators.UNSIGNED_LT, 10))
+                    .and(m1.compare(VectorOperators.UNSIGNED_LT, 10))
+                    .and(m2.compare(VectorOperators.UNSIGNED_LT, 10))
+                    .and(colon.compare(VectorOperators.EQ, (byte) ':'));
+            ByteVector hours = h1.mul((byte) 10).add(h2);
+            ByteVector minutes = m1.mul((byte) 10).add(m2);
+            valid = valid.and(hours.compare(VectorOperators.UNSIGNED_LT, 24))
+                    .and(minutes.compare(VectorOperators.UNSIGNED_LT, 60))
+                    .and(records);
+
+            IntVector minuteOfDay = ((IntVector) hours.convertShape(VectorOperators.B2I, INTS, 0)).mul(60)
+                    .add((IntVector) minutes.convertShape(VectorOperators.B2I, INTS, 0));
+            long validBits = valid.toLong();
+            invalidMinute.blend(minuteOfDay, VectorMask.fromLong(INTS, validBits)).intoArray(minutesOfDay, i, store);
+
+            long invalidBits = ~validBits & recordBits;
+            if (invalidBits != 0) {
+                int bit = i & 63;
+                invalid[i >>> 6] |= invalidBits << bit;
+                if (bit + perStep > 64) {
+                    invalid[(i >>> 6) + 1] |= invalidBits >>> (64 - bit);
+                }
+                invalidCount += Long.bitCount(invalidBits);
+            }
+        }
+        return invalidCount + BulkTimeParser.parseScalar(input, offset, i, count, stride, minutesOfDay, invalid);
+    }
+
+    /**
+     * For each byte position in a record, the shuffle that moves that byte of record
+     * {@code r} into lane {@code r}. Lanes past the last whole record are don't-cares.
+     */
+    private static VectorShuffle<Byte>[] shuffles(int perStep, int stride) {
+        @SuppressWarnings("unchecked")
+        VectorShuffle<Byte>[] positions = (VectorShuffle<Byte>[]) new VectorShuffle<?>[BulkTimeParser.RECORD_LENGTH];
+        for (int k = 0; k < positions.length; k++) {
+            int position = k;
+            positions[k] = VectorShuffle.fromOp(BYTES, lane -> lane < perStep ? lane * stride + position : 0);
+        }
+        return positions;
+    }
+}
@@ -0,0 +1,30 @@
+package com.kamlesh.britishtime.utility;
+
+import com.kamlesh.britishtime.exception.InvalidZoneException;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.Objects;
+
+/**
+ * Parses time zone ids from request input.
+ */
+public final class Zones {
+
+    private Zones() {
+    }
+
+    /**
+     * Parses a region id such as {@code Europe/London} or an offset such as {@code +01:00}.
+     *
+     * @throws InvalidZoneException if the id is malformed or the region is unknown
+     */
+    public static ZoneId parse(String zone) {
+        Objects.requireNonNull(zone, "zone must not be null");
+        try {
+            return ZoneId.of(zone);
+        } catch (DateTimeException ex) {
+            throw new InvalidZoneException("Unknown time zone: " + zone, ex);
+        }
+    }
+}
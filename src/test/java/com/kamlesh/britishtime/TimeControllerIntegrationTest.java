@@ -6,6 +6,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.http.HttpStatus;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -24,4 +25,10 @@ class TimeControllerIntegrationTest {
         String body = this.restTemplate.getForObject(url, String.class);
         assertEquals("{\"input\":\"07:35\",\"spoken\":\"twenty five to eight\"}", body);
     }
+
+    @Test
+    void unknownZoneShouldBeRejectedAsBadRequest() {
+        String url = "http://localhost:" + port + "/api/time/spoken/epoch?millis=0&zone=Mars/Olympus_Mons";
+        assertEquals(HttpStatus.BAD_REQUEST, this.restTemplate.getForEntity(url, String.class).getStatusCode());
+    }
 }
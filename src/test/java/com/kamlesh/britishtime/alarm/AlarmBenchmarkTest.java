@@ -0,0 +1,185 @@
+package com.kamlesh.britishtime.alarm;
+
+import com.kamlesh.britishtime.dtos.AlarmFiring;
+import com.kamlesh.britishtime.service.alarm.Alarm;
+import com.kamlesh.britishtime.service.alarm.AlarmScheduler;
+import com.kamlesh.britishtime.service.alarm.AlarmSink;
+import com.kamlesh.britishtime.service.alarm.AlarmTarget;
+import com.kamlesh.britishtime.service.alarm.TimingWheel;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fills the timing wheel and the alarm scheduler with millions of pending alarms spread over a
+ * day, then reports insert, cancel and firing cost and heap per alarm, next to the same number
+ * of tasks in a {@link ScheduledThreadPoolExecutor}.
+ * Run with {@code mvn test -Pperf -Dtest=AlarmBenchmarkTest}; change the alarm count with
+ * {@code -Dalarms.count}.
+ */
+@Tag("perf")
+class AlarmBenchmarkTest {
+
+    private static final int ALARMS = Integer.getInteger("alarms.count", 2_000_000);
+    private static final int DAY = 86_400;
+    private static final Instant START = Instant.parse("2025-01-06T00:00:00Z");
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void wheelInsertsAndCancelsInConstantTime() {
+        SplittableRandom random = new SplittableRandom(5);
+        long[] deadlines = new long[ALARMS];
+        for (int i = 0; i < ALARMS; i++) {
+            deadlines[i] = 1 + random.nextInt(DAY);
+        }
+        // warm up on a small wheel so the timed runs are compiled code
+        TimingWheel<Object> warm = new TimingWheel<>(4, 0);
+        for (int i = 0; i < 200_000; i++) {
+            warm.cancel(warm.schedule(deadlines[i], this));
+        }
+
+        long before = usedAfterGc();
+        TimingWheel<Object> wheel = new TimingWheel<>(4, 0);
+        @SuppressWarnings("unchecked")
+        TimingWheel.Timeout<Object>[] timeouts = new TimingWheel.Timeout[ALARMS];
+        long t0 = System.nanoTime();
+        for (int i = 0; i < ALARMS; i++) {
+            timeouts[i] = wheel.schedule(deadlines[i], this);
+        }
+        long insertNanos = System.nanoTime() - t0;
+        long heap = usedAfterGc() - before - 16L - 4L * ALARMS;
+        Reference.reachabilityFence(wheel);
+
+        t0 = System.nanoTime();
+        int cancelled = 0;
+        for (int i = 0; i < ALARMS; i += 10) {
+            wheel.cancel(timeouts[i]);
+            cancelled++;
+        }
+        long cancelNanos = System.nanoTime() - t0;
+
+        AtomicLong expired = new AtomicLong();
+        t0 = System.nanoTime();
+        wheel.advance(DAY, t -> expired.incrementAndGet());
+        long advanceNanos = System.nanoTime() - t0;
+
+        System.out.printf("wheel, %,d timeouts: insert %.0f ns, cancel %.0f ns, expire %.0f ns each"
+                        + " (%,d ticks in %,d ms); %,d B per timeout%n",
+                ALARMS, (double) insertNanos / ALARMS, (double) cancelNanos / cancelled,
+                (double) advanceNanos / expired.get(), DAY, advanceNanos / 1_000_000, heap / ALARMS);
+        assertEquals(ALARMS - cancelled, expired.get());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void schedulerHoldsMillionsOfAlarmsAndFiresThemInBatches() {
+        CountingSink sink = new CountingSink();
+        AlarmTarget[] targets = new AlarmTarget[16];
+        for (int i = 0; i < targets.length; i++) {
+            targets[i] = AlarmTarget.queue("stub-" + i);
+        }
+        LocalTime[] times = new LocalTime[1440];
+        for (int m = 0; m < times.length; m++) {
+            times[m] = LocalTime.of(m / 60, m % 60);
+        }
+        SplittableRandom random = new SplittableRandom(9);
+
+        long before = usedAfterGc();
+        AlarmScheduler scheduler = new AlarmScheduler(new ChainedBritishTimeFormatter(), sink,
+                Clock.fixed(START, ZoneOffset.UTC), ALARMS);
+        long t0 = System.nanoTime();
+        Alarm last = null;
+        for (int i = 0; i < ALARMS; i++) {
+            last = scheduler.register(times[random.nextInt(times.length)], ZoneOffset.UTC,
+                    targets[random.nextInt(targets.length)], false);
+        }
+        long registerNanos = System.nanoTime() - t0;
+        long heap = usedAfterGc() - before;
+        Reference.reachabilityFence(scheduler);
+
+        t0 = System.nanoTime();
+        List<Alarm> page = scheduler.list(last.id() - 500, 100);
+        long listMicros = (System.nanoTime() - t0) / 1_000;
+
+        t0 = System.nanoTime();
+        scheduler.advanceTo(START.plusSeconds(DAY));
+        long fireNanos = System.nanoTime() - t0;
+
+        System.out.printf("scheduler, %,d alarms: register %.0f ns, fire %.0f ns each; %,d B per alarm;"
+                        + " %,d deliveries (%.0f alarms each); list page in %,d us%n",
+                ALARMS, (double) registerNanos / ALARMS, (double) fireNanos / ALARMS, heap / ALARMS,
+                sink.batches.get(), (double) ALARMS / sink.batches.get(), listMicros);
+        assertEquals(100, page.size());
+        assertEquals(ALARMS, sink.firings.get());
+        assertTrue(sink.batches.get() <= 1440L * targets.length);
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void scheduledExecutorBaseline() {
+        int tasks = Math.min(ALARMS, 1_000_000);
+        SplittableRandom random = new SplittableRandom(5);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1);
+        executor.setRemoveOnCancelPolicy(true);
+        try {
+            long before = usedAfterGc();
+            @SuppressWarnings("unchecked")
+            ScheduledFuture<?>[] futures = new ScheduledFuture[tasks];
+            Runnable task = () -> { };
+            long t0 = System.nanoTime();
+            for (int i = 0; i < tasks; i++) {
+                futures[i] = executor.schedule(task, 3_600 + random.nextInt(DAY), TimeUnit.SECONDS);
+            }
+            long insertNanos = System.nanoTime() - t0;
+            long heap = usedAfterGc() - before - 16L - 4L * tasks;
+            t0 = System.nanoTime();
+            int cancelled = 0;
+            for (int i = 0; i < tasks; i += 10) {
+                futures[i].cancel(false);
+                cancelled++;
+            }
+            long cancelNanos = System.nanoTime() - t0;
+            System.out.printf("ScheduledThreadPoolExecutor, %,d tasks: schedule %.0f ns, cancel %.0f ns; %,d B per task%n",
+                    tasks, (double) insertNanos / tasks, (double) cancelNanos / cancelled, heap / tasks);
+            assertEquals(tasks - cancelled, executor.getQueue().size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private long usedAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class CountingSink implements AlarmSink {
+
+        final AtomicLong batches = new AtomicLong();
+        final AtomicLong firings = new AtomicLong();
+
+        @Override
+        public void deliver(AlarmTarget target, List<AlarmFiring> delivered) {
+            batches.incrementAndGet();
+            firings.addAndGet(delivered.size());
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.kamlesh.britishtime.alarm;
+
+import com.kamlesh.britishtime.dtos.AlarmFiring;
+import com.kamlesh.britishtime.exception.InvalidAlarmException;
+import com.kamlesh.britishtime.service.alarm.Alarm;
+import com.kamlesh.britishtime.service.alarm.AlarmQueues;
+import com.kamlesh.britishtime.service.alarm.AlarmScheduler;
+import com.kamlesh.britishtime.service.alarm.AlarmSink;
+import com.kamlesh.britishtime.service.alarm.AlarmTarget;
+import com.kamlesh.britishtime.service.alarm.TimingWheel;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the timing wheel and the alarm scheduler built on it.
+ */
+class AlarmSchedulerTest {
+
+    private static final Instant START = Instant.parse("2025-03-29T09:00:30Z");
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    private final RecordingSink sink = new RecordingSink();
+    private final AlarmScheduler scheduler = new AlarmScheduler(new ChainedBritishTimeFormatter(), sink,
+            Clock.fixed(START, ZoneOffset.UTC), 1_000);
+
+    @Test
+    void wheelExpiresEveryTimeoutAtItsDeadlineAcrossAllLevels() {
+        SplittableRandom random = new SplittableRandom(43);
+        long start = 1_000_003;
+        TimingWheel<Long> wheel = new TimingWheel<>(3, start);
+        List<TimingWheel.Timeout<Long>> cancelled = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            // spans all three levels and the overflow beyond 64^3 ticks
+            long deadline = start + random.nextLong(-10, 400_000);
+            TimingWheel.Timeout<Long> timeout = wheel.schedule(deadline, deadline);
+            if (i % 10 == 0) {
+                cancelled.add(timeout);
+            }
+        }
+        cancelled.forEach(t -> assertTrue(wheel.cancel(t)));
+        cancelled.forEach(t -> assertFalse(wheel.cancel(t)));
+
+        long[] last = {start};
+        int[] expired = {0};
+        for (long tick = start; tick < start + 400_000; tick += 777) {
+            long upTo = tick;
+            wheel.advance(upTo, t -> {
+                long expected = Math.max(t.payload(), start);
+                assertTrue(expected <= upTo && expected >= upTo - 776, () -> "deadline " + t.payload() + " at " + upTo);
+                assertTrue(expected >= last[0], "expired out of order");
+                last[0] = expected;
+                expired[0]++;
+            });
+        }
+        wheel.advance(start + 400_000, t -> expired[0]++);
+        assertEquals(45_000, expired[0]);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void wheelExpiresEachTickExactly() {
+        TimingWheel<Long> wheel = new TimingWheel<>(2, 0);
+        for (long deadline = 0; deadline < 5_000; deadline += 7) {
+            wheel.schedule(deadline, deadline);
+        }
+        for (long tick = 0; tick < 5_000; tick++) {
+            long now = tick;
+            wheel.advance(now, t -> assertEquals(now, t.deadline()));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void singleLevelWheelHoldsDeadlinesBeyondItsSpan() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        for (long deadline = 0; deadline < 1_000; deadline += 13) {
+            wheel.schedule(deadline, deadline);
+        }
+        for (long tick = 0; tick < 1_000; tick++) {
+            long now = tick;
+            wheel.advance(now, t -> assertEquals(now, t.deadline()));
+        }
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void firesAtTheMinuteWithThePreRenderedPhrase() {
+        Alarm alarm = scheduler.register(LocalTime.of(9, 15), ZoneOffset.UTC, AlarmTarget.queue("q"), false);
+        assertEquals("quarter past nine", alarm.phrase());
+        assertEquals(Instant.parse("2025-03-29T09:15:00Z").getEpochSecond(), alarm.fireAtEpochSecond());
+
+        scheduler.advanceTo(Instant.parse("2025-03-29T09:14:59Z"));
+        assertTrue(sink.batches.isEmpty());
+        scheduler.advanceTo(Instant.parse("2025-03-29T09:15:00Z"));
+        assertEquals(1, sink.batches.size());
+        assertEquals("quarter past nine", sink.batches.get(0).firings().get(0).spoken());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    @Test
+    void alarmsForTheSameTargetInTheSameTickAreDeliveredTogether() {
+        AlarmTarget a = AlarmTarget.queue("a");
+        AlarmTarget b = AlarmTarget.webhook("http://localhost:9000/hook");
+        for (int i = 0; i < 5; i++) {
+            scheduler.register(LocalTime.of(9, 30), ZoneOffset.UTC, a, false);
+        }
+        scheduler.register(LocalTime.of(9, 30), ZoneOffset.UTC, b, false);
+        scheduler.register(LocalTime.of(9, 31), ZoneOffset.UTC, a, false);
+
+        scheduler.advanceTo(Instant.parse("2025-03-29T09:31:00Z"));
+
+        assertEquals(3, sink.batches.size());
+        assertEquals(a, sink.batches.get(0).target());
+        assertEquals(5, sink.batches.get(0).firings().size());
+        assertEquals(b, sink.batches.get(1).target());
+        assertEquals(1, sink.batches.get(2).firings().size());
+        assertEquals(7, scheduler.firedCount());
+        assertEquals(3, scheduler.batchCount());
+    }
+
+    @Test
+    void dailyAlarmsRearmAndFollowDaylightSaving() {
+        // the clocks go forward at 01:00 UTC on 30 March 2025
+        Alarm alarm = scheduler.register(LocalTime.of(9, 0), LONDON, AlarmTarget.queue("q"), true);
+        assertEquals(Instant.parse("2025-03-30T08:00:00Z").getEpochSecond(), alarm.fireAtEpochSecond());
+
+        scheduler.advanceTo(Instant.parse("2025-03-30T08:00:00Z"));
+        assertEquals(1, sink.batches.size());
+        Alarm next = scheduler.get(alarm.id());
+        assertEquals(Instant.parse("2025-03-31T08:00:00Z").getEpochSecond(), next.fireAtEpochSecond());
+        assertEquals(1, scheduler.pendingCount());
+    }
+
+    @Test
+    void alarmInADaylightSavingGapFiresAfterTheGap() {
+        Alarm alarm = scheduler.register(LocalTime.of(1, 30), LONDON, AlarmTarget.queue("q"), false);
+        assertEquals(Instant.parse("2025-03-30T01:30:00Z").getEpochSecond(), alarm.fireAtEpochSecond());
+    }
+
+    @Test
+    void cancelledAlarmsDoNotFire() {
+        Alarm alarm = scheduler.register(LocalTime.of(10, 0), ZoneOffset.UTC, AlarmTarget.queue("q"), false);
+        assertTrue(scheduler.cancel(alarm.id()));
+        assertFalse(scheduler.cancel(alarm.id()));
+        scheduler.advanceTo(Instant.parse("2025-03-29T10:00:00Z"));
+        assertTrue(sink.batches.isEmpty());
+    }
+
+    @Test
+    void listPagesThroughPendingAlarmsInIdOrder() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            ids.add(scheduler.register(LocalTime.of(11, i), ZoneOffset.UTC, AlarmTarget.queue("q"), false).id());
+        }
+        scheduler.cancel(ids.get(3));
+
+        List<Alarm> first = scheduler.list(0, 10);
+        assertEquals(10, first.size());
+        assertFalse(first.stream().anyMatch(a -> a.id() == ids.get(3)));
+        List<Alarm> rest = scheduler.list(first.get(9).id(), 100);
+        assertEquals(14, rest.size());
+        assertTrue(rest.get(0).id() > first.get(9).id());
+
+        scheduler.cancel(first.get(9).id());
+        assertEquals(rest, scheduler.list(first.get(9).id(), 100), "a cancelled cursor must still page on");
+    }
+
+    @Test
+    void rejectsAlarmsOverTheLimitAndBadTargets() {
+        AlarmScheduler small = new AlarmScheduler(new ChainedBritishTimeFormatter(), sink,
+                Clock.fixed(START, ZoneOffset.UTC), 2);
+        small.register(LocalTime.NOON, ZoneOffset.UTC, AlarmTarget.queue("q"), false);
+        small.register(LocalTime.NOON, ZoneOffset.UTC, AlarmTarget.queue("q"), false);
+        assertThrows(InvalidAlarmException.class,
+                () -> small.register(LocalTime.NOON, ZoneOffset.UTC, AlarmTarget.queue("q"), false));
+        assertThrows(InvalidAlarmException.class, () -> AlarmTarget.queue("no spaces"));
+        assertThrows(InvalidAlarmException.class, () -> AlarmTarget.webhook("ftp://localhost/x"));
+    }
+
+    @Test
+    void fullQueuesDropAndCount() {
+        AlarmQueues queues = new AlarmQueues(2, 10);
+        AlarmFiring firing = new AlarmFiring(1, "UTC", "09:00", "nine o'clock", 0);
+        queues.offer("q", List.of(firing, firing, firing));
+        assertEquals(1, queues.dropped());
+        assertEquals(2, queues.drain("q", 10).size());
+        assertTrue(queues.drain("missing", 10).isEmpty());
+    }
+
+    @Test
+    void queueCountIsCappedAndDrainedQueuesAreRemoved() {
+        AlarmQueues queues = new AlarmQueues(10, 2);
+        AlarmFiring firing = new AlarmFiring(1, "UTC", "09:00", "nine o'clock", 0);
+        queues.offer("a", List.of(firing));
+        queues.offer("b", List.of(firing));
+        queues.offer("c", List.of(firing, firing));
+        assertEquals(2, queues.queueCount());
+        assertEquals(2, queues.dropped());
+
+        assertEquals(1, queues.drain("a", 10).size());
+        assertEquals(1, queues.queueCount());
+        queues.offer("c", List.of(firing));
+        assertEquals(1, queues.drain("c", 10).size());
+    }
+
+    private record Batch(AlarmTarget target, List<AlarmFiring> firings) {
+    }
+
+    private static final class RecordingSink implements AlarmSink {
+
+        final List<Batch> batches = new ArrayList<>();
+
+        @Override
+        public void deliver(AlarmTarget target, List<AlarmFiring> firings) {
+            batches.add(new Batch(target, firings));
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.kamlesh.britishtime.alloc;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.epoch.EpochTimeConverter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.formatter.FormatterChain;
+import com.kamlesh.britishtime.service.formatter.HalfPastFormatter;
+import com.kamlesh.britishtime.service.formatter.MidnightFormatter;
+import com.kamlesh.britishtime.service.formatter.MinutesPastFormatter;
+import com.kamlesh.britishtime.service.formatter.MinutesToFormatter;
+import com.kamlesh.britishtime.service.formatter.NoonFormatter;
+import com.kamlesh.britishtime.service.formatter.OClockFormatter;
+import com.kamlesh.britishtime.service.formatter.QuarterPastFormatter;
+import com.kamlesh.britishtime.service.formatter.QuarterToFormatter;
+import com.kamlesh.britishtime.service.formatter.ThirtyPlusFormatter;
+import com.kamlesh.britishtime.service.impl.ChainedBritishTimeFormatterImpl;
+import com.kamlesh.britishtime.service.impl.FormatterChainImpl;
+import com.kamlesh.britishtime.service.impl.HalfPastFormatterImpl;
+import com.kamlesh.britishtime.service.impl.MidnightFormatterImpl;
+import com.kamlesh.britishtime.service.impl.MinutesPastFormatterImpl;
+import com.kamlesh.britishtime.service.impl.MinutesToFormatterImpl;
+import com.kamlesh.britishtime.service.impl.NoonFormatterImpl;
+import com.kamlesh.britishtime.service.impl.OClockFormatterImpl;
+import com.kamlesh.britishtime.service.impl.QuarterPastFormatterImpl;
+import com.kamlesh.britishtime.service.impl.QuarterToFormatterImpl;
+import com.kamlesh.britishtime.service.impl.ThirtyPlusFormatterImpl;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import com.kamlesh.britishtime.utility.TimeParser;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Guards per-call allocation on the conversion hot path. Every method below has a budget in
+ * bytes per call; the test measures all of them and fails with one report listing each
+ * method's measured allocation against its budget, so a regression names the method that
+ * grew. When a change legitimately lowers or raises a figure, update its budget here.
+ * <p>
+ * The formatter budgets are the phrase itself plus the 16-byte {@code Optional} a rule
+ * returns; fixed phrases such as "noon" cost only the {@code Optional}. The JFR events on the
+ * path are scalar-replaced once compiled and cost nothing. Parsing goes through
+ * {@code DateTimeFormatter}, which allocates its parse context on every call. Epoch conversion
+ * reads a cached offset and a precompiled phrase, so it allocates nothing at all.
+ * <p>
+ * Budgets for this project's own code allow {@value #TOLERANCE_BYTES} bytes of noise. Budgets
+ * that are mostly JDK parsing allow {@value #JDK_HEADROOM_PERCENT}% more, since a JDK update can
+ * move them. The report is printed when a budget is exceeded, or always with
+ * {@code -Dalloc.report=true}.
+ */
+class AllocationBudgetTest {
+
+    private static final int WARM_UP_CALLS = 20_000;
+    private static final int MEASURED_CALLS = 20_000;
+    private static final int TOLERANCE_BYTES = 8;
+    private static final int JDK_HEADROOM_PERCENT = 25;
+
+    private static final LocalTime MIDNIGHT = LocalTime.MIDNIGHT;
+    private static final LocalTime NOON = LocalTime.NOON;
+    private static final LocalTime THREE = LocalTime.of(3, 0);
+    private static final LocalTime QUARTER_PAST = LocalTime.of(3, 15);
+    private static final LocalTime HALF_PAST = LocalTime.of(3, 30);
+    private static final LocalTime QUARTER_TO = LocalTime.of(3, 45);
+    private static final LocalTime FIVE_PAST = LocalTime.of(3, 5);
+    private static final LocalTime THREE_THIRTY_TWO = LocalTime.of(3, 32);
+    private static final LocalTime TWENTY_FIVE_TO = LocalTime.of(3, 35);
+
+    private final List<Budget> budgets = new ArrayList<>();
+
+    @Test
+    void hotPathStaysWithinAllocationBudgets() {
+        assumeTrue(AllocationMeter.isSupported(), "Thread allocation counting is not supported by this JVM");
+
+        jdkBudget("TimeParser.parse", 480, () -> TimeParser.parse("09:30"));
+
+        budget("MidnightFormatter.format", 16, format(new MidnightFormatter(), MIDNIGHT));
+        budget("NoonFormatter.format", 16, format(new NoonFormatter(), NOON));
+        budget("OClockFormatter.format", 72, format(new OClockFormatter(), THREE));
+        budget("QuarterPastFormatter.format", 80, format(new QuarterPastFormatter(), QUARTER_PAST));
+        budget("HalfPastFormatter.format", 72, format(new HalfPastFormatter(), HALF_PAST));
+        budget("QuarterToFormatter.format", 72, format(new QuarterToFormatter(), QUARTER_TO));
+        budget("MinutesPastFormatter.format", 72, format(new MinutesPastFormatter(), FIVE_PAST));
+        budget("MinutesToFormatter.format", 80, format(new MinutesToFormatter(), TWENTY_FIVE_TO));
+        budget("ThirtyPlusFormatter.format", 72, format(new ThirtyPlusFormatter(), THREE_THIRTY_TWO));
+        budget("FormatterChain.format", 72, format(FormatterChain.of(List.of(
+                new MidnightFormatter(), new NoonFormatter(), new OClockFormatter(), new MinutesPastFormatter())),
+                FIVE_PAST));
+        budget("ChainedBritishTimeFormatter.format", 80,
+                format(new ChainedBritishTimeFormatter(), TWENTY_FIVE_TO));
+
+        budget("MidnightFormatterImpl.format", 16, format(new MidnightFormatterImpl(), MIDNIGHT));
+        budget("NoonFormatterImpl.format", 16, format(new NoonFormatterImpl(), NOON));
+        budget("OClockFormatterImpl.format", 72, format(new OClockFormatterImpl(), THREE));
+        budget("QuarterPastFormatterImpl.format", 80, format(new QuarterPastFormatterImpl(), QUARTER_PAST));
+        budget("HalfPastFormatterImpl.format", 72, format(new HalfPastFormatterImpl(), HALF_PAST));
+        budget("QuarterToFormatterImpl.format", 72, format(new QuarterToFormatterImpl(), QUARTER_TO));
+        budget("MinutesPastFormatterImpl.format", 72, format(new MinutesPastFormatterImpl(), FIVE_PAST));
+        budget("MinutesToFormatterImpl.format", 80, format(new MinutesToFormatterImpl(), TWENTY_FIVE_TO));
+        budget("ThirtyPlusFormatterImpl.format", 72, format(new ThirtyPlusFormatterImpl(), THREE_THIRTY_TWO));
+        budget("FormatterChainImpl.format", 72, format(FormatterChainImpl.of(List.of(
+                new MidnightFormatterImpl(), new NoonFormatterImpl(), new OClockFormatterImpl(),
+                new MinutesPastFormatterImpl())), FIVE_PAST));
+        budget("ChainedBritishTimeFormatterImpl.format", 80,
+                format(new ChainedBritishTimeFormatterImpl(), TWENTY_FIVE_TO));
+
+        TimeServiceImpl service = new TimeServiceImpl(new ChainedBritishTimeFormatter());
+        jdkBudget("TimeServiceImpl.toSpokenTime", 608, () -> service.toSpokenTime("03:35"));
+
+        EpochTimeConverter epoch = new EpochTimeConverter(PhraseTableSource.of(new ChainedBritishTimeFormatter()),
+                Clock.systemUTC(), 100);
+        ZoneId london = ZoneId.of("Europe/London");
+        budget("EpochTimeConverter.spoken", 0, () -> epoch.spoken(1_700_000_000_000L, london));
+
+        AllocationMeter meter = new AllocationMeter(WARM_UP_CALLS, MEASURED_CALLS);
+        meter.warmUp(budgets.stream().map(Budget::call).toList());
+        StringBuilder report = new StringBuilder(String.format("%-40s %10s %10s %10s%n",
+                "method", "bytes/call", "budget", "allowed"));
+        boolean regressed = false;
+        for (Budget budget : budgets) {
+            double measured = meter.bytesPerCall(budget.call());
+            boolean over = measured > budget.bytes() + budget.tolerance();
+            regressed |= over;
+            report.append(String.format("%-40s %10.1f %10d %10d%s%n", budget.method(), measured, budget.bytes(),
+                    budget.bytes() + budget.tolerance(), over ? "  <-- over budget" : ""));
+        }
+        if (Boolean.getBoolean("alloc.report")) {
+            System.out.print(report);
+        }
+        assertFalse(regressed, () -> "Allocation budget exceeded:\n" + report);
+    }
+
+    private void budget(String method, long bytes, Supplier<?> call) {
+        budgets.add(new Budget(method, bytes, TOLERANCE_BYTES, call));
+    }
+
+    private void jdkBudget(String method, long bytes, Supplier<?> call) {
+        budgets.add(new Budget(method, bytes, Math.max(TOLERANCE_BYTES, bytes * JDK_HEADROOM_PERCENT / 100), call));
+    }
+
+    private static Supplier<String> format(TimeSpokenFormatter formatter, LocalTime time) {
+        return () -> formatter.format(time);
+    }
+
+    private record Budget(String method, long bytes, long tolerance, Supplier<?> call) {
+    }
+}
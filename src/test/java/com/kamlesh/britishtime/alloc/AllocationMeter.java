@@ -0,0 +1,72 @@
+package com.kamlesh.britishtime.alloc;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Measures the bytes a call allocates on the calling thread, using
+ * {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long)}.
+ * Before anything is measured, all calls are warmed up together, round-robin, so that code
+ * shared between them (the formatter base classes, say) is compiled with the same mixed
+ * profile it would see in production rather than with whichever call happened to run first.
+ * Each call is then measured on its own over many calls. The meter's own cost, measured with a call that
+ * returns a constant, is subtracted. Every result is written to a volatile field, as a JMH
+ * {@code Blackhole} would consume it, so the JIT can neither drop the call nor scalar-replace its
+ * result.
+ */
+final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final int warmUpCalls;
+    private final int measuredCalls;
+    private final double overhead;
+    private volatile Object blackhole;
+
+    AllocationMeter(int warmUpCalls, int measuredCalls) {
+        this.warmUpCalls = warmUpCalls;
+        this.measuredCalls = measuredCalls;
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        Object constant = new Object();
+        Supplier<Object> baseline = () -> constant;
+        warmUp(List.of(baseline));
+        this.overhead = run(baseline);
+    }
+
+    static boolean isSupported() {
+        return THREADS.isThreadAllocatedMemorySupported();
+    }
+
+    /**
+     * Runs the calls interleaved until the JIT has compiled them.
+     */
+    void warmUp(List<? extends Supplier<?>> calls) {
+        for (int i = 0; i < warmUpCalls; i++) {
+            for (Supplier<?> call : calls) {
+                blackhole = call.get();
+            }
+        }
+    }
+
+    /**
+     * Returns the average bytes allocated per call, net of the meter's own overhead.
+     */
+    double bytesPerCall(Supplier<?> call) {
+        return Math.max(0, run(call) - overhead);
+    }
+
+    private double run(Supplier<?> call) {
+        for (int i = 0; i < measuredCalls; i++) {
+            blackhole = call.get();
+        }
+        long threadId = Thread.currentThread().threadId();
+        long before = THREADS.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < measuredCalls; i++) {
+            blackhole = call.get();
+        }
+        long after = THREADS.getThreadAllocatedBytes(threadId);
+        return (double) (after - before) / measuredCalls;
+    }
+}
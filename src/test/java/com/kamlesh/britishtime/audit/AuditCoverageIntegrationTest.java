@@ -0,0 +1,110 @@
+package com.kamlesh.britishtime.audit;
+
+import com.kamlesh.britishtime.client.BinaryBatchCodec;
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.audit.AuditEntry;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.audit.AuditLogReader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that batch, binary batch, streamed and rewritten conversions reach the audit log, each
+ * under the client that asked for it.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "app.audit.enabled=true",
+        "app.client-id.trusted-proxies=127.0.0.1,0:0:0:0:0:0:0:1",
+        "app.audit.durability=async"
+})
+class AuditCoverageIntegrationTest {
+
+    @TempDir
+    static Path auditDir;
+
+    @DynamicPropertySource
+    static void auditDirectory(DynamicPropertyRegistry registry) {
+        registry.add("app.audit.dir", auditDir::toString);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    AuditLog auditLog;
+
+    @Test
+    void everyKindOfConversionIsAudited() throws Exception {
+        assertEquals(HttpStatus.OK, post("/api/time/spoken/epoch?zone=UTC", "epoch-batch",
+                MediaType.APPLICATION_JSON, "[0, 60000]").getStatusCode());
+        assertEquals(HttpStatus.OK, post("/api/time/spoken/batch", "binary-batch",
+                MediaType.parseMediaType(BinaryBatchCodec.MEDIA_TYPE),
+                BinaryBatchCodec.encodeRequest(new int[] {9 * 60 + 15, 12 * 60})).getStatusCode());
+        assertEquals(HttpStatus.OK, post("/api/time/spoken/epoch/stream?zone=UTC", "epoch-stream",
+                MediaType.TEXT_PLAIN, "0\n3600000\n").getStatusCode());
+        assertEquals(HttpStatus.OK, post("/api/time/spoken/rewrite", "rewrite",
+                MediaType.TEXT_PLAIN, "Doors close at 19:45.").getStatusCode());
+
+        List<AuditEntry> entries = awaitEntries(7);
+
+        assertAudited(entries, "epoch-batch", "0 UTC", "midnight");
+        assertAudited(entries, "epoch-batch", "60000 UTC", "one past twelve");
+        assertAudited(entries, "binary-batch", "09:15", "quarter past nine");
+        assertAudited(entries, "binary-batch", "12:00", "noon");
+        assertAudited(entries, "epoch-stream", "0 UTC", "midnight");
+        assertAudited(entries, "epoch-stream", "3600000 UTC", "one o'clock");
+        assertAudited(entries, "rewrite", "19:45", "quarter to eight");
+    }
+
+    private ResponseEntity<String> post(String path, String clientId, MediaType type, Object body) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(type);
+        headers.set(LoadSheddingInterceptor.CLIENT_ID_HEADER, clientId);
+        return restTemplate.exchange("http://localhost:" + port + path, HttpMethod.POST,
+                new HttpEntity<>(body, headers), String.class);
+    }
+
+    private List<AuditEntry> awaitEntries(int count) throws IOException, InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<AuditEntry> entries = new ArrayList<>();
+        while (System.nanoTime() < deadline) {
+            entries.clear();
+            AuditLogReader.readAll(auditDir, entries::add);
+            if (entries.size() >= count && auditLog.backlog() == 0) {
+                return entries;
+            }
+            Thread.sleep(20);
+        }
+        fail("Expected " + count + " audit entries, found " + entries);
+        return entries;
+    }
+
+    private static void assertAudited(List<AuditEntry> entries, String client, String input, String output) {
+        assertTrue(entries.stream().anyMatch(e -> client.equals(e.client()) && input.equals(e.input())
+                && output.equals(e.output())), () -> client + " " + input + " -> " + output + " not in " + entries);
+    }
+}
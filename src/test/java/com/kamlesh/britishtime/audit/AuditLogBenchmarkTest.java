@@ -0,0 +1,132 @@
+package com.kamlesh.britishtime.audit;
+
+import com.kamlesh.britishtime.load.LatencyHistogram;
+import com.kamlesh.britishtime.service.TimeService;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.audit.AuditLogReader;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableFormatter;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures what auditing adds to a conversion: several threads convert times as fast as they
+ * can, first without an audit log and then with one in each durability mode, and the latency
+ * of convert-plus-record is reported for each. Afterwards the log is read back to check that
+ * every accepted record was written.
+ * Run with {@code mvn test -Pperf -Dtest=AuditLogBenchmarkTest}. Tune with
+ * {@code -Daudit.threads} and {@code -Daudit.seconds} (per mode).
+ */
+@Tag("perf")
+class AuditLogBenchmarkTest {
+
+    private static final int THREADS = Integer.getInteger("audit.threads", 4);
+    private static final long SECONDS = Long.getLong("audit.seconds", 5L);
+    private static final String[] TIMES = new String[1440];
+
+    static {
+        for (int m = 0; m < TIMES.length; m++) {
+            TIMES[m] = String.format("%02d:%02d", m / 60, m % 60);
+        }
+    }
+
+    @TempDir
+    Path dir;
+
+    private final TimeService service;
+
+    AuditLogBenchmarkTest() {
+        PhraseTableFormatter formatter = new PhraseTableFormatter(
+                CompiledPhraseTable.compile(new ChainedBritishTimeFormatter()));
+        service = new TimeServiceImpl(formatter, new TenantPhrases(formatter));
+    }
+
+    @Test
+    void reportsLatencyAddedByEachDurabilityMode() throws Exception {
+        // warm-up, discarded
+        run(null);
+
+        Result baseline = run(null);
+        System.out.println(baseline.describe("no audit"));
+        for (AuditLog.Durability durability : AuditLog.Durability.values()) {
+            Path modeDir = dir.resolve(durability.name().toLowerCase());
+            AuditLog log = AuditLog.builder(modeDir).durability(durability).build();
+            log.start();
+            Result result;
+            try {
+                result = run(log);
+            } finally {
+                log.close();
+            }
+            long accepted = result.accepted();
+            System.out.println(result.describe(durability + " audit") + String.format(
+                    ", %d dropped, %d batches, %d forces, %.1f B/record",
+                    log.droppedCount(), log.batchCount(), log.forceCount(),
+                    (double) log.bytesWritten() / Math.max(1, log.appendedCount())));
+
+            assertEquals(accepted, log.appendedCount());
+            assertEquals(accepted, AuditLogReader.readAll(modeDir, entry -> { }));
+        }
+    }
+
+    private Result run(AuditLog log) throws Exception {
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder accepted = new LongAdder();
+        LongAdder totalNanos = new LongAdder();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SECONDS);
+        List<Future<?>> workers = new ArrayList<>();
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                String client = "client-" + t;
+                workers.add(pool.submit(() -> {
+                    int minute = 0;
+                    long sum = 0;
+                    long ok = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        String time = TIMES[minute];
+                        String spoken = service.toSpokenTime(time).spoken();
+                        if (log != null && log.record(System.currentTimeMillis(), client, time, spoken)) {
+                            ok++;
+                        }
+                        long elapsed = System.nanoTime() - start;
+                        histogram.recordNanos(elapsed);
+                        sum += elapsed;
+                        minute = minute == TIMES.length - 1 ? 0 : minute + 1;
+                    }
+                    totalNanos.add(sum);
+                    accepted.add(ok);
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return new Result(histogram, totalNanos.sum(), accepted.sum());
+    }
+
+    private record Result(LatencyHistogram histogram, long totalNanos, long accepted) {
+
+        String describe(String label) {
+            long calls = histogram.totalCount();
+            return String.format("%-16s %,d calls, mean %d ns, p50 %d us, p99 %d us, p99.9 %d us, max %d us",
+                    label, calls, totalNanos / Math.max(1, calls), histogram.percentileMicros(50),
+                    histogram.percentileMicros(99), histogram.percentileMicros(99.9), histogram.maxMicros());
+        }
+    }
+}
@@ -0,0 +1,291 @@
+package com.kamlesh.britishtime.audit;
+
+import com.kamlesh.britishtime.service.audit.AuditEntry;
+import com.kamlesh.britishtime.service.audit.AuditExport;
+import com.kamlesh.britishtime.service.audit.AuditFormat;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.audit.AuditLogReader;
+import com.kamlesh.britishtime.service.audit.AuditRingBuffer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the conversion audit log: the ring buffer, the segment format, rolling and
+ * retention, recovery after a restart or a torn write, and the exporter.
+ */
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordsAreReadBackInOrder() throws IOException {
+        try (AuditLog log = start(AuditLog.builder(dir).durability(AuditLog.Durability.ASYNC))) {
+            assertTrue(log.record(1_000, "client-a", "07:25", "twenty five past seven"));
+            assertTrue(log.record(2_000, null, "12:00", "noon"));
+            assertTrue(log.record(3_000, "ünïcödé 🕰", "00:00", "midnight"));
+        }
+
+        List<AuditEntry> entries = readAll();
+        assertEquals(List.of(
+                new AuditEntry(0, 1_000, "client-a", "07:25", "twenty five past seven"),
+                new AuditEntry(1, 2_000, "", "12:00", "noon"),
+                new AuditEntry(2, 3_000, "ünïcödé 🕰", "00:00", "midnight")), entries);
+    }
+
+    @Test
+    void concurrentProducersLoseNothingByDefault() throws Exception {
+        int threads = 8;
+        int perThread = 20_000;
+        try (AuditLog log = start(AuditLog.builder(dir).ringSize(1024)
+                .durability(AuditLog.Durability.ASYNC));
+             ExecutorService producers = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                String client = "client-" + t;
+                producers.submit(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        assertTrue(log.record(i, client, Integer.toString(i), "phrase"));
+                    }
+                });
+            }
+            producers.shutdown();
+            assertTrue(producers.awaitTermination(60, TimeUnit.SECONDS));
+        }
+
+        List<AuditEntry> entries = readAll();
+        assertEquals(threads * perThread, entries.size());
+        long[] lastPerClient = new long[threads];
+        Arrays.fill(lastPerClient, -1);
+        for (int i = 0; i < entries.size(); i++) {
+            AuditEntry entry = entries.get(i);
+            assertEquals(i, entry.sequence());
+            int client = Integer.parseInt(entry.client().substring("client-".length()));
+            // each producer's records keep their order
+            assertTrue(entry.epochMillis() > lastPerClient[client]);
+            lastPerClient[client] = entry.epochMillis();
+        }
+    }
+
+    @Test
+    void ringDropsWhenFullAndCountsBacklog() {
+        AuditRingBuffer ring = new AuditRingBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, ring.tryPublish(i, "c", "in", "out"));
+        }
+        assertEquals(-1, ring.tryPublish(4, "c", "in", "out"));
+        assertEquals(4, ring.backlog());
+
+        List<Long> drained = new ArrayList<>();
+        assertEquals(3, ring.drain((sequence, millis, client, input, output) -> drained.add(millis), 3));
+        assertEquals(List.of(0L, 1L, 2L), drained);
+        assertEquals(4, ring.tryPublish(4, "c", "in", "out"));
+        assertThrows(IllegalArgumentException.class, () -> new AuditRingBuffer(3));
+    }
+
+    @Test
+    void dropModeRejectsInsteadOfWaiting() throws IOException {
+        // not started, so nothing drains the ring
+        try (AuditLog log = AuditLog.builder(dir).ringSize(2).onFull(AuditLog.OnFull.DROP).build()) {
+            assertTrue(log.record(1, "c", "01:00", "one o'clock"));
+            assertTrue(log.record(2, "c", "02:00", "two o'clock"));
+            assertFalse(log.record(3, "c", "03:00", "three o'clock"));
+            assertEquals(1, log.droppedCount());
+        }
+    }
+
+    @Test
+    void blockedCallersReturnWhenTheWriterDies() throws IOException {
+        // the clock is read on every append to check the roll interval; failing it fails the writer
+        MutableClock clock = new MutableClock();
+        try (AuditLog log = start(AuditLog.builder(dir).rollInterval(Duration.ofHours(1)).clock(clock).ringSize(2))) {
+            clock.failing = true;
+            log.record(1, "c", "01:00", "one o'clock");
+            assertTimeoutPreemptively(Duration.ofSeconds(10), () -> {
+                for (int i = 0; i < 4; i++) {
+                    log.record(i, "c", "02:00", "two o'clock");
+                }
+            });
+            assertFalse(log.record(5, "c", "03:00", "three o'clock"));
+        }
+    }
+
+    @Test
+    void syncModeForcesBeforeReturning() throws IOException {
+        try (AuditLog log = start(AuditLog.builder(dir).durability(AuditLog.Durability.SYNC))) {
+            for (int i = 0; i < 50; i++) {
+                assertTrue(log.record(i, "c", "in", "out"));
+                assertEquals(i + 1, log.appendedCount());
+            }
+            assertTrue(log.forceCount() >= 1);
+            assertEquals(50, readAll().size(), "readable while the writer is still open");
+        }
+    }
+
+    @Test
+    void rollsFullSegmentsAndKeepsOnlyTheNewest() throws IOException {
+        String output = "x".repeat(1000);
+        try (AuditLog log = start(AuditLog.builder(dir).segmentBytes(64 * 1024).maxSegments(3)
+                .durability(AuditLog.Durability.ASYNC))) {
+            for (int i = 0; i < 1000; i++) {
+                log.record(i, "c", "in", output);
+            }
+            log.close();
+            assertTrue(log.segmentsDeleted() > 0);
+        }
+
+        assertEquals(3, segmentFiles().size());
+        List<AuditEntry> entries = readAll();
+        assertEquals(999, entries.get(entries.size() - 1).sequence());
+        for (int i = 1; i < entries.size(); i++) {
+            assertEquals(entries.get(i - 1).sequence() + 1, entries.get(i).sequence());
+        }
+    }
+
+    @Test
+    void rollsByAgeAndDeletesExpiredSegments() throws IOException {
+        MutableClock clock = new MutableClock();
+        try (AuditLog log = start(AuditLog.builder(dir).clock(clock).rollInterval(Duration.ofMinutes(1))
+                .maxAge(Duration.ofDays(3650)).durability(AuditLog.Durability.SYNC))) {
+            log.record(1, "c", "in", "out");
+            clock.advance(Duration.ofMinutes(2));
+            log.record(2, "c", "in", "out");
+        }
+        assertEquals(2, segmentFiles().size());
+
+        // a segment written long ago is past any age limit once a new segment starts
+        Files.setLastModifiedTime(segmentFiles().get(0),
+                FileTime.from(Instant.parse("2000-01-01T00:00:00Z")));
+        try (AuditLog log = start(AuditLog.builder(dir).maxAge(Duration.ofDays(1)))) {
+            assertEquals(1, log.segmentsDeleted());
+        }
+        assertEquals(List.of(1L), readAll().stream().map(AuditEntry::sequence).toList());
+    }
+
+    @Test
+    void sequenceContinuesAfterRestart() throws IOException {
+        try (AuditLog log = start(AuditLog.builder(dir))) {
+            log.record(1, "c", "in", "first");
+        }
+        try (AuditLog log = start(AuditLog.builder(dir))) {
+            log.record(2, "c", "in", "second");
+        }
+
+        assertEquals(List.of(0L, 1L), readAll().stream().map(AuditEntry::sequence).toList());
+    }
+
+    @Test
+    void tornRecordEndsTheSegment() throws IOException {
+        try (AuditLog log = start(AuditLog.builder(dir))) {
+            log.record(1, "c", "in", "kept");
+            log.record(2, "c", "in", "torn");
+        }
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, AuditFormat.HEADER_BYTES);
+            long secondRecord = AuditFormat.HEADER_BYTES + 8 + header.flip().getInt();
+            // flip a byte of the second record's payload, as a crash mid-write would
+            channel.write(ByteBuffer.wrap(new byte[] {(byte) 0xFF}), secondRecord + 20);
+        }
+
+        assertEquals(List.of("kept"), readAll().stream().map(AuditEntry::output).toList());
+        try (AuditLog log = start(AuditLog.builder(dir))) {
+            log.record(3, "c", "in", "after restart");
+        }
+        assertEquals(List.of(new AuditEntry(0, 1, "c", "in", "kept"), new AuditEntry(1, 3, "c", "in", "after restart")),
+                readAll());
+    }
+
+    @Test
+    void exportsTimeRangeAsJsonLinesAndCsv() throws IOException {
+        try (AuditLog log = start(AuditLog.builder(dir))) {
+            log.record(1_000, "a", "07:25", "twenty five past seven");
+            log.record(2_000, "b", "12:00", "noon, \"exactly\"");
+            log.record(3_000, "c", "00:00", "midnight");
+        }
+
+        StringWriter json = new StringWriter();
+        assertEquals(1, AuditExport.export(dir, 2_000, 3_000, false, json));
+        assertEquals("{\"sequence\":1,\"timestamp\":\"1970-01-01T00:00:02Z\",\"client\":\"b\",\"input\":\"12:00\","
+                + "\"output\":\"noon, \\\"exactly\\\"\"}\n", json.toString());
+
+        StringWriter csv = new StringWriter();
+        assertEquals(3, AuditExport.export(dir, Long.MIN_VALUE, Long.MAX_VALUE, true, csv));
+        assertEquals("""
+                sequence,timestamp,client,input,output
+                0,1970-01-01T00:00:01Z,a,07:25,twenty five past seven
+                1,1970-01-01T00:00:02Z,b,12:00,"noon, ""exactly\"""
+                2,1970-01-01T00:00:03Z,c,00:00,midnight
+                """, csv.toString());
+    }
+
+    private static AuditLog start(AuditLog.Builder builder) throws IOException {
+        AuditLog log = builder.build();
+        log.start();
+        return log;
+    }
+
+    private List<AuditEntry> readAll() throws IOException {
+        List<AuditEntry> entries = new ArrayList<>();
+        AuditLogReader.readAll(dir, entries::add);
+        return entries;
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.sorted().toList();
+        }
+    }
+
+    /** A clock the test moves by hand. */
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now = Instant.parse("2025-01-06T00:00:00Z");
+        volatile boolean failing;
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            if (failing) {
+                throw new IllegalStateException("clock failed");
+            }
+            return now;
+        }
+    }
+}
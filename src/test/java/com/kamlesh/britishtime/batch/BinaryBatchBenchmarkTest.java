@@ -0,0 +1,107 @@
+package com.kamlesh.britishtime.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.client.BinaryBatchCodec;
+import com.kamlesh.britishtime.client.BinaryBatchCodec.BatchResult;
+import com.kamlesh.britishtime.dtos.SpokenTimeResponse;
+import com.kamlesh.britishtime.service.TimeService;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the binary batch format with JSON for the same batches: payload size both ways and
+ * CPU time for a full client-encode, server-decode, convert, server-encode, client-decode cycle.
+ * The JSON side sends {@code "HH:mm"} strings and gets back the same objects the single-time
+ * endpoint returns. Run with {@code mvn test -Pperf -Dtest=BinaryBatchBenchmarkTest}; set the
+ * batch sizes with {@code -Dbatch.sizes=100,10000,1000000}.
+ */
+@Tag("perf")
+class BinaryBatchBenchmarkTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final TimeService timeService = new TimeServiceImpl(new ChainedBritishTimeFormatter());
+    private final PhraseTable table = CompiledPhraseTable.compile(new ChainedBritishTimeFormatter());
+
+    @Test
+    void binaryIsSmallerAndCheaperThanJson() throws IOException {
+        System.out.printf("%10s %14s %14s %14s %14s%n", "batch", "json bytes", "binary bytes", "json ns/time",
+                "binary ns/time");
+        for (String size : System.getProperty("batch.sizes", "100,10000,1000000").split(",")) {
+            int[] minutes = randomMinutes(Integer.parseInt(size.trim()));
+            long[] json = measure(minutes, this::jsonCycle);
+            long[] binary = measure(minutes, this::binaryCycle);
+            System.out.printf("%10d %14d %14d %14.1f %14.1f%n", minutes.length, json[0], binary[0],
+                    (double) json[1] / minutes.length, (double) binary[1] / minutes.length);
+            assertTrue(binary[0] < json[0], "binary payload should be smaller than JSON");
+        }
+    }
+
+    /** Returns {request + response bytes, best nanoseconds per cycle}. */
+    private long[] measure(int[] minutes, Cycle cycle) throws IOException {
+        int rounds = Math.max(5, 2_000_000 / Math.max(1, minutes.length));
+        long bytes = 0;
+        for (int i = 0; i < rounds; i++) {
+            bytes = cycle.run(minutes);
+        }
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < rounds; i++) {
+            long start = System.nanoTime();
+            cycle.run(minutes);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return new long[] {bytes, best};
+    }
+
+    private long jsonCycle(int[] minutes) throws IOException {
+        String[] times = new String[minutes.length];
+        for (int i = 0; i < minutes.length; i++) {
+            times[i] = String.format("%02d:%02d", minutes[i] / 60, minutes[i] % 60);
+        }
+        byte[] request = objectMapper.writeValueAsBytes(times);
+
+        String[] received = objectMapper.readValue(request, String[].class);
+        SpokenTimeResponse[] converted = new SpokenTimeResponse[received.length];
+        for (int i = 0; i < received.length; i++) {
+            converted[i] = timeService.toSpokenTime(received[i]);
+        }
+        byte[] response = objectMapper.writeValueAsBytes(converted);
+
+        SpokenTimeResponse[] decoded = objectMapper.readValue(response, SpokenTimeResponse[].class);
+        assertEquals(minutes.length, decoded.length);
+        return request.length + response.length;
+    }
+
+    private long binaryCycle(int[] minutes) {
+        byte[] request = BinaryBatchCodec.encodeRequest(minutes);
+
+        short[] received = BinaryBatchCodec.decodeRequest(request, minutes.length);
+        byte[] response = BinaryBatchCodec.encodeResponse(table, received);
+
+        BatchResult decoded = BinaryBatchCodec.decodeResponse(response);
+        assertEquals(minutes.length, decoded.size());
+        return request.length + response.length;
+    }
+
+    private static int[] randomMinutes(int count) {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] minutes = new int[count];
+        for (int i = 0; i < count; i++) {
+            minutes[i] = random.nextInt(PhraseTable.MINUTES_PER_DAY);
+        }
+        return minutes;
+    }
+
+    @FunctionalInterface
+    private interface Cycle {
+        long run(int[] minutes) throws IOException;
+    }
+}
@@ -0,0 +1,88 @@
+package com.kamlesh.britishtime.batch;
+
+import com.kamlesh.britishtime.client.BinaryBatchCodec;
+import com.kamlesh.britishtime.client.BinaryBatchCodec.BatchResult;
+import com.kamlesh.britishtime.exception.InvalidBatchException;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the binary batch codec.
+ */
+class BinaryBatchCodecTest {
+
+    private static final ChainedBritishTimeFormatter CHAIN = new ChainedBritishTimeFormatter();
+    private static final PhraseTable TABLE = CompiledPhraseTable.compile(CHAIN);
+
+    @Test
+    void everyMinuteRoundTripsToTheFormatterPhrase() {
+        int[] minutes = new int[PhraseTable.MINUTES_PER_DAY];
+        Arrays.setAll(minutes, i -> i);
+
+        BatchResult result = roundTrip(minutes);
+
+        assertEquals(minutes.length, result.size());
+        for (int i = 0; i < minutes.length; i++) {
+            assertEquals(CHAIN.format(LocalTime.of(i / 60, i % 60)), result.phrase(i));
+        }
+    }
+
+    @Test
+    void repeatedTimesShareOneDictionaryEntry() {
+        int[] minutes = new int[10_000];
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = i % 2 == 0 ? 3 * 60 + 15 : 15 * 60 + 15;
+        }
+
+        byte[] response = BinaryBatchCodec.encodeResponse(TABLE,
+                BinaryBatchCodec.decodeRequest(BinaryBatchCodec.encodeRequest(minutes), minutes.length));
+        BatchResult result = BinaryBatchCodec.decodeResponse(response);
+
+        assertArrayEquals(new String[] {"quarter past three"}, result.dictionary());
+        assertTrue(response.length < 2 * minutes.length + 64, "response is " + response.length + " bytes");
+    }
+
+    @Test
+    void emptyBatchIsAllowed() {
+        assertEquals(0, roundTrip(new int[0]).size());
+    }
+
+    @Test
+    void malformedRequestsAreRejected() {
+        byte[] valid = BinaryBatchCodec.encodeRequest(new int[] {0, 1, 2});
+
+        assertThrows(InvalidBatchException.class,
+                () -> BinaryBatchCodec.decodeRequest(Arrays.copyOf(valid, valid.length - 1), 10));
+        assertThrows(InvalidBatchException.class, () -> BinaryBatchCodec.decodeRequest(new byte[3], 10));
+        assertThrows(InvalidBatchException.class, () -> BinaryBatchCodec.decodeRequest(valid, 2));
+
+        byte[] badMagic = valid.clone();
+        badMagic[0] = 'X';
+        assertThrows(InvalidBatchException.class, () -> BinaryBatchCodec.decodeRequest(badMagic, 10));
+
+        byte[] outOfRange = valid.clone();
+        outOfRange[outOfRange.length - 2] = (byte) 0xFF;
+        assertThrows(InvalidBatchException.class, () -> BinaryBatchCodec.decodeRequest(outOfRange, 10));
+
+        assertThrows(InvalidBatchException.class, () -> BinaryBatchCodec.encodeRequest(new int[] {1440}));
+    }
+
+    @Test
+    void responseIsNotAcceptedAsRequest() {
+        byte[] response = BinaryBatchCodec.encodeResponse(TABLE, new short[] {1});
+
+        assertThrows(InvalidBatchException.class, () -> BinaryBatchCodec.decodeRequest(response, 10));
+    }
+
+    private static BatchResult roundTrip(int[] minutes) {
+        short[] decoded = BinaryBatchCodec.decodeRequest(BinaryBatchCodec.encodeRequest(minutes), minutes.length);
+        return BinaryBatchCodec.decodeResponse(BinaryBatchCodec.encodeResponse(TABLE, decoded));
+    }
+}
@@ -0,0 +1,107 @@
+package com.kamlesh.britishtime.bulk;
+
+import com.kamlesh.britishtime.service.bulk.ColumnarConverter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for columnar bulk conversion.
+ */
+class ColumnarConverterTest {
+
+    private static final ChainedBritishTimeFormatter CHAIN = new ChainedBritishTimeFormatter();
+
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    void shutdown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void idsAndPhrasesMatchFormatterForEveryMinute() {
+        ColumnarConverter converter = new ColumnarConverter(PhraseTableSource.of(CHAIN), pool, 1 << 16);
+        int[] minutes = new int[1440];
+        for (int i = 0; i < minutes.length; i++) {
+            minutes[i] = i;
+        }
+        short[] ids = new short[minutes.length];
+        String[] phrases = new String[minutes.length];
+
+        String[] dictionary = converter.toPhraseIds(minutes, ids);
+        converter.toPhrases(minutes, phrases);
+
+        for (int i = 0; i < minutes.length; i++) {
+            String expected = CHAIN.format(LocalTime.of(i / 60, i % 60));
+            assertEquals(expected, dictionary[ids[i]]);
+            assertEquals(expected, phrases[i]);
+        }
+    }
+
+    @Test
+    void repeatedPhrasesShareOneString() {
+        ColumnarConverter converter = new ColumnarConverter(PhraseTableSource.of(CHAIN), pool, 1 << 16);
+        String[] phrases = new String[2];
+
+        converter.toPhrases(new int[] {3 * 60 + 15, 15 * 60 + 15}, phrases);
+
+        assertSame(phrases[0], phrases[1]);
+    }
+
+    @Test
+    void outOfRangeValuesAreMarkedInvalid() {
+        ColumnarConverter converter = new ColumnarConverter(PhraseTableSource.of(CHAIN), pool, 1 << 16);
+        int[] minutes = {-1, 1440, 2047, 2048, Integer.MAX_VALUE, Integer.MIN_VALUE, 0};
+        short[] ids = new short[minutes.length];
+        String[] phrases = new String[minutes.length];
+
+        converter.toPhraseIds(minutes, ids);
+        converter.toPhrases(minutes, phrases);
+
+        for (int i = 0; i < minutes.length - 1; i++) {
+            assertEquals(ColumnarConverter.INVALID, ids[i], "value " + minutes[i]);
+            assertNull(phrases[i], "value " + minutes[i]);
+        }
+        assertEquals("midnight", phrases[minutes.length - 1]);
+
+        short[] shortIds = new short[2];
+        converter.toPhraseIds(new short[] {-1, 1440}, shortIds);
+        assertArrayEquals(new short[] {ColumnarConverter.INVALID, ColumnarConverter.INVALID}, shortIds);
+    }
+
+    @Test
+    void parallelSplitMatchesSequentialConversion() {
+        SplittableRandom random = new SplittableRandom(7);
+        int[] minutes = random.ints(1_000_000, -10, 1500).toArray();
+        short[] shortMinutes = new short[minutes.length];
+        for (int i = 0; i < minutes.length; i++) {
+            shortMinutes[i] = (short) minutes[i];
+        }
+        short[] sequential = new short[minutes.length];
+        short[] parallel = new short[minutes.length];
+        short[] parallelFromShorts = new short[minutes.length];
+
+        new ColumnarConverter(PhraseTableSource.of(CHAIN), pool, Integer.MAX_VALUE).toPhraseIds(minutes, sequential);
+        ColumnarConverter splitting = new ColumnarConverter(PhraseTableSource.of(CHAIN), pool, 1024);
+        splitting.toPhraseIds(minutes, parallel);
+        splitting.toPhraseIds(shortMinutes, parallelFromShorts);
+
+        assertArrayEquals(sequential, parallel);
+        assertArrayEquals(sequential, parallelFromShorts);
+    }
+
+    @Test
+    void shortOutputColumnIsRejected() {
+        ColumnarConverter converter = new ColumnarConverter(PhraseTableSource.of(CHAIN), pool, 1 << 16);
+
+        assertThrows(IllegalArgumentException.class, () -> converter.toPhraseIds(new int[3], new short[2]));
+    }
+}
@@ -0,0 +1,82 @@
+package com.kamlesh.britishtime.bulk;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.bulk.ColumnarConverter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures columnar conversion throughput as the fork/join pool grows from one worker to every
+ * core, next to the per-element {@code format(LocalTime)} baseline.
+ * Run with {@code mvn test -Pperf -Dtest=ColumnarScalabilityBenchmarkTest}; set the column
+ * length with {@code -Dbulk.size} (default 20 million) and give the JVM enough heap for it.
+ */
+@Tag("perf")
+class ColumnarScalabilityBenchmarkTest {
+
+    private static final int SIZE = Integer.getInteger("bulk.size", 20_000_000);
+    private static final int ROUNDS = 5;
+
+    @Test
+    void throughputScalesWithCores() {
+        TimeSpokenFormatter chain = new ChainedBritishTimeFormatter();
+        int[] minutes = new SplittableRandom(42).ints(SIZE, 0, 1440).toArray();
+        short[] ids = new short[SIZE];
+        short[] expected = null;
+
+        int baselineSize = Math.min(SIZE, 2_000_000);
+        String[] formatted = new String[baselineSize];
+        long baselineNanos = best(() -> {
+            for (int i = 0; i < baselineSize; i++) {
+                formatted[i] = chain.format(LocalTime.of(minutes[i] / 60, minutes[i] % 60));
+            }
+        });
+        System.out.printf("format(LocalTime) per element: %8.1f M/s%n", baselineSize * 1e3 / baselineNanos);
+
+        List<Integer> parallelisms = new ArrayList<>();
+        for (int p = 1; p < Runtime.getRuntime().availableProcessors(); p *= 2) {
+            parallelisms.add(p);
+        }
+        parallelisms.add(Runtime.getRuntime().availableProcessors());
+
+        double single = 0;
+        for (int parallelism : parallelisms) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                ColumnarConverter converter = new ColumnarConverter(PhraseTableSource.of(chain), pool, 1 << 16);
+                long nanos = best(() -> converter.toPhraseIds(minutes, ids));
+                double rate = SIZE * 1e3 / nanos;
+                single = parallelism == 1 ? rate : single;
+                System.out.printf("columnar, %3d workers:         %8.1f M/s  speed-up %.2fx%n",
+                        parallelism, rate, rate / single);
+                if (expected == null) {
+                    expected = ids.clone();
+                } else {
+                    assertArrayEquals(expected, ids);
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static long best(Runnable work) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            work.run();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,230 @@
+package com.kamlesh.britishtime.clock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kamlesh.britishtime.service.audit.AuditEntry;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.audit.AuditLogReader;
+import com.kamlesh.britishtime.service.clock.ClockSubscription;
+import com.kamlesh.britishtime.service.clock.FrameSink;
+import com.kamlesh.britishtime.service.clock.SpokenClockBroadcaster;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the spoken-clock broadcast: shared encoding, slow-consumer detection, and a
+ * soak run with 50k in-process subscribers (tagged "perf", run with -Pperf).
+ */
+class SpokenClockBroadcasterTest {
+
+    private static final Instant NINE_FIFTEEN = Instant.parse("2025-01-06T09:15:00Z");
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+
+    private SpokenClockBroadcaster broadcaster;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = new SpokenClockBroadcaster(new ChainedBritishTimeFormatter(), new ObjectMapper(),
+                Clock.fixed(NINE_FIFTEEN, ZoneOffset.UTC), 1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void subscriberReceivesCurrentTimeOnSubscribe() throws InterruptedException {
+        RecordingSink sink = new RecordingSink(1);
+        broadcaster.subscribe(LONDON, sink);
+
+        assertTrue(sink.await());
+        String frame = new String(sink.frames.get(0), StandardCharsets.UTF_8);
+        assertTrue(frame.startsWith("id: "));
+        assertTrue(frame.contains("\"spoken\":\"quarter past nine\""));
+        assertTrue(frame.endsWith("\n\n"));
+    }
+
+    @Test
+    void eventIsEncodedOnceAndSharedBetweenSubscribers() throws InterruptedException {
+        RecordingSink first = new RecordingSink(2);
+        RecordingSink second = new RecordingSink(2);
+        broadcaster.subscribe(LONDON, first);
+        broadcaster.subscribe(LONDON, second);
+
+        broadcaster.publish(NINE_FIFTEEN.plusSeconds(60));
+
+        assertTrue(first.await());
+        assertTrue(second.await());
+        assertSame(first.frames.get(1), second.frames.get(1));
+        assertEquals(2, broadcaster.framesEncoded());
+    }
+
+    @Test
+    void slowConsumerIsDroppedWhenByteBudgetIsExceeded() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        BlockingSink slow = new BlockingSink(release);
+        ClockSubscription subscription = broadcaster.subscribe(LONDON, slow);
+
+        for (int i = 1; i <= 50 && !subscription.isClosed(); i++) {
+            broadcaster.publish(NINE_FIFTEEN.plusSeconds(60L * i));
+        }
+        release.countDown();
+
+        assertTrue(subscription.isClosed());
+        assertTrue(slow.closed);
+        assertEquals(1, broadcaster.slowConsumersDropped());
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void eachDeliveredEventIsAuditedForItsClient(@TempDir Path auditDir) throws Exception {
+        List<AuditEntry> entries = new ArrayList<>();
+        try (AuditLog auditLog = AuditLog.builder(auditDir).durability(AuditLog.Durability.ASYNC).build()) {
+            auditLog.start();
+            SpokenClockBroadcaster audited = new SpokenClockBroadcaster(new ChainedBritishTimeFormatter(),
+                    new ObjectMapper(), Clock.fixed(NINE_FIFTEEN, ZoneOffset.UTC), 1024, auditLog);
+            try {
+                RecordingSink sink = new RecordingSink(2);
+                audited.subscribe(LONDON, "listener", sink);
+                audited.publish(NINE_FIFTEEN.plusSeconds(60));
+                assertTrue(sink.await());
+            } finally {
+                audited.close();
+            }
+        }
+        AuditLogReader.readAll(auditDir, entries::add);
+
+        assertEquals(List.of("listener 09:15 Europe/London quarter past nine",
+                        "listener 09:16 Europe/London sixteen past nine"),
+                entries.stream().map(e -> e.client() + " " + e.input() + " " + e.output()).toList());
+    }
+
+    @Test
+    void zoneIsForgottenWhenItsLastSubscriberLeaves() throws InterruptedException {
+        RecordingSink first = new RecordingSink(1);
+        RecordingSink second = new RecordingSink(1);
+        ClockSubscription a = broadcaster.subscribe(LONDON, first);
+        ClockSubscription b = broadcaster.subscribe(ZoneId.of("Asia/Tokyo"), second);
+        assertTrue(first.await());
+        assertTrue(second.await());
+        assertEquals(2, broadcaster.zoneCount());
+
+        broadcaster.unsubscribe(a);
+        assertEquals(1, broadcaster.zoneCount());
+        broadcaster.unsubscribe(b);
+        assertEquals(0, broadcaster.zoneCount());
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    @Tag("perf")
+    void soakWithFiftyThousandSubscribers() throws InterruptedException {
+        int subscribers = 50_000;
+        int minutes = 60;
+        AtomicInteger delivered = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(subscribers * (minutes + 1));
+        FrameSink sink = new FrameSink() {
+            @Override
+            public void write(byte[] frame) {
+                delivered.incrementAndGet();
+                done.countDown();
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        String[] zones = {"Europe/London", "Europe/Paris", "America/New_York", "Asia/Kolkata"};
+        for (int i = 0; i < subscribers; i++) {
+            broadcaster.subscribe(ZoneId.of(zones[i % zones.length]), sink);
+        }
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        com.sun.management.OperatingSystemMXBean os =
+                (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+        long cpuBefore = os.getProcessCpuTime();
+        long wallBefore = System.nanoTime();
+        for (int m = 1; m <= minutes; m++) {
+            broadcaster.publish(NINE_FIFTEEN.plusSeconds(60L * m));
+        }
+        assertTrue(done.await(2, TimeUnit.MINUTES));
+        long cpuNanos = os.getProcessCpuTime() - cpuBefore;
+        long wallNanos = System.nanoTime() - wallBefore;
+        System.gc();
+        long heapUsed = memory.getHeapMemoryUsage().getUsed();
+
+        System.out.printf("spoken-clock soak: %d subscribers, %d ticks, %d frames delivered, %d encoded%n",
+                subscribers, minutes, delivered.get(), broadcaster.framesEncoded());
+        System.out.printf("  cpu %.1f ms (%.2f us/frame), wall %.1f ms, heap after GC %.1f MB%n",
+                cpuNanos / 1e6, cpuNanos / 1e3 / delivered.get(), wallNanos / 1e6, heapUsed / 1048576.0);
+
+        assertEquals(zones.length * (minutes + 1), broadcaster.framesEncoded());
+        assertEquals(0, broadcaster.slowConsumersDropped());
+    }
+
+    private static final class RecordingSink implements FrameSink {
+        private final List<byte[]> frames = new ArrayList<>();
+        private final CountDownLatch latch;
+
+        RecordingSink(int expected) {
+            this.latch = new CountDownLatch(expected);
+        }
+
+        @Override
+        public synchronized void write(byte[] frame) {
+            frames.add(frame);
+            latch.countDown();
+        }
+
+        @Override
+        public void close() {
+        }
+
+        boolean await() throws InterruptedException {
+            return latch.await(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static final class BlockingSink implements FrameSink {
+        private final CountDownLatch release;
+        private volatile boolean closed;
+
+        BlockingSink(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void write(byte[] frame) {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
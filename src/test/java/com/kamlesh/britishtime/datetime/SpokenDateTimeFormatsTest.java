@@ -0,0 +1,89 @@
+package com.kamlesh.britishtime.datetime;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.datetime.SpokenDateTimeFormats;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for spoken times inside {@link DateTimeFormatter} patterns.
+ */
+class SpokenDateTimeFormatsTest {
+
+    private final TimeSpokenFormatter formatter = new ChainedBritishTimeFormatter();
+
+    @Test
+    void printsSpokenTimeAmongOtherFields() {
+        DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("EEEE, 'at' {spoken}", formatter);
+
+        assertEquals("Monday, at quarter past nine", f.format(LocalDateTime.of(2024, 6, 3, 9, 15)));
+        assertEquals("Saturday, at midnight", f.format(LocalDateTime.of(2024, 6, 8, 0, 0)));
+    }
+
+    @Test
+    void parsesSpokenTimeBackWithTheSameFormatter() {
+        DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("EEEE, 'at' {spoken}", formatter);
+
+        TemporalAccessor parsed = f.parse("Monday, at twenty to ten");
+
+        assertEquals(DayOfWeek.MONDAY, DayOfWeek.from(parsed));
+        assertEquals(LocalTime.of(9, 40), LocalTime.from(parsed));
+    }
+
+    @Test
+    void amPmMarkerDisambiguatesTwelveHourPhrases() {
+        DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("{spoken} a", formatter);
+
+        for (int minute = 0; minute < 1440; minute++) {
+            LocalTime time = LocalTime.of(minute / 60, minute % 60);
+            String text = f.format(time);
+            assertEquals(time, LocalTime.parse(text, f), text);
+        }
+    }
+
+    @Test
+    void unambiguousStyleRoundTripsWithoutMarker() {
+        DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("{spoken}", formatter, SpokenStyle.DAY_PART,
+                Locale.UK);
+
+        for (int minute = 0; minute < 1440; minute++) {
+            LocalTime time = LocalTime.of(minute / 60, minute % 60);
+            assertEquals(time, LocalTime.parse(f.format(time), f), f.format(time));
+        }
+        assertEquals("quarter past nine in the evening", f.format(LocalTime.of(21, 15)));
+    }
+
+    @Test
+    void sharedPhraseWithoutMarkerParsesAsMorning() {
+        DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("{spoken}", formatter);
+
+        assertEquals("quarter past nine", f.format(LocalTime.of(21, 15)));
+        assertEquals(9 * 60 + 15, f.parse("quarter past nine").getLong(ChronoField.MINUTE_OF_DAY));
+    }
+
+    @Test
+    void quotedPlaceholderIsLiteral() {
+        DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("'{spoken}' HH:mm", formatter);
+
+        assertEquals("{spoken} 09:15", f.format(LocalTime.of(9, 15)));
+    }
+
+    @Test
+    void unknownPhraseFailsToParse() {
+        DateTimeFormatter f = SpokenDateTimeFormats.ofPattern("'at' {spoken}", formatter);
+
+        assertThrows(DateTimeParseException.class, () -> f.parse("at teatime"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.kamlesh.britishtime.diagnostics;
+
+import com.kamlesh.britishtime.exception.InvalidTimeFormatException;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the custom JFR events are emitted with the expected fields.
+ */
+class FlightRecorderEventsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void conversionEmitsParseRuleSelectionAndConversionEvents() throws IOException {
+        TimeServiceImpl service = new TimeServiceImpl(new ChainedBritishTimeFormatter());
+
+        List<RecordedEvent> events = record(() -> service.toSpokenTime("09:15"));
+
+        RecordedEvent parse = single(events, "com.kamlesh.britishtime.TimeParse");
+        assertEquals("09:15", parse.getString("input"));
+        assertTrue(parse.getBoolean("valid"));
+
+        RecordedEvent rule = single(events, "com.kamlesh.britishtime.RuleSelection");
+        assertEquals("QuarterPastFormatter", rule.getString("rule"));
+        assertEquals(4, rule.getInt("linksWalked"));
+        assertEquals(9 * 60 + 15, rule.getInt("minuteOfDay"));
+
+        RecordedEvent conversion = single(events, "com.kamlesh.britishtime.SpokenTimeConversion");
+        assertEquals("quarter past nine", conversion.getString("spoken"));
+        assertTrue(conversion.getBoolean("succeeded"));
+    }
+
+    @Test
+    void invalidInputIsRecordedAsFailedParseAndConversion() throws IOException {
+        TimeServiceImpl service = new TimeServiceImpl(new ChainedBritishTimeFormatter());
+
+        List<RecordedEvent> events = record(() -> assertThrows(InvalidTimeFormatException.class,
+                () -> service.toSpokenTime("25:00")));
+
+        assertFalse(single(events, "com.kamlesh.britishtime.TimeParse").getBoolean("valid"));
+        assertFalse(single(events, "com.kamlesh.britishtime.SpokenTimeConversion").getBoolean("succeeded"));
+    }
+
+    @Test
+    void errorEventCarriesStatusAndPath() throws IOException {
+        List<RecordedEvent> events = record(() -> ConversionErrorEvent.emit(
+                new InvalidTimeFormatException("bad"), 400, "/api/time/spoken"));
+
+        RecordedEvent error = single(events, "com.kamlesh.britishtime.ConversionError");
+        assertEquals(InvalidTimeFormatException.class.getName(), error.getString("exceptionType"));
+        assertEquals(400, error.getInt("status"));
+        assertEquals("/api/time/spoken", error.getString("path"));
+    }
+
+    private List<RecordedEvent> record(Runnable action) throws IOException {
+        Path file = tempDir.resolve("events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(TimeParseEvent.class);
+            recording.enable(RuleSelectionEvent.class);
+            recording.enable(SpokenTimeConversionEvent.class);
+            recording.enable(ConversionErrorEvent.class);
+            recording.start();
+            action.run();
+            recording.stop();
+            recording.dump(file);
+        }
+        return RecordingFile.readAllEvents(file);
+    }
+
+    private static RecordedEvent single(List<RecordedEvent> events, String name) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .toList();
+        assertEquals(1, matching.size(), name);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,134 @@
+package com.kamlesh.britishtime.epoch;
+
+import com.kamlesh.britishtime.service.epoch.EpochTimeConverter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableSource;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks epoch-millisecond conversion against {@code ZonedDateTime} for every available zone,
+ * around every transition in the window and outside it.
+ */
+class EpochTimeConverterTest {
+
+    private static final Clock FIXED = Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZoneOffset.UTC);
+    private static final long WINDOW_MILLIS = 366L * 5 * 86_400_000L;
+
+    private final PhraseTable table = CompiledPhraseTable.compile(new ChainedBritishTimeFormatter());
+    private final PhraseTableSource source = () -> table;
+    private final EpochTimeConverter converter = new EpochTimeConverter(source, FIXED, 5);
+
+    @Test
+    void matchesJavaTimeAroundEveryTransitionInEveryZone() {
+        long windowStart = FIXED.millis() - WINDOW_MILLIS;
+        long windowEnd = FIXED.millis() + WINDOW_MILLIS;
+        long[] deltas = {-60_000, -1, 0, 1, 60_000};
+        for (String id : ZoneId.getAvailableZoneIds()) {
+            ZoneId zone = ZoneId.of(id);
+            ZoneRules rules = zone.getRules();
+            Instant from = Instant.ofEpochMilli(windowStart - 86_400_000L);
+            for (ZoneOffsetTransition t = rules.nextTransition(from);
+                    t != null && t.getInstant().toEpochMilli() < windowEnd + 86_400_000L;
+                    t = rules.nextTransition(t.getInstant())) {
+                for (long delta : deltas) {
+                    assertConverts(t.getInstant().toEpochMilli() + delta, zone);
+                }
+            }
+            for (long edge : new long[] {windowStart, windowEnd}) {
+                for (long delta : deltas) {
+                    assertConverts(edge + delta, zone);
+                }
+            }
+        }
+    }
+
+    @Test
+    void matchesJavaTimeForRandomInstantsInsideAndOutsideTheWindow() {
+        SplittableRandom random = new SplittableRandom(41);
+        List<ZoneId> zones = ZoneId.getAvailableZoneIds().stream().sorted().map(ZoneId::of).toList();
+        long range = 300L * 366 * 86_400_000L;
+        for (int i = 0; i < 200_000; i++) {
+            long millis = random.nextLong(-range, range);
+            assertConverts(millis, zones.get(random.nextInt(zones.size())));
+        }
+    }
+
+    @Test
+    void negativeMillisRoundTowardsEarlierMinute() {
+        assertEquals(23 * 60 + 59, converter.minuteOfDay(-1, ZoneOffset.UTC));
+        assertEquals(23 * 60 + 59, converter.minuteOfDay(-60_000, ZoneId.of("UTC")));
+        assertEquals(23 * 60 + 58, converter.minuteOfDay(-60_001, ZoneId.of("UTC")));
+    }
+
+    @Test
+    void bulkConversionMatchesSingleConversionForSortedAndShuffledInput() {
+        ZoneId london = ZoneId.of("Europe/London");
+        long start = Instant.parse("2023-01-01T00:00:00Z").toEpochMilli();
+        long[] sorted = new long[100_000];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = start + i * 7L * 60_000L + i;
+        }
+        long[] shuffled = sorted.clone();
+        Random random = new Random(7);
+        for (int i = shuffled.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long swap = shuffled[i];
+            shuffled[i] = shuffled[j];
+            shuffled[j] = swap;
+        }
+        for (long[] input : List.of(sorted, shuffled)) {
+            String[] phrases = converter.spoken(input, london);
+            for (int i = 0; i < input.length; i++) {
+                assertEquals(converter.spoken(input[i], london), phrases[i]);
+            }
+        }
+    }
+
+    @Test
+    void bulkConversionHandlesFixedOffsetZones() {
+        long[] millis = {0, 1_700_000_000_000L, -1};
+        int[] minutes = new int[3];
+        converter.minutesOfDay(millis, ZoneOffset.ofHoursMinutes(5, 30), minutes);
+        assertArrayEquals(new int[] {330, (int) ((1_700_000_000_000L / 60_000 + 330) % 1440), 329}, minutes);
+        assertEquals(0, converter.cachedZones());
+    }
+
+    @Test
+    void streamConversionKeepsOrder() {
+        ZoneId zone = ZoneId.of("America/New_York");
+        long[] millis = LongStream.range(0, 5_000).map(i -> 1_699_000_000_000L + i * 3_600_000L).toArray();
+        assertArrayEquals(converter.spoken(millis, zone), converter.spoken(LongStream.of(millis), zone).toArray());
+    }
+
+    @Test
+    void bulkOutputMustHoldEveryValue() {
+        assertThrows(IllegalArgumentException.class,
+                () -> converter.minutesOfDay(new long[3], ZoneOffset.UTC, new int[2]));
+    }
+
+    private void assertConverts(long millis, ZoneId zone) {
+        LocalTime expected = ZonedDateTime.ofInstant(Instant.ofEpochMilli(millis), zone).toLocalTime();
+        int expectedMinute = expected.getHour() * 60 + expected.getMinute();
+        assertEquals(expectedMinute, converter.minuteOfDay(millis, zone), () -> zone + " at " + millis);
+        int[] bulk = new int[1];
+        converter.minutesOfDay(new long[] {millis}, zone, bulk);
+        assertEquals(expectedMinute, bulk[0], () -> zone + " at " + millis + " (bulk)");
+    }
+}
@@ -123,4 +123,12 @@ class ChainedBritishTimeFormatterImplTest {
         ChainedBritishTimeFormatterImpl.Builder builder = new ChainedBritishTimeFormatterImpl.Builder();
         assertThrows(IllegalStateException.class, builder::build);
     }
+
+    @Test
+    void testCyclicChainIsRejected() {
+        MidnightFormatterImpl midnight = new MidnightFormatterImpl();
+        midnight.setNext(new NoonFormatterImpl()).setNext(midnight);
+
+        assertThrows(IllegalArgumentException.class, () -> new ChainedBritishTimeFormatterImpl(midnight));
+    }
 }
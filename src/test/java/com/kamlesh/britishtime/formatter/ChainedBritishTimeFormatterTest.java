@@ -133,4 +133,12 @@ class ChainedBritishTimeFormatterTest {
         ChainedBritishTimeFormatter.Builder builder = new ChainedBritishTimeFormatter.Builder();
         assertThrows(IllegalStateException.class, builder::build);
     }
+
+    @Test
+    void testCyclicChainIsRejected() {
+        MidnightFormatter midnight = new MidnightFormatter();
+        midnight.setNext(new NoonFormatter()).setNext(midnight);
+
+        assertThrows(IllegalArgumentException.class, () -> new ChainedBritishTimeFormatter(midnight));
+    }
 }
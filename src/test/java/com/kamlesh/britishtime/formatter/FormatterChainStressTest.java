@@ -0,0 +1,178 @@
+package com.kamlesh.britishtime.formatter;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.formatter.FormatterChain;
+import com.kamlesh.britishtime.service.formatter.MidnightFormatter;
+import com.kamlesh.britishtime.service.formatter.MinutesPastFormatter;
+import com.kamlesh.britishtime.service.formatter.MinutesToFormatter;
+import com.kamlesh.britishtime.service.formatter.NoonFormatter;
+import com.kamlesh.britishtime.service.formatter.OClockFormatter;
+import org.junit.jupiter.api.Test;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Concurrency tests for immutable formatter chains, in the style of jcstress: actors race on
+ * shared state without synchronization, every observed outcome is counted, and the test fails
+ * if any forbidden outcome was seen. Run longer with {@code -Dstress.rounds=...}.
+ */
+class FormatterChainStressTest {
+
+    private static final int ROUNDS = Integer.getInteger("stress.rounds", 20_000);
+    private static final LocalTime[] PROBES = {
+            LocalTime.MIDNIGHT, LocalTime.NOON, LocalTime.of(3, 0), LocalTime.of(7, 25), LocalTime.of(9, 40)
+    };
+    private static final String[] EXPECTED = {
+            "midnight", "noon", "three o'clock", "twenty five past seven", "twenty to ten"
+    };
+
+    private static final VarHandle CHAIN;
+
+    static {
+        try {
+            CHAIN = MethodHandles.lookup().findVarHandle(Slot.class, "chain", TimeSpokenFormatter.class);
+        } catch (ReflectiveOperationException ex) {
+            throw new ExceptionInInitializerError(ex);
+        }
+    }
+
+    /** One round's shared state; the reference is written and read without ordering. */
+    static final class Slot {
+        TimeSpokenFormatter chain;
+    }
+
+    @Test
+    void chainPublishedThroughRaceIsAlwaysComplete() throws Exception {
+        Slot[] slots = new Slot[ROUNDS];
+        for (int i = 0; i < ROUNDS; i++) {
+            slots[i] = new Slot();
+        }
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+
+        try (ExecutorService actors = Executors.newFixedThreadPool(2)) {
+            Future<?> writer = actors.submit(() -> {
+                for (Slot slot : slots) {
+                    CHAIN.setOpaque(slot, new ChainedBritishTimeFormatter.Builder()
+                            .addFormatter(new MidnightFormatter())
+                            .addFormatter(new NoonFormatter())
+                            .addFormatter(new OClockFormatter())
+                            .addFormatter(new MinutesPastFormatter())
+                            .addFormatter(new MinutesToFormatter())
+                            .build());
+                }
+            });
+            Future<?> reader = actors.submit(() -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    TimeSpokenFormatter chain;
+                    while ((chain = (TimeSpokenFormatter) CHAIN.getOpaque(slots[round])) == null) {
+                        Thread.onSpinWait();
+                    }
+                    int probe = round % PROBES.length;
+                    outcomes.computeIfAbsent(observe(chain, probe), k -> new LongAdder()).increment();
+                }
+            });
+            writer.get();
+            reader.get();
+        }
+
+        assertEquals(Set.of("OK"), outcomes.keySet(), () -> "Outcomes: " + outcomes);
+    }
+
+    @Test
+    void concurrentBuildersSharingRuleInstancesDoNotRelinkEachOther() throws Exception {
+        MidnightFormatter midnight = new MidnightFormatter();
+        NoonFormatter noon = new NoonFormatter();
+        OClockFormatter oClock = new OClockFormatter();
+        MinutesPastFormatter minutesPast = new MinutesPastFormatter();
+        MinutesToFormatter minutesTo = new MinutesToFormatter();
+        Map<String, LongAdder> outcomes = new ConcurrentHashMap<>();
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        try (ExecutorService actors = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                boolean full = t % 2 == 0;
+                actors.submit(() -> {
+                    for (int round = 0; round < ROUNDS / 10; round++) {
+                        ChainedBritishTimeFormatter.Builder builder = new ChainedBritishTimeFormatter.Builder()
+                                .addFormatter(midnight)
+                                .addFormatter(noon);
+                        if (full) {
+                            builder.addFormatter(oClock).addFormatter(minutesPast).addFormatter(minutesTo);
+                        }
+                        TimeSpokenFormatter chain = builder.build();
+                        int probe = round % PROBES.length;
+                        String outcome = observe(chain, probe);
+                        // a short chain must never pick up links from a full one
+                        if (!full && probe >= 2) {
+                            outcome = outcome.equals("REJECTED") ? "OK" : "RELINKED";
+                        }
+                        outcomes.computeIfAbsent(outcome, k -> new LongAdder()).increment();
+                    }
+                });
+            }
+        }
+
+        assertEquals(Set.of("OK"), outcomes.keySet(), () -> "Outcomes: " + outcomes);
+    }
+
+    @Test
+    void builderDoesNotRelinkSharedInstances() {
+        NoonFormatter noon = new NoonFormatter();
+        TimeSpokenFormatter shortChain = new ChainedBritishTimeFormatter.Builder()
+                .addFormatter(new MidnightFormatter())
+                .addFormatter(noon)
+                .build();
+        new ChainedBritishTimeFormatter.Builder()
+                .addFormatter(noon)
+                .addFormatter(new OClockFormatter())
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> shortChain.format(LocalTime.of(3, 0)));
+    }
+
+    @Test
+    void sameInstanceTwiceIsRejected() {
+        NoonFormatter noon = new NoonFormatter();
+        ChainedBritishTimeFormatter.Builder builder = new ChainedBritishTimeFormatter.Builder()
+                .addFormatter(noon)
+                .addFormatter(noon);
+
+        assertThrows(IllegalArgumentException.class, builder::build);
+    }
+
+    @Test
+    void linkedChainIsCopiedOnConstruction() {
+        MidnightFormatter midnight = new MidnightFormatter();
+        midnight.setNext(new NoonFormatter());
+        TimeSpokenFormatter chain = new ChainedBritishTimeFormatter(midnight);
+
+        midnight.setNext(new OClockFormatter());
+
+        assertEquals("noon", chain.format(LocalTime.NOON));
+        assertThrows(IllegalStateException.class, () -> chain.format(LocalTime.of(3, 0)));
+        assertEquals(2, FormatterChain.copyOf(midnight).rules().size());
+    }
+
+    private static String observe(TimeSpokenFormatter chain, int probe) {
+        try {
+            String phrase = chain.format(PROBES[probe]);
+            return phrase.equals(EXPECTED[probe]) ? "OK" : "WRONG: " + phrase;
+        } catch (IllegalStateException ex) {
+            return "REJECTED";
+        } catch (RuntimeException ex) {
+            return ex.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+package com.kamlesh.britishtime.job;
+
+import com.kamlesh.britishtime.exception.InvalidBatchException;
+import com.kamlesh.britishtime.exception.ServiceOverloadedException;
+import com.kamlesh.britishtime.service.audit.AuditEntry;
+import com.kamlesh.britishtime.service.audit.AuditLog;
+import com.kamlesh.britishtime.service.audit.AuditLogReader;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.job.ConversionJob;
+import com.kamlesh.britishtime.service.job.JobManager;
+import com.kamlesh.britishtime.service.job.JobStatus;
+import com.kamlesh.britishtime.service.limit.Bulkhead;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for asynchronous conversion jobs: chunked conversion to disk, progress, queue limits,
+ * resuming after a restart and expiry.
+ */
+class JobManagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicLong now = new AtomicLong(1_700_000_000_000L);
+    private final Clock clock = new Clock() {
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(now.get());
+        }
+    };
+
+    @Test
+    void convertsEveryLineInChunks() throws Exception {
+        StringBuilder input = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        ChainedBritishTimeFormatter formatter = new ChainedBritishTimeFormatter();
+        for (int i = 0; i < 5000; i++) {
+            int minute = (i * 7) % 1440;
+            input.append(String.format("%02d:%02d%n", minute / 60, minute % 60));
+            expected.append(formatter.format(LocalTime.of(minute / 60, minute % 60))).append('\n');
+        }
+
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            ConversionJob job = jobs.submit(stream(input.toString()));
+            ConversionJob done = await(jobs, job.id());
+
+            assertEquals(JobStatus.COMPLETED, done.status());
+            assertEquals(5000, done.lines());
+            assertEquals(0, done.invalidLines());
+            assertEquals(1.0, done.progress(), 0.0);
+            assertEquals(expected.toString(), Files.readString(jobs.result(job.id())));
+            assertEquals(5000, jobs.linesConverted());
+        }
+    }
+
+    @Test
+    void invalidLinesGiveEmptyResultLines() throws Exception {
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            ConversionJob job = jobs.submit(stream("09:15\r\n24:00\nnoon\n\n00:00"));
+            ConversionJob done = await(jobs, job.id());
+
+            assertEquals(5, done.lines());
+            assertEquals(3, done.invalidLines());
+            assertEquals("quarter past nine\n\n\n\nmidnight\n", Files.readString(jobs.result(job.id())));
+        }
+    }
+
+    @Test
+    void lineLongerThanChunkFailsTheJob() throws Exception {
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            ConversionJob job = jobs.submit(stream("09:15\n" + "x".repeat(200) + "\n"));
+            ConversionJob done = await(jobs, job.id());
+
+            assertEquals(JobStatus.FAILED, done.status());
+            assertTrue(done.error().contains("longer than"), done.error());
+            assertNull(jobs.result(job.id()));
+        }
+    }
+
+    @Test
+    void oversizedInputIsRefusedAndNotKept() throws Exception {
+        try (JobManager jobs = new JobManager(tempDir, new ChainedBritishTimeFormatter(),
+                new Bulkhead("jobs", 1, 10, 1), 64, 10, Duration.ofHours(1), Duration.ofHours(1), clock)) {
+            jobs.start();
+            assertThrows(InvalidBatchException.class, () -> jobs.submit(stream("09:15\n10:30\n")));
+            assertEquals(0, jobs.jobCount());
+            try (var files = Files.list(tempDir)) {
+                assertEquals(0, files.count());
+            }
+        }
+    }
+
+    @Test
+    void fullQueueRefusesSubmission() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Bulkhead pool = new Bulkhead("jobs", 1, 1, 1);
+        pool.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        try (JobManager jobs = new JobManager(tempDir, new ChainedBritishTimeFormatter(), pool, 64, 1 << 20,
+                Duration.ofHours(1), Duration.ofHours(1), clock)) {
+            jobs.start();
+            ConversionJob queued = jobs.submit(stream("09:15\n"));
+            assertThrows(ServiceOverloadedException.class, () -> jobs.submit(stream("10:30\n")));
+            assertEquals(1, jobs.jobCount());
+
+            release.countDown();
+            assertEquals(JobStatus.COMPLETED, await(jobs, queued.id()).status());
+        }
+    }
+
+    @Test
+    void unfinishedJobResumesFromCheckpointAfterRestart() throws Exception {
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            String id = await(jobs, jobs.submit(stream("09:15\n10:30\n11:45\n")).id()).id();
+            // rewind the job to its first checkpoint, as if the process had died there with
+            // some result bytes written after the checkpoint
+            Path metadata = tempDir.resolve(id + ".job");
+            Properties properties = new Properties();
+            try (var reader = Files.newBufferedReader(metadata)) {
+                properties.load(reader);
+            }
+            properties.setProperty("status", "RUNNING");
+            properties.setProperty("inputPosition", "6");
+            properties.setProperty("outputPosition", "18");
+            properties.setProperty("lines", "1");
+            properties.setProperty("finished", "0");
+            try (var writer = Files.newBufferedWriter(metadata)) {
+                properties.store(writer, null);
+            }
+            Files.writeString(jobs.result(id), "quarter past nine\nhalf past ten\nGARBAGE");
+        }
+
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            String id;
+            try (var files = Files.list(tempDir)) {
+                id = files.map(p -> p.getFileName().toString()).filter(n -> n.endsWith(".job"))
+                        .findFirst().orElseThrow().replace(".job", "");
+            }
+            ConversionJob done = await(jobs, id);
+            assertEquals(JobStatus.COMPLETED, done.status());
+            assertEquals(3, done.lines());
+            assertEquals("quarter past nine\nhalf past ten\nquarter to twelve\n", Files.readString(jobs.result(id)));
+        }
+    }
+
+    @Test
+    void finishedJobsSurviveRestartAndExpireAfterRetention() throws Exception {
+        String id;
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            id = await(jobs, jobs.submit(stream("12:00\n")).id()).id();
+        }
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            ConversionJob restored = jobs.get(id);
+            assertEquals(JobStatus.COMPLETED, restored.status());
+            assertEquals(restored.finishedMillis() + Duration.ofHours(1).toMillis(), jobs.expiresAtMillis(restored));
+
+            now.addAndGet(Duration.ofMinutes(59).toMillis());
+            assertEquals(0, jobs.expire());
+            now.addAndGet(Duration.ofMinutes(1).toMillis());
+            assertEquals(1, jobs.expire());
+            assertNull(jobs.get(id));
+            try (var files = Files.list(tempDir)) {
+                assertEquals(0, files.count());
+            }
+        }
+    }
+
+    @Test
+    void deletedJobIsGone() throws Exception {
+        try (JobManager jobs = manager(1, 10)) {
+            jobs.start();
+            String id = await(jobs, jobs.submit(stream("12:00\n")).id()).id();
+
+            assertTrue(jobs.delete(id));
+            assertFalse(jobs.delete(id));
+            assertNull(jobs.get(id));
+            assertNull(jobs.result(id));
+        }
+    }
+
+    @Test
+    void validLinesAreAuditedUnderTheJobId() throws Exception {
+        Path auditDir = tempDir.resolve("audit");
+        try (AuditLog auditLog = AuditLog.builder(auditDir).durability(AuditLog.Durability.ASYNC).build()) {
+            auditLog.start();
+            String id;
+            try (JobManager jobs = new JobManager(tempDir.resolve("jobs"), new ChainedBritishTimeFormatter(),
+                    new Bulkhead("jobs", 1, 10, 1), 64, 1 << 20, Duration.ofHours(1), Duration.ofHours(1), clock,
+                    auditLog)) {
+                jobs.start();
+                id = await(jobs, jobs.submit(stream("07:30\nnot a time\n12:00\n")).id()).id();
+            }
+            auditLog.close();
+
+            List<AuditEntry> entries = new ArrayList<>();
+            AuditLogReader.readAll(auditDir, entries::add);
+            assertEquals(List.of("07:30 half past seven", "12:00 noon"),
+                    entries.stream().map(e -> e.input() + " " + e.output()).toList());
+            assertTrue(entries.stream().allMatch(e -> e.client().equals("job:" + id)));
+        }
+    }
+
+    private JobManager manager(int workers, int maxQueued) {
+        return new JobManager(tempDir, new ChainedBritishTimeFormatter(), new Bulkhead("jobs", workers, maxQueued, 1),
+                64, 1 << 20, Duration.ofHours(1), Duration.ofHours(1), clock);
+    }
+
+    private static ByteArrayInputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ConversionJob await(JobManager jobs, String id) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            ConversionJob job = jobs.get(id);
+            if (job != null && job.status().isFinished()) {
+                return job;
+            }
+            Thread.sleep(5);
+        }
+        fail("Job " + id + " did not finish");
+        return null;
+    }
+}
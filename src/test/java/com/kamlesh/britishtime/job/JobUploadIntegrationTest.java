@@ -0,0 +1,72 @@
+package com.kamlesh.britishtime.job;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that multipart job uploads work under the {@code lowmem} profile and are capped at
+ * {@code app.jobs.max-input-bytes}.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "app.jobs.max-input-bytes=64")
+@ActiveProfiles("lowmem")
+class JobUploadIntegrationTest {
+
+    @TempDir
+    static Path jobDir;
+
+    @DynamicPropertySource
+    static void jobDirectory(DynamicPropertyRegistry registry) {
+        registry.add("app.jobs.dir", jobDir::toString);
+    }
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Test
+    void uploadIsAccepted() {
+        assertEquals(HttpStatus.ACCEPTED, upload("07:35\n12:00\n").getStatusCode());
+    }
+
+    @Test
+    void uploadLargerThanTheInputLimitIsRejected() {
+        assertEquals(HttpStatus.BAD_REQUEST, upload("07:35\n".repeat(20)).getStatusCode());
+    }
+
+    private ResponseEntity<String> upload(String content) {
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        parts.add("file", new ByteArrayResource(content.getBytes(StandardCharsets.US_ASCII)) {
+            @Override
+            public String getFilename() {
+                return "times.txt";
+            }
+        });
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+        return restTemplate.postForEntity("http://localhost:" + port + "/api/jobs",
+                new HttpEntity<>(parts, headers), String.class);
+    }
+}
@@ -0,0 +1,140 @@
+package com.kamlesh.britishtime.limit;
+
+import com.kamlesh.britishtime.exception.ServiceOverloadedException;
+import com.kamlesh.britishtime.service.limit.Bulkhead;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for bulkhead admission, chunked jobs and queue-wait accounting.
+ */
+class BulkheadTest {
+
+    @Test
+    void chunksCoverTheRangeInOrder() throws Exception {
+        try (Bulkhead bulkhead = new Bulkhead("test", 2, 4, 1)) {
+            List<int[]> ranges = Collections.synchronizedList(new ArrayList<>());
+
+            bulkhead.submitChunked(10, 4, (from, to) -> ranges.add(new int[] {from, to})).get(5, TimeUnit.SECONDS);
+
+            assertEquals(3, ranges.size());
+            assertArrayEquals(new int[] {0, 4}, ranges.get(0));
+            assertArrayEquals(new int[] {4, 8}, ranges.get(1));
+            assertArrayEquals(new int[] {8, 10}, ranges.get(2));
+            assertNull(bulkhead.submitChunked(0, 4, (from, to) -> { }).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void jobsSharingOneWorkerTakeTurnsBetweenChunks() throws Exception {
+        try (Bulkhead bulkhead = new Bulkhead("test", 1, 4, 1)) {
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<String> blocker = bulkhead.submit(() -> {
+                await(release);
+                return "done";
+            });
+            List<String> order = Collections.synchronizedList(new ArrayList<>());
+            CompletableFuture<Void> a = bulkhead.submitChunked(3, 1, (from, to) -> order.add("a" + from));
+            CompletableFuture<Void> b = bulkhead.submitChunked(3, 1, (from, to) -> order.add("b" + from));
+            release.countDown();
+
+            CompletableFuture.allOf(blocker, a, b).get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("a0", "b0", "a1", "b1", "a2", "b2"), order);
+        }
+    }
+
+    @Test
+    void refusesJobsOnceTheQueueIsFull() throws Exception {
+        try (Bulkhead bulkhead = new Bulkhead("test", 1, 2, 7)) {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Integer> running = bulkhead.submit(() -> {
+                started.countDown();
+                await(release);
+                return 1;
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            CompletableFuture<Integer> queued1 = bulkhead.submit(() -> 2);
+            CompletableFuture<Void> queued2 = bulkhead.submitChunked(100, 10, (from, to) -> { });
+
+            ServiceOverloadedException refused =
+                    assertThrows(ServiceOverloadedException.class, () -> bulkhead.submit(() -> 3));
+            assertEquals(7, refused.getRetryAfterSeconds());
+            assertEquals(1, bulkhead.rejectedCount());
+            assertEquals(2, bulkhead.queueDepth());
+
+            release.countDown();
+            assertEquals(1, (int) running.get(5, TimeUnit.SECONDS));
+            assertEquals(2, (int) queued1.get(5, TimeUnit.SECONDS));
+            queued2.get(5, TimeUnit.SECONDS);
+            // once the jobs have started, new ones are admitted again
+            assertEquals(4, (int) bulkhead.submit(() -> 4).get(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    void failingChunkEndsTheJob() throws Exception {
+        try (Bulkhead bulkhead = new Bulkhead("test", 1, 4, 1)) {
+            List<Integer> ran = Collections.synchronizedList(new ArrayList<>());
+            CompletableFuture<Void> job = bulkhead.submitChunked(5, 1, (from, to) -> {
+                ran.add(from);
+                if (from == 2) {
+                    throw new IllegalStateException("chunk " + from);
+                }
+            });
+
+            ExecutionException ex = assertThrows(ExecutionException.class, () -> job.get(5, TimeUnit.SECONDS));
+            assertTrue(ex.getCause() instanceof IllegalStateException);
+            assertEquals(List.of(0, 1, 2), ran);
+        }
+    }
+
+    @Test
+    void measuresTimeSpentQueued() throws Exception {
+        try (Bulkhead bulkhead = new Bulkhead("test", 1, 4, 1)) {
+            LongAccumulator maxWait = new LongAccumulator(Math::max, 0);
+            bulkhead.setWaitListener(maxWait::accumulate);
+            CountDownLatch release = new CountDownLatch(1);
+            CompletableFuture<Boolean> blocker = bulkhead.submit(() -> await(release));
+            CompletableFuture<Integer> waiting = bulkhead.submit(() -> 1);
+            Thread.sleep(50);
+            release.countDown();
+            CompletableFuture.allOf(blocker, waiting).get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, bulkhead.waitCount());
+            assertTrue(bulkhead.totalWaitNanos() >= TimeUnit.MILLISECONDS.toNanos(50));
+            assertTrue(maxWait.get() >= TimeUnit.MILLISECONDS.toNanos(50));
+        }
+    }
+
+    @Test
+    void jobRefusedAfterShutdownIsNotCountedAsQueued() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, 1, 1);
+        bulkhead.close();
+
+        assertThrows(RejectedExecutionException.class, () -> bulkhead.submit(() -> 1));
+        // the refused job gave its queue place back, so the next one is refused the same way
+        assertThrows(RejectedExecutionException.class, () -> bulkhead.submit(() -> 1));
+        assertEquals(0, bulkhead.rejectedCount());
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kamlesh.britishtime.limit;
+
+import com.kamlesh.britishtime.handler.ClientIdFilter;
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that the client id header is only believed from a trusted proxy.
+ */
+class ClientIdFilterTest {
+
+    private final ClientIdFilter filter = new ClientIdFilter(Set.of("10.0.0.1"));
+
+    @Test
+    void directCallerIsItsRemoteAddress() throws Exception {
+        assertEquals("192.0.2.7", clientOf("192.0.2.7", "someone-else"));
+    }
+
+    @Test
+    void trustedProxySetsTheClient() throws Exception {
+        assertEquals("tenant-42", clientOf("10.0.0.1", "tenant-42"));
+        assertEquals("10.0.0.1", clientOf("10.0.0.1", null));
+    }
+
+    private String clientOf(String remoteAddress, String header) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/time/spoken");
+        request.setRemoteAddr(remoteAddress);
+        if (header != null) {
+            request.addHeader(LoadSheddingInterceptor.CLIENT_ID_HEADER, header);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return LoadSheddingInterceptor.clientId(request);
+    }
+}
@@ -0,0 +1,102 @@
+package com.kamlesh.britishtime.limit;
+
+import com.kamlesh.britishtime.handler.LoadSheddingInterceptor;
+import com.kamlesh.britishtime.service.limit.AdaptiveConcurrencyLimiter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that quota and concurrency rejections reach the client as 429 and 503 responses with
+ * a {@code Retry-After} header, through the registered interceptor and exception handler.
+ */
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = {
+        "app.client-id.trusted-proxies=127.0.0.1,0:0:0:0:0:0:0:1",
+        "app.limiter.client-rate-per-second=0.1",
+        "app.limiter.client-burst=1",
+        "app.limiter.initial-limit=1",
+        "app.limiter.min-limit=1",
+        "app.limiter.max-limit=1",
+        "app.limiter.overload-retry-after-seconds=7"
+})
+class LoadSheddingIntegrationTest {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    AdaptiveConcurrencyLimiter limiter;
+
+    @Test
+    void exhaustedQuotaIsRejectedWith429AndRetryAfter() {
+        assertEquals(HttpStatus.OK, get("quota-client").getStatusCode());
+
+        ResponseEntity<String> rejected = get("quota-client");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getStatusCode());
+        long retryAfter = Long.parseLong(rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertTrue(retryAfter >= 1 && retryAfter <= 10, "Retry-After " + retryAfter);
+    }
+
+    @Test
+    void fullConcurrencyLimitIsRejectedWith503AndRetryAfter() {
+        assertTrue(limiter.tryAcquire());
+        try {
+            ResponseEntity<String> rejected = get("limit-client");
+
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.getStatusCode());
+            assertEquals("7", rejected.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        } finally {
+            limiter.release(0);
+        }
+    }
+
+    @Test
+    void requestRejectedByTheLimitKeepsItsQuota() {
+        assertTrue(limiter.tryAcquire());
+        try {
+            assertEquals(HttpStatus.SERVICE_UNAVAILABLE, get("refund-client").getStatusCode());
+        } finally {
+            limiter.release(0);
+        }
+        assertEquals(HttpStatus.OK, get("refund-client").getStatusCode());
+    }
+
+    @Test
+    void bulkRequestsDoNotTakeInteractiveSlots() {
+        assertTrue(limiter.tryAcquire());
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(LoadSheddingInterceptor.CLIENT_ID_HEADER, "bulk-client");
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            ResponseEntity<String> batch = restTemplate.exchange("http://localhost:" + port
+                    + "/api/time/spoken/epoch?zone=UTC", HttpMethod.POST, new HttpEntity<>("[0]", headers), String.class);
+
+            assertEquals(HttpStatus.OK, batch.getStatusCode());
+            assertEquals(1, limiter.inFlight());
+        } finally {
+            limiter.release(0);
+        }
+    }
+
+    private ResponseEntity<String> get(String clientId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(LoadSheddingInterceptor.CLIENT_ID_HEADER, clientId);
+        return restTemplate.exchange("http://localhost:" + port + "/api/time/spoken?time=07:35", HttpMethod.GET,
+                new HttpEntity<>(headers), String.class);
+    }
+}
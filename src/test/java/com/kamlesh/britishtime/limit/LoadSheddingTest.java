@@ -0,0 +1,132 @@
+package com.kamlesh.britishtime.limit;
+
+import com.kamlesh.britishtime.service.limit.AdaptiveConcurrencyLimiter;
+import com.kamlesh.britishtime.service.limit.ClientQuotas;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the adaptive concurrency limiter and per-client quotas.
+ */
+class LoadSheddingTest {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void limiterRejectsOnceLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.5, 2.0);
+
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        assertEquals(2, limiter.inFlight());
+    }
+
+    @Test
+    void limiterGrowsWhileLatencyStaysAtBaseline() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 10, 0.5, 2.0);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        for (int i = 0; i < 4; i++) {
+            limiter.release(MILLI);
+        }
+
+        assertTrue(limiter.limit() > 4);
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void limiterBacksOffWhenLatencyRises() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 2, 10, 0.5, 2.0);
+        limiter.tryAcquire();
+        limiter.release(MILLI);
+        int before = limiter.limit();
+
+        limiter.tryAcquire();
+        limiter.release(10 * MILLI);
+        assertEquals(before / 2, limiter.limit());
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(10 * MILLI);
+        }
+        assertEquals(2, limiter.limit());
+    }
+
+    @Test
+    void limiterBacksOffOncePerCooldown() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 10, 0.5, 2.0, 100 * MILLI);
+        long now = 1_000_000_000L;
+        limiter.tryAcquire();
+        limiter.release(MILLI, now);
+        int before = limiter.limit();
+
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire();
+            limiter.release(10 * MILLI, now + i * MILLI);
+        }
+        assertEquals(before / 2, limiter.limit());
+
+        limiter.tryAcquire();
+        limiter.release(10 * MILLI, now + 100 * MILLI);
+        assertEquals(before / 4, limiter.limit());
+    }
+
+    @Test
+    void quotaAllowsBurstThenReportsWait() {
+        ClientQuotas quotas = new ClientQuotas(10, 3, 100);
+        long now = 1_000_000_000L;
+
+        assertEquals(0, quotas.tryAcquire("a", now));
+        assertEquals(0, quotas.tryAcquire("a", now));
+        assertEquals(0, quotas.tryAcquire("a", now));
+        long wait = quotas.tryAcquire("a", now);
+        assertEquals(100 * MILLI, wait);
+
+        assertEquals(0, quotas.tryAcquire("b", now));
+        assertEquals(0, quotas.tryAcquire("a", now + wait));
+    }
+
+    @Test
+    void idleClientIsEvictedBeforeARecentlySeenOne() {
+        ClientQuotas quotas = new ClientQuotas(1, 1, 2);
+        long now = 1_000_000_000L;
+        assertEquals(0, quotas.tryAcquire("a", now));
+        assertEquals(0, quotas.tryAcquire("b", now));
+        assertTrue(quotas.tryAcquire("a", now) > 0);
+
+        assertEquals(0, quotas.tryAcquire("c", now));
+
+        assertEquals(2, quotas.trackedClients());
+        assertTrue(quotas.tryAcquire("a", now) > 0, "recently seen client keeps its bucket");
+        assertEquals(0, quotas.tryAcquire("b", now), "evicted client starts a new bucket");
+        assertEquals(2, quotas.trackedClients());
+    }
+
+    @Test
+    void rotatingClientsStayWithinTheBound() {
+        ClientQuotas quotas = new ClientQuotas(1, 1, 100);
+        long now = 1_000_000_000L;
+        for (int i = 0; i < 10_000; i++) {
+            assertEquals(0, quotas.tryAcquire("client-" + i, now));
+        }
+        assertTrue(quotas.trackedClients() <= 100, "tracked " + quotas.trackedClients());
+    }
+
+    @Test
+    void refundedRequestCanBeTakenAgain() {
+        ClientQuotas quotas = new ClientQuotas(1, 1, 10);
+        long now = 1_000_000_000L;
+        assertEquals(0, quotas.tryAcquire("a", now));
+        assertTrue(quotas.tryAcquire("a", now) > 0);
+
+        quotas.refund("a");
+
+        assertEquals(0, quotas.tryAcquire("a", now));
+    }
+}
@@ -0,0 +1,153 @@
+package com.kamlesh.britishtime.load;
+
+import com.kamlesh.britishtime.client.BinaryBatchCodec;
+import com.kamlesh.britishtime.service.limit.Bulkheads;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Shows that single lookups keep their latency while batch jobs saturate the bulk pool.
+ * Interactive traffic runs at a fixed arrival rate, first alone and then while several
+ * clients post large binary batches back to back, more than the bulk pool has workers. The
+ * interactive p99 under bulk load must stay within {@code -Dbulkhead.max-p99-ratio} of the
+ * quiet p99, or within {@code -Dbulkhead.p99-slack-ms} of it, whichever is larger.
+ * Run with {@code mvn test -Pperf -Dtest=BulkheadLoadTest}. Tune with {@code -Dload.rate},
+ * {@code -Dload.seconds}, {@code -Dbulkhead.clients} and {@code -Dbulkhead.batch-size}.
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "app.limiter.enabled=false")
+class BulkheadLoadTest {
+
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "1000"));
+    private static final Duration DURATION = Duration.ofSeconds(Long.getLong("load.seconds", 10L));
+    private static final int BULK_CLIENTS = Integer.getInteger("bulkhead.clients", 8);
+    private static final int BATCH_SIZE = Integer.getInteger("bulkhead.batch-size", 1_000_000);
+    private static final double MAX_P99_RATIO = Double.parseDouble(System.getProperty("bulkhead.max-p99-ratio", "3"));
+    private static final long P99_SLACK_MICROS = Long.getLong("bulkhead.p99-slack-ms", 5L) * 1000;
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    Bulkheads bulkheads;
+
+    @Test
+    void interactiveLatencyStaysFlatWhileBulkPoolIsSaturated() throws Exception {
+        URI base = URI.create("http://localhost:" + port);
+        LoadGenerator generator = new LoadGenerator(base);
+        try {
+            generator.runOpen(RATE, Duration.ofSeconds(2));
+            LoadReport quiet = generator.runOpen(RATE, DURATION);
+            System.out.println("quiet " + quiet.summary());
+
+            BulkLoad bulk = new BulkLoad(base);
+            bulk.start();
+            LoadReport loaded;
+            try {
+                loaded = generator.runOpen(RATE, DURATION);
+            } finally {
+                bulk.stop();
+            }
+            System.out.println("under bulk load " + loaded.summary());
+            System.out.printf("bulk: %d batches of %,d converted, %d refused with 503, peak %d of %d workers busy%n",
+                    bulk.completed.sum(), BATCH_SIZE, bulk.refused.sum(), bulk.peakActive.get(),
+                    bulkheads.bulk().threads());
+
+            assertEquals(0, quiet.failed());
+            assertEquals(0, loaded.failed());
+            assertTrue(bulk.completed.sum() > 0, "no batch completed");
+            assertEquals(0, bulk.failed.sum(), "batches failed other than by being refused");
+            assertEquals(bulkheads.bulk().threads(), bulk.peakActive.get(), "bulk pool was never saturated");
+            long quietP99 = quiet.histogram().percentileMicros(99);
+            long loadedP99 = loaded.histogram().percentileMicros(99);
+            long allowed = Math.max((long) (quietP99 * MAX_P99_RATIO), quietP99 + P99_SLACK_MICROS);
+            assertTrue(loadedP99 <= allowed, "Interactive p99 rose from " + quietP99 + " us to " + loadedP99
+                    + " us under bulk load (allowed " + allowed + " us)");
+        } finally {
+            generator.close();
+        }
+    }
+
+    /** Clients posting large batches back to back until stopped. */
+    private final class BulkLoad {
+
+        private final HttpClient client = HttpClient.newHttpClient();
+        private final HttpRequest request;
+        private final AtomicBoolean running = new AtomicBoolean(true);
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder refused = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicInteger peakActive = new AtomicInteger();
+        private final List<Thread> threads = new ArrayList<>();
+
+        BulkLoad(URI base) {
+            SplittableRandom random = new SplittableRandom(45);
+            int[] minutesOfDay = new int[BATCH_SIZE];
+            for (int i = 0; i < minutesOfDay.length; i++) {
+                minutesOfDay[i] = random.nextInt(1440);
+            }
+            request = HttpRequest.newBuilder(base.resolve("/api/time/spoken/batch"))
+                    .header("Content-Type", BinaryBatchCodec.MEDIA_TYPE)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(BinaryBatchCodec.encodeRequest(minutesOfDay)))
+                    .build();
+        }
+
+        void start() {
+            for (int i = 0; i < BULK_CLIENTS; i++) {
+                threads.add(Thread.ofPlatform().daemon().name("bulk-client-" + i).start(this::postBatches));
+            }
+            threads.add(Thread.ofPlatform().daemon().name("bulk-sampler").start(() -> {
+                try {
+                    while (running.get()) {
+                        peakActive.accumulateAndGet(bulkheads.bulk().activeCount(), Math::max);
+                        Thread.sleep(1);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        private void postBatches() {
+            while (running.get()) {
+                try {
+                    int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                    if (status == 200) {
+                        completed.increment();
+                    } else if (status == 503) {
+                        refused.increment();
+                    } else {
+                        failed.increment();
+                    }
+                } catch (Exception ex) {
+                    failed.increment();
+                }
+            }
+        }
+
+        void stop() throws InterruptedException {
+            running.set(false);
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        }
+    }
+}
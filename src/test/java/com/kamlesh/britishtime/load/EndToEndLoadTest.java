@@ -0,0 +1,62 @@
+package com.kamlesh.britishtime.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Drives the real embedded server with the {@link LoadGenerator}.
+ * Run with {@code mvn test -Pperf -Dtest=EndToEndLoadTest}. Tune with
+ * {@code -Dload.rate}, {@code -Dload.users}, {@code -Dload.pacing-ms} and {@code -Dload.seconds}.
+ * Load shedding is switched off so that the numbers describe raw capacity.
+ */
+@Tag("perf")
+@SpringBootTest(webEnvironment = WebEnvironment.RANDOM_PORT, properties = "app.limiter.enabled=false")
+class EndToEndLoadTest {
+
+    @LocalServerPort
+    int port;
+
+    @Test
+    void openModelAtFixedArrivalRate() throws InterruptedException {
+        double rate = Double.parseDouble(System.getProperty("load.rate", "2000"));
+        LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port));
+        try {
+            generator.runOpen(rate, Duration.ofSeconds(2));
+            LoadReport report = generator.runOpen(rate, duration());
+            System.out.println(report.summary());
+            assertEquals(0, report.failed());
+            assertTrue(report.completed() > 0);
+        } finally {
+            generator.close();
+        }
+    }
+
+    @Test
+    void closedModelWithFixedUsers() throws InterruptedException {
+        int users = Integer.getInteger("load.users", 32);
+        Duration pacing = Duration.ofMillis(Long.getLong("load.pacing-ms", 0L));
+        LoadGenerator generator = new LoadGenerator(URI.create("http://localhost:" + port));
+        try {
+            generator.runClosed(users, pacing, Duration.ofSeconds(2));
+            LoadReport report = generator.runClosed(users, pacing, duration());
+            System.out.println(report.summary());
+            assertEquals(0, report.failed());
+            assertTrue(report.completed() > 0);
+        } finally {
+            generator.close();
+        }
+    }
+
+    private static Duration duration() {
+        return Duration.ofSeconds(Long.getLong("load.seconds", 10L));
+    }
+}
@@ -0,0 +1,43 @@
+package com.kamlesh.britishtime.load;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the load generator's latency histogram.
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void bucketsCoverEveryValueWithBoundedError() {
+        for (long micros = 0; micros < 10_000_000; micros += 1 + micros / 50) {
+            long reported = LatencyHistogram.highestValueAt(LatencyHistogram.indexOf(micros));
+            assertTrue(reported >= micros, "value " + micros);
+            assertTrue(reported - micros <= Math.max(1, micros / 63), "value " + micros);
+        }
+    }
+
+    @Test
+    void percentilesFollowRecordedDistribution() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordNanos(TimeUnit.MICROSECONDS.toNanos(i));
+        }
+
+        assertEquals(1000, histogram.totalCount());
+        assertEquals(500, histogram.percentileMicros(50), 500 / 63.0);
+        assertEquals(990, histogram.percentileMicros(99), 990 / 63.0);
+        assertEquals(999, histogram.percentileMicros(99.9), 999 / 63.0);
+        assertEquals(1000, histogram.maxMicros(), 1000 / 63.0);
+    }
+
+    @Test
+    void emptyHistogramReportsZero() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.percentileMicros(99));
+        assertEquals(0, histogram.maxMicros());
+    }
+}
@@ -0,0 +1,168 @@
+package com.kamlesh.britishtime.load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load generator for the spoken time endpoint, built on virtual threads and
+ * {@link HttpClient}.
+ * <p>
+ * Latency is always measured from the moment a request was <em>supposed</em> to be sent,
+ * not from when it actually went out. In the open model every request has its own intended
+ * start time derived from the arrival rate, and is sent on its own virtual thread, so a
+ * stalled server cannot slow the arrivals down. In the closed model each user follows a
+ * fixed pacing schedule; when a response is late, the following requests are charged for
+ * the time they spent waiting behind it. Both avoid coordinated omission.
+ */
+public final class LoadGenerator {
+
+    private final URI baseUri;
+    private final HttpClient client;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final String[] paths;
+
+    public LoadGenerator(URI baseUri) {
+        this.baseUri = baseUri;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(executor)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        this.paths = new String[24 * 60];
+        for (int minuteOfDay = 0; minuteOfDay < paths.length; minuteOfDay++) {
+            paths[minuteOfDay] = String.format("/api/time/spoken?time=%02d:%02d", minuteOfDay / 60, minuteOfDay % 60);
+        }
+    }
+
+    /**
+     * Open model: requests arrive at a fixed rate regardless of how fast they complete.
+     *
+     * @param ratePerSecond arrival rate
+     * @param duration how long to generate arrivals
+     * @return the report
+     */
+    public LoadReport runOpen(double ratePerSecond, Duration duration) throws InterruptedException {
+        Run run = new Run();
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long sequence = 0;
+        for (long intended = start; intended < end; intended = start + ++sequence * intervalNanos) {
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long intendedStart = intended;
+            String path = paths[(int) (sequence % paths.length)];
+            run.inFlight.incrementAndGet();
+            executor.execute(() -> {
+                try {
+                    run.send(path, intendedStart);
+                } finally {
+                    run.inFlight.decrementAndGet();
+                }
+            });
+        }
+        run.awaitDrained(Duration.ofSeconds(30));
+        return run.report(String.format("open model, %.0f req/s", ratePerSecond), start);
+    }
+
+    /**
+     * Closed model: a fixed number of users, each sending its next request once the previous
+     * one completed, paced at {@code pacing} per user (zero for back-to-back requests).
+     *
+     * @param users concurrent users
+     * @param pacing intended interval between a user's requests
+     * @param duration how long each user keeps sending
+     * @return the report
+     */
+    public LoadReport runClosed(int users, Duration pacing, Duration duration) throws InterruptedException {
+        Run run = new Run();
+        long pacingNanos = pacing.toNanos();
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        Thread[] threads = new Thread[users];
+        for (int u = 0; u < users; u++) {
+            int user = u;
+            threads[u] = Thread.ofVirtual().name("load-user-" + u).start(() -> {
+                long intended = System.nanoTime();
+                for (long i = user; intended < end; i += users) {
+                    long now = System.nanoTime();
+                    if (intended > now) {
+                        LockSupport.parkNanos(intended - now);
+                    }
+                    run.send(paths[(int) (i % paths.length)], pacingNanos > 0 ? intended : System.nanoTime());
+                    intended = pacingNanos > 0 ? intended + pacingNanos : System.nanoTime();
+                }
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return run.report(String.format("closed model, %d users, pacing %d ms", users, pacing.toMillis()), start);
+    }
+
+    /**
+     * Shuts down the virtual-thread executor.
+     */
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private final class Run {
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder completed = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final AtomicLong inFlight = new AtomicLong();
+
+        void send(String path, long intendedStartNanos) {
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                    .timeout(Duration.ofSeconds(10))
+                    .GET()
+                    .build();
+            int status;
+            try {
+                status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            } catch (IOException ex) {
+                status = -1;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            histogram.recordNanos(System.nanoTime() - intendedStartNanos);
+            completed.increment();
+            if (status < 200 || status >= 300) {
+                failed.increment();
+            }
+            statuses.computeIfAbsent(status, s -> new LongAdder()).increment();
+        }
+
+        void awaitDrained(Duration timeout) throws InterruptedException {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            while (inFlight.get() > 0 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+
+        LoadReport report(String model, long startNanos) {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return new LoadReport(model, completed.sum(), failed.sum(), counts,
+                    Duration.ofNanos(System.nanoTime() - startNanos), histogram);
+        }
+    }
+}
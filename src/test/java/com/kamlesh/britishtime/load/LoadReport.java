@@ -0,0 +1,29 @@
+package com.kamlesh.britishtime.load;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Result of one load run.
+ */
+public record LoadReport(String model, long completed, long failed, Map<Integer, Long> statusCounts,
+                         Duration elapsed, LatencyHistogram histogram) {
+
+    public double throughputPerSecond() {
+        return completed / (elapsed.toNanos() / 1e9);
+    }
+
+    /**
+     * Formats the report as a short human-readable summary.
+     */
+    public String summary() {
+        return String.format(
+                "%s: %d requests (%d failed) in %.1f s, %.0f req/s%n"
+                        + "  latency us: p50=%d p90=%d p99=%d p99.9=%d max=%d%n"
+                        + "  status: %s",
+                model, completed, failed, elapsed.toMillis() / 1000.0, throughputPerSecond(),
+                histogram.percentileMicros(50), histogram.percentileMicros(90),
+                histogram.percentileMicros(99), histogram.percentileMicros(99.9),
+                histogram.maxMicros(), statusCounts);
+    }
+}
@@ -0,0 +1,165 @@
+package com.kamlesh.britishtime.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Starts the application in its own JVM with the {@code lowmem} profile and a 48 MB heap,
+ * runs sustained load against it and checks the memory budget afterwards: heap used after a
+ * full GC and, on Linux, the resident set size of the process.
+ * Run with {@code mvn test -Pperf -Dtest=LowFootprintProfileTest}. Tune with
+ * {@code -Dfootprint.seconds}, {@code -Dfootprint.users}, {@code -Dfootprint.max-heap-mb}
+ * and {@code -Dfootprint.max-rss-mb}.
+ */
+@Tag("perf")
+class LowFootprintProfileTest {
+
+    private static final List<String> JVM_FLAGS = List.of(
+            "-Xmx48m", "-Xss256k", "-XX:+UseSerialGC", "-XX:MaxMetaspaceSize=96m",
+            "-XX:ReservedCodeCacheSize=32m", "-XX:MaxDirectMemorySize=16m", "-XX:CICompilerCount=2");
+
+    private static final long MAX_HEAP_AFTER_GC_MB = Long.getLong("footprint.max-heap-mb", 24L);
+    private static final long MAX_RSS_MB = Long.getLong("footprint.max-rss-mb", 192L);
+
+    @TempDir
+    Path tempDir;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void staysWithinMemoryBudgetUnderSustainedLoad() throws Exception {
+        int port = freePort();
+        Path log = tempDir.resolve("app.log");
+        Process app = start(port, log);
+        try {
+            URI base = URI.create("http://localhost:" + port);
+            awaitHealthy(base, app, log);
+
+            LoadGenerator generator = new LoadGenerator(base);
+            LoadReport report;
+            try {
+                int users = Integer.getInteger("footprint.users", 16);
+                report = generator.runClosed(users, Duration.ZERO,
+                        Duration.ofSeconds(Long.getLong("footprint.seconds", 30L)));
+            } finally {
+                generator.close();
+            }
+            System.out.println(report.summary());
+            assertEquals(0, report.failed(), () -> "Requests failed under the heap limit; log:\n" + tail(log));
+            assertTrue(report.completed() > 0);
+
+            runJcmd(app.pid(), "GC.run");
+            long heapAfterGcMb = heapUsedBytes(base) >> 20;
+            System.out.printf("heap after GC: %d MB (budget %d MB)%n", heapAfterGcMb, MAX_HEAP_AFTER_GC_MB);
+            assertTrue(heapAfterGcMb <= MAX_HEAP_AFTER_GC_MB,
+                    "Heap after GC " + heapAfterGcMb + " MB exceeds budget of " + MAX_HEAP_AFTER_GC_MB + " MB");
+
+            Path status = Path.of("/proc", Long.toString(app.pid()), "status");
+            if (Files.isReadable(status)) {
+                long rssMb = residentKilobytes(status) >> 10;
+                System.out.printf("RSS: %d MB (budget %d MB)%n", rssMb, MAX_RSS_MB);
+                assertTrue(rssMb <= MAX_RSS_MB, "RSS " + rssMb + " MB exceeds budget of " + MAX_RSS_MB + " MB");
+            } else {
+                System.out.println("RSS not checked: /proc is not available on this platform");
+            }
+        } finally {
+            app.destroy();
+            if (!app.waitFor(10, TimeUnit.SECONDS)) {
+                app.destroyForcibly();
+            }
+        }
+    }
+
+    private static Process start(int port, Path log) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(JVM_FLAGS);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("com.kamlesh.britishtime.BritishSpokenTimeApplication");
+        command.add("--spring.profiles.active=lowmem");
+        command.add("--server.port=" + port);
+        command.add("--app.limiter.enabled=false");
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+    }
+
+    private void awaitHealthy(URI base, Process app, Path log) throws Exception {
+        HttpRequest health = HttpRequest.newBuilder(base.resolve("/actuator/health")).build();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(90);
+        while (System.nanoTime() < deadline) {
+            if (!app.isAlive()) {
+                fail("Application exited with " + app.exitValue() + "; log:\n" + tail(log));
+            }
+            try {
+                if (http.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(250);
+        }
+        fail("Application did not become healthy; log:\n" + tail(log));
+    }
+
+    private long heapUsedBytes(URI base) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                base.resolve("/actuator/metrics/jvm.memory.used?tag=area:heap")).build();
+        String body = http.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return new ObjectMapper().readTree(body).path("measurements").path(0).path("value").asLong();
+    }
+
+    private static void runJcmd(long pid, String command) throws Exception {
+        Process jcmd = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "jcmd").toString(), Long.toString(pid), command)
+                .redirectErrorStream(true)
+                .start();
+        jcmd.getInputStream().transferTo(OutputStream.nullOutputStream());
+        assertEquals(0, jcmd.waitFor(), "jcmd " + command + " failed");
+    }
+
+    private static long residentKilobytes(Path status) throws IOException {
+        for (String line : Files.readAllLines(status)) {
+            if (line.startsWith("VmRSS:")) {
+                return Long.parseLong(line.replaceAll("\\D", ""));
+            }
+        }
+        throw new IOException("VmRSS missing from " + status);
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static String tail(Path log) {
+        try {
+            List<String> lines = Files.readAllLines(log);
+            return String.join("\n", lines.subList(Math.max(0, lines.size() - 40), lines.size()));
+        } catch (IOException ex) {
+            return "(log unavailable: " + ex.getMessage() + ")";
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.kamlesh.britishtime.rewrite;
+
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.rewrite.SpokenTimeRewriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures rewriting throughput in GB/s through the byte path and the character path, writing
+ * to a sink that discards the output. Two generated corpora are used: subtitles, dense with
+ * timecodes that must be left alone, and a transcript that is mostly prose. Each path is
+ * warmed up before it is timed.
+ * Run with {@code mvn test -Pperf -Dtest=SpokenTimeRewriterBenchmarkTest}. Tune with
+ * {@code -Drewrite.corpus-mb} and {@code -Drewrite.rounds}.
+ */
+@Tag("perf")
+class SpokenTimeRewriterBenchmarkTest {
+
+    private static final int CORPUS_MB = Integer.getInteger("rewrite.corpus-mb", 64);
+    private static final int ROUNDS = Integer.getInteger("rewrite.rounds", 5);
+
+    private final SpokenTimeRewriter rewriter = new SpokenTimeRewriter(new ChainedBritishTimeFormatter());
+
+    @Test
+    void reportsSubtitleThroughput() throws IOException {
+        measure("subtitles", subtitles(CORPUS_MB << 20));
+    }
+
+    @Test
+    void reportsTranscriptThroughput() throws IOException {
+        measure("transcript", transcript(CORPUS_MB << 20));
+    }
+
+    private void measure(String name, String corpus) throws IOException {
+        byte[] bytes = corpus.getBytes(StandardCharsets.UTF_8);
+        char[] chars = corpus.toCharArray();
+        CountingOutputStream byteSink = new CountingOutputStream();
+        CountingWriter charSink = new CountingWriter();
+
+        long expected = rewriter.rewrite(new ByteArrayInputStream(bytes), byteSink);
+        assertEquals(expected, rewriter.rewrite(new CharArrayReader(chars), charSink));
+        assertTrue(expected > 0);
+
+        double byteRate = 0;
+        double charRate = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            rewriter.rewrite(new ByteArrayInputStream(bytes), byteSink);
+            byteRate = Math.max(byteRate, bytes.length / (double) (System.nanoTime() - start));
+
+            start = System.nanoTime();
+            rewriter.rewrite(new CharArrayReader(chars), charSink);
+            charRate = Math.max(charRate, chars.length / (double) (System.nanoTime() - start));
+        }
+        System.out.printf("%s corpus %d MB, %,d times replaced per pass%n", name, CORPUS_MB, expected);
+        System.out.printf("bytes (InputStream): %.2f GB/s%n", byteRate);
+        System.out.printf("chars (Reader):      %.2f G chars/s%n", charRate);
+        assertTrue(byteSink.count > 0 && charSink.count > 0);
+    }
+
+    /**
+     * Subtitle blocks: timecodes that must be left alone, and dialogue that mentions a time
+     * every few lines.
+     */
+    private static String subtitles(int size) {
+        Random random = new Random(42);
+        String[] lines = {
+                "I'll meet you at the station.", "The last train leaves at %02d:%02d, don't be late.",
+                "Nobody saw anything.", "Call me before %02d:%02d tomorrow.", "Where were you last night?"
+        };
+        StringBuilder text = new StringBuilder(size + 256);
+        for (int block = 1; text.length() < size; block++) {
+            int seconds = block * 3;
+            text.append(block).append('\n')
+                    .append(String.format("%02d:%02d:%02d,000 --> %02d:%02d:%02d,500%n", seconds / 3600,
+                            seconds / 60 % 60, seconds % 60, seconds / 3600, seconds / 60 % 60, seconds % 60))
+                    .append(String.format(lines[random.nextInt(lines.length)], random.nextInt(24),
+                            random.nextInt(60)))
+                    .append("\n\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Paragraphs of speech with a time every few sentences.
+     */
+    private static String transcript(int size) {
+        Random random = new Random(7);
+        String[] sentences = {
+                "Thank you all for coming this morning. ", "Let's go through the schedule for the day. ",
+                "The first session starts at %02d:%02d in the main hall. ", "Coffee will be served outside. ",
+                "Please remember to sign the attendance sheet before you leave. ",
+                "We break for lunch at %02d:%02d and resume shortly after. ",
+                "If anything changes we'll announce it here. "
+        };
+        StringBuilder text = new StringBuilder(size + 256);
+        while (text.length() < size) {
+            for (int i = 0; i < 6; i++) {
+                text.append(String.format(sentences[random.nextInt(sentences.length)], random.nextInt(24),
+                        random.nextInt(60)));
+            }
+            text.append("\n\n");
+        }
+        return text.toString();
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+
+    private static final class CountingWriter extends Writer {
+        long count;
+
+        @Override
+        public void write(char[] c, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.kamlesh.britishtime.rewrite;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.rewrite.RewritingOutputStream;
+import com.kamlesh.britishtime.service.rewrite.RewritingWriter;
+import com.kamlesh.britishtime.service.rewrite.SpokenTimeRewriter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the streaming {@code HH:mm} rewriter: what counts as a time, both the byte and the
+ * character paths, and times split across every possible pair of writes.
+ */
+class SpokenTimeRewriterTest {
+
+    private final SpokenTimeRewriter rewriter = new SpokenTimeRewriter(new ChainedBritishTimeFormatter());
+
+    @Test
+    void replacesTimesAndLeavesEverythingElse() throws IOException {
+        assertRewrites("Doors close at quarter to eight.", "Doors close at 19:45.");
+        assertRewrites("midnight to noon, then quarter past ten", "00:00 to 12:00, then 10:15");
+        assertRewrites("2024-05-01Tmidnight", "2024-05-01T00:00");
+        assertRewrites("Café opens at half past nine ☕", "Café opens at 09:30 ☕");
+    }
+
+    @Test
+    void leavesNonTimesAlone() throws IOException {
+        String text = "00:01:23,456 --> 00:01:25,000\nid 123:45, 25:00, 09:60, 1:30, 07:3, 07:30:1x, :12:00, 12:00:";
+        assertRewrites(text, text);
+    }
+
+    @Test
+    void timeAtTheVeryEndIsReplaced() throws IOException {
+        assertRewrites("until twenty five past six", "until 18:25");
+        assertRewrites("half past one", "01:30");
+        assertRewrites("", "");
+        assertRewrites("12:3", "12:3");
+    }
+
+    @Test
+    void styleIsApplied() throws IOException {
+        SpokenTimeRewriter dayPart = new SpokenTimeRewriter(new ChainedBritishTimeFormatter(), SpokenStyle.DAY_PART);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        dayPart.rewrite(new ByteArrayInputStream("at 21:15".getBytes(StandardCharsets.UTF_8)), out);
+        assertEquals("at quarter past nine in the evening", out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void timesSplitAcrossWritesAreFoundAtEverySplit() throws IOException {
+        String input = "a 09:15 b 123:45 c 23:59\n00:00:00 x12:30y 7";
+        String expected = rewrite(input);
+        byte[] bytes = input.getBytes(StandardCharsets.UTF_8);
+        char[] chars = input.toCharArray();
+        for (int first = 0; first <= bytes.length; first++) {
+            for (int second = first; second <= bytes.length; second++) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                RewritingOutputStream stream = rewriter.rewriting(out);
+                stream.write(bytes, 0, first);
+                stream.write(bytes, first, second - first);
+                stream.write(bytes, second, bytes.length - second);
+                stream.finish();
+                assertEquals(expected, out.toString(StandardCharsets.UTF_8), "split at " + first + "/" + second);
+                assertEquals(3, stream.replacements());
+
+                StringWriter text = new StringWriter();
+                RewritingWriter writer = rewriter.rewriting(text);
+                writer.write(chars, 0, first);
+                writer.write(chars, first, second - first);
+                writer.write(chars, second, chars.length - second);
+                writer.finish();
+                assertEquals(expected, text.toString(), "split at " + first + "/" + second);
+            }
+        }
+    }
+
+    @Test
+    void oneByteAtATimeMatchesWholeInput() throws IOException {
+        StringBuilder input = new StringBuilder();
+        for (int minute = 0; minute < 1440; minute += 7) {
+            input.append(String.format("%02d:%02d ", minute / 60, minute % 60));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (RewritingOutputStream stream = rewriter.rewriting(out)) {
+            for (byte b : input.toString().getBytes(StandardCharsets.US_ASCII)) {
+                stream.write(b);
+            }
+        }
+        assertEquals(rewrite(input.toString()), out.toString(StandardCharsets.UTF_8));
+        assertFalse(out.toString(StandardCharsets.UTF_8).contains(":"));
+    }
+
+    @Test
+    void writesAfterFinishAreRefused() throws IOException {
+        RewritingOutputStream stream = rewriter.rewriting(new ByteArrayOutputStream());
+        stream.finish();
+        assertThrows(IOException.class, () -> stream.write('x'));
+    }
+
+    private void assertRewrites(String expected, String input) throws IOException {
+        assertEquals(expected, rewrite(input));
+        StringWriter out = new StringWriter();
+        rewriter.rewrite(new StringReader(input), out);
+        assertEquals(expected, out.toString());
+    }
+
+    private String rewrite(String input) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        rewriter.rewrite(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)), out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
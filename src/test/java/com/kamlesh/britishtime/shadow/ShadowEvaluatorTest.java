@@ -0,0 +1,147 @@
+package com.kamlesh.britishtime.shadow;
+
+import com.kamlesh.britishtime.dtos.SpokenTimeResponse;
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import com.kamlesh.britishtime.service.shadow.ShadowEvaluator;
+import com.kamlesh.britishtime.service.shadow.ShadowMismatch;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for shadow evaluation of a candidate formatter: mismatches recorded per input, samples
+ * dropped rather than blocking when the queue is full, and tenant conversions and paused
+ * sampling left out.
+ */
+class ShadowEvaluatorTest {
+
+    private final TimeSpokenFormatter live = new ChainedBritishTimeFormatter();
+
+    /** Agrees with the live formatter except at noon. */
+    private final TimeSpokenFormatter candidate = time ->
+            time.equals(LocalTime.NOON) ? "twelve o'clock" : live.format(time);
+
+    @Test
+    void disagreementsAreRecordedOncePerInput() throws InterruptedException {
+        try (ShadowEvaluator shadow = new ShadowEvaluator(live, candidate, 1.0, 100, Clock.systemUTC())) {
+            TimeServiceImpl service = new TimeServiceImpl(live, new TenantPhrases(live), shadow);
+
+            for (int i = 0; i < 3; i++) {
+                assertEquals("noon", service.toSpokenTime("12:00").spoken());
+            }
+            assertEquals("quarter past nine", service.toSpokenTime("09:15").spoken());
+            await(() -> shadow.comparedCount() == 4);
+
+            assertEquals(4, shadow.sampledCount());
+            assertEquals(3, shadow.mismatchCount());
+            List<ShadowMismatch> mismatches = shadow.mismatches();
+            assertEquals(1, mismatches.size());
+            ShadowMismatch mismatch = mismatches.get(0);
+            assertEquals(LocalTime.NOON, mismatch.time());
+            assertEquals(SpokenStyle.BRITISH, mismatch.style());
+            assertEquals("noon", mismatch.expected());
+            assertEquals("twelve o'clock", mismatch.actual());
+            assertEquals(3, mismatch.occurrences());
+            assertTrue(shadow.primaryNanos() > 0);
+            assertTrue(shadow.candidateNanos() > 0);
+        }
+    }
+
+    @Test
+    void candidateExceptionsCountAsMismatches() throws InterruptedException {
+        TimeSpokenFormatter broken = time -> {
+            throw new IllegalStateException("no rule for " + time);
+        };
+        try (ShadowEvaluator shadow = new ShadowEvaluator(live, broken, 1.0, 100, Clock.systemUTC())) {
+            TimeServiceImpl service = new TimeServiceImpl(live, new TenantPhrases(live), shadow);
+
+            assertEquals("noon", service.toSpokenTime("12:00").spoken());
+            await(() -> shadow.comparedCount() == 1);
+
+            assertEquals(1, shadow.candidateErrorCount());
+            assertTrue(shadow.mismatches().get(0).actual().contains("no rule for 12:00"));
+        }
+    }
+
+    @Test
+    void fullQueueDropsSamplesWithoutBlocking() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        TimeSpokenFormatter slow = time -> {
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return live.format(time);
+        };
+        try (ShadowEvaluator shadow = new ShadowEvaluator(live, slow, 1.0, 2, Clock.systemUTC())) {
+            TimeServiceImpl service = new TimeServiceImpl(live, new TenantPhrases(live), shadow);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < 10; i++) {
+                service.toSpokenTime("09:15");
+            }
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5), "Request path blocked");
+            // one sample held by the worker and two queued; the rest were dropped
+            assertEquals(10, shadow.sampledCount());
+            assertEquals(7, shadow.droppedCount());
+
+            release.countDown();
+            await(() -> shadow.comparedCount() == 3);
+            assertEquals(0, shadow.mismatchCount());
+        }
+    }
+
+    @Test
+    void tenantConversionsAndZeroRateAreNotSampled() {
+        try (ShadowEvaluator shadow = new ShadowEvaluator(live, candidate, 1.0, 100, Clock.systemUTC());
+             ShadowEvaluator off = new ShadowEvaluator(live, candidate, 0.0, 100, Clock.systemUTC())) {
+            TenantPhrases tenants = new TenantPhrases(live);
+            tenants.put("acme", Map.of(720, "midday"));
+            SpokenTimeResponse response = new TimeServiceImpl(live, tenants, shadow)
+                    .toSpokenTime("12:00", "acme", SpokenStyle.BRITISH);
+            new TimeServiceImpl(live, new TenantPhrases(live), off).toSpokenTime("12:00");
+
+            assertEquals("midday", response.spoken());
+            assertEquals(0, shadow.sampledCount());
+            assertEquals(0, off.sampledCount());
+        }
+    }
+
+    @Test
+    void pausedEvaluatorSamplesNothing() {
+        try (ShadowEvaluator shadow = new ShadowEvaluator(live, candidate, 1.0, 100, Clock.systemUTC())) {
+            TimeServiceImpl service = new TimeServiceImpl(live, new TenantPhrases(live), shadow);
+            shadow.setSampling(false);
+
+            service.toSpokenTime("12:00");
+            assertEquals(0, shadow.sampledCount());
+
+            shadow.setSampling(true);
+            service.toSpokenTime("12:00");
+            assertEquals(1, shadow.sampledCount());
+        }
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.kamlesh.britishtime.shadow;
+
+import com.kamlesh.britishtime.service.TimeService;
+import com.kamlesh.britishtime.service.shadow.ShadowEvaluator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks that shadow sampling leaves out the warm-up conversions made before the service
+ * accepts traffic, and samples live conversions after that.
+ */
+@SpringBootTest(properties = {
+        "app.shadow.enabled=true",
+        "app.shadow.formatter-class=com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter",
+        "app.shadow.sample-rate=1.0"
+})
+class ShadowReadinessIntegrationTest {
+
+    @Autowired
+    ShadowEvaluator shadow;
+
+    @Autowired
+    TimeService timeService;
+
+    @Test
+    void warmUpIsNotSampled() {
+        assertTrue(shadow.isSampling());
+        assertEquals(0, shadow.sampledCount());
+
+        timeService.toSpokenTime("07:35");
+
+        assertEquals(1, shadow.sampledCount());
+    }
+}
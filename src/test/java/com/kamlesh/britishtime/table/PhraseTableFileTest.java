@@ -0,0 +1,127 @@
+package com.kamlesh.britishtime.table;
+
+import com.kamlesh.britishtime.exception.InvalidPhraseTableException;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.MappedPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalTime;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for compiling, writing and memory-mapping phrase tables.
+ */
+class PhraseTableFileTest {
+
+    private final TimeSpokenFormatter chain = new ChainedBritishTimeFormatter();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void compiledTableMatchesChainAndSharesPhrases() {
+        CompiledPhraseTable table = CompiledPhraseTable.compile(chain);
+
+        assertAllMinutesMatchChain(table);
+        assertEquals(table.phraseId(3 * 60 + 15), table.phraseId(15 * 60 + 15));
+        assertTrue(table.phraseCount() < PhraseTable.MINUTES_PER_DAY);
+    }
+
+    @Test
+    void mappedTableRoundTrips() throws IOException {
+        Path file = tempDir.resolve("phrases.bin");
+        CompiledPhraseTable compiled = CompiledPhraseTable.compile(chain);
+        PhraseTableFile.write(compiled, file, 7);
+
+        MappedPhraseTable mapped = PhraseTableFile.map(file, 7);
+
+        assertEquals(compiled.phraseCount(), mapped.phraseCount());
+        assertAllMinutesMatchChain(mapped);
+        assertSame(mapped.phraseAt(555), mapped.phraseAt(555));
+    }
+
+    @Test
+    void corruptedPayloadIsRejected() throws IOException {
+        Path file = tempDir.resolve("phrases.bin");
+        PhraseTableFile.write(CompiledPhraseTable.compile(chain), file, 1);
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 1] ^= 0x20;
+        Files.write(file, bytes);
+
+        assertThrows(InvalidPhraseTableException.class, () -> PhraseTableFile.map(file, 1));
+    }
+
+    @Test
+    void otherSourceVersionIsRejected() throws IOException {
+        Path file = tempDir.resolve("phrases.bin");
+        PhraseTableFile.write(CompiledPhraseTable.compile(chain), file, 1);
+
+        assertThrows(InvalidPhraseTableException.class, () -> PhraseTableFile.map(file, 2));
+    }
+
+    @Test
+    void mapOrCompileReusesFileOnlyWhileTheSourceIsUnchanged() throws IOException {
+        Path file = tempDir.resolve("shared/phrases.bin");
+
+        PhraseTableFile.mapOrCompile(file, chain, "1");
+        Object written = fileKey(file);
+        assertAllMinutesMatchChain(PhraseTableFile.mapOrCompile(file, chain, "1"));
+        assertEquals(written, fileKey(file), "an unchanged source must reuse the file");
+
+        TimeSpokenFormatter reworded = time -> time.equals(LocalTime.NOON) ? "midday" : chain.format(time);
+        MappedPhraseTable rebuilt = PhraseTableFile.mapOrCompile(file, reworded, "1");
+        assertEquals("midday", rebuilt.phraseAt(12 * 60));
+        assertEquals(chain.format(LocalTime.of(9, 30)), rebuilt.phraseAt(9 * 60 + 30));
+
+        assertAllMinutesMatchChain(PhraseTableFile.mapOrCompile(file, chain, "1"));
+        Files.write(file, new byte[] {1, 2, 3});
+        assertAllMinutesMatchChain(PhraseTableFile.mapOrCompile(file, chain, "1"));
+    }
+
+    @Test
+    void currentFileIsMappedWithoutCompiling() throws IOException {
+        Path file = tempDir.resolve("phrases.bin");
+        long source = PhraseTableFile.sourceFingerprint(chain, "1");
+        AtomicInteger compiles = new AtomicInteger();
+        Supplier<PhraseTable> compiler = () -> {
+            compiles.incrementAndGet();
+            return CompiledPhraseTable.compile(chain);
+        };
+
+        PhraseTableFile.mapOrCompile(file, source, compiler);
+        assertAllMinutesMatchChain(PhraseTableFile.mapOrCompile(file, source, compiler));
+        assertEquals(1, compiles.get());
+
+        PhraseTableFile.mapOrCompile(file, PhraseTableFile.sourceFingerprint(chain, "2"), compiler);
+        assertEquals(2, compiles.get(), "a new source version must recompile");
+    }
+
+    @Test
+    void sourceFingerprintSeparatesItsParts() {
+        assertEquals(PhraseTableFile.sourceFingerprint("a", "bc"), PhraseTableFile.sourceFingerprint("a", "bc"));
+        assertNotEquals(PhraseTableFile.sourceFingerprint("a", "bc"), PhraseTableFile.sourceFingerprint("ab", "c"));
+    }
+
+    private static Object fileKey(Path file) throws IOException {
+        return Files.readAttributes(file, BasicFileAttributes.class).fileKey();
+    }
+
+    private void assertAllMinutesMatchChain(PhraseTable table) {
+        for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+            LocalTime time = LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+            assertEquals(chain.format(time), table.phraseAt(minuteOfDay), time.toString());
+        }
+    }
+}
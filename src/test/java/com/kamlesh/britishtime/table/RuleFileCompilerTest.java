@@ -0,0 +1,113 @@
+package com.kamlesh.britishtime.table;
+
+import com.kamlesh.britishtime.exception.InvalidRuleFileException;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.rules.ReloadingRuleFormatter;
+import com.kamlesh.britishtime.service.rules.RuleFileCompiler;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the declarative rule file and its hot-reloading formatter.
+ */
+class RuleFileCompilerTest {
+
+    private static final String MIDDAY_RULES = """
+            rules:
+              - name: midday
+                hours: 12
+                minutes: 0
+                template: "midday"
+              - name: o-clock
+                minutes: 0
+                template: "{hour} o'clock"
+              - name: past
+                minutes: 1-30
+                template: "{minute} past {hour}"
+              - name: to
+                minutes: 31-59
+                template: "{minutesTo} to {nextHour}"
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void bundledRulesMatchFormatterChain() {
+        TimeSpokenFormatter chain = new ChainedBritishTimeFormatter();
+        PhraseTable table = RuleFileCompiler.compile(new InputStreamReader(
+                getClass().getResourceAsStream("/rules/british-rules.yaml"), StandardCharsets.UTF_8), "bundled");
+
+        for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+            LocalTime time = LocalTime.of(minuteOfDay / 60, minuteOfDay % 60);
+            assertEquals(chain.format(time), table.phraseAt(minuteOfDay), time.toString());
+        }
+    }
+
+    @Test
+    void rulesAreAppliedInOrder() {
+        PhraseTable table = RuleFileCompiler.compile(new StringReader(MIDDAY_RULES), "test");
+
+        assertEquals("midday", table.phraseAt(12 * 60));
+        assertEquals("twelve o'clock", table.phraseAt(0));
+        assertEquals("thirty past three", table.phraseAt(3 * 60 + 30));
+        assertEquals("twenty five to four", table.phraseAt(3 * 60 + 35));
+    }
+
+    @Test
+    void uncoveredMinuteIsRejected() {
+        String rules = "rules:\n  - name: o-clock\n    minutes: 0\n    template: \"{hour} o'clock\"\n";
+
+        InvalidRuleFileException ex = assertThrows(InvalidRuleFileException.class,
+                () -> RuleFileCompiler.compile(new StringReader(rules), "test"));
+        assertTrue(ex.getMessage().contains("00:01"));
+    }
+
+    @Test
+    void unknownPlaceholderIsRejected() {
+        String rules = "rules:\n  - name: all\n    template: \"{hours} o'clock\"\n";
+
+        assertThrows(InvalidRuleFileException.class, () -> RuleFileCompiler.compile(new StringReader(rules), "test"));
+    }
+
+    @Test
+    void minutesToOnTheHourIsRejected() {
+        String rules = "rules:\n  - name: to\n    minutes: 0-59\n    template: \"{minutesTo} to {nextHour}\"\n";
+
+        InvalidRuleFileException ex = assertThrows(InvalidRuleFileException.class,
+                () -> RuleFileCompiler.compile(new StringReader(rules), "test"));
+        assertTrue(ex.getMessage().contains("00:00"), ex.getMessage());
+    }
+
+    @Test
+    void reloadSwapsTableAndKeepsItOnBadFile() throws IOException {
+        Path file = tempDir.resolve("rules.yaml");
+        Files.copy(getClass().getResourceAsStream("/rules/british-rules.yaml"), file);
+        ReloadingRuleFormatter formatter = new ReloadingRuleFormatter(file);
+        PhraseTable before = formatter.snapshot();
+        assertEquals("noon", formatter.format(LocalTime.NOON));
+
+        Files.writeString(file, MIDDAY_RULES);
+        assertTrue(formatter.reload());
+        assertEquals("midday", formatter.format(LocalTime.NOON));
+        assertEquals("noon", before.phraseAt(12 * 60));
+
+        Files.writeString(file, "rules: [");
+        assertFalse(formatter.reload());
+        assertEquals("midday", formatter.format(LocalTime.NOON));
+        assertEquals(1, formatter.reloads());
+        formatter.close();
+    }
+}
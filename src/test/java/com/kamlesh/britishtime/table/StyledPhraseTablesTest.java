@@ -0,0 +1,127 @@
+package com.kamlesh.britishtime.table;
+
+import com.kamlesh.britishtime.exception.InvalidStyleException;
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import com.kamlesh.britishtime.service.rules.ReloadingRuleFormatter;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableFormatter;
+import com.kamlesh.britishtime.service.table.StyledPhraseTables;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the per-style phrase table families.
+ */
+class StyledPhraseTablesTest {
+
+    private final StyledPhraseTables styles = StyledPhraseTables.standard();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void speaksEachStyle() {
+        assertPhrases("09:15", "quarter past nine", "nine fifteen", "oh nine fifteen",
+                "quarter past nine in the morning");
+        assertPhrases("21:15", "quarter past nine", "nine fifteen", "twenty-one fifteen",
+                "quarter past nine in the evening");
+        assertPhrases("13:05", "five past one", "one oh five", "thirteen oh five", "five past one in the afternoon");
+        assertPhrases("23:45", "quarter to twelve", "eleven forty five", "twenty-three forty-five",
+                "quarter to twelve at night");
+        assertPhrases("00:00", "midnight", "twelve o'clock", "zero hundred", "midnight");
+        assertPhrases("12:00", "noon", "twelve o'clock", "twelve hundred", "noon");
+    }
+
+    @Test
+    void everyStyleCoversEveryMinute() {
+        for (SpokenStyle style : SpokenStyle.values()) {
+            for (int minuteOfDay = 0; minuteOfDay < PhraseTable.MINUTES_PER_DAY; minuteOfDay++) {
+                assertFalse(styles.phraseAt(style, minuteOfDay).isBlank(), style + " at " + minuteOfDay);
+            }
+        }
+        assertEquals(720, styles.table(SpokenStyle.DIGITAL).phraseCount());
+        assertEquals(PhraseTable.MINUTES_PER_DAY, styles.table(SpokenStyle.TWENTY_FOUR_HOUR).phraseCount());
+    }
+
+    @Test
+    void familiesShareTheStyleIndependentTables() {
+        StyledPhraseTables other = StyledPhraseTables.of(CompiledPhraseTable.compile(new ChainedBritishTimeFormatter()));
+        assertSame(styles.table(SpokenStyle.DIGITAL), other.table(SpokenStyle.DIGITAL));
+        assertSame(styles.table(SpokenStyle.TWENTY_FOUR_HOUR), other.table(SpokenStyle.TWENTY_FOUR_HOUR));
+    }
+
+    @Test
+    void reportsMemoryPerStyle() {
+        Map<SpokenStyle, Long> report = styles.memoryReport();
+        assertEquals(SpokenStyle.values().length, report.size());
+        report.forEach((style, bytes) -> assertTrue(bytes > PhraseTable.MINUTES_PER_DAY * 2, style + ": " + bytes));
+    }
+
+    @Test
+    void dayPartFollowsReloadedRules() throws Exception {
+        Path rules = tempDir.resolve("rules.yaml");
+        Files.writeString(rules, """
+                rules:
+                  - name: all
+                    template: "{minute} past {hour}"
+                """);
+        try (ReloadingRuleFormatter formatter = new ReloadingRuleFormatter(rules)) {
+            assertEquals("fifteen past nine in the evening", formatter.format(LocalTime.of(21, 15), SpokenStyle.DAY_PART));
+            Files.writeString(rules, """
+                    rules:
+                      - name: all
+                        template: "{hour} and {minute}"
+                    """);
+            assertTrue(formatter.reload());
+            assertEquals("nine and fifteen in the evening", formatter.format(LocalTime.of(21, 15), SpokenStyle.DAY_PART));
+            assertEquals("twenty-one fifteen", formatter.format(LocalTime.of(21, 15), SpokenStyle.TWENTY_FOUR_HOUR));
+        }
+    }
+
+    @Test
+    void serviceSpeaksRequestedStyleAndKeepsTenantOverridesBritish() {
+        TimeSpokenFormatter formatter = new PhraseTableFormatter(
+                CompiledPhraseTable.compile(new ChainedBritishTimeFormatter()));
+        TenantPhrases tenants = new TenantPhrases(formatter);
+        tenants.replaceAll(TenantPhrases.parse(new StringReader("""
+                tenants:
+                  acme:
+                    "21:15": "a quarter after nine"
+                """), "test"));
+        TimeServiceImpl service = new TimeServiceImpl(formatter, tenants);
+
+        assertEquals("twenty-one fifteen", service.toSpokenTime("21:15", null, SpokenStyle.TWENTY_FOUR_HOUR).spoken());
+        assertEquals("a quarter after nine", service.toSpokenTime("21:15", "acme", SpokenStyle.BRITISH).spoken());
+        assertEquals("nine fifteen", service.toSpokenTime("21:15", "acme", SpokenStyle.DIGITAL).spoken());
+    }
+
+    @Test
+    void styleParameterIsCaseInsensitiveAndValidated() {
+        assertEquals(SpokenStyle.TWENTY_FOUR_HOUR, SpokenStyle.fromParameter("24-Hour"));
+        assertEquals(SpokenStyle.DAY_PART, SpokenStyle.fromParameter("day-part"));
+        InvalidStyleException ex = assertThrows(InvalidStyleException.class, () -> SpokenStyle.fromParameter("pirate"));
+        assertTrue(ex.getMessage().contains("british, digital, 24-hour, day-part"));
+    }
+
+    private void assertPhrases(String time, String british, String digital, String twentyFourHour, String dayPart) {
+        LocalTime t = LocalTime.parse(time);
+        TimeSpokenFormatter chain = new ChainedBritishTimeFormatter();
+        assertEquals(british, chain.format(t, SpokenStyle.BRITISH), time);
+        assertEquals(digital, chain.format(t, SpokenStyle.DIGITAL), time);
+        assertEquals(twentyFourHour, chain.format(t, SpokenStyle.TWENTY_FOUR_HOUR), time);
+        assertEquals(dayPart, chain.format(t, SpokenStyle.DAY_PART), time);
+    }
+}
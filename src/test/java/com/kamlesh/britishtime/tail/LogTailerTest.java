@@ -0,0 +1,184 @@
+package com.kamlesh.britishtime.tail;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.tail.LineEnricher;
+import com.kamlesh.britishtime.service.tail.LogTailer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the log-tailing pipeline: timestamp enrichment, partial lines, checkpointed
+ * restarts, rotation and truncation, and following a file from the watch thread.
+ */
+class LogTailerTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path logs;
+    private Path enriched;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        logs = Files.createDirectory(tempDir.resolve("logs"));
+        enriched = tempDir.resolve("enriched");
+    }
+
+    @Test
+    void spokenFormIsAppendedAfterEachTimestamp() {
+        LineEnricher enricher = new LineEnricher(new ChainedBritishTimeFormatter(), 4);
+
+        assertEquals("10:15:42 (quarter past ten) GET /\n", enrich(enricher, "10:15:42 GET /\n"));
+        assertEquals("2024-05-01T00:00 (midnight) to 12:00 (noon)",
+                enrich(enricher, "2024-05-01T00:00 to 12:00"));
+        assertEquals("id 123:45, 25:00, 09:60, 1:30, 07:30:1x",
+                enrich(enricher, "id 123:45, 25:00, 09:60, 1:30, 07:30:1x"));
+        assertEquals(3, enricher.timestamps());
+    }
+
+    @Test
+    void completeLinesAreEnrichedAndPartialLinesWait() throws IOException {
+        Path log = logs.resolve("app.log");
+        Files.writeString(log, "09:30 started\n21:45 half writ");
+
+        try (LogTailer tailer = tailer()) {
+            tailer.poll();
+            assertEquals("09:30 (half past nine) started\n", output("app.log"));
+
+            append(log, "ten\n");
+            tailer.poll();
+            assertEquals("09:30 (half past nine) started\n21:45 (quarter to ten) half written\n", output("app.log"));
+            assertEquals(2, tailer.linesProcessed());
+            assertEquals(2, tailer.timestampsEnriched());
+            assertEquals(0, tailer.backlogBytes());
+        }
+    }
+
+    @Test
+    void restartResumesFromCheckpointWithoutReprocessing() throws IOException {
+        Path log = logs.resolve("app.log");
+        Files.writeString(log, "07:00 one\n");
+        try (LogTailer tailer = tailer()) {
+            tailer.poll();
+        }
+        append(log, "08:00 two\n");
+        // output written after the last checkpoint, as if the process died before checkpointing
+        append(enriched.resolve("app.log"), "08:00 (eight o'clock) two\n");
+
+        try (LogTailer tailer = tailer()) {
+            assertEquals(10, tailer.poll());
+        }
+
+        assertEquals("07:00 (seven o'clock) one\n08:00 (eight o'clock) two\n", output("app.log"));
+    }
+
+    @Test
+    void rotatedFileIsDrainedBeforeTheNewOneIsFollowed() throws IOException {
+        Path log = logs.resolve("app.log");
+        Files.writeString(log, "01:00 before rotation\n");
+        try (LogTailer tailer = tailer()) {
+            tailer.poll();
+
+            append(log, "01:05 written just before the rename\n");
+            Files.move(log, logs.resolve("app.log.1"));
+            Files.writeString(log, "01:10 after rotation\n");
+            tailer.poll();
+
+            assertEquals("01:00 (one o'clock) before rotation\n"
+                    + "01:05 (five past one) written just before the rename\n"
+                    + "01:10 (ten past one) after rotation\n", output("app.log"));
+            assertEquals(1, tailer.rotations());
+        }
+    }
+
+    @Test
+    void truncatedFileIsFollowedFromTheStart() throws IOException {
+        Path log = logs.resolve("app.log");
+        Files.writeString(log, "03:15 a fairly long first line\n");
+        try (LogTailer tailer = tailer()) {
+            tailer.poll();
+
+            Files.writeString(log, "03:20 short\n");
+            tailer.poll();
+
+            assertEquals("03:15 (quarter past three) a fairly long first line\n03:20 (twenty past three) short\n",
+                    output("app.log"));
+        }
+    }
+
+    @Test
+    void watchThreadFollowsNewData() throws Exception {
+        Path log = logs.resolve("app.log");
+        Files.writeString(log, "");
+        try (LogTailer tailer = tailer()) {
+            tailer.start();
+            append(log, "16:40 from the watch thread\n");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (tailer.linesProcessed() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals("16:40 (twenty to five) from the watch thread\n", output("app.log"));
+        }
+    }
+
+    @Test
+    void watchThreadSurvivesAFailingPass() throws Exception {
+        Path log = logs.resolve("app.log");
+        Files.writeString(log, "");
+        ChainedBritishTimeFormatter live = new ChainedBritishTimeFormatter();
+        AtomicBoolean failed = new AtomicBoolean();
+        TimeSpokenFormatter failsOnce = time -> {
+            if (failed.compareAndSet(false, true)) {
+                throw new IllegalStateException("formatter bug");
+            }
+            return live.format(time);
+        };
+        try (LogTailer tailer = new LogTailer(logs, "*.log", enriched, enriched.resolve(".tail-checkpoint"),
+                failsOnce, 64, Duration.ofMillis(50), Clock.systemUTC())) {
+            tailer.start();
+            append(log, "16:40 after a failure\n");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (tailer.linesProcessed() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(20);
+            }
+            assertTrue(failed.get());
+            assertEquals("16:40 (twenty to five) after a failure\n", output("app.log"));
+        }
+    }
+
+    private LogTailer tailer() {
+        return new LogTailer(logs, "*.log", enriched, enriched.resolve(".tail-checkpoint"),
+                new ChainedBritishTimeFormatter(), 64, Duration.ofMillis(50), Clock.systemUTC());
+    }
+
+    private String output(String name) throws IOException {
+        return Files.readString(enriched.resolve(name));
+    }
+
+    private static void append(Path file, String text) throws IOException {
+        Files.writeString(file, text, StandardOpenOption.APPEND);
+    }
+
+    private static String enrich(LineEnricher enricher, String text) {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer out = enricher.enrich(bytes, 0, bytes.length);
+        return StandardCharsets.UTF_8.decode(out).toString();
+    }
+}
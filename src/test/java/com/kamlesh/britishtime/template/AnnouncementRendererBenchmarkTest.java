@@ -0,0 +1,125 @@
+package com.kamlesh.britishtime.template;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.StyledPhraseTables;
+import com.kamlesh.britishtime.service.template.AnnouncementRenderer;
+import com.kamlesh.britishtime.service.template.AnnouncementTemplate;
+import com.kamlesh.britishtime.service.template.SlotColumn;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Measures bulk rendering throughput in sentences per second and MB/s, with plain and with
+ * dictionary-encoded columns, next to a baseline that builds each sentence as a {@code String}
+ * and encodes it. Output goes to a sink that discards it, and each path is warmed up before it
+ * is timed.
+ * Run with {@code mvn test -Pperf -Dtest=AnnouncementRendererBenchmarkTest}. Tune with
+ * {@code -Dtemplate.rows} and {@code -Dtemplate.rounds}.
+ */
+@Tag("perf")
+class AnnouncementRendererBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("template.rows", 2_000_000);
+    private static final int ROUNDS = Integer.getInteger("template.rounds", 5);
+
+    private static final String[] DESTINATIONS = {
+            "London Euston", "Manchester Piccadilly", "Glasgow Central", "Edinburgh Waverley",
+            "Birmingham New Street", "Bristol Temple Meads", "Leeds", "Cardiff Central"
+    };
+
+    @Test
+    void reportsRenderingThroughput() throws IOException {
+        AnnouncementTemplate template = AnnouncementTemplate.compile("The {train} to {dest} will depart at {time}.");
+        StyledPhraseTables tables = StyledPhraseTables.standard();
+        AnnouncementRenderer renderer = new AnnouncementRenderer(tables, SpokenStyle.BRITISH);
+
+        Random random = new Random(42);
+        int[] minutes = new int[ROWS];
+        String[] trains = new String[ROWS];
+        int[] destinationIds = new int[ROWS];
+        String[] destinations = new String[ROWS];
+        for (int i = 0; i < ROWS; i++) {
+            minutes[i] = random.nextInt(PhraseTable.MINUTES_PER_DAY);
+            trains[i] = String.format("%d%c%02d", 1 + random.nextInt(9), (char) ('A' + random.nextInt(26)),
+                    random.nextInt(100));
+            destinationIds[i] = random.nextInt(DESTINATIONS.length);
+            destinations[i] = DESTINATIONS[destinationIds[i]];
+        }
+        SlotColumn[] plain = {SlotColumn.of(trains), SlotColumn.of(destinations)};
+        SlotColumn[] dictionary = {SlotColumn.of(trains), SlotColumn.dictionary(DESTINATIONS, destinationIds)};
+        CountingOutputStream sink = new CountingOutputStream();
+
+        long bytes = renderer.renderAll(template, minutes, plain, sink);
+        assertEquals(bytes, renderer.renderAll(template, minutes, dictionary, sink));
+        assertEquals(bytes, baseline(tables, minutes, trains, destinations, sink));
+
+        double plainRate = 0;
+        double dictionaryRate = 0;
+        double baselineRate = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            renderer.renderAll(template, minutes, plain, sink);
+            plainRate = Math.max(plainRate, ROWS / seconds(start));
+
+            start = System.nanoTime();
+            renderer.renderAll(template, minutes, dictionary, sink);
+            dictionaryRate = Math.max(dictionaryRate, ROWS / seconds(start));
+
+            start = System.nanoTime();
+            baseline(tables, minutes, trains, destinations, sink);
+            baselineRate = Math.max(baselineRate, ROWS / seconds(start));
+        }
+        double bytesPerRow = bytes / (double) ROWS;
+        System.out.printf("%,d sentences, %.1f bytes each%n", ROWS, bytesPerRow);
+        System.out.printf("renderer, plain columns:      %,.0f sentences/s (%.0f MB/s)%n",
+                plainRate, plainRate * bytesPerRow / 1e6);
+        System.out.printf("renderer, dictionary columns: %,.0f sentences/s (%.0f MB/s)%n",
+                dictionaryRate, dictionaryRate * bytesPerRow / 1e6);
+        System.out.printf("String concatenation:         %,.0f sentences/s (%.0f MB/s)%n",
+                baselineRate, baselineRate * bytesPerRow / 1e6);
+        assertTrue(sink.count > 0);
+    }
+
+    /**
+     * What rendering costs without the engine: a {@code String} per sentence, encoded to a new
+     * byte array.
+     */
+    private static long baseline(StyledPhraseTables tables, int[] minutes, String[] trains, String[] destinations,
+                                 OutputStream out) throws IOException {
+        long written = 0;
+        for (int i = 0; i < minutes.length; i++) {
+            String sentence = "The " + trains[i] + " to " + destinations[i] + " will depart at "
+                    + tables.phraseAt(SpokenStyle.BRITISH, minutes[i]) + ".\n";
+            byte[] bytes = sentence.getBytes(StandardCharsets.UTF_8);
+            out.write(bytes);
+            written += bytes.length;
+        }
+        return written;
+    }
+
+    private static double seconds(long start) {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+        long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
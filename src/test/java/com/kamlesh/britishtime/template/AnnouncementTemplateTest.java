@@ -0,0 +1,146 @@
+package com.kamlesh.britishtime.template;
+
+import com.kamlesh.britishtime.service.SpokenStyle;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.table.PhraseTable;
+import com.kamlesh.britishtime.service.table.StyledPhraseTables;
+import com.kamlesh.britishtime.service.template.AnnouncementRenderer;
+import com.kamlesh.britishtime.service.template.AnnouncementTemplate;
+import com.kamlesh.britishtime.service.template.SlotColumn;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for compiling announcement templates and rendering them one at a time and in bulk.
+ */
+class AnnouncementTemplateTest {
+
+    private static final AnnouncementTemplate DEPARTURE =
+            AnnouncementTemplate.compile("The {train} to {dest} will depart at {time}.");
+
+    private final AnnouncementRenderer renderer = new AnnouncementRenderer(StyledPhraseTables.standard(),
+            SpokenStyle.BRITISH);
+
+    @Test
+    void compilesSlotsAndEscapedBraces() {
+        AnnouncementTemplate template = AnnouncementTemplate.compile("{{{ name }}} {time} {name} {other}}}");
+
+        assertEquals(List.of("name", "other"), template.fields());
+        assertTrue(template.hasTime());
+        renderer.append(template, 0, "x", "y");
+        assertEquals("{x} midnight x y}", rendered());
+        assertFalse(AnnouncementTemplate.compile("No times here").hasTime());
+    }
+
+    @Test
+    void rejectsMalformedTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> AnnouncementTemplate.compile("Platform {number"));
+        assertThrows(IllegalArgumentException.class, () -> AnnouncementTemplate.compile("Platform {}"));
+        assertThrows(IllegalArgumentException.class, () -> AnnouncementTemplate.compile("Platform {a{b}"));
+        assertThrows(IllegalArgumentException.class, () -> AnnouncementTemplate.compile("Platform } 4"));
+    }
+
+    @Test
+    void rendersEveryMinuteAsTheFormatterDoes() {
+        ChainedBritishTimeFormatter formatter = new ChainedBritishTimeFormatter();
+        AnnouncementTemplate template = AnnouncementTemplate.compile("{time}");
+        for (int minute = 0; minute < PhraseTable.MINUTES_PER_DAY; minute++) {
+            renderer.reset();
+            renderer.append(template, minute);
+            assertEquals(formatter.format(LocalTime.of(minute / 60, minute % 60)), rendered());
+        }
+    }
+
+    @Test
+    void appendsSentencesToTheReusedBuffer() {
+        AnnouncementRenderer dayPart = new AnnouncementRenderer(StyledPhraseTables.standard(), SpokenStyle.DAY_PART);
+
+        int first = dayPart.append(DEPARTURE, 7 * 60 + 15, "07:02", "Edinburgh");
+        int second = dayPart.append(DEPARTURE, 19 * 60 + 45, "19:30", "Zürich 🚆");
+
+        String text = new String(dayPart.buffer(), 0, dayPart.length(), StandardCharsets.UTF_8);
+        assertEquals("The 07:02 to Edinburgh will depart at quarter past seven in the morning."
+                + "The 19:30 to Zürich 🚆 will depart at quarter to eight in the evening.", text);
+        assertEquals(first + second, dayPart.length());
+        dayPart.reset();
+        assertEquals(0, dayPart.length());
+    }
+
+    @Test
+    void encodesValuesAsStringGetBytesDoes() {
+        AnnouncementTemplate template = AnnouncementTemplate.compile("{value}");
+        String value = "aé€🚆 \ud800 x \udc00";
+
+        renderer.append(template, 0, value);
+
+        assertArrayEquals(value.getBytes(StandardCharsets.UTF_8), renderer.toByteArray());
+    }
+
+    @Test
+    void rendersColumnsLineByLine() throws IOException {
+        int rows = 20_000;
+        int[] minutes = new int[rows];
+        String[] trains = new String[rows];
+        int[] destinationIds = new int[rows];
+        String[] destinations = {"London Euston", "Glasgow Central", "Bristol Temple Meads"};
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            minutes[i] = i * 7 % PhraseTable.MINUTES_PER_DAY;
+            trains[i] = "1A" + i;
+            destinationIds[i] = i % destinations.length;
+            expected.append("The ").append(trains[i]).append(" to ").append(destinations[i % destinations.length])
+                    .append(" will depart at ").append(StyledPhraseTables.standard()
+                            .phraseAt(SpokenStyle.BRITISH, minutes[i])).append(".\n");
+        }
+        SlotColumn[] columns = {SlotColumn.of(trains), SlotColumn.dictionary(destinations, destinationIds)};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = renderer.renderAll(DEPARTURE, minutes, columns, out);
+
+        assertEquals(expected.toString(), out.toString(StandardCharsets.UTF_8));
+        assertEquals(out.size(), written);
+        assertEquals(0, renderer.length());
+    }
+
+    @Test
+    void recordsWhereEachAppendedRowEnds() {
+        int[] minutes = {0, 720, 75};
+        SlotColumn[] columns = {SlotColumn.of("A", "B", "C"), SlotColumn.of("x", "y", "z")};
+        int[] ends = new int[2];
+
+        renderer.appendRows(DEPARTURE, minutes, columns, 1, 3, ends);
+
+        String text = rendered();
+        assertEquals("The B to y will depart at noon.", text.substring(0, ends[0]));
+        assertEquals("The C to z will depart at quarter past one.", text.substring(ends[0], ends[1]));
+        assertEquals(text.length(), ends[1]);
+    }
+
+    @Test
+    void rejectsMismatchedInputWithoutWriting() {
+        SlotColumn[] columns = {SlotColumn.of("A", "B"), SlotColumn.of("x", "y")};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> renderer.renderAll(DEPARTURE, new int[] {0, 1440}, columns, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> renderer.renderAll(DEPARTURE, new int[] {0, 1, 2}, columns, out));
+        assertThrows(IllegalArgumentException.class,
+                () -> renderer.renderAll(DEPARTURE, new int[] {0, 1}, new SlotColumn[] {columns[0]}, out));
+        assertThrows(IllegalArgumentException.class, () -> renderer.append(DEPARTURE, -1, "A", "x"));
+        assertThrows(IllegalArgumentException.class, () -> SlotColumn.dictionary(new String[] {"x"}, new int[] {1}));
+        assertEquals(0, out.size());
+        assertEquals(0, renderer.length());
+    }
+
+    private String rendered() {
+        return new String(renderer.buffer(), 0, renderer.length(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,107 @@
+package com.kamlesh.britishtime.tenant;
+
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.table.CompiledPhraseTable;
+import com.kamlesh.britishtime.service.table.PhraseTableFormatter;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.management.MemoryMXBean;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Loads 10k tenants with a handful of overrides each and reports measured heap next to the
+ * estimate and to the cost of one dedicated phrase table per tenant, then compares lookup
+ * throughput through the overlays with the shared formatter alone.
+ * Run with {@code mvn test -Pperf -Dtest=TenantOverlayBenchmarkTest}; change the tenant count
+ * with {@code -Dtenants.count}.
+ */
+@Tag("perf")
+class TenantOverlayBenchmarkTest {
+
+    private static final int TENANTS = Integer.getInteger("tenants.count", 10_000);
+    private static final int DEDICATED_SAMPLE = 500;
+    private static final int LOOKUPS = 20_000_000;
+    private static final String[] CUSTOM = {
+            "midday", "twelve o'clock at night", "lunchtime", "half eleven", "teatime", "home time"
+    };
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void tenThousandTenantsFitInAFewMegabytes() {
+        TimeSpokenFormatter base = new PhraseTableFormatter(CompiledPhraseTable.compile(new ChainedBritishTimeFormatter()));
+        SplittableRandom random = new SplittableRandom(17);
+        Map<String, Map<Integer, String>> overrides = new HashMap<>();
+        for (int t = 0; t < TENANTS; t++) {
+            Map<Integer, String> tenant = new HashMap<>();
+            for (int i = 1 + random.nextInt(8); i > 0; i--) {
+                tenant.put(random.nextInt(1440), CUSTOM[random.nextInt(CUSTOM.length)] + " " + random.nextInt(50));
+            }
+            overrides.put("tenant-" + t, tenant);
+        }
+
+        long before = usedAfterGc();
+        TenantPhrases tenants = new TenantPhrases(base);
+        tenants.replaceAll(overrides);
+        // the phrase strings are shared with the input, so they are not part of the measured delta
+        long overlayHeap = usedAfterGc() - before;
+        Reference.reachabilityFence(overrides);
+
+        before = usedAfterGc();
+        TimeSpokenFormatter[] dedicated = new TimeSpokenFormatter[DEDICATED_SAMPLE];
+        for (int t = 0; t < DEDICATED_SAMPLE; t++) {
+            dedicated[t] = new PhraseTableFormatter(CompiledPhraseTable.compile(tenants.formatterFor("tenant-" + t)));
+        }
+        long dedicatedHeap = (usedAfterGc() - before) / DEDICATED_SAMPLE * TENANTS;
+        assertEquals(DEDICATED_SAMPLE, dedicated.length);
+
+        TenantPhrases.MemoryReport report = tenants.memoryReport();
+        System.out.println(report);
+        System.out.printf("measured: overlays %,d B (%,d B per tenant); dedicated tables ~%,d B%n",
+                overlayHeap, overlayHeap / TENANTS, dedicatedHeap);
+        assertEquals(TENANTS, report.tenants());
+        assertTrue(overlayHeap < dedicatedHeap / 5,
+                "Overlays should take a small fraction of dedicated tables: " + overlayHeap + " vs " + dedicatedHeap);
+
+        LocalTime[] times = new LocalTime[1440];
+        for (int m = 0; m < times.length; m++) {
+            times[m] = LocalTime.of(m / 60, m % 60);
+        }
+        String[] tenantIds = new String[TENANTS];
+        for (int t = 0; t < TENANTS; t++) {
+            tenantIds[t] = "tenant-" + t;
+        }
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            int sink = 0;
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += base.format(times[i % 1440]).length();
+            }
+            long baseNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            for (int i = 0; i < LOOKUPS; i++) {
+                sink += tenants.formatterFor(tenantIds[i % TENANTS]).format(times[i % 1440]).length();
+            }
+            long tenantNanos = System.nanoTime() - start;
+            System.out.printf("shared formatter %5.1f ns/lookup, tenant overlay %5.1f ns/lookup (%d)%n",
+                    (double) baseNanos / LOOKUPS, (double) tenantNanos / LOOKUPS, sink & 1);
+        }
+    }
+
+    private long usedAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
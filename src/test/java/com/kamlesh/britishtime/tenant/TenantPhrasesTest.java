@@ -0,0 +1,131 @@
+package com.kamlesh.britishtime.tenant;
+
+import com.kamlesh.britishtime.exception.InvalidTenantFileException;
+import com.kamlesh.britishtime.service.TimeSpokenFormatter;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import com.kamlesh.britishtime.service.tenant.TenantOverlay;
+import com.kamlesh.britishtime.service.tenant.TenantPhrases;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.time.LocalTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for tenant phrase overlays: lookup through the overlay and the base, copy-on-write
+ * updates, sharing of identical overlays and loading from YAML.
+ */
+class TenantPhrasesTest {
+
+    private final TimeSpokenFormatter base = new ChainedBritishTimeFormatter();
+
+    @Test
+    void overriddenMinutesComeFromTheOverlayAndTheRestFromTheBase() {
+        TenantPhrases tenants = new TenantPhrases(base);
+        tenants.put("acme", Map.of(720, "midday", 0, "twelve o'clock at night"));
+        TimeSpokenFormatter acme = tenants.formatterFor("acme");
+
+        assertEquals("midday", acme.format(LocalTime.NOON));
+        assertEquals("twelve o'clock at night", acme.format(LocalTime.MIDNIGHT));
+        assertEquals("quarter past nine", acme.format(LocalTime.of(9, 15)));
+        assertSame(base, tenants.formatterFor("unknown"));
+        assertSame(base, tenants.formatterFor(null));
+    }
+
+    @Test
+    void overlayLookupMatchesAMapForRandomOverrides() {
+        SplittableRandom random = new SplittableRandom(3);
+        for (int round = 0; round < 50; round++) {
+            Map<Integer, String> expected = new TreeMap<>();
+            int count = random.nextInt(300);
+            for (int i = 0; i < count; i++) {
+                int minute = random.nextInt(1440);
+                expected.put(minute, "phrase " + minute);
+            }
+            TenantOverlay overlay = TenantOverlay.of(base, expected);
+            for (int minute = 0; minute < 1440; minute++) {
+                assertEquals(expected.get(minute), overlay.override(minute));
+            }
+            assertEquals(expected, overlay.overrides());
+        }
+    }
+
+    @Test
+    void updatesAreCopyOnWrite() {
+        TenantPhrases tenants = new TenantPhrases(base);
+        tenants.put("acme", Map.of(720, "midday"));
+        TimeSpokenFormatter before = tenants.formatterFor("acme");
+        TenantOverlay overlay = (TenantOverlay) before;
+
+        tenants.put("acme", Map.of(720, "lunchtime"));
+        TenantOverlay extended = overlay.with(0, "twelve o'clock at night");
+
+        assertEquals("midday", before.format(LocalTime.NOON));
+        assertNull(overlay.override(0));
+        assertEquals("midday", extended.override(720));
+        assertEquals("lunchtime", tenants.formatterFor("acme").format(LocalTime.NOON));
+
+        tenants.put("acme", Map.of());
+        assertSame(base, tenants.formatterFor("acme"));
+    }
+
+    @Test
+    void tenantsWithIdenticalOverridesShareOneOverlay() {
+        TenantPhrases tenants = new TenantPhrases(base);
+        tenants.replaceAll(Map.of(
+                "a", Map.of(720, "midday"),
+                "b", Map.of(720, new String("midday")),
+                "c", Map.of(0, "twelve o'clock at night")));
+
+        assertSame(tenants.formatterFor("a"), tenants.formatterFor("b"));
+        TenantPhrases.MemoryReport report = tenants.memoryReport();
+        assertEquals(3, report.tenants());
+        assertEquals(2, report.distinctOverlays());
+        assertEquals(2, report.overriddenMinutes());
+        assertTrue(report.overlayBytes() < report.dedicatedTablesBytes() - report.baseBytes());
+    }
+
+    @Test
+    void serviceSelectsTheTenantsPhrasing() {
+        TenantPhrases tenants = new TenantPhrases(base);
+        tenants.put("acme", Map.of(720, "midday"));
+        TimeServiceImpl service = new TimeServiceImpl(base, tenants);
+
+        assertEquals("midday", service.toSpokenTime("12:00", "acme").spoken());
+        assertEquals("noon", service.toSpokenTime("12:00", "other").spoken());
+        assertEquals("noon", service.toSpokenTime("12:00").spoken());
+    }
+
+    @Test
+    void overridesLoadFromYaml() {
+        String yaml = """
+                tenants:
+                  acme:
+                    "12:00": midday
+                    "00:00": twelve o'clock at night
+                  night-shift:
+                    23:30: half eleven
+                    "07:05": five past seven in the morning
+                """;
+
+        Map<String, Map<Integer, String>> parsed = TenantPhrases.parse(new StringReader(yaml), "tenants.yaml");
+
+        assertEquals(Map.of(720, "midday", 0, "twelve o'clock at night"), parsed.get("acme"));
+        assertEquals(Map.of(1410, "half eleven", 425, "five past seven in the morning"), parsed.get("night-shift"));
+    }
+
+    @Test
+    void malformedYamlIsRejected() {
+        assertThrows(InvalidTenantFileException.class,
+                () -> TenantPhrases.parse(new StringReader("acme: {}"), "t.yaml"));
+        assertThrows(InvalidTenantFileException.class,
+                () -> TenantPhrases.parse(new StringReader("tenants:\n  acme:\n    \"25:00\": never\n"), "t.yaml"));
+        assertThrows(InvalidTenantFileException.class,
+                () -> TenantPhrases.parse(new StringReader("tenants:\n  acme:\n    \"12:00\":\n"), "t.yaml"));
+    }
+}
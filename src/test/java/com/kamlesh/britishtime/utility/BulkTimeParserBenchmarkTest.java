@@ -0,0 +1,45 @@
+package com.kamlesh.britishtime.utility;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Collection;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs {@link BulkTimeParserBenchmark} through JMH in a forked JVM with the vector module
+ * added, and prints records per microsecond for both paths.
+ * Run with {@code mvn test -Pperf -Dtest=BulkTimeParserBenchmarkTest}.
+ */
+@Tag("perf")
+class BulkTimeParserBenchmarkTest {
+
+    @Test
+    void compareVectorAndScalarPaths() throws Exception {
+        Options options = new OptionsBuilder()
+                .include(BulkTimeParserBenchmark.class.getName())
+                .forks(1)
+                .jvmArgsAppend("--add-modules", "jdk.incubator.vector")
+                .warmupIterations(3)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        Collection<RunResult> results = new Runner(options).run();
+
+        assertEquals(4, results.size());
+        for (RunResult result : results) {
+            System.out.printf("%-8s stride=%s  %8.1f records/us%n",
+                    result.getParams().getBenchmark().replaceAll(".*\\.", ""),
+                    result.getParams().getParam("stride"),
+                    result.getPrimaryResult().getScore());
+        }
+    }
+}
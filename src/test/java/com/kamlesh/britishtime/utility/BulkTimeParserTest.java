@@ -0,0 +1,113 @@
+package com.kamlesh.britishtime.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the bulk {@code HH:mm} parser, including that the vector and scalar paths agree.
+ */
+class BulkTimeParserTest {
+
+    @Test
+    void everyValidTimeDecodesToItsMinuteOfDay() {
+        StringBuilder text = new StringBuilder();
+        for (int minuteOfDay = 0; minuteOfDay < 1440; minuteOfDay++) {
+            text.append(String.format("%02d:%02d%n", minuteOfDay / 60, minuteOfDay % 60));
+        }
+        byte[] input = text.toString().replace("\r", "").getBytes(StandardCharsets.US_ASCII);
+        int[] minutes = new int[1440];
+        long[] invalid = new long[BulkTimeParser.words(1440)];
+
+        assertEquals(0, BulkTimeParser.parse(input, 0, 1440, 6, minutes, invalid));
+
+        for (int minuteOfDay = 0; minuteOfDay < 1440; minuteOfDay++) {
+            assertEquals(minuteOfDay, minutes[minuteOfDay]);
+        }
+        assertArrayEquals(new long[invalid.length], invalid);
+    }
+
+    @Test
+    void invalidRecordsAreFlaggedInTheBitmap() {
+        String[] records = {"09:30", "24:00", "12:60", "1a:00", "12-30", "00:00", "23:59", "9:30 ", "/0:00", ":0:00"};
+        byte[] input = String.join("", records).getBytes(StandardCharsets.US_ASCII);
+        int[] minutes = new int[records.length];
+        long[] invalid = new long[1];
+
+        int invalidCount = BulkTimeParser.parse(input, 0, records.length, 5, minutes, invalid);
+
+        assertArrayEquals(new int[] {570, -1, -1, -1, -1, 0, 1439, -1, -1, -1}, minutes);
+        assertEquals(0b1110011110L, invalid[0]);
+        assertEquals(7, invalidCount);
+    }
+
+    @Test
+    void vectorAndScalarPathsAgreeOnRandomInput() {
+        SplittableRandom random = new SplittableRandom(11);
+        for (int stride : new int[] {5, 6, 8, 13}) {
+            int count = 10_000 + random.nextInt(64);
+            byte[] input = new byte[3 + count * stride];
+            for (int i = 0; i < count; i++) {
+                int p = 3 + i * stride;
+                // mostly plausible records with some noise in every position
+                input[p] = (byte) ('0' + random.nextInt(4));
+                input[p + 1] = (byte) ('0' + random.nextInt(10));
+                input[p + 2] = random.nextInt(50) == 0 ? (byte) ';' : (byte) ':';
+                input[p + 3] = (byte) ('0' + random.nextInt(7));
+                input[p + 4] = (byte) ('0' + random.nextInt(10));
+                if (random.nextInt(20) == 0) {
+                    input[p + random.nextInt(5)] = (byte) random.nextInt(256);
+                }
+            }
+            int[] scalarMinutes = new int[count];
+            long[] scalarInvalid = new long[BulkTimeParser.words(count)];
+            int[] vectorMinutes = new int[count];
+            long[] vectorInvalid = new long[BulkTimeParser.words(count)];
+
+            int scalarCount = BulkTimeParser.parseScalar(input, 3, 0, count, stride, scalarMinutes, scalarInvalid);
+            int vectorCount = VectorTimeParser.parse(input, 3, count, stride, vectorMinutes, vectorInvalid);
+
+            assertTrue(scalarCount > 0);
+            assertEquals(scalarCount, vectorCount, "stride " + stride);
+            assertArrayEquals(scalarMinutes, vectorMinutes, "stride " + stride);
+            assertArrayEquals(scalarInvalid, vectorInvalid, "stride " + stride);
+        }
+    }
+
+    @Test
+    void directBufferMatchesArray() {
+        SplittableRandom random = new SplittableRandom(5);
+        int count = 20_000;
+        byte[] input = new byte[count * 6];
+        for (int i = 0; i < count; i++) {
+            int minuteOfDay = random.nextInt(1500);
+            String record = String.format("%02d:%02d\n", minuteOfDay / 60, minuteOfDay % 60);
+            System.arraycopy(record.getBytes(StandardCharsets.US_ASCII), 0, input, i * 6, 6);
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(input.length + 2).put(new byte[2]).put(input).position(2);
+        int[] expected = new int[count];
+        long[] expectedInvalid = new long[BulkTimeParser.words(count)];
+        int[] actual = new int[count];
+        long[] actualInvalid = new long[BulkTimeParser.words(count)];
+
+        int expectedCount = BulkTimeParser.parse(input, 0, count, 6, expected, expectedInvalid);
+        int actualCount = BulkTimeParser.parse(direct, count, 6, actual, actualInvalid);
+
+        assertEquals(expectedCount, actualCount);
+        assertArrayEquals(expected, actual);
+        assertArrayEquals(expectedInvalid, actualInvalid);
+        assertEquals(2, direct.position());
+    }
+
+    @Test
+    void recordsMustFitTheInput() {
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> BulkTimeParser.parse(new byte[9], 0, 2, 5, new int[2], new long[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> BulkTimeParser.parse(new byte[10], 0, 2, 4, new int[2], new long[1]));
+    }
+}
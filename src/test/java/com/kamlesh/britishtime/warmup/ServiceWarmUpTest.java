@@ -0,0 +1,35 @@
+package com.kamlesh.britishtime.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.kamlesh.britishtime.service.formatter.ChainedBritishTimeFormatter;
+import com.kamlesh.britishtime.service.impl.TimeServiceImpl;
+import com.kamlesh.britishtime.service.warmup.ServiceWarmUp;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the start-up warm-up stage.
+ */
+class ServiceWarmUpTest {
+
+    @Test
+    void everyIterationConvertsAllMinutesAndRejectsInvalidSamples() {
+        ServiceWarmUp warmUp = new ServiceWarmUp(new TimeServiceImpl(new ChainedBritishTimeFormatter()),
+                new ObjectMapper().registerModule(new JavaTimeModule()), 3);
+
+        ServiceWarmUp.Result result = warmUp.run();
+
+        assertEquals(3 * 1440, result.conversions());
+        assertEquals(3 * 10, result.rejected());
+        assertTrue(result.bytesSerialized() > 0);
+        assertFalse(result.elapsed().isNegative());
+    }
+
+    @Test
+    void negativeIterationsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ServiceWarmUp(
+                new TimeServiceImpl(new ChainedBritishTimeFormatter()), new ObjectMapper(), -1));
+    }
+}
@@ -0,0 +1,29 @@
+package com.kamlesh.britishtime.warmup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the application reports ready only once the warm-up has run and been recorded.
+ */
+@SpringBootTest(properties = "app.warmup.iterations=2")
+class WarmUpReadinessTest {
+
+    @Autowired
+    ApplicationAvailability availability;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void readyAfterWarmUpIsRecorded() {
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+        assertEquals(1, meterRegistry.get("time.warmup.duration").timer().count());
+    }
+}